@@ -1,9 +1,13 @@
 package org.dynjs;
 
 import org.dynjs.cli.Options;
+import org.dynjs.compiler.bytecode.CodeCache;
+import org.dynjs.compiler.jit.JITScheduler;
 import org.dynjs.runtime.Classpath;
 import org.dynjs.runtime.DynamicClassLoader;
+import org.dynjs.runtime.ProgramCache;
 
+import java.io.File;
 import java.io.PrintStream;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -15,6 +19,15 @@ public class Config {
         OFF,
         FORCE,
         JIT,
+        /**
+         * Programs and functions the IR Builder can lower run on the IR
+         * interpreter; the rest fall back to the AST interpreter.  Only
+         * functions limited to the instructions in
+         * {@link org.dynjs.ir.IRByteCodeCompiler#canCompile} (arithmetic,
+         * comparisons, jumps and calls) are compiled to bytecode; property
+         * access, literals, bitwise operators, for-in and try/catch are
+         * interpreter only so far.
+         */
         IR;
     }
 
@@ -40,7 +53,17 @@ public class Config {
     private boolean rhinoCompatible = Options.COMPATIBILITY_RHINO.load();
     private CompileMode compileMode = Options.CLI_COMPILE_MODE.load();
     private KernelMode kernelMode = Options.CLI_KERNEL_MODE.load();
+    private Integer programCacheSize = Options.PROGRAM_CACHE_SIZE.load();
+    private ProgramCache programCache;
+    private String codeCacheDirectory = Options.CODE_CACHE_DIR.load();
+    private Integer codeCacheSize = Options.CODE_CACHE_SIZE.load();
+    private CodeCache codeCache;
+    private boolean irPassReport = Options.IR_PASS_REPORT.load();
     private Integer jitThreshold = Options.JIT_TRESHOLD.load();
+    private Integer jitOptimizeThreshold = Options.JIT_OPTIMIZE_TRESHOLD.load();
+    private Integer jitThreads = Options.JIT_THREADS.load();
+    private Integer jitQueueSize = Options.JIT_QUEUE_SIZE.load();
+    private JITScheduler jitScheduler;
     private boolean jitEnabled = Options.JIT.load();
     private boolean jitAsync = Options.JIT_ASYNC.load();
     private boolean v8Compatible = Options.COMPATIBILITY_V8.load();
@@ -71,16 +94,18 @@ public class Config {
         return this.rhinoCompatible;
     }
 
-    public void setInvokeDynamicEnabled(boolean enabled) {
+    public synchronized void setInvokeDynamicEnabled(boolean enabled) {
         this.invokeDynamicEnabled = enabled;
+        this.programCache = null;
     }
 
     public boolean isInvokeDynamicEnabled() {
         return this.invokeDynamicEnabled;
     }
 
-    public void setCompileMode(CompileMode compileMode) {
+    public synchronized void setCompileMode(CompileMode compileMode) {
         this.compileMode = compileMode;
+        this.programCache = null;
     }
 
     public CompileMode getCompileMode() {
@@ -95,6 +120,60 @@ public class Config {
         this.kernelMode = kernelMode;
     }
 
+    public Integer getProgramCacheSize() {
+        return programCacheSize;
+    }
+
+    public synchronized void setProgramCacheSize(Integer programCacheSize) {
+        this.programCacheSize = programCacheSize;
+        this.programCache = null;
+    }
+
+    /**
+     * Returns the cache of programs compiled under this configuration, or
+     * {@code null} if caching is disabled. Changing how code is compiled
+     * starts a new cache.
+     */
+    public synchronized ProgramCache getProgramCache() {
+        if (this.programCache == null && this.programCacheSize > 0) {
+            this.programCache = new ProgramCache(this.programCacheSize);
+        }
+        return this.programCache;
+    }
+
+    public String getCodeCacheDirectory() {
+        return this.codeCacheDirectory;
+    }
+
+    public synchronized void setCodeCacheDirectory(String codeCacheDirectory) {
+        this.codeCacheDirectory = codeCacheDirectory;
+        this.codeCache = null;
+    }
+
+    public Integer getCodeCacheSize() {
+        return this.codeCacheSize;
+    }
+
+    /**
+     * Sets the size, in megabytes, past which the least recently used
+     * entries are removed from the code cache directory.
+     */
+    public synchronized void setCodeCacheSize(Integer codeCacheSize) {
+        this.codeCacheSize = codeCacheSize;
+        this.codeCache = null;
+    }
+
+    /**
+     * Returns the directory of classes generated in earlier runs, or
+     * {@code null} if none is configured.
+     */
+    public synchronized CodeCache getCodeCache() {
+        if (this.codeCache == null && this.codeCacheDirectory != null && !this.codeCacheDirectory.isEmpty()) {
+            this.codeCache = new CodeCache(new File(this.codeCacheDirectory), this.codeCacheSize * 1024L * 1024L);
+        }
+        return this.codeCache;
+    }
+
     public Integer getJitThreshold() {
         return jitThreshold;
     }
@@ -103,6 +182,14 @@ public class Config {
         return jitEnabled;
     }
 
+    public boolean isIRPassReport() {
+        return irPassReport;
+    }
+
+    public void setIRPassReport(boolean irPassReport) {
+        this.irPassReport = irPassReport;
+    }
+
     public boolean isJitAsync() {
         return jitAsync;
     }
@@ -119,6 +206,41 @@ public class Config {
         this.jitThreshold = jitThreshold;
     }
 
+    public Integer getJitOptimizeThreshold() {
+        return jitOptimizeThreshold;
+    }
+
+    public void setJitOptimizeThreshold(Integer jitOptimizeThreshold) {
+        this.jitOptimizeThreshold = jitOptimizeThreshold;
+    }
+
+    public Integer getJitThreads() {
+        return jitThreads;
+    }
+
+    public void setJitThreads(Integer jitThreads) {
+        this.jitThreads = jitThreads;
+    }
+
+    public Integer getJitQueueSize() {
+        return jitQueueSize;
+    }
+
+    public void setJitQueueSize(Integer jitQueueSize) {
+        this.jitQueueSize = jitQueueSize;
+    }
+
+    /**
+     * Returns the scheduler shared by all background compilation for this
+     * configuration, starting it on first use.
+     */
+    public synchronized JITScheduler getJitScheduler() {
+        if (this.jitScheduler == null) {
+            this.jitScheduler = new JITScheduler(this.jitThreads, this.jitQueueSize);
+        }
+        return this.jitScheduler;
+    }
+
     public void setCommonJSCompatible(boolean enabled) {
         this.commonJSCompatible = enabled;
     }
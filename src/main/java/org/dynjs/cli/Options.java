@@ -11,9 +11,16 @@ public class Options {
     public static final String PREFIX = "dynjs";
     public static final Option<Config.CompileMode> CLI_COMPILE_MODE = Option.enumeration(PREFIX, "compile.mode", Category.COMPILER, Config.CompileMode.OFF, "Set compile mode: OFF = no compilation (interpreted); JIT = at runtime; FORCE = before execution; IR = IR runtime");
     public static final Option<Config.KernelMode> CLI_KERNEL_MODE = Option.enumeration(PREFIX, "kernel.mode", Category.KERNEL, Config.KernelMode.INTERNAL, "Set kernel mode: INTERNAL = use bundled JS kernel; EXTERNAL = loads JS kernel files straight from the source tree");
+    public static final Option<Integer> PROGRAM_CACHE_SIZE = Option.integer(PREFIX, "compile.cache.size", Category.COMPILER, 256, "Set number of compiled programs kept for reuse; 0 disables the cache");
+    public static final Option<String> CODE_CACHE_DIR = Option.string(PREFIX, "compile.cache.dir", Category.COMPILER, "", "Set directory where generated classes are kept between runs (sources are still parsed); empty disables it");
+    public static final Option<Integer> CODE_CACHE_SIZE = Option.integer(PREFIX, "compile.cache.dir.size", Category.COMPILER, 64, "Set maximum size in megabytes of the generated class directory");
+    public static final Option<Boolean> IR_PASS_REPORT = Option.bool(PREFIX, "ir.passes.report", Category.COMPILER, false, "Report time spent and instructions removed by each IR optimization pass");
     public static final Option<Integer> JIT_TRESHOLD = Option.integer(PREFIX, "jit.threshold", Category.JIT, 50, "Set JIT threshold");
     public static final Option<Boolean> JIT = Option.bool(PREFIX, "jit.enabled", Category.JIT, false, "Enable JIT compilation");
     public static final Option<Boolean> JIT_ASYNC = Option.bool(PREFIX, "jit.async", Category.JIT, false, "Make JIT run in background");
+    public static final Option<Integer> JIT_OPTIMIZE_TRESHOLD = Option.integer(PREFIX, "jit.optimize.threshold", Category.JIT, 1000, "Set threshold for recompiling baseline JIT code with invokedynamic");
+    public static final Option<Integer> JIT_THREADS = Option.integer(PREFIX, "jit.threads", Category.JIT, 2, "Set number of background JIT compiler threads");
+    public static final Option<Integer> JIT_QUEUE_SIZE = Option.integer(PREFIX, "jit.queue.size", Category.JIT, 256, "Set maximum number of pending JIT compilations");
     public static final Option<Boolean> INVOKEDYNAMIC = Option.bool(PREFIX, "invokedynamic.enabled", Category.INVOKEDYNAMIC, true, "Enable invokedynamic support");
     public static final Option<Boolean> COMPATIBILITY_RHINO = Option.bool(PREFIX, "compat.rhino.enabled", Category.COMPATIBILITY, true, "Enable Mozilla Rhino compatibility extensions");
     public static final Option<Boolean> COMPATIBILITY_COMMONJS = Option.bool(PREFIX, "compat.commonjs.enabled", Category.COMPATIBILITY, true, "Enable commonjs compatibility extensions");
@@ -43,5 +50,5 @@ public class Options {
         }
     }
 
-    public static final Collection<Option> PROPERTIES = Collections.unmodifiableCollection(Arrays.<Option>asList(CLI_COMPILE_MODE, CLI_KERNEL_MODE, JIT_TRESHOLD, JIT, JIT_ASYNC, INVOKEDYNAMIC, COMPATIBILITY_RHINO, COMPATIBILITY_COMMONJS, COMPATIBILITY_V8));
+    public static final Collection<Option> PROPERTIES = Collections.unmodifiableCollection(Arrays.<Option>asList(CLI_COMPILE_MODE, CLI_KERNEL_MODE, PROGRAM_CACHE_SIZE, CODE_CACHE_DIR, CODE_CACHE_SIZE, IR_PASS_REPORT, JIT_TRESHOLD, JIT_OPTIMIZE_TRESHOLD, JIT_THREADS, JIT_QUEUE_SIZE, JIT, JIT_ASYNC, INVOKEDYNAMIC, COMPATIBILITY_RHINO, COMPATIBILITY_COMMONJS, COMPATIBILITY_V8));
 }
@@ -10,8 +10,8 @@ import org.dynjs.runtime.*;
 import org.dynjs.runtime.builtins.types.BuiltinArray;
 import org.dynjs.runtime.builtins.types.BuiltinNumber;
 import org.dynjs.runtime.builtins.types.BuiltinObject;
-import org.dynjs.runtime.builtins.types.BuiltinRegExp;
 import org.dynjs.runtime.builtins.types.regexp.DynRegExp;
+import org.dynjs.runtime.builtins.types.regexp.RegExpLiteralSite;
 import org.dynjs.runtime.interp.InterpretingVisitorFactory;
 
 import java.util.ArrayList;
@@ -55,15 +55,26 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     }
 
     public Object visitPlus(ExecutionContext context, AdditiveExpression expr, boolean strict) {
+        NumericKind lhsKind = numericKind(expr.getLhs());
+        NumericKind rhsKind = numericKind(expr.getRhs());
+        if (lhsKind != NumericKind.VALUE && rhsKind != NumericKind.VALUE) {
+            // no string concatenation possible
+            return emitArithmetic(context, expr.getLhs(), lhsKind, expr.getRhs(), rhsKind, "+", strict);
+        }
+        if (lhsKind == NumericKind.VALUE && rhsKind == NumericKind.LONG_CONSTANT) {
+            return emitPlusLongConstant(context, expr.getLhs(), integralConstant(expr.getRhs()), false, strict);
+        }
+        if (lhsKind == NumericKind.LONG_CONSTANT && rhsKind == NumericKind.VALUE) {
+            return emitPlusLongConstant(context, expr.getRhs(), integralConstant(expr.getLhs()), true, strict);
+        }
+
         LabelNode doubleNums = new LabelNode();
 
         LabelNode stringConcatByLeft = new LabelNode();
         LabelNode stringConcat = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        // ref(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // val(lhs)
         aconst_null();
         // val(lhs) null
@@ -71,11 +82,9 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // val(lhs)
         dup();
         // val(lhs) val(lhs)
-        instance_of(p(String.class));
+        invokestatic(p(Types.class), "isString", sig(boolean.class, Object.class));
         // val(lhs) bool
-        expr.getRhs().accept(context, this, strict);
-        // val(lhs) bool ref(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // val(lhs) bool val(rhs)
         swap();
         // val(lhs) val(rhs) bool
@@ -87,7 +96,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // val(lhs) val(rhs)
         dup();
         // val(lhs) val(rhs) val(rhs)
-        instance_of(p(String.class));
+        invokestatic(p(Types.class), "isString", sig(boolean.class, Object.class));
         // val(lhs) val(rhs) bool
         iftrue(stringConcat);
 
@@ -109,10 +118,8 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         append(convertTopTwoToPrimitiveLongs());
         // long(lhs) long(rhs)
-        ladd();
-        // num(total)
-        append(convertTopToLong());
-        // Long(total)
+        append(jsIntegralArithmetic("+"));
+        // Number(total)
         go_to(end);
 
         // ----------------------------------------------
@@ -141,15 +148,13 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // Strings
         label(stringConcat);
         // val(lhs) val(rhs)
-        append(jsToString());
-        // val(lhs) str(rhs)
-        swap();
-        // str(rhs) val(lhs)
-        append(jsToString());
-        // str(lhs) str(lhs)
-        swap();
-        // str(lhs) str(rhs)
-        invokevirtual(p(String.class), "concat", sig(String.class, String.class));
+        aload(Arities.EXECUTION_CONTEXT);
+        // val(lhs) val(rhs) context
+        dup_x2();
+        // context val(lhs) val(rhs) context
+        pop();
+        // context val(lhs) val(rhs)
+        invokestatic(p(Types.class), "concat", sig(Object.class, ExecutionContext.class, Object.class, Object.class));
         // obj(concat)
 
         // ----------------------------------------
@@ -162,48 +167,333 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     }
 
     public Object visitMinus(ExecutionContext context, AdditiveExpression expr, boolean strict) {
+        return emitArithmetic(context, expr.getLhs(), numericKind(expr.getLhs()), expr.getRhs(), numericKind(expr.getRhs()), "-", strict);
+    }
+
+    // ----------------------------------------------------------------------
+    // Numeric specialization
+    //
+    // Operands of the arithmetic operators are classified statically. Numeric
+    // literals are folded or pushed as JVM primitives, operands which always
+    // evaluate to a Number skip GetValue/ToNumber, and integral fast paths go
+    // through Arithmetic, which falls back to doubles on overflow and -0.
+    // ----------------------------------------------------------------------
+
+    protected enum NumericKind {
+        /** Arbitrary expression; needs GetValue and ToNumber. */
+        VALUE,
+        /** Always evaluates to a Number value, never a Reference. */
+        NUMBER,
+        /** Compile-time constant, integral. */
+        LONG_CONSTANT,
+        /** Compile-time constant, non-integral or -0. */
+        DOUBLE_CONSTANT,
+    }
+
+    protected NumericKind numericKind(Expression expr) {
+        if (expr instanceof IntegerNumberExpression || expr instanceof FloatingNumberExpression
+                || (expr instanceof UnaryMinusExpression && isNumericConstant(((UnaryMinusExpression) expr).getExpr()))) {
+            Number value = numericConstant(expr);
+            return (value instanceof Long ? NumericKind.LONG_CONSTANT : NumericKind.DOUBLE_CONSTANT);
+        }
+        if (expr instanceof AdditiveExpression) {
+            AdditiveExpression additive = (AdditiveExpression) expr;
+            if (additive.getOp().equals("-")
+                    || (numericKind(additive.getLhs()) != NumericKind.VALUE && numericKind(additive.getRhs()) != NumericKind.VALUE)) {
+                return NumericKind.NUMBER;
+            }
+            return NumericKind.VALUE;
+        }
+        if (expr instanceof MultiplicativeExpression || expr instanceof UnaryMinusExpression || expr instanceof UnaryPlusExpression
+                || expr instanceof BitwiseExpression || expr instanceof BitwiseInversionOperatorExpression
+                || expr instanceof PreOpExpression || expr instanceof PostOpExpression) {
+            return NumericKind.NUMBER;
+        }
+        return NumericKind.VALUE;
+    }
+
+    private boolean isNumericConstant(Expression expr) {
+        NumericKind kind = numericKind(expr);
+        return kind == NumericKind.LONG_CONSTANT || kind == NumericKind.DOUBLE_CONSTANT;
+    }
+
+    protected Number numericConstant(Expression expr) {
+        if (expr instanceof IntegerNumberExpression) {
+            return ((IntegerNumberExpression) expr).getValue();
+        }
+        if (expr instanceof FloatingNumberExpression) {
+            return ((FloatingNumberExpression) expr).getValue();
+        }
+        // 11.4.7, folded
+        Number value = numericConstant(((UnaryMinusExpression) expr).getExpr());
+        if (value instanceof Long && value.longValue() != 0 && value.longValue() != Long.MIN_VALUE) {
+            return -value.longValue();
+        }
+        return -value.doubleValue();
+    }
+
+    private long integralConstant(Expression expr) {
+        return numericConstant(expr).longValue();
+    }
+
+    /**
+     * Evaluates a non-constant operand of kind {@code VALUE} or {@code NUMBER}
+     * to a Number.
+     */
+    private void emitNumberOperand(Object context, Expression expr, NumericKind kind, boolean strict) {
+        if (kind == NumericKind.VALUE) {
+            emitValue(context, expr, strict);
+            append(jsToNumber());
+        } else {
+            expr.accept(context, this, strict);
+        }
+        checkcast(p(Number.class));
+    }
+
+    private void pushConstant(Number value) {
+        if (value instanceof Long) {
+            ldc(value.longValue());
+            invokestatic(p(Long.class), "valueOf", sig(Long.class, long.class));
+        } else {
+            ldc(value.doubleValue());
+            invokestatic(p(Double.class), "valueOf", sig(Double.class, double.class));
+        }
+    }
+
+    /**
+     * Emits {@code lhs op rhs} for {@code op} one of {@code + - *}, where
+     * {@code +} is only used once both operands are known to be numbers.
+     */
+    protected Object emitArithmetic(Object context, Expression lhs, NumericKind lhsKind, Expression rhs, NumericKind rhsKind, String op, boolean strict) {
+        boolean lhsConstant = (lhsKind == NumericKind.LONG_CONSTANT || lhsKind == NumericKind.DOUBLE_CONSTANT);
+        boolean rhsConstant = (rhsKind == NumericKind.LONG_CONSTANT || rhsKind == NumericKind.DOUBLE_CONSTANT);
+
+        if (lhsConstant && rhsConstant) {
+            pushConstant(foldArithmetic(numericConstant(lhs), numericConstant(rhs), op));
+            return null;
+        }
 
         LabelNode doubleNums = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        // obj(lhs)
-        append(jsGetValue());
-        // val(lhs)
-        append(jsToNumber());
-        expr.getRhs().accept(context, this, strict);
-        // val(lhs) obj(rhs)
-        append(jsGetValue());
-        // val(lhs) val(rhs)
-        append(jsToNumber());
+        if (lhsConstant || rhsConstant) {
+            Number constant = (lhsConstant ? numericConstant(lhs) : numericConstant(rhs));
+            emitNumberOperand(context, (lhsConstant ? rhs : lhs), (lhsConstant ? rhsKind : lhsKind), strict);
+            // Number
+            if (constant instanceof Long) {
+                dup();
+                // Number Number
+                instance_of(p(Double.class));
+                // Number bool
+                iftrue(doubleNums);
+                // Number
+                invokevirtual(p(Number.class), "longValue", sig(long.class));
+                // long
+                ldc(constant.longValue());
+                // long long(constant)
+                if (lhsConstant) {
+                    swapLongs();
+                }
+                // long(lhs) long(rhs)
+                append(jsIntegralArithmetic(op));
+                // Number
+                go_to(end);
+            }
+
+            label(doubleNums);
+            // Number
+            invokevirtual(p(Number.class), "doubleValue", sig(double.class));
+            // double
+            ldc(constant.doubleValue());
+            // double double(constant)
+            if (lhsConstant) {
+                swapLongs();
+            }
+            // double(lhs) double(rhs)
+            append(jsDoubleArithmetic(op));
+            // Double
+            label(end);
+            nop();
+            return null;
+        }
 
+        emitNumberOperand(context, lhs, lhsKind, strict);
+        // Number(lhs)
+        emitNumberOperand(context, rhs, rhsKind, strict);
+        // Number(lhs) Number(rhs)
         append(ifEitherIsDouble(doubleNums));
+        append(convertTopTwoToPrimitiveLongs());
+        // long(lhs) long(rhs)
+        append(jsIntegralArithmetic(op));
+        // Number
+        go_to(end);
 
-        // -------------------------------------
-        // Integral
+        label(doubleNums);
+        append(convertTopTwoToPrimitiveDoubles());
+        // double(lhs) double(rhs)
+        append(jsDoubleArithmetic(op));
+        // Double
+        label(end);
+        nop();
+        return null;
+    }
 
-        append(convertTopTwoToPrimitiveLongs());
-        lsub();
-        append(convertTopToLong());
+    /**
+     * Emits {@code value + constant} (or {@code constant + value}) for an
+     * arbitrary value and an integral constant. Integral values take the
+     * fast path; everything else goes through 11.6.1 in full.
+     */
+    private Object emitPlusLongConstant(Object context, Expression valueExpr, long constant, boolean constantOnLeft, boolean strict) {
+        LabelNode slowPath = new LabelNode();
+        LabelNode doubleNum = new LabelNode();
+        LabelNode stringConcat = new LabelNode();
+        LabelNode end = new LabelNode();
+
+        emitValue(context, valueExpr, strict);
+        // val
+        dup();
+        // val val
+        instance_of(p(Long.class));
+        // val bool
+        iffalse(slowPath);
+        // val
+        checkcast(p(Long.class));
+        invokevirtual(p(Number.class), "longValue", sig(long.class));
+        // long
+        ldc(constant);
+        // long long(constant)
+        if (constantOnLeft) {
+            swapLongs();
+        }
+        append(jsIntegralArithmetic("+"));
+        // Number
         go_to(end);
 
-        // -------------------------------------
+        label(slowPath);
+        // val
+        aconst_null();
+        // val null
+        append(jsToPrimitive());
+        // prim
+        dup();
+        // prim prim
+        invokestatic(p(Types.class), "isString", sig(boolean.class, Object.class));
+        // prim bool
+        iftrue(stringConcat);
+        // prim
+        append(jsToNumber());
+        checkcast(p(Number.class));
+        // Number
+        dup();
+        // Number Number
+        instance_of(p(Double.class));
+        // Number bool
+        iftrue(doubleNum);
+        // Number
+        invokevirtual(p(Number.class), "longValue", sig(long.class));
+        // long
+        ldc(constant);
+        if (constantOnLeft) {
+            swapLongs();
+        }
+        append(jsIntegralArithmetic("+"));
+        // Number
+        go_to(end);
+
+        label(doubleNum);
+        // Number
+        invokevirtual(p(Number.class), "doubleValue", sig(double.class));
+        // double
+        ldc((double) constant);
+        // double double(constant)
+        dadd();
+        // double
+        invokestatic(p(Double.class), "valueOf", sig(Double.class, double.class));
         // Double
+        go_to(end);
 
-        label(doubleNums);
-        append(convertTopTwoToPrimitiveDoubles());
-        dsub();
-        append(convertTopToDouble());
+        label(stringConcat);
+        // str
+        checkcast(p(CharSequence.class));
+        ldc(Long.toString(constant));
+        // str str(constant)
+        if (constantOnLeft) {
+            swap();
+        }
+        invokestatic(p(Rope.class), "concat", sig(CharSequence.class, CharSequence.class, CharSequence.class));
+        // str
 
         label(end);
         nop();
         return null;
     }
 
+    private static Number foldArithmetic(Number lhs, Number rhs, String op) {
+        if (lhs instanceof Long && rhs instanceof Long) {
+            switch (op) {
+            case "+":
+                return Arithmetic.add(lhs.longValue(), rhs.longValue());
+            case "-":
+                return Arithmetic.subtract(lhs.longValue(), rhs.longValue());
+            default:
+                return Arithmetic.multiply(lhs.longValue(), rhs.longValue());
+            }
+        }
+        switch (op) {
+        case "+":
+            return lhs.doubleValue() + rhs.doubleValue();
+        case "-":
+            return lhs.doubleValue() - rhs.doubleValue();
+        default:
+            return lhs.doubleValue() * rhs.doubleValue();
+        }
+    }
+
+    public CodeBlock jsIntegralArithmetic(String op) {
+        // IN: long long
+        String method;
+        switch (op) {
+        case "+":
+            method = "add";
+            break;
+        case "-":
+            method = "subtract";
+            break;
+        default:
+            method = "multiply";
+        }
+        return new CodeBlock()
+            .invokestatic(p(Arithmetic.class), method, sig(Number.class, long.class, long.class));
+            // Number
+    }
+
+    public CodeBlock jsDoubleArithmetic(String op) {
+        // IN: double double
+        CodeBlock codeBlock = new CodeBlock();
+        switch (op) {
+        case "+":
+            codeBlock.dadd();
+            break;
+        case "-":
+            codeBlock.dsub();
+            break;
+        default:
+            codeBlock.dmul();
+        }
+        return codeBlock
+            .invokestatic(p(Double.class), "valueOf", sig(Double.class, double.class));
+            // Double
+    }
+
+    private void swapLongs() {
+        // a(2) b(2) -> b(2) a(2)
+        dup2_x2();
+        pop2();
+    }
+
     @Override
     public Object visit(Object context, BitwiseExpression expr, boolean strict) {
-        expr.getLhs().accept(context, this, strict);
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // value
         if (expr.getOp().equals(">>>")) {
             append(jsToUint32());
@@ -214,8 +504,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         invokevirtual(p(Number.class), "longValue", sig(long.class));
         // long
 
-        expr.getRhs().accept(context, this, strict);
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // long value
 
         switch (expr.getOp()) {
@@ -298,9 +587,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
                 // array array context
                 ldc(index + "");
                 // array array context name
-                each.accept(context, this, strict);
-                // array array context name val
-                append(jsGetValue());
+                emitValue(context, each, strict);
                 // array array context name val
                 invokestatic(p(PropertyDescriptor.class), "newPropertyDescriptorForObjectInitializer", sig(PropertyDescriptor.class, Object.class));
                 // array array context name desc
@@ -337,6 +624,13 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
     @Override
     public Object visit(Object context, AssignmentExpression expr, boolean strict) {
+        if (isSlotResolved(expr.getLhs())) {
+            IdentifierReferenceExpression lhs = (IdentifierReferenceExpression) expr.getLhs();
+            emitPutSlotValue(context, lhs.getDepth(), lhs.getSlot(), lhs.getIdentifier(), expr.getRhs(), strict);
+            // value
+            return null;
+        }
+
         LabelNode throwRefError = new LabelNode();
         LabelNode end = new LabelNode();
 
@@ -349,9 +643,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         iffalse(throwRefError);
         // reference
         checkcast(p(Reference.class));
-        expr.getRhs().accept(context, this, strict);
-        // reference expr
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // reference value
         dup_x1();
         // value reference value
@@ -393,9 +685,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
     @Override
     public Object visit(Object context, BitwiseInversionOperatorExpression expr, boolean strict) {
-        expr.getExpr().accept(context, this, strict);
-        // obj
-        append(jsGetValue());
+        emitValue(context, expr.getExpr(), strict);
         // val
         append(jsToInt32());
         // Long
@@ -440,6 +730,8 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
             }
             if (each.getSizeMetric() > Chunker.STATEMENT_THRESHOLD) {
                 interpretedStatement(each, strict);
+            } else if (emitWithoutCompletion(context, each, strict)) {
+                continue;
             } else {
                 each.accept(context, this, strict);
             }
@@ -734,9 +1026,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         label(normalTarget);
         // completion(block)
 
-        statement.getTest().accept(context, this, strict);
-        // completion(block) result
-        append(jsGetValue());
+        emitValue(context, statement.getTest(), strict);
         // completion(block) result
         append(jsToBoolean());
         // completion(block) Boolean
@@ -786,6 +1076,42 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         return null;
     }
 
+    /**
+     * Emits a statement of a block which always completes normally without
+     * allocating a Completion for it. Its value, if any, is stored straight
+     * into the block's completion. Returns false, having emitted nothing,
+     * for any other statement.
+     *
+     * break, continue, return and try/finally still produce a Completion:
+     * loop and function bodies are basic blocks of their own, entered
+     * through BasicBlock.call(), so their targets lie outside the method
+     * being generated and cannot be reached with a JVM jump. Code lowered
+     * to IR (CompileMode.IR) has no such blocks; there they are plain jumps.
+     */
+    protected boolean emitWithoutCompletion(Object context, Statement statement, boolean strict) {
+        if (statement instanceof EmptyStatement || statement instanceof FunctionDeclaration) {
+            return true;
+        }
+        if (statement instanceof VariableStatement) {
+            emitDeclarations(context, (VariableStatement) statement, strict);
+            return true;
+        }
+        if (statement instanceof ExpressionStatement) {
+            Expression expr = ((ExpressionStatement) statement).getExpr();
+            if (expr instanceof FunctionDeclaration) {
+                return true;
+            }
+            aload(Arities.COMPLETION);
+            // completion(block)
+            emitValue(context, expr, strict);
+            // completion(block) value
+            putfield(p(Completion.class), "value", ci(Object.class));
+            // <EMPTY>
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public Object visit(Object context, EmptyStatement statement, boolean strict) {
         normalCompletion();
@@ -800,13 +1126,9 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         aload(Arities.EXECUTION_CONTEXT);
         // context
-        expr.getLhs().accept(context, this, strict);
-        // context obj(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // context val(lhs)
-        expr.getRhs().accept(context, this, strict);
-        // context val(lhs) obj(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // context val(lhs) val(rhs)
         invokestatic(p(Types.class), "compareEquality", sig(boolean.class, ExecutionContext.class, Object.class, Object.class));
         // bool
@@ -847,9 +1169,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         if (expr instanceof FunctionDeclaration) {
             normalCompletion();
         } else {
-            expr.accept(context, this, strict);
-            // value
-            append(jsGetValue());
+            emitValue(context, expr, strict);
             // value
             normalCompletionWithValue();
             // Completion
@@ -875,9 +1195,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         normalCompletion();
         // completion
-        statement.getRhs().accept(context, this, strict);
-        // completion val
-        append(jsGetValue());
+        emitValue(context, statement.getRhs(), strict);
         // completion val
         dup();
         // completion val val
@@ -1021,9 +1339,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         normalCompletion();
         // completion
-        statement.getRhs().accept(context, this, strict);
-        // completion val
-        append(jsGetValue());
+        emitValue(context, statement.getRhs(), strict);
         // completion val
         dup();
         // completion val val
@@ -1172,9 +1488,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         normalCompletion();
         // completion
-        statement.getRhs().accept(context, this, strict);
-        // completion val
-        append(jsGetValue());
+        emitValue(context, statement.getRhs(), strict);
         // completion val
         dup();
         // completion val val
@@ -1328,9 +1642,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         normalCompletion();
         // completion
-        statement.getRhs().accept(context, this, strict);
-        // completion val
-        append(jsGetValue());
+        emitValue(context, statement.getRhs(), strict);
         // completion val
         dup();
         // completion val val
@@ -1514,8 +1826,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         label(begin);
 
         if (statement.getTest() != null) {
-            statement.getTest().accept(context, this, strict);
-            append(jsGetValue());
+            emitValue(context, statement.getTest(), strict);
             append(jsToBoolean());
             invokevirtual(p(Boolean.class), "booleanValue", sig(boolean.class));
             // completion bool
@@ -1576,8 +1887,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         label(doIncrement);
         // completion
         if (statement.getIncrement() != null) {
-            statement.getIncrement().accept(context, this, strict);
-            append(jsGetValue());
+            emitValue(context, statement.getIncrement(), strict);
             pop();
         }
         // completion
@@ -1708,8 +2018,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
             dup();
             bipush(i);
 
-            argExprs.get(i).accept(context, this, strict);
-            append(jsGetValue());
+            emitValue(context, argExprs.get(i), strict);
             aastore();
         }
         // context ref self function array
@@ -1758,15 +2067,57 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         return null;
     }
 
+    protected static boolean isSlotResolved(Expression expr) {
+        return expr instanceof IdentifierReferenceExpression && ((IdentifierReferenceExpression) expr).isSlotResolved();
+    }
+
+    /**
+     * Evaluates {@code expr} and dereferences the result. Identifiers resolved
+     * to a slot by {@link org.dynjs.parser.ScopeAnalyzer} are read directly,
+     * without creating a Reference.
+     */
+    protected void emitValue(Object context, Expression expr, boolean strict) {
+        if (isSlotResolved(expr)) {
+            IdentifierReferenceExpression identifier = (IdentifierReferenceExpression) expr;
+            aload(Arities.EXECUTION_CONTEXT);
+            // context
+            ldc(identifier.getDepth());
+            ldc(identifier.getSlot());
+            ldc(identifier.getIdentifier());
+            // context depth slot name
+            invokevirtual(p(ExecutionContext.class), "getSlotValue", sig(Object.class, int.class, int.class, String.class));
+            // value
+            return;
+        }
+        expr.accept(context, this, strict);
+        // reference
+        append(jsGetValue());
+        // value
+    }
+
+    /**
+     * Assigns the value of {@code expr} to a binding resolved to a slot.
+     */
+    protected void emitPutSlotValue(Object context, int depth, int slot, String name, Expression expr, boolean strict) {
+        aload(Arities.EXECUTION_CONTEXT);
+        // context
+        ldc(depth);
+        ldc(slot);
+        ldc(name);
+        // context depth slot name
+        emitValue(context, expr, strict);
+        // context depth slot name value
+        invokevirtual(p(ExecutionContext.class), "putSlotValue", sig(Object.class, int.class, int.class, String.class, Object.class));
+        // value
+    }
+
     @Override
     public Object visit(Object context, IfStatement statement, boolean strict) {
         LabelNode elseBranch = new LabelNode();
         LabelNode noElseBranch = new LabelNode();
         LabelNode end = new LabelNode();
 
-        statement.getTest().accept(context, this, strict);
-        // value
-        append(jsGetValue());
+        emitValue(context, statement.getTest(), strict);
         // value
         append(jsToBoolean());
         // Boolean
@@ -1816,14 +2167,10 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         LabelNode typeError = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        // obj(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // val(lhs)
 
-        expr.getRhs().accept(context, this, strict);
-        // val(lhs) obj(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // val(lhs) val(rhs)
 
         dup();
@@ -1867,14 +2214,10 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         LabelNode typeError = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        // obj(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // val(lhs)
 
-        expr.getRhs().accept(context, this, strict);
-        // val(lhs) obj(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // val(lhs) val(rhs)
 
         dup();
@@ -1918,14 +2261,10 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         LabelNode typeError = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        // obj(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // val(lhs)
 
-        expr.getRhs().accept(context, this, strict);
-        // val(lhs) obj(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // val(lhs) val(rhs)
 
         dup();
@@ -1972,8 +2311,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     public Object visit(Object context, LogicalExpression expr, boolean strict) {
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         dup();
         // val(lhs) val(lhs)
         append(jsToBoolean());
@@ -1990,9 +2328,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         // <empty>
 
-        expr.getRhs().accept(context, this, strict);
-        // val(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // val(rhs)
         go_to(end);
 
@@ -2009,9 +2345,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         LabelNode returnFalse = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getExpr().accept(context, this, strict);
-        // obj
-        append(jsGetValue());
+        emitValue(context, expr.getExpr(), strict);
         // val
         append(jsToBoolean());
         // Boolean
@@ -2032,9 +2366,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     public Object visit(Object context, DotExpression expr, boolean strict) {
         aload(Arities.EXECUTION_CONTEXT);
         // context
-        expr.getLhs().accept(context, this, strict);
-        // context reference
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // context object
         ldc(expr.getIdentifier());
         // context object identifier
@@ -2053,9 +2385,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     public Object visit(Object context, BracketExpression expr, boolean strict) {
         aload(Arities.EXECUTION_CONTEXT);
         // context
-        expr.getLhs().accept(context, this, strict);
-        // context reference
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // context object
         expr.getRhs().accept(context, this, strict);
         // context object ident-expr
@@ -2067,26 +2397,24 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // context object ident-expr
         append(jsGetValue());
         // context object ident-obj
-        append(jsToString());
-        // context object ident-str
-        append(jsCreatePropertyReference());
+        append(jsCreateElementReference());
         // reference
         return null;
     }
 
     @Override
     public Object visit(Object context, MultiplicativeExpression expr, boolean strict) {
+        if (expr.getOp().equals("*")) {
+            return emitArithmetic(context, expr.getLhs(), numericKind(expr.getLhs()), expr.getRhs(), numericKind(expr.getRhs()), "*", strict);
+        }
+
         LabelNode doubleNums = new LabelNode();
         LabelNode returnNaN = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getLhs().accept(context, this, strict);
-        // val(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         append(jsToNumber());
-        expr.getRhs().accept(context, this, strict);
-        // val(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         append(jsToNumber());
         // val(lhs) val(rhs)
 
@@ -2151,13 +2479,25 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // obj context
         swap();
         // context obj
+        dup();
+        // context obj obj
         append(jsGetValue(JSFunction.class));
-        // context ctor-fn
+        // context obj ctor-fn
 
-        bipush(0);
+        List<Expression> argExprs = expr.getArgumentExpressions();
+        int numArgs = argExprs.size();
+        bipush(numArgs);
         anewarray(p(Object.class));
-        // context function array
-        invokevirtual(p(ExecutionContext.class), "construct", sig(Object.class, JSFunction.class, Object[].class));
+        // context obj ctor-fn array
+        for (int i = 0; i < numArgs; ++i) {
+            dup();
+            bipush(i);
+
+            emitValue(context, argExprs.get(i), strict);
+            aastore();
+        }
+        // context obj ctor-fn array
+        invokevirtual(p(ExecutionContext.class), "construct", sig(Object.class, Object.class, JSFunction.class, Object[].class));
         // obj
 
         label(end);
@@ -2172,40 +2512,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     }
 
     public Object visit(Object context, NumberLiteralExpression expr, boolean strict) {
-        String text = expr.getText();
-
-        if (text.indexOf('.') == 0) {
-            ldc("0" + text);
-            invokestatic(p(Double.class), "valueOf", sig(Double.class, String.class));
-        } else if (text.indexOf(".") > 0) {
-            ldc(text);
-            ldc(10);
-            invokestatic(p(Types.class), "parseLongOrDouble", sig(Number.class, String.class, int.class));
-            // Long or Double
-        } else {
-            if (text.startsWith("0x") || text.startsWith("0X")) {
-                String realText = text.substring(2);
-                ldc(realText);
-                bipush(expr.getRadix());
-                invokestatic(p(Long.class), "valueOf", sig(Long.class, String.class, int.class));
-                // Long
-            } else {
-                final int index = text.toLowerCase().indexOf('e');
-                if (index > 0) {
-                    // scientific notation, but without the java-friendlyness. E.g. 1E21 instead of 1.0e21
-                    String base = text.substring(0, index);
-                    String exponent = text.substring(index);
-                    String javafied = base + ".0" + exponent;
-                    ldc(javafied);
-                    invokestatic(p(Double.class), "valueOf", sig(Double.class, String.class));
-                } else {
-                    ldc(text);
-                    bipush(expr.getRadix());
-                    invokestatic(p(Types.class), "parseLongOrDouble", sig(Number.class, String.class, int.class));
-                    // Long or Double
-                }
-            }
-        }
+        pushConstant(numericConstant(expr));
         return null;
     }
 
@@ -2268,14 +2575,8 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // ref Long ref long
         ldc(1L);
         // ref Long ref long 1
-        if (expr.getOp().equals("++")) {
-            ladd();
-        } else {
-            lsub();
-        }
-        // ref Long(orig) ref long(new)
-        invokestatic(p(Long.class), "valueOf", sig(Long.class, long.class));
-        // ref Long(orig) ref Long(new)
+        append(jsIntegralArithmetic(expr.getOp().equals("++") ? "+" : "-"));
+        // ref Long(orig) ref Number(new)
         aload(Arities.EXECUTION_CONTEXT);
         // ref Long(orig) ref Long(new) context
         swap();
@@ -2378,14 +2679,8 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // ref ref long
         ldc(1L);
         // ref ref long 1L
-        if (expr.getOp().equals("++")) {
-            ladd();
-        } else {
-            lsub();
-        }
-        // ref ref long
-        invokestatic(p(Long.class), "valueOf", sig(Long.class, long.class));
-        // ref ref Long
+        append(jsIntegralArithmetic(expr.getOp().equals("++") ? "+" : "-"));
+        // ref ref Number
         go_to(storeNewValue);
 
         // ----------------------------------------
@@ -2410,14 +2705,16 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         label(storeNewValue);
         // ref ref newval
+        dup_x2();
+        // newval ref ref newval
         aload(Arities.EXECUTION_CONTEXT);
-        // ref ref newval context
+        // newval ref ref newval context
         swap();
-        // ref ref context newval
+        // newval ref ref context newval
         invokevirtual(p(Reference.class), "putValue", sig(void.class, ExecutionContext.class, Object.class));
-        // ref
-        append(jsGetValue());
-        // value
+        // newval ref
+        pop();
+        // newval
         go_to(end);
 
         label(invalid);
@@ -2514,9 +2811,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // obj obj context
         ldc(namedValue.getName());
         // obj obj context name
-        namedValue.getExpr().accept(context, this, strict);
-        // obj obj context name val
-        append(jsGetValue());
+        emitValue(context, namedValue.getExpr(), strict);
         // obj obj context name val
         if (namedValue.getExpr() instanceof FunctionExpression) {
             ldc(namedValue.getName());
@@ -2542,28 +2837,109 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     public Object visit(Object context, RegexpLiteralExpression expr, boolean strict) {
         aload(Arities.EXECUTION_CONTEXT);
         // context
-        ldc(expr.getPattern());
-        // context pattern
-        ldc(expr.getFlags());
-        // context pattern flags
-        invokestatic(p(BuiltinRegExp.class), "newRegExp", sig(DynRegExp.class, ExecutionContext.class, Object.class, String.class));
+        invokedynamic("regexp", sig(DynRegExp.class, ExecutionContext.class), RegExpLiteralSite.BOOTSTRAP,
+                expr.getPattern(), expr.getFlags());
         // regexp
         return null;
     }
 
     @Override
     public Object visit(Object context, RelationalExpression expr, boolean strict) {
-        LabelNode returnFalse = new LabelNode();
-        LabelNode end = new LabelNode();
+        NumericKind lhsKind = numericKind(expr.getLhs());
+        NumericKind rhsKind = numericKind(expr.getRhs());
+        if (lhsKind != NumericKind.LONG_CONSTANT && rhsKind == NumericKind.LONG_CONSTANT) {
+            return emitRelationalLongConstant(context, expr.getLhs(), integralConstant(expr.getRhs()), expr.getOp(), strict);
+        }
+        if (lhsKind == NumericKind.LONG_CONSTANT && rhsKind != NumericKind.LONG_CONSTANT) {
+            return emitRelationalLongConstant(context, expr.getRhs(), integralConstant(expr.getLhs()), mirrorRelational(expr.getOp()), strict);
+        }
 
         aload(Arities.EXECUTION_CONTEXT);
-        expr.getLhs().accept(context, this, strict);
-        append(jsGetValue());
-        expr.getRhs().accept(context, this, strict);
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
+        emitValue(context, expr.getRhs(), strict);
         // context lhs rhs
+        emitCompareRelational(expr.getOp());
+        return null;
+    }
+
+    /**
+     * Emits {@code value op constant}, comparing integral values directly
+     * and deferring to 11.8.5 for everything else.
+     */
+    private Object emitRelationalLongConstant(Object context, Expression valueExpr, long constant, String op, boolean strict) {
+        LabelNode generic = new LabelNode();
+        LabelNode returnTrue = new LabelNode();
+        LabelNode end = new LabelNode();
+
+        emitValue(context, valueExpr, strict);
+        // val
+        dup();
+        // val val
+        instance_of(p(Long.class));
+        // val bool
+        iffalse(generic);
+        // val
+        checkcast(p(Long.class));
+        invokevirtual(p(Number.class), "longValue", sig(long.class));
+        // long
+        ldc(constant);
+        // long long(constant)
+        lcmp();
+        // int
+        switch (op) {
+        case "<":
+            iflt(returnTrue);
+            break;
+        case ">":
+            ifgt(returnTrue);
+            break;
+        case "<=":
+            ifle(returnTrue);
+            break;
+        default:
+            ifge(returnTrue);
+        }
+        getstatic(p(Boolean.class), "FALSE", ci(Boolean.class));
+        go_to(end);
+
+        label(returnTrue);
+        getstatic(p(Boolean.class), "TRUE", ci(Boolean.class));
+        go_to(end);
+
+        label(generic);
+        // val
+        aload(Arities.EXECUTION_CONTEXT);
+        swap();
+        // context val
+        ldc(constant);
+        invokestatic(p(Long.class), "valueOf", sig(Long.class, long.class));
+        // context val constant
+        emitCompareRelational(op);
+
+        label(end);
+        nop();
+        return null;
+    }
+
+    private static String mirrorRelational(String op) {
+        switch (op) {
+        case "<":
+            return ">";
+        case ">":
+            return "<";
+        case "<=":
+            return ">=";
+        default:
+            return "<=";
+        }
+    }
+
+    private void emitCompareRelational(String op) {
+        // IN: context lhs rhs
+        LabelNode returnFalse = new LabelNode();
+        LabelNode end = new LabelNode();
 
-        if (expr.getOp().equals(">") || expr.getOp().equals("<=")) {
+        if (op.equals(">") || op.equals("<=")) {
             swap();
             iconst_0();
             i2b();
@@ -2579,14 +2955,14 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         dup();
         // result result
 
-        if (expr.getOp().equals("<") || expr.getOp().equals(">")) {
+        if (op.equals("<") || op.equals(">")) {
             // result result
             append(jsPushUndefined());
             // result result UNDEF
             if_acmpeq(returnFalse);
             // result
             go_to(end);
-        } else if (expr.getOp().equals("<=") || expr.getOp().equals(">=")) {
+        } else if (op.equals("<=") || op.equals(">=")) {
             // result result
             append(jsPushUndefined());
             // result result UNDEF
@@ -2617,7 +2993,6 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // ----------------------------------------
         label(end);
         nop();
-        return null;
     }
 
     @Override
@@ -2626,8 +3001,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         if (statement.getExpr() == null) {
             append(jsPushUndefined());
         } else {
-            statement.getExpr().accept(context, this, strict);
-            append(jsGetValue());
+            emitValue(context, statement.getExpr(), strict);
         }
         returnCompletion();
         return null;
@@ -2641,13 +3015,9 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         aload(Arities.EXECUTION_CONTEXT);
         // context
-        expr.getLhs().accept(context, this, strict);
-        // context obj(lhs)
-        append(jsGetValue());
+        emitValue(context, expr.getLhs(), strict);
         // context val(lhs)
-        expr.getRhs().accept(context, this, strict);
-        // context val(lhs) obj(rhs)
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // context val(lhs) val(rhs)
         invokestatic(p(Types.class), "compareStrictEquality", sig(boolean.class, ExecutionContext.class, Object.class, Object.class));
         // bool
@@ -2687,9 +3057,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         astore(Arities.COMPLETION);
         // <empty>
 
-        statement.getExpr().accept(context, this, strict);
-        // switchref
-        append(jsGetValue());
+        emitValue(context, statement.getExpr(), strict);
         // switchval
 
         List<CaseClause> caseClauses = statement.getCaseClauses();
@@ -2719,9 +3087,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
             // switchval switchval context
             swap();
             // switchval context switchval
-            eachCase.getExpression().accept(context, this, strict);
-            // switchval context switchval caseref
-            append(jsGetValue());
+            emitValue(context, eachCase.getExpression(), strict);
             // switchval context switchval caseval
             invokestatic(p(Types.class), "compareStrictEquality", sig(boolean.class, ExecutionContext.class, Object.class, Object.class));
             // switchval bool
@@ -2825,9 +3191,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         LabelNode elseBranch = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getTest().accept(context, this, strict);
-        // val
-        append(jsGetValue());
+        emitValue(context, expr.getTest(), strict);
         // val
         append(jsToBoolean());
         // Boolean
@@ -2856,8 +3220,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
     @Override
     public Object visit(Object context, ThrowStatement statement, boolean strict) {
-        statement.getExpr().accept(context, this, strict);
-        append(jsGetValue());
+        emitValue(context, statement.getExpr(), strict);
         // val
         newobj(p(ThrowException.class));
         // val ex
@@ -3078,13 +3441,16 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
     @Override
     public Object visit(Object context, UnaryMinusExpression expr, boolean strict) {
+        if (isNumericConstant(expr.getExpr())) {
+            pushConstant(numericConstant(expr));
+            return null;
+        }
+
         LabelNode doubleNum = new LabelNode();
         LabelNode zero = new LabelNode();
         LabelNode end = new LabelNode();
 
-        expr.getExpr().accept(context, this, strict);
-        // val
-        append(jsGetValue());
+        emitValue(context, expr.getExpr(), strict);
         // val
         append(jsToNumber());
         // num
@@ -3114,10 +3480,8 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
         ldc(-1L);
         // num -1L
-        lmul();
+        append(jsIntegralArithmetic("*"));
         // -num
-        invokestatic(p(Long.class), "valueOf", sig(Long.class, long.class));
-        // -num(Long)
 
         go_to(end);
 
@@ -3155,9 +3519,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     @Override
     public Object visit(Object context, UnaryPlusExpression expr, boolean strict) {
         // 11.4.6
-        expr.getExpr().accept(context, this, strict);
-        // val
-        append(jsGetValue());
+        emitValue(context, expr.getExpr(), strict);
         // val
         append(jsToNumber());
         return null;
@@ -3168,14 +3530,18 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         if (expr.getExpr() == null) {
             ldc(expr.getIdentifier());
             // str
+        } else if (expr.isSlotResolved()) {
+            emitPutSlotValue(context, expr.getDepth(), expr.getSlot(), expr.getIdentifier(), expr.getExpr(), strict);
+            // value
+            pop();
+            ldc(expr.getIdentifier());
+            // str
         } else {
             append(jsResolve(expr.getIdentifier()));
             // reference
             aload(Arities.EXECUTION_CONTEXT);
             // reference context
-            expr.getExpr().accept(context, this, strict);
-            // reference context val
-            append(jsGetValue());
+            emitValue(context, expr.getExpr(), strict);
             // reference context val
             invokevirtual(p(Reference.class), "putValue", sig(void.class, ExecutionContext.class, Object.class));
             // reference
@@ -3187,20 +3553,23 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
 
     @Override
     public Object visit(Object context, VariableStatement statement, boolean strict) {
+        emitDeclarations(context, statement, strict);
+        normalCompletion();
+        return null;
+    }
+
+    private void emitDeclarations(Object context, VariableStatement statement, boolean strict) {
         for (VariableDeclaration each : statement.getVariableDeclarations()) {
             each.accept(context, this, strict);
             // identifier
             pop();
             // <EMPTY>
         }
-        normalCompletion();
-        return null;
     }
 
     @Override
     public Object visit(Object context, VoidOperatorExpression expr, boolean strict) {
-        expr.getExpr().accept(context, this, strict);
-        append(jsGetValue());
+        emitValue(context, expr.getExpr(), strict);
         pop();
         append(jsPushUndefined());
         return null;
@@ -3217,9 +3586,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
         // completion(block)
 
         label(begin);
-        statement.getTest().accept(context, this, strict);
-        // completion(block) result
-        append(jsGetValue());
+        emitValue(context, statement.getTest(), strict);
         // completion(block) result
         append(jsToBoolean());
         // completion(block) Boolean
@@ -3284,9 +3651,7 @@ public class BasicBytecodeGeneratingVisitor extends CodeGeneratingVisitor {
     public Object visit(Object context, WithStatement statement, boolean strict) {
         aload(Arities.EXECUTION_CONTEXT);
         // context
-        statement.getExpr().accept(context, this, strict);
-        // context val
-        append(jsGetValue());
+        emitValue(context, statement.getExpr(), strict);
         // context val
         append(jsToObject());
         // context obj
@@ -8,6 +8,7 @@ import me.qmx.jitescript.CodeBlock;
 
 import org.dynjs.compiler.CompilationContext;
 import org.dynjs.compiler.JSCompiler;
+import org.dynjs.compiler.bytecode.CodeCache;
 import org.dynjs.exception.ThrowException;
 import org.dynjs.parser.CodeVisitor;
 import org.dynjs.parser.Statement;
@@ -211,6 +212,12 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
             .invokevirtual(p(ExecutionContext.class), "createPropertyReference", sig(Reference.class, Object.class, String.class));
     }
 
+    public CodeBlock jsCreateElementReference() {
+        return new CodeBlock()
+            // IN: context obj identifier
+            .invokevirtual(p(ExecutionContext.class), "createElementReference", sig(Reference.class, Object.class, Object.class));
+    }
+
     public CodeBlock jsThrowTypeError(final String message) {
         return new CodeBlock()
             .newobj(p(ThrowException.class))
@@ -349,7 +356,7 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
             // IN: obj(lhs) obj(rhs)
             .dup()
             // obj(lhs) obj(rhs) obj(rhs)
-            .instance_of(p(String.class))
+            .invokestatic(p(Types.class), "isString", sig(boolean.class, Object.class))
             // obj(lhs) obj(rhs) bool(rhs)
             .iffalse(end)
             // obj(lhs) obj(rhs)
@@ -357,7 +364,7 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
             // obj(rhs) obj(lhs)
             .dup_x1()
             // obj(lhs) obj(rhs) obj(lhs)
-            .instance_of(p(String.class))
+            .invokestatic(p(Types.class), "isString", sig(boolean.class, Object.class))
             // obj(lhs) obj(rhs) bool(lhs)
             .iftrue(target)
             // obj(lhs) obj(rhs)
@@ -530,6 +537,7 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
         if (entry.statement == null) {
             entry.statement = block;
         }
+        CodeCache.blockReferenced(block);
 
         // ----------------------------------------
         // ----------------------------------------
@@ -573,7 +581,7 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
         
         // compiler context grist statement strict
 
-        invokevirtual(p(JSCompiler.class), "compileBasicBlock", sig(BasicBlock.class, ExecutionContext.class, String.class, Statement.class, boolean.class));
+        invokevirtual(p(JSCompiler.class), "compileBasicBlock", sig(BasicBlock.class, CompilationContext.class, String.class, Statement.class, boolean.class));
         // basic-block
 
     }
@@ -587,6 +595,7 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
         if (entry.statement == null) {
             entry.statement = block;
         }
+        CodeCache.blockReferenced(block);
 
         // ----------------------------------------
         // ----------------------------------------
@@ -658,6 +667,7 @@ public abstract class CodeGeneratingVisitor extends CodeBlock implements CodeVis
         Entry entry = getBlockManager().retrieve(statement.getStatementNumber());
         InterpretedBasicBlock interpreted = new InterpretedBasicBlock(this.interpFactory, statement, strict);
         entry.setCompiled(interpreted);
+        CodeCache.interpretedBlockReferenced(statement, strict);
 
         aload(Arities.EXECUTION_CONTEXT);
         ldc(statement.getStatementNumber());
@@ -11,6 +11,10 @@ public class CodeGeneratingVisitorFactory {
         this.enableInvokeDynamic = enableInvokeDynamic;
     }
     
+    public boolean isInvokeDynamicEnabled() {
+        return this.enableInvokeDynamic;
+    }
+
     public CodeGeneratingVisitor create(BlockManager blockManager) {
         InterpretingVisitorFactory interpFactory = new InterpretingVisitorFactory( enableInvokeDynamic );
         if ( enableInvokeDynamic ) {
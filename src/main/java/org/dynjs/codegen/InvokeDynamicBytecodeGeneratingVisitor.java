@@ -15,6 +15,7 @@ import org.dynjs.parser.ast.VariableDeclaration;
 import org.dynjs.runtime.BlockManager;
 import org.dynjs.runtime.EnvironmentRecord;
 import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.IndexedReference;
 import org.dynjs.runtime.JSObject;
 import org.dynjs.runtime.Reference;
 import org.dynjs.runtime.interp.InterpretingVisitorFactory;
@@ -32,6 +33,12 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
         if (expr.getExpr() == null) {
             ldc(expr.getIdentifier());
             // str
+        } else if (expr.isSlotResolved()) {
+            emitPutSlotValue(context, expr.getDepth(), expr.getSlot(), expr.getIdentifier(), expr.getExpr(), strict);
+            // value
+            pop();
+            ldc(expr.getIdentifier());
+            // str
         } else {
             append(jsResolve(expr.getIdentifier()));
             // reference
@@ -39,9 +46,7 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
             // reference context
             ldc(expr.getIdentifier());
             // reference context name
-            expr.getExpr().accept(context, this, strict);
-            // reference context name val
-            append(jsGetValue());
+            emitValue(context, expr.getExpr(), strict);
             // reference context name val
             invokedynamic("dyn:setProperty", sig(void.class, Object.class, ExecutionContext.class, String.class, Object.class), DynJSBootstrapper.HANDLE,
                     DynJSBootstrapper.ARGS);
@@ -54,7 +59,12 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
 
     @Override
     public Object visit(Object context, AssignmentExpression expr, boolean strict) {
+        if (isSlotResolved(expr.getLhs())) {
+            return super.visit(context, expr, strict);
+        }
+
         LabelNode throwRefError = new LabelNode();
+        LabelNode setIndexed = new LabelNode();
         LabelNode end = new LabelNode();
 
         expr.getLhs().accept(context, this, strict);
@@ -68,14 +78,18 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
         checkcast(p(Reference.class));
         // ref
 
-        expr.getRhs().accept(context, this, strict);
-        // ref expr
-        append(jsGetValue());
+        emitValue(context, expr.getRhs(), strict);
         // ref value
         dup_x1();
         // value ref value
         swap();
         // value value ref
+        dup();
+        // value value ref ref
+        instance_of(p(IndexedReference.class));
+        // value value ref indexed?
+        iftrue(setIndexed);
+        // value value ref
         dup_x1();
         // value ref value ref
         invokevirtual(p(Reference.class), "getReferencedName", sig(String.class));
@@ -95,6 +109,28 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
         // value
         go_to(end);
 
+        label(setIndexed);
+        // value value ref
+        dup_x1();
+        // value ref value ref
+        aload(Arities.EXECUTION_CONTEXT);
+        // value ref value ref context
+        dup_x2();
+        // value ref context value ref context
+        pop();
+        // value ref context value ref
+        checkcast(p(IndexedReference.class));
+        invokevirtual(p(IndexedReference.class), "getIndex", sig(long.class));
+        // value ref context value index
+        dup2_x1();
+        // value ref context index value index
+        pop2();
+        // value ref context index value
+        invokedynamic("dyn:setElement", sig(void.class, Object.class, ExecutionContext.class, long.class, Object.class), DynJSBootstrapper.HANDLE,
+                DynJSBootstrapper.ARGS);
+        // value
+        go_to(end);
+
         label(throwRefError);
         // reference
         pop();
@@ -147,8 +183,7 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
             dup();
             bipush(i);
 
-            argExprs.get(i).accept(context, this, strict);
-            append(jsGetValue());
+            emitValue(context, argExprs.get(i), strict);
             aastore();
         }
         // ctor-fn context array
@@ -254,8 +289,7 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
             dup();
             bipush(i);
 
-            argExprs.get(i).accept(context, this, strict);
-            append(jsGetValue());
+            emitValue(context, argExprs.get(i), strict);
             aastore();
         }
         // fn context self array
@@ -399,6 +433,8 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
     public CodeBlock jsGetValue(final Class<?> throwIfNot) {
         LabelNode end = new LabelNode();
         LabelNode throwRef = new LabelNode();
+        LabelNode indexed = new LabelNode();
+        LabelNode gotValue = new LabelNode();
         CodeBlock codeBlock = new CodeBlock()
             // IN: reference
             .dup()
@@ -416,6 +452,12 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
             // ref
             .dup()
             // ref ref
+            .instance_of(p(IndexedReference.class))
+            // ref indexed?
+            .iftrue(indexed)
+            // ref
+            .dup()
+            // ref ref
             .invokevirtual(p(Reference.class), "getReferencedName", sig(String.class))
             // ref name
             .aload(Arities.EXECUTION_CONTEXT)
@@ -423,8 +465,27 @@ public class InvokeDynamicBytecodeGeneratingVisitor extends BasicBytecodeGenerat
             .swap()
             // ref context name
             .invokedynamic("dyn:getProperty|getMethod", sig(Object.class, Object.class, ExecutionContext.class, String.class), DynJSBootstrapper.HANDLE,
-                          DynJSBootstrapper.ARGS);
+                          DynJSBootstrapper.ARGS)
+            // value
+            .go_to(gotValue)
+
+            .label(indexed)
+            // ref
+            .dup()
+            // ref ref
+            .checkcast(p(IndexedReference.class))
+            .invokevirtual(p(IndexedReference.class), "getIndex", sig(long.class))
+            // ref index
+            .aload(Arities.EXECUTION_CONTEXT)
+            // ref index context
+            .dup_x2()
+            // ref context index context
+            .pop()
+            // ref context index
+            .invokedynamic("dyn:getElement", sig(Object.class, Object.class, ExecutionContext.class, long.class), DynJSBootstrapper.HANDLE,
+                          DynJSBootstrapper.ARGS)
             // value
+            .label(gotValue);
         if (throwIfNot != null) {
             codeBlock.dup()
                 // value value
@@ -13,13 +13,21 @@ public class DefaultCompilationContext implements CompilationContext {
     private final JSCompiler compiler;
 
     public DefaultCompilationContext(Config config) {
-        this.config = config;
-        this.blockManager = new BlockManager();
-        this.compiler = new JSCompiler( this.config );
+        this( config, new JSCompiler( config ) );
     }
 
+    /**
+     * Creates a context with its own block manager, sharing the configuration
+     * and compiler of {@code parent}.
+     */
     public DefaultCompilationContext(CompilationContext parent) {
-        this( parent.getConfig() );
+        this( parent.getConfig(), parent.getCompiler() );
+    }
+
+    private DefaultCompilationContext(Config config, JSCompiler compiler) {
+        this.config = config;
+        this.blockManager = new BlockManager();
+        this.compiler = compiler;
     }
 
     @Override
@@ -0,0 +1,54 @@
+package org.dynjs.compiler;
+
+import org.dynjs.Config;
+import org.dynjs.runtime.*;
+
+/**
+ * Compiles in the scope of another context, but into a block manager of its
+ * own, so that code generated for one-off sources such as
+ * {@code new Function(...)} is not kept alive by the caller's blocks.
+ */
+public class IsolatedCompilationContext implements CompilationContext {
+
+    private final CompilationContext parent;
+    private final BlockManager blockManager = new BlockManager();
+
+    public IsolatedCompilationContext(CompilationContext parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public JSCompiler getCompiler() {
+        return this.parent.getCompiler();
+    }
+
+    @Override
+    public BlockManager getBlockManager() {
+        return this.blockManager;
+    }
+
+    @Override
+    public DynamicClassLoader getClassLoader() {
+        return this.parent.getClassLoader();
+    }
+
+    @Override
+    public Config getConfig() {
+        return this.parent.getConfig();
+    }
+
+    @Override
+    public JSObject createSyntaxError(String message) {
+        return this.parent.createSyntaxError(message);
+    }
+
+    @Override
+    public LexicalEnvironment getLexicalEnvironment() {
+        return this.parent.getLexicalEnvironment();
+    }
+
+    @Override
+    public GlobalContext getGlobalContext() {
+        return this.parent.getGlobalContext();
+    }
+}
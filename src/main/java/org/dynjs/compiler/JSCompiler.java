@@ -38,6 +38,7 @@ public class JSCompiler {
             this.functionCompiler = new ByteCodeFunctionCompiler();
             this.programCompiler = new BytecodeProgramCompiler();
             break;
+        case IR: // whatever the IR builder cannot lower falls back to these
         case JIT: // FIXME: this should go away when IR becomes default (config.isJitEnabled())
             this.basicBlockCompiler = new JITBasicBlockCompiler(config, interpFactory, factory);
             this.functionCompiler = new ByteCodeFunctionCompiler(); // FIXME: Add JIT
@@ -48,6 +48,7 @@ public abstract class AbstractBytecodeCompiler {
             ClassReader reader = new ClassReader(bytecode);
             CheckClassAdapter.verify(reader, true, new PrintWriter(System.out));
         }
+        CodeCache.classDefined(jiteClass.getClassName().replace('.', '/'), bytecode);
         return (T) classLoader.define(jiteClass.getClassName().replace('/', '.'), bytecode);
     }
 
@@ -36,6 +36,7 @@ public class BytecodeBasicBlockCompiler extends AbstractBytecodeCompiler impleme
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public BasicBlock compile(final CompilationContext context, final String grist, final Statement body, boolean strict) {
         
         int statementNumber = body.getStatementNumber();
@@ -44,7 +45,20 @@ public class BytecodeBasicBlockCompiler extends AbstractBytecodeCompiler impleme
         if ( code instanceof BytecodeBasicBlock ) {
             return code;
         }
-        
+
+        CodeCache cache = getConfig().getCodeCache();
+        boolean invokeDynamic = getFactory().isInvokeDynamicEnabled();
+        String key = null;
+        if ( cache != null ) {
+            key = cache.keyFor(getConfig(), body, grist, strict, invokeDynamic);
+        }
+        if ( key != null ) {
+            Class<BytecodeBasicBlock> cachedClass = (Class<BytecodeBasicBlock>) cache.load(key, body, context, invokeDynamic);
+            if ( cachedClass != null ) {
+                return instantiate(cachedClass, entry, body, strict);
+            }
+        }
+
         String className = nextClassName(grist);
 
         final JiteClass cls = new JiteClass(className,
@@ -73,18 +87,36 @@ public class BytecodeBasicBlockCompiler extends AbstractBytecodeCompiler impleme
                     .voidreturn()
                 );
 
-        CompilationPlanner planner = new CompilationPlanner(getConfig(), context.getClassLoader(), getFactory());
+        DynamicClassLoader classLoader = context.getBlockManager().getClassLoader(context.getClassLoader());
+        CompilationPlanner planner = new CompilationPlanner(getConfig(), classLoader, getFactory());
 
-        PartialCompiler compiler = null;
-        if (body instanceof BlockStatement) {
-            compiler = planner.plan((BlockStatement) body);
-        } else {
-            compiler = planner.plan(new BlockStatement(Collections.singletonList(body)));
+        CodeCache.Recording recording = null;
+        if ( key != null ) {
+            recording = CodeCache.startRecording(body);
+        }
+        Class<BytecodeBasicBlock> blockClass;
+        try {
+            PartialCompiler compiler = null;
+            if (body instanceof BlockStatement) {
+                compiler = planner.plan((BlockStatement) body);
+            } else {
+                compiler = planner.plan(new BlockStatement(Collections.singletonList(body)));
+            }
+            compiler.define(cls, context, false);
+            blockClass = defineClass(classLoader, cls);
+        } finally {
+            if ( recording != null ) {
+                recording.stop();
+            }
+        }
+        if ( recording != null ) {
+            cache.store(key, cls.getClassName().replace('.', '/'), recording);
         }
 
-        compiler.define(cls, context, false);
-        Class<BytecodeBasicBlock> blockClass = defineClass(context.getClassLoader(), cls);
+        return instantiate(blockClass, entry, body, strict);
+    }
 
+    private BasicBlock instantiate(Class<BytecodeBasicBlock> blockClass, Entry entry, Statement body, boolean strict) {
         Position position = body.getPosition();
 
         String fileName = (position != null ? position.getFileName() : "eval");
@@ -0,0 +1,583 @@
+package org.dynjs.compiler.bytecode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import me.qmx.jitescript.internal.org.objectweb.asm.ClassReader;
+import me.qmx.jitescript.internal.org.objectweb.asm.ClassWriter;
+import me.qmx.jitescript.internal.org.objectweb.asm.tree.AbstractInsnNode;
+import me.qmx.jitescript.internal.org.objectweb.asm.tree.ClassNode;
+import me.qmx.jitescript.internal.org.objectweb.asm.tree.LdcInsnNode;
+import me.qmx.jitescript.internal.org.objectweb.asm.tree.MethodInsnNode;
+import me.qmx.jitescript.internal.org.objectweb.asm.tree.MethodNode;
+
+import org.dynjs.Config;
+import org.dynjs.compiler.CompilationContext;
+import org.dynjs.parser.Statement;
+import org.dynjs.parser.ast.AbstractStatement;
+import org.dynjs.parser.ast.SourceUnit;
+import org.dynjs.runtime.BlockManager;
+import org.dynjs.runtime.BlockManager.Entry;
+import org.dynjs.runtime.DynJS;
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.GeneratedClassLoader;
+import org.dynjs.runtime.interp.InterpretedBasicBlock;
+import org.dynjs.runtime.interp.InterpretingVisitorFactory;
+
+import static me.qmx.jitescript.util.CodegenUtils.*;
+
+/**
+ * Directory of classes generated for basic blocks, kept across runs.
+ *
+ * An entry is keyed by a hash of the block's source unit, its position
+ * there, its strictness, a hash of the dynjs classes and the options which
+ * change code generation. The class hash, rather than the release version,
+ * keeps entries written by one build from being loaded by another build of
+ * the same version. Generated code refers to nested blocks by statement number, and
+ * those differ from run to run, so they are stored relative to the unit and
+ * rebased when loaded. Blocks whose unit cannot be rebased are not cached.
+ *
+ * Only code generation is skipped. Every run still parses the whole source:
+ * generated code finds nested blocks, function bodies and declarations
+ * through the AST, and blocks which are not compiled are interpreted from
+ * it. Within one JVM the {@link org.dynjs.runtime.ProgramCache} avoids the
+ * repeated parse.
+ *
+ * Entries are written to a temporary file and renamed into place, so readers
+ * never see a partial entry. Once the directory grows past its limit, the
+ * least recently used entries are removed.
+ */
+public class CodeCache {
+
+    private static final int MAGIC = 0x444A5343; // "DJSC"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".djc";
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    private final File directory;
+    private final long maxSize;
+    private final AtomicLong hits = new AtomicLong();
+
+    public CodeCache(File directory, long maxSize) {
+        if (!directory.mkdirs() && !directory.isDirectory()) {
+            throw new IllegalArgumentException("Cannot create code cache directory: " + directory);
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    public long getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Returns how many blocks were loaded from this cache instead of being
+     * generated.
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns the hash identifying a source unit parsed from {@code source}.
+     */
+    public static String hashSource(String source, String fileName, boolean forceStrict) {
+        MessageDigest digest = newDigest();
+        update(digest, source);
+        update(digest, String.valueOf(fileName));
+        update(digest, String.valueOf(forceStrict));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns the key under which code generated for {@code body} is stored,
+     * or {@code null} if it cannot be cached.
+     */
+    public String keyFor(Config config, Statement body, String grist, boolean strict, boolean invokeDynamic) {
+        if (!(body instanceof AbstractStatement)) {
+            return null;
+        }
+        SourceUnit unit = ((AbstractStatement) body).getSourceUnit();
+        if (unit == null || !unit.isRelocatable()) {
+            return null;
+        }
+        int offset = unit.offsetOf(body);
+        if (offset < 0) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        update(digest, String.valueOf(VERSION));
+        update(digest, CodegenHash.VALUE);
+        update(digest, unit.getHash());
+        update(digest, String.valueOf(offset));
+        update(digest, grist);
+        update(digest, String.valueOf(strict));
+        update(digest, String.valueOf(invokeDynamic));
+        update(digest, config.getBasePackage());
+        update(digest, String.valueOf(config.isDebug()));
+        return toHex(digest.digest());
+    }
+
+    // ----------------------------------------------------------------------
+
+    /**
+     * Loads the classes stored under {@code key} and returns the block class,
+     * or {@code null} if there is no usable entry. Makes the same changes to
+     * the context's {@link BlockManager} that generating the code would have.
+     */
+    public Class<?> load(String key, Statement body, CompilationContext context, boolean invokeDynamic) {
+        File file = fileFor(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        Stored stored;
+        try {
+            stored = read(file);
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        }
+
+        SourceUnit unit = ((AbstractStatement) body).getSourceUnit();
+        Statement[] statements = new Statement[stored.fixups.length];
+        for (int i = 0; i < statements.length; ++i) {
+            statements[i] = unit.getStatement(stored.fixups[i].offset);
+            if (statements[i] == null) {
+                return null;
+            }
+        }
+        Map<String, byte[]> classes = new HashMap<>();
+        for (Map.Entry<String, byte[]> each : stored.classes.entrySet()) {
+            byte[] bytecode = relocate(each.getValue(), 0, unit.getBase(), unit.size());
+            if (bytecode == null) {
+                return null;
+            }
+            classes.put(each.getKey(), bytecode);
+        }
+
+        BlockManager blockManager = context.getBlockManager();
+        for (int i = 0; i < statements.length; ++i) {
+            Entry entry = blockManager.retrieve(statements[i].getStatementNumber());
+            Fixup fixup = stored.fixups[i];
+            if (fixup.interpreted) {
+                entry.setCompiled(new InterpretedBasicBlock(new InterpretingVisitorFactory(invokeDynamic), statements[i], fixup.strict));
+            } else if (entry.statement == null) {
+                entry.statement = statements[i];
+            }
+        }
+        file.setLastModified(System.currentTimeMillis());
+
+        try {
+            Class<?> cls = new CachedClassLoader(context.getClassLoader(), classes).loadClass(stored.mainClass.replace('/', '.'));
+            this.hits.incrementAndGet();
+            return cls;
+        } catch (ClassNotFoundException | LinkageError e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Starts collecting the classes and block references generated on this
+     * thread for {@code body}.
+     */
+    public static Recording startRecording(Statement body) {
+        Recording recording = new Recording(body, RECORDING.get());
+        RECORDING.set(recording);
+        return recording;
+    }
+
+    static void classDefined(String className, byte[] bytecode) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.classes.put(className, bytecode);
+        }
+    }
+
+    /**
+     * Notes that generated code looks up the compiled form of {@code block}.
+     */
+    public static void blockReferenced(Statement block) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.fixups.add(new Fixup(block, false, false));
+        }
+    }
+
+    /**
+     * Notes that generated code runs {@code statement} through the
+     * interpreter.
+     */
+    public static void interpretedBlockReferenced(Statement statement, boolean strict) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.fixups.add(new Fixup(statement, true, strict));
+        }
+    }
+
+    /**
+     * Stores what {@code recording} collected under {@code key}. Failures are
+     * ignored; the block will simply be generated again next time.
+     */
+    public void store(String key, String mainClass, Recording recording) {
+        SourceUnit unit = ((AbstractStatement) recording.body).getSourceUnit();
+        Stored stored = new Stored(mainClass);
+        List<Fixup> fixups = new ArrayList<>();
+        for (Fixup each : recording.fixups) {
+            int offset = unit.offsetOf(each.statement);
+            if (offset < 0) {
+                return;
+            }
+            fixups.add(new Fixup(offset, each.interpreted, each.strict));
+        }
+        stored.fixups = fixups.toArray(new Fixup[fixups.size()]);
+        for (Map.Entry<String, byte[]> each : recording.classes.entrySet()) {
+            byte[] bytecode = relocate(each.getValue(), unit.getBase(), 0, unit.size());
+            if (bytecode == null) {
+                return;
+            }
+            stored.classes.put(each.getKey(), bytecode);
+        }
+
+        File temp = null;
+        try {
+            temp = File.createTempFile(key, ".tmp", this.directory);
+            try (OutputStream out = new FileOutputStream(temp)) {
+                write(stored, out);
+            }
+            Files.move(temp.toPath(), fileFor(key).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+        } catch (IOException e) {
+            // best effort
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+        evict();
+    }
+
+    private synchronized void evict() {
+        File[] files = this.directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.getName().endsWith(SUFFIX);
+            }
+        });
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File each : files) {
+            total += each.length();
+        }
+        if (total <= this.maxSize) {
+            return;
+        }
+        final Map<File, Long> times = new HashMap<>();
+        for (File each : files) {
+            times.put(each, each.lastModified());
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(times.get(a), times.get(b));
+            }
+        });
+        for (int i = 0; i < files.length && total > this.maxSize; ++i) {
+            long length = files[i].length();
+            if (files[i].delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(this.directory, key + SUFFIX);
+    }
+
+    // ----------------------------------------------------------------------
+
+    /**
+     * Rebases the statement numbers passed to
+     * {@link ExecutionContext#retrieveBlockEntry(int)} from {@code from} to
+     * {@code to}. Returns {@code null} if one lies outside the unit.
+     */
+    static byte[] relocate(byte[] bytecode, int from, int to, int size) {
+        ClassNode node = new ClassNode();
+        new ClassReader(bytecode).accept(node, 0);
+        String owner = p(ExecutionContext.class);
+        for (Object method : node.methods) {
+            for (AbstractInsnNode insn = ((MethodNode) method).instructions.getFirst(); insn != null; insn = insn.getNext()) {
+                if (!(insn instanceof MethodInsnNode)) {
+                    continue;
+                }
+                MethodInsnNode call = (MethodInsnNode) insn;
+                if (!call.owner.equals(owner) || !call.name.equals("retrieveBlockEntry")) {
+                    continue;
+                }
+                AbstractInsnNode previous = call.getPrevious();
+                if (!(previous instanceof LdcInsnNode) || !(((LdcInsnNode) previous).cst instanceof Integer)) {
+                    return null;
+                }
+                int offset = (Integer) ((LdcInsnNode) previous).cst - from;
+                if (offset < 0 || offset >= size) {
+                    return null;
+                }
+                ((LdcInsnNode) previous).cst = to + offset;
+            }
+        }
+        ClassWriter writer = new ClassWriter(0);
+        node.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private static void write(Stored stored, OutputStream out) throws IOException {
+        DeflaterOutputStream deflater = new DeflaterOutputStream(new BufferedOutputStream(out));
+        DataOutputStream data = new DataOutputStream(deflater);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(stored.mainClass);
+        data.writeInt(stored.classes.size());
+        for (Map.Entry<String, byte[]> each : stored.classes.entrySet()) {
+            data.writeUTF(each.getKey());
+            data.writeInt(each.getValue().length);
+            data.write(each.getValue());
+        }
+        data.writeInt(stored.fixups.length);
+        for (Fixup each : stored.fixups) {
+            data.writeInt(each.offset);
+            data.writeBoolean(each.interpreted);
+            data.writeBoolean(each.strict);
+        }
+        deflater.finish();
+        data.flush();
+    }
+
+    private static Stored read(File file) throws IOException {
+        try (DataInputStream data = new DataInputStream(new InflaterInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+                throw new IOException("not a dynjs code cache entry");
+            }
+            Stored stored = new Stored(data.readUTF());
+            int numClasses = data.readInt();
+            for (int i = 0; i < numClasses; ++i) {
+                String name = data.readUTF();
+                byte[] bytecode = new byte[data.readInt()];
+                data.readFully(bytecode);
+                stored.classes.put(name, bytecode);
+            }
+            stored.fixups = new Fixup[data.readInt()];
+            for (int i = 0; i < stored.fixups.length; ++i) {
+                stored.fixups[i] = new Fixup(data.readInt(), data.readBoolean(), data.readBoolean());
+            }
+            return stored;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte each : bytes) {
+            hex.append(Character.forDigit((each >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(each & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    // ----------------------------------------------------------------------
+
+    /**
+     * Hash of the class files dynjs is loaded from, computed once on first
+     * use. Generated code is spread across the code generators and the AST
+     * nodes, and links against runtime methods, so any change to them may
+     * make stored classes unusable. Falls back to the release version when
+     * the classes cannot be read.
+     */
+    private static class CodegenHash {
+
+        static final String VALUE = compute();
+
+        private static String compute() {
+            MessageDigest digest = newDigest();
+            try {
+                CodeSource source = CodeCache.class.getProtectionDomain().getCodeSource();
+                if (source == null || source.getLocation() == null) {
+                    return DynJS.VERSION;
+                }
+                File location = new File(source.getLocation().toURI());
+                if (location.isDirectory()) {
+                    List<File> files = new ArrayList<>();
+                    collectClassFiles(location, files);
+                    String base = location.getPath();
+                    for (File each : files) {
+                        update(digest, each.getPath().substring(base.length()));
+                        digestFile(digest, each);
+                    }
+                } else if (location.isFile()) {
+                    digestFile(digest, location);
+                } else {
+                    return DynJS.VERSION;
+                }
+            } catch (IOException | URISyntaxException | IllegalArgumentException | SecurityException e) {
+                return DynJS.VERSION;
+            }
+            return toHex(digest.digest());
+        }
+
+        private static void collectClassFiles(File directory, List<File> files) {
+            File[] children = directory.listFiles();
+            if (children == null) {
+                return;
+            }
+            Arrays.sort(children);
+            for (File each : children) {
+                if (each.isDirectory()) {
+                    collectClassFiles(each, files);
+                } else if (each.getName().endsWith(".class")) {
+                    files.add(each);
+                }
+            }
+        }
+
+        private static void digestFile(MessageDigest digest, File file) throws IOException {
+            try (InputStream in = new FileInputStream(file)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    /**
+     * What was generated for one block, collected while it is compiled.
+     */
+    public static class Recording {
+
+        private final Statement body;
+        private final Recording previous;
+        private final Map<String, byte[]> classes = new HashMap<>();
+        private final List<Fixup> fixups = new ArrayList<>();
+
+        Recording(Statement body, Recording previous) {
+            this.body = body;
+            this.previous = previous;
+        }
+
+        public void stop() {
+            if (this.previous == null) {
+                RECORDING.remove();
+            } else {
+                RECORDING.set(this.previous);
+            }
+        }
+    }
+
+    private static class Fixup {
+
+        private final Statement statement;
+        private final int offset;
+        private final boolean interpreted;
+        private final boolean strict;
+
+        Fixup(Statement statement, boolean interpreted, boolean strict) {
+            this.statement = statement;
+            this.offset = -1;
+            this.interpreted = interpreted;
+            this.strict = strict;
+        }
+
+        Fixup(int offset, boolean interpreted, boolean strict) {
+            this.statement = null;
+            this.offset = offset;
+            this.interpreted = interpreted;
+            this.strict = strict;
+        }
+    }
+
+    private static class Stored {
+
+        private final String mainClass;
+        private final Map<String, byte[]> classes = new HashMap<>();
+        private Fixup[] fixups;
+
+        Stored(String mainClass) {
+            this.mainClass = mainClass;
+        }
+    }
+
+    /**
+     * Defines the classes of one cached block, ahead of its parent so that
+     * names clashing with classes generated in this run resolve to the
+     * cached ones.
+     */
+    private static class CachedClassLoader extends GeneratedClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        CachedClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            byte[] bytecode = this.classes.get(name.replace('.', '/'));
+            if (bytecode == null) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> cls = findLoadedClass(name);
+            if (cls == null) {
+                cls = define(name, bytecode);
+            }
+            if (resolve) {
+                resolveClass(cls);
+            }
+            return cls;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.dynjs.compiler.interpreter;
 import org.dynjs.compiler.CompilationContext;
 import org.dynjs.compiler.FunctionCompiler;
 import org.dynjs.parser.Statement;
+import org.dynjs.parser.ast.BlockStatement;
 import org.dynjs.runtime.BasicBlock;
 import org.dynjs.runtime.BlockManager;
 import org.dynjs.runtime.DeclarativeEnvironmentRecord;
@@ -42,6 +43,10 @@ public class InterpretingFunctionCompiler implements FunctionCompiler {
         }
 
         JavascriptFunction function = new JavascriptFunction(context.getGlobalContext(), identifier, code, lexEnv, strict, formalParameters);
+        function.setBlockManager(context.getBlockManager());
+        if ( body instanceof BlockStatement ) {
+            function.setArgumentsObjectNeeded( ((BlockStatement)body).isArgumentsObjectNeeded() );
+        }
         if ( identifier != null ) {
             ((DeclarativeEnvironmentRecord)lexEnv.getRecord()).setMutableBinding(identifier, function, strict);
         }
@@ -1,41 +1,43 @@
 package org.dynjs.compiler.jit;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
-
 import org.dynjs.Config;
 import org.dynjs.codegen.CodeGeneratingVisitorFactory;
 import org.dynjs.compiler.BasicBlockCompiler;
 import org.dynjs.compiler.CompilationContext;
 import org.dynjs.compiler.bytecode.BytecodeBasicBlockCompiler;
+import org.dynjs.compiler.jit.JITScheduler.Tier;
 import org.dynjs.parser.Statement;
 import org.dynjs.runtime.BasicBlock;
 import org.dynjs.runtime.BlockManager.Entry;
 import org.dynjs.runtime.CompilableBasicBlock;
-import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.interp.InterpretedBasicBlock;
 import org.dynjs.runtime.interp.InterpretingVisitorFactory;
 
+/**
+ * Hands out interpreted blocks which compile themselves in the background
+ * once hot: first to plain bytecode, then, if invokedynamic is enabled and
+ * the block stays hot, to bytecode using invokedynamic call sites.
+ */
 public class JITBasicBlockCompiler implements BasicBlockCompiler {
 
-    private InterpretingVisitorFactory interpFactory;
-    private BytecodeBasicBlockCompiler jitCompiler;
-
-    private static final Executor compilationQueue = Executors.newFixedThreadPool(8, new ThreadFactory() {
-            private final AtomicInteger count = new AtomicInteger(1);
-            public Thread newThread(Runnable runnable) {
-                Thread thread = new Thread(runnable);
-                thread.setName("JITBasicBlockCompiler-" + count.getAndIncrement());
-                thread.setDaemon(true);
-                return thread;
-            }
-        });
+    private final Config config;
+    private final InterpretingVisitorFactory interpFactory;
+    private final BytecodeBasicBlockCompiler baselineCompiler;
+    private final BytecodeBasicBlockCompiler optimizingCompiler;
+    private final Tier topTier;
 
     public JITBasicBlockCompiler(Config config, InterpretingVisitorFactory interpFactory, CodeGeneratingVisitorFactory factory) {
+        this.config = config;
         this.interpFactory = interpFactory;
-        this.jitCompiler = new BytecodeBasicBlockCompiler(config, factory);
+        if (config.isInvokeDynamicEnabled()) {
+            this.baselineCompiler = new BytecodeBasicBlockCompiler(config, new CodeGeneratingVisitorFactory(false));
+            this.optimizingCompiler = new BytecodeBasicBlockCompiler(config, factory);
+            this.topTier = Tier.OPTIMIZED;
+        } else {
+            this.baselineCompiler = new BytecodeBasicBlockCompiler(config, factory);
+            this.optimizingCompiler = null;
+            this.topTier = Tier.BASELINE;
+        }
     }
 
     @Override
@@ -52,30 +54,67 @@ public class JITBasicBlockCompiler implements BasicBlockCompiler {
         return code;
     }
 
-    private BasicBlock jitCompile(CompilationContext context, String grist, Statement body, boolean strict) {
-        return this.jitCompiler.compile(context, grist, body, strict);
+    public Tier getTopTier() {
+        return this.topTier;
+    }
+
+    public int getThreshold(Tier tier) {
+        if (tier == Tier.BASELINE) {
+            return this.config.getJitThreshold();
+        }
+        return this.config.getJitOptimizeThreshold();
+    }
+
+    /**
+     * @return {@code false} if the scheduler refused the request.
+     */
+    public boolean requestJitCompilation(CompilationContext context, CompilableBasicBlock block, Tier tier) {
+        return this.config.getJitScheduler().submit(new CompileRequest(context, block, tier));
     }
 
-    public void requestJitCompilation(CompilationContext context, CompilableBasicBlock block) {
-        this.compilationQueue.execute(new CompileRequest(context, block));
+    private BasicBlock jitCompile(CompilationContext context, Tier tier, String grist, Statement body, boolean strict) {
+        if (tier == Tier.OPTIMIZED) {
+            return this.optimizingCompiler.compile(context, grist, body, strict);
+        }
+        return this.baselineCompiler.compile(context, grist, body, strict);
     }
 
-    private class CompileRequest implements Runnable {
+    private class CompileRequest extends JITScheduler.Request {
 
-        private CompilationContext context;
-        private CompilableBasicBlock block;
+        private final CompilationContext context;
+        private final CompilableBasicBlock block;
+        private final Tier tier;
+        private final int hotness;
 
-        public CompileRequest(CompilationContext context, CompilableBasicBlock block) {
+        public CompileRequest(CompilationContext context, CompilableBasicBlock block, Tier tier) {
+            super(block.getWarmupNanos());
             this.context = context;
             this.block = block;
+            this.tier = tier;
+            this.hotness = block.getHotness();
+        }
+
+        @Override
+        protected boolean isCold() {
+            return this.block.isColdSince(this.hotness, this);
+        }
+
+        @Override
+        protected void dropped() {
+            this.block.cooled();
         }
 
         @Override
-        public void run() {
-            BasicBlock delegate = this.block.getDelegate();
-            if (delegate instanceof InterpretedBasicBlock) {
-                BasicBlock compiled = jitCompile(this.context, block.getGrist(), ((InterpretedBasicBlock) delegate).getBody(), block.isStrict());
-                this.block.setDelegate(compiled);
+        protected void compile() {
+            boolean promoted = false;
+            try {
+                BasicBlock compiled = jitCompile(this.context, this.tier, this.block.getGrist(), this.block.getBody(), this.block.isStrict());
+                this.block.promote(this.tier, compiled);
+                promoted = true;
+            } finally {
+                if (!promoted) {
+                    this.block.compilationFailed();
+                }
             }
         }
     }
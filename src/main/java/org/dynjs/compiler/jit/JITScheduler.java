@@ -0,0 +1,128 @@
+package org.dynjs.compiler.jit;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs background compilation for a runtime.
+ *
+ * Pending requests are ordered by hotness: code which reached its threshold
+ * quickly is compiled before code which took a long time to get there. The
+ * queue is bounded; a request which does not fit is refused, and its code
+ * may ask again once it has warmed up again. The bound is kept with a
+ * counter of requests not yet started, so concurrent submitters cannot
+ * overshoot it. A request whose code has not
+ * run at all while it waited is dropped when it reaches the head of the
+ * queue.
+ */
+public class JITScheduler {
+
+    public static enum Tier {
+        INTERPRETED,
+        BASELINE,
+        OPTIMIZED;
+    }
+
+    /** How long a request may wait with its code idle before it is considered cold. */
+    public static final long COLD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final AtomicInteger threadCount = new AtomicInteger(1);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueSize;
+    // submitted but not yet started
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public JITScheduler(int threads, int queueSize) {
+        this.queueSize = queueSize;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable);
+                thread.setName("JITScheduler-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable request) {
+                JITScheduler.this.pending.decrementAndGet();
+            }
+        };
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return {@code false} if the queue is full and the request was refused.
+     */
+    public boolean submit(Request request) {
+        int current;
+        do {
+            current = this.pending.get();
+            if (current >= this.queueSize) {
+                return false;
+            }
+        } while (!this.pending.compareAndSet(current, current + 1));
+
+        try {
+            this.executor.execute(request);
+        } catch (RejectedExecutionException e) {
+            this.pending.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return this.pending.get();
+    }
+
+    public abstract static class Request implements Runnable, Comparable<Request> {
+
+        private final long warmupNanos;
+        private final long requestedAt = System.nanoTime();
+
+        /**
+         * @param warmupNanos How long the code took to reach its threshold;
+         *            shorter is hotter.
+         */
+        protected Request(long warmupNanos) {
+            this.warmupNanos = warmupNanos;
+        }
+
+        public long getWarmupNanos() {
+            return this.warmupNanos;
+        }
+
+        public long getWaitingNanos() {
+            return System.nanoTime() - this.requestedAt;
+        }
+
+        protected boolean isCold() {
+            return false;
+        }
+
+        protected void dropped() {
+        }
+
+        protected abstract void compile();
+
+        @Override
+        public final void run() {
+            if (isCold()) {
+                dropped();
+                return;
+            }
+            compile();
+        }
+
+        @Override
+        public int compareTo(Request other) {
+            return Long.compare(this.warmupNanos, other.warmupNanos);
+        }
+    }
+
+}
@@ -45,9 +45,9 @@ public class HandleSerializer extends JsonSerializer<Object> {
         } else if (value instanceof Long) {
             jgen.writeStringField("type", "number");
             jgen.writeNumberField("value", (Long) value);
-        } else if (value instanceof String) {
+        } else if (Types.isString(value)) {
             jgen.writeStringField("type", "string");
-            jgen.writeStringField("value", (String) value);
+            jgen.writeStringField("value", value.toString());
         } else if ( value instanceof JSFunction ) {
             jgen.writeStringField("type", "function");
             Object name = ((JSFunction) value).get( null, "name" );
@@ -93,9 +93,9 @@ public class HandleSerializer extends JsonSerializer<Object> {
         } else if (value instanceof Long) {
             jgen.writeStringField("type", "number");
             jgen.writeNumberField("value", (Long) value);
-        } else if (value instanceof String) {
+        } else if (Types.isString(value)) {
             jgen.writeStringField("type", "string");
-            jgen.writeStringField("value", (String) value);
+            jgen.writeStringField("value", value.toString());
         } else if (value instanceof JSObject) {
             jgen.writeStringField("type", "object");
             serializeJSObject((JSObject) value, jgen, provider);
@@ -156,9 +156,9 @@ public class HandleSerializer extends JsonSerializer<Object> {
                     } else if (value instanceof Long) {
                         jgen.writeStringField("type", "number");
                         jgen.writeNumberField("value", (Long) value);
-                    } else if (value instanceof String) {
+                    } else if (Types.isString(value)) {
                         jgen.writeStringField("type", "string");
-                        jgen.writeStringField("value", (String) value);
+                        jgen.writeStringField("value", value.toString());
                     }
                     jgen.writeEndObject();
 
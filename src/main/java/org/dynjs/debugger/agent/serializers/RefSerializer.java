@@ -44,9 +44,9 @@ public class RefSerializer extends JsonSerializer<Object> {
         } else if (value instanceof Long) {
             jgen.writeStringField("type", "number");
             jgen.writeNumberField("value", (Long) value);
-        } else if (value instanceof String) {
+        } else if (Types.isString(value)) {
             jgen.writeStringField("type", "string");
-            jgen.writeStringField("value", (String) value);
+            jgen.writeStringField("value", value.toString());
         } else if (value instanceof JSObject) {
             jgen.writeStringField("type", "object");
         }
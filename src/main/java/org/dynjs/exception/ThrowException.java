@@ -4,6 +4,8 @@ import org.dynjs.runtime.*;
 import org.dynjs.runtime.builtins.types.error.JavaStackGetter;
 import org.dynjs.runtime.builtins.types.error.StackElement;
 
+import java.io.PrintStream;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 
 public class ThrowException extends DynJSException {
@@ -13,18 +15,19 @@ public class ThrowException extends DynJSException {
 
     private Object value;
     private ArrayList<StackElement> stack;
+    private boolean stackTraceBuilt;
 
     public ThrowException(final ExecutionContext context, Throwable value) {
         super(value);
         this.value = value;
         this.context = context;
-        setUpStackElements(context);
+        captureStack(context);
     }
 
     public ThrowException(final ExecutionContext context, Object value) {
         this.value = value;
         this.context = context;
-        setUpStackElements(context);
+        captureStack(context);
         if (value instanceof JSObject) {
             JSObject object = (JSObject) value;
             if (!object.hasProperty(context, "stack")) {
@@ -35,26 +38,39 @@ public class ThrowException extends DynJSException {
         }
     }
 
-    protected void setUpStackElements(final ExecutionContext context) {
+    /**
+     * Records the JavaScript frames (with their current line numbers) at the
+     * throw site. Turning them into a {@link StackTraceElement}[] is left to
+     * the first read of the stack trace, as most thrown values are caught
+     * without anyone looking at it. The Java frames are only filled in when
+     * debugging.
+     */
+    private void captureStack(final ExecutionContext context) {
         this.stack = new ArrayList<StackElement>();
         context.collectStackElements(this.stack);
-        int stackSize = this.stack.size();
+        if (context.getConfig().isDebug()) {
+            super.fillInStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // see captureStack()
+        return this;
+    }
 
-        StackTraceElement[] javaElements = getStackTrace();
+    private synchronized void setUpStackElements() {
+        if (this.stackTraceBuilt) {
+            return;
+        }
+        this.stackTraceBuilt = true;
+
+        int stackSize = this.stack.size();
+        StackTraceElement[] javaElements = super.getStackTrace();
 
         StackTraceElement[] elements = new StackTraceElement[javaElements.length + stackSize];
         for (int i = 0; i < stackSize; ++i) {
-            StackElement e = stack.get(i);
-            String cn = "<global>";
-            String fn = null;
-            int dotLoc = e.getDebugContext().indexOf(".");
-            if (dotLoc > 0) {
-                cn = e.getDebugContext().substring(0, dotLoc);
-                fn = e.getDebugContext().substring(dotLoc + 1);
-            } else {
-                fn = e.getDebugContext();
-            }
-            elements[i] = new StackTraceElement(cn, fn, e.getFileName(), e.getLineNumber());
+            elements[i] = this.stack.get(i).toStackTraceElement();
         }
         for (int i = 0; i < javaElements.length; ++i) {
             elements[i + stackSize] = javaElements[i];
@@ -62,6 +78,24 @@ public class ThrowException extends DynJSException {
         setStackTrace(elements);
     }
 
+    @Override
+    public StackTraceElement[] getStackTrace() {
+        setUpStackElements();
+        return super.getStackTrace();
+    }
+
+    @Override
+    public void printStackTrace(PrintStream s) {
+        setUpStackElements();
+        super.printStackTrace(s);
+    }
+
+    @Override
+    public void printStackTrace(PrintWriter s) {
+        setUpStackElements();
+        super.printStackTrace(s);
+    }
+
     public String getMessage() {
         if (value instanceof JSObject) {
             String message = "";
@@ -72,7 +106,7 @@ public class ThrowException extends DynJSException {
                 message += ((JSObject) value).get(null, "message");
             }
             return message;
-        } else if (value instanceof String) {
+        } else if (Types.isString(value)) {
             return value.toString();
         }
         return super.getMessage();
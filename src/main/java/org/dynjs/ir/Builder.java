@@ -15,29 +15,57 @@
  */
 package org.dynjs.ir;
 
+import org.dynjs.Config;
 import org.dynjs.compiler.CompilationContext;
 import org.dynjs.ir.instructions.Add;
+import org.dynjs.ir.instructions.ArrayLiteral;
 import org.dynjs.ir.instructions.BEQ;
+import org.dynjs.ir.instructions.Bitwise;
+import org.dynjs.ir.instructions.BitwiseNot;
 import org.dynjs.ir.instructions.Call;
 import org.dynjs.ir.instructions.Constructor;
 import org.dynjs.ir.instructions.Copy;
+import org.dynjs.ir.instructions.DefineCompiledFunction;
 import org.dynjs.ir.instructions.DefineFunction;
+import org.dynjs.ir.instructions.Delete;
+import org.dynjs.ir.instructions.Div;
+import org.dynjs.ir.instructions.ElementLookup;
+import org.dynjs.ir.instructions.EnumerateProperties;
+import org.dynjs.ir.instructions.Equal;
+import org.dynjs.ir.instructions.ExceptionRegionEndMarker;
+import org.dynjs.ir.instructions.ExceptionRegionStartMarker;
+import org.dynjs.ir.instructions.HasNextProperty;
+import org.dynjs.ir.instructions.In;
 import org.dynjs.ir.instructions.Instanceof;
 import org.dynjs.ir.instructions.Jump;
 import org.dynjs.ir.instructions.LE;
 import org.dynjs.ir.instructions.LT;
 import org.dynjs.ir.instructions.LabelInstr;
+import org.dynjs.ir.instructions.Mod;
 import org.dynjs.ir.instructions.Mul;
+import org.dynjs.ir.instructions.Negate;
+import org.dynjs.ir.instructions.NextProperty;
+import org.dynjs.ir.instructions.Not;
+import org.dynjs.ir.instructions.ObjectLiteral;
 import org.dynjs.ir.instructions.PropertyLookup;
+import org.dynjs.ir.instructions.PropertyStore;
 import org.dynjs.ir.instructions.Raise;
+import org.dynjs.ir.instructions.ReceiveException;
 import org.dynjs.ir.instructions.ReceiveFunctionParameter;
+import org.dynjs.ir.instructions.RegExpLiteral;
 import org.dynjs.ir.instructions.Return;
+import org.dynjs.ir.instructions.StrictEqual;
 import org.dynjs.ir.instructions.Sub;
+import org.dynjs.ir.instructions.ThrowException;
+import org.dynjs.ir.instructions.ToBoolean;
+import org.dynjs.ir.instructions.ToNumber;
+import org.dynjs.ir.instructions.TypeOf;
 import org.dynjs.ir.operands.BooleanLiteral;
 import org.dynjs.ir.operands.DynamicVariable;
 import org.dynjs.ir.operands.FloatNumber;
 import org.dynjs.ir.operands.IntegerNumber;
 import org.dynjs.ir.operands.Label;
+import org.dynjs.ir.operands.LocalVariable;
 import org.dynjs.ir.operands.Null;
 import org.dynjs.ir.operands.StringLiteral;
 import org.dynjs.ir.operands.TemporaryVariable;
@@ -46,6 +74,9 @@ import org.dynjs.ir.operands.Undefined;
 import org.dynjs.ir.operands.Variable;
 import org.dynjs.parser.CodeVisitor;
 import org.dynjs.parser.Statement;
+import org.dynjs.parser.ast.AbstractBinaryExpression;
+import org.dynjs.parser.ast.AbstractForInStatement;
+import org.dynjs.parser.ast.AbstractForStatement;
 import org.dynjs.parser.ast.AdditiveExpression;
 import org.dynjs.parser.ast.ArrayLiteralExpression;
 import org.dynjs.parser.ast.AssignmentExpression;
@@ -96,6 +127,7 @@ import org.dynjs.parser.ast.OfOperatorExpression;
 import org.dynjs.parser.ast.PostOpExpression;
 import org.dynjs.parser.ast.PreOpExpression;
 import org.dynjs.parser.ast.ProgramTree;
+import org.dynjs.parser.ast.PropertyAssignment;
 import org.dynjs.parser.ast.PropertyGet;
 import org.dynjs.parser.ast.PropertySet;
 import org.dynjs.parser.ast.RegexpLiteralExpression;
@@ -125,11 +157,26 @@ public class Builder implements CodeVisitor {
 
     public static JSProgram compile(CompilationContext compilationContext, ProgramTree program) {
         Scope scope = new Scope(null, program.getPosition().getFileName(), program.isStrict());
-        program.accept(scope, BUILDER, program.isStrict());
+        Config config = compilationContext.getConfig();
+        if (config.isIRPassReport()) {
+            scope.setPassReport(config.getErrorStream());
+        }
 
-        // FIXME: Add processing stage here/somewhere to do instr process/cfg/passes.
+        try {
+            Operand value = (Operand) program.accept(scope, BUILDER, program.isStrict());
 
-        return new IRJSProgram(program.getSource(), compilationContext.getBlockManager(), scope);
+            // Completion value of the program when it ends with an expression
+            List<Statement> statements = program.getBlockContent();
+            if (!statements.isEmpty() && statements.get(statements.size() - 1) instanceof ExpressionStatement) {
+                scope.addInstruction(new Return(value));
+            }
+        } catch (UnimplementedException e) {
+            // Top-level code has nowhere to fall back to within IR; let the regular compiler have it all.
+            return null;
+        }
+
+        return new IRJSProgram(program.getSource(), compilationContext.getBlockManager(), scope,
+                program.getVariableDeclarations());
     }
 
     @Override
@@ -182,18 +229,49 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, BitwiseExpression bitwiseExpression, boolean strict) {
-        return unimplemented(context, bitwiseExpression, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+        Operand lhs = (Operand) bitwiseExpression.getLhs().accept(context, this, strict);
+        Operand rhs = (Operand) bitwiseExpression.getRhs().accept(context, this, strict);
+
+        scope.addInstruction(new Bitwise(result, bitwiseExpression.getOp(), lhs, rhs));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, ArrayLiteralExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+        List<Expression> exprs = expr.getExprs();
+        Operand[] elements = new Operand[exprs.size()];
+
+        for (int i = 0; i < elements.length; i++) {
+            // null is a hole ([1,,2])
+            if (exprs.get(i) != null) {
+                elements[i] = getValueInTemporaryVariable(scope, (Operand) exprs.get(i).accept(context, this, strict));
+            }
+        }
+
+        scope.addInstruction(new ArrayLiteral(result, elements));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, AssignmentExpression expr, boolean strict) {
         Scope scope = (Scope) context;
-        Variable lhs = (Variable) expr.getLhs().accept(context, this, strict);
+
+        if (isPropertyReference(expr.getLhs())) {
+            Operand[] reference = propertyReference(scope, expr.getLhs(), strict);
+            Operand rhs = (Operand) expr.getRhs().accept(context, this, strict);
+
+            scope.addInstruction(new PropertyStore(reference[0], reference[1], rhs));
+
+            return rhs;
+        }
+
+        Variable lhs = assignable(context, expr.getLhs(), strict);
         Operand rhs = (Operand) expr.getRhs().accept(context, this, strict);
 
         scope.addInstruction(new Copy(lhs, rhs));
@@ -203,7 +281,12 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, BitwiseInversionOperatorExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new BitwiseNot(result, (Operand) expr.getExpr().accept(context, this, strict)));
+
+        return result;
     }
 
     @Override
@@ -215,12 +298,25 @@ public class Builder implements CodeVisitor {
         // FIXME: How can we use what the parser provides to good effect?
         Operand value = Undefined.UNDEFINED;
         for (Statement statement: block.getBlockContent()) {
-            value = (Operand) statement.accept(context, this, strict);
+            value = statement.getLabels().isEmpty() ?
+                    (Operand) statement.accept(context, this, strict) : labelled(scope, statement, strict);
         }
 
         return value;
     }
 
+    // foo: { ... break foo; ... } leaves by jumping past the statement
+    private Operand labelled(Scope scope, Statement statement, boolean strict) {
+        final Label doneLabel = scope.getNewLabel();
+
+        scope.pushLabelledTarget(statement.getLabels(), doneLabel);
+        Operand value = (Operand) statement.accept(scope, this, strict);
+        scope.popJumpTarget();
+        scope.addInstruction(new LabelInstr(doneLabel));
+
+        return value;
+    }
+
     @Override
     public Object visit(Object context, BooleanLiteralExpression expr, boolean strict) {
         return expr.getValue() ? BooleanLiteral.TRUE : BooleanLiteral.FALSE;
@@ -228,21 +324,32 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, BreakStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        Scope scope = (Scope) context;
+        Label target = scope.getBreakLabel(statement.getTarget());
+
+        // Labelled statements are only targets when directly inside a block
+        if (target == null) return unimplemented(context, statement, strict);
+
+        scope.addInstruction(new Jump(target));
+
+        return Undefined.UNDEFINED;
     }
 
     @Override
     public Object visit(Object context, CaseClause clause, boolean strict) {
+        // Built as part of the switch which knows where each clause starts
         return unimplemented(context, clause, strict);
     }
 
     @Override
     public Object visit(Object context, DefaultCaseClause clause, boolean strict) {
+        // Built as part of the switch which knows where each clause starts
         return unimplemented(context, clause, strict);
     }
 
     @Override
     public Object visit(Object context, CatchClause clause, boolean strict) {
+        // Built as part of the try statement which knows its exception region
         return unimplemented(context, clause, strict);
     }
 
@@ -253,39 +360,111 @@ public class Builder implements CodeVisitor {
         // FIXME: If name of lhs is 'eval' or 'assignments' then generate a raise error instance of doing copy.
         // This is a little out of order with basicinterp where we check this before eval'ing value below.
 
+        if (isPropertyReference(expr.getRootExpr().getLhs())) return compoundAssignProperty(scope, expr, strict);
+
         // Of s += 1 this is (s + 1)
         Operand value = (Operand) expr.getRootExpr().accept(context, this, strict);
-        Variable lhs = (Variable) expr.getRootExpr().getLhs().accept(context, this, strict);
+        Variable lhs = assignable(context, expr.getRootExpr().getLhs(), strict);
 
         scope.addInstruction(new Copy(lhs, value));
 
         return value;
     }
 
+    // a.b += c and friends: look the property up once (11.13.2), combine and store it back
+    private Variable compoundAssignProperty(Scope scope, CompoundAssignmentExpression expr, boolean strict) {
+        Operand[] reference = propertyReference(scope, expr.getRootExpr().getLhs(), strict);
+        Variable old = scope.createTemporaryVariable();
+
+        scope.addInstruction(new ElementLookup(old, reference[0], reference[1]));
+        Operand rhs = (Operand) expr.getRootExpr().getRhs().accept(scope, this, strict);
+        Variable value = binary(scope, expr.getRootExpr().getOp(), old, rhs);
+        scope.addInstruction(new PropertyStore(reference[0], reference[1], value));
+
+        return value;
+    }
+
+    // The instruction for a binary arithmetic or bitwise operator
+    private Variable binary(Scope scope, String op, Operand lhs, Operand rhs) {
+        Variable result = scope.createTemporaryVariable();
+
+        switch (op) {
+            case "+":
+                scope.addInstruction(new Add(result, lhs, rhs));
+                break;
+            case "-":
+                scope.addInstruction(new Sub(result, lhs, rhs));
+                break;
+            case "*":
+                scope.addInstruction(new Mul(result, lhs, rhs));
+                break;
+            case "/":
+                scope.addInstruction(new Div(result, lhs, rhs));
+                break;
+            case "%":
+                scope.addInstruction(new Mod(result, lhs, rhs));
+                break;
+            default:
+                scope.addInstruction(new Bitwise(result, op, lhs, rhs));
+        }
+
+        return result;
+    }
+
     @Override
     public Object visit(Object context, ContinueStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        Scope scope = (Scope) context;
+        Label target = scope.getContinueLabel(statement.getTarget());
+
+        if (target == null) return unimplemented(context, statement, strict);
+
+        scope.addInstruction(new Jump(target));
+
+        return Undefined.UNDEFINED;
     }
 
     @Override
     public Object visit(Object context, DeleteOpExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Expression target = expr.getExpr();
+        Variable result = scope.createTemporaryVariable();
+
+        if (isPropertyReference(target)) {
+            Operand[] reference = propertyReference(scope, target, strict);
+
+            scope.addInstruction(new Delete(result, reference[0], reference[1], strict));
+        } else if (target instanceof IdentifierReferenceExpression) {
+            String name = ((IdentifierReferenceExpression) target).getIdentifier();
+
+            // 11.4.1: vars, parameters and catch variables are never deletable (strict code cannot even try)
+            if (scope.findVariable(name) != null) return BooleanLiteral.FALSE;
+
+            scope.addInstruction(new Delete(result, name));
+        } else {
+            // Not a reference so there is nothing to delete
+            target.accept(context, this, strict);
+
+            return BooleanLiteral.TRUE;
+        }
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, DoWhileStatement statement, boolean strict) {
         Scope scope = (Scope) context;
         final Label startLabel = scope.getNewLabel();
+        final Label testLabel = scope.getNewLabel();
         final Label doneLabel = scope.getNewLabel();
 
         scope.addInstruction(new LabelInstr(startLabel));
 
         // BODY
-        statement.getBlock().accept(context, this, strict);
+        buildLoopBody(scope, statement, statement.getBlock(), doneLabel, testLabel, strict);
 
         // TEST
-        scope.addInstruction(new BEQ((Operand) statement.getTest().accept(context, this, strict),
-                BooleanLiteral.FALSE, doneLabel));
+        scope.addInstruction(new LabelInstr(testLabel));
+        scope.addInstruction(new BEQ(condition(scope, statement.getTest(), strict), BooleanLiteral.FALSE, doneLabel));
         scope.addInstruction(new Jump(startLabel));
 
         // END
@@ -301,12 +480,14 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, EqualityOperatorExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        return equality((Scope) context, expr, false, expr.getOp().equals("!="), strict);
     }
 
     @Override
     public Object visit(Object context, CommaOperator expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        expr.getLhs().accept(context, this, strict);
+
+        return expr.getRhs().accept(context, this, strict);
     }
 
     @Override
@@ -321,52 +502,109 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, ForExprInStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        return buildForInLoop((Scope) context, statement, statement.getExpr(), false, strict);
     }
 
     @Override
     public Object visit(Object context, ForExprOfStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        return buildForInLoop((Scope) context, statement, statement.getExpr(), true, strict);
     }
 
     @Override
     public Object visit(Object context, ForExprStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        acceptOrUndefined(context, statement.getExpr(), strict);
+
+        return buildForLoop((Scope) context, statement, strict);
     }
 
     @Override
     public Object visit(Object context, ForVarDeclInStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        statement.getDeclaration().accept(context, this, strict);
+
+        return buildForInLoop((Scope) context, statement, declaredIdentifier(statement.getDeclaration()), false, strict);
     }
 
     @Override
     public Object visit(Object context, ForVarDeclOfStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        statement.getDeclaration().accept(context, this, strict);
+
+        return buildForInLoop((Scope) context, statement, declaredIdentifier(statement.getDeclaration()), true, strict);
     }
 
     // FIXME: flow control may or may not be an issue but old runtime handles it explicitly after accept.
     @Override
     public Object visit(Object context, ForVarDeclStatement statement, boolean strict) {
-        Scope scope = (Scope) context;
         List<VariableDeclaration> decls = statement.getDeclarationList();
         for (VariableDeclaration each : decls) {
             each.accept(context, this, strict);
         }
 
+        return buildForLoop((Scope) context, statement, strict);
+    }
+
+    private Object buildForLoop(Scope scope, AbstractForStatement statement, boolean strict) {
         final Label startLabel = scope.getNewLabel();
+        final Label incrementLabel = scope.getNewLabel();
         final Label doneLabel = scope.getNewLabel();
 
         scope.addInstruction(new LabelInstr(startLabel));
-        // TEST
-        scope.addInstruction(new BEQ((Operand) statement.getTest().accept(context, this, strict),
-                BooleanLiteral.FALSE, doneLabel));
+        // TEST (for (;;) has none)
+        if (statement.getTest() != null) {
+            scope.addInstruction(new BEQ(condition(scope, statement.getTest(), strict), BooleanLiteral.FALSE, doneLabel));
+        }
 
         // BODY
-        statement.getBlock().accept(context, this, strict);
+        buildLoopBody(scope, statement, statement.getBlock(), doneLabel, incrementLabel, strict);
 
         // INCREMENT
-        statement.getIncrement().accept(context, this, strict);
+        scope.addInstruction(new LabelInstr(incrementLabel));
+        acceptOrUndefined(scope, statement.getIncrement(), strict);
+
+        scope.addInstruction(new Jump(startLabel));
+
+        // END
+        scope.addInstruction(new LabelInstr(doneLabel));
+
+        return Undefined.UNDEFINED;
+    }
+
+    /**
+     * for-in assigns each enumerable property name of the object to target before running
+     * the body (12.6.4).  for-of is the same loop assigning the property values instead.
+     */
+    private Object buildForInLoop(Scope scope, AbstractForInStatement statement, Expression target, boolean values, boolean strict) {
+        final Label startLabel = scope.getNewLabel();
+        final Label doneLabel = scope.getNewLabel();
+        Operand object = getValueInTemporaryVariable(scope, (Operand) statement.getRhs().accept(scope, this, strict));
+        Variable names = scope.createTemporaryVariable();
+        Variable test = scope.createTemporaryVariable();
+        Variable name = scope.createTemporaryVariable();
 
+        scope.addInstruction(new EnumerateProperties(names, object));
+
+        // TEST
+        scope.addInstruction(new LabelInstr(startLabel));
+        scope.addInstruction(new HasNextProperty(test, names));
+        scope.addInstruction(new BEQ(test, BooleanLiteral.FALSE, doneLabel));
+
+        // NEXT
+        scope.addInstruction(new NextProperty(name, names));
+        Operand value = name;
+        if (values) {
+            Variable element = scope.createTemporaryVariable();
+            scope.addInstruction(new ElementLookup(element, object, name));
+            value = element;
+        }
+
+        if (isPropertyReference(target)) {
+            Operand[] reference = propertyReference(scope, target, strict);
+            scope.addInstruction(new PropertyStore(reference[0], reference[1], value));
+        } else {
+            scope.addInstruction(new Copy(assignable(scope, target, strict), value));
+        }
+
+        // BODY
+        buildLoopBody(scope, statement, statement.getBlock(), doneLabel, startLabel, strict);
         scope.addInstruction(new Jump(startLabel));
 
         // END
@@ -375,6 +613,16 @@ public class Builder implements CodeVisitor {
         return Undefined.UNDEFINED;
     }
 
+    private static Expression declaredIdentifier(VariableDeclaration declaration) {
+        return new IdentifierReferenceExpression(declaration.getPosition(), declaration.getIdentifier());
+    }
+
+    private void buildLoopBody(Scope scope, Statement loop, Statement body, Label breakLabel, Label continueLabel, boolean strict) {
+        scope.pushJumpTarget(loop.getLabels(), breakLabel, continueLabel);
+        body.accept(scope, this, strict);
+        scope.popJumpTarget();
+    }
+
     @Override
     public Object visit(Object context, FunctionCallExpression expr, boolean strict) {
         Scope scope = (Scope) context;
@@ -382,24 +630,49 @@ public class Builder implements CodeVisitor {
         List<Expression> argumentExpressions = expr.getArgumentExpressions();
         int argsLength = argumentExpressions.size();
         Operand[] args = new Operand[argsLength];
-
-        for (int i = 0; i < argsLength; i++) {
-            args[i] = (Operand) acceptOrUndefined(context, argumentExpressions.get(i), strict);
-        }
-
         Expression memberExpression = expr.getMemberExpression();
 
         // We can statically replace an attempt at calls to illegal member types with an exception
         // raise.  This should eliminate needing to actually check this within the runtime.
         if (memberExpression instanceof IllegalFunctionMemberExpression) {
+            for (int i = 0; i < argsLength; i++) {
+                acceptOrUndefined(context, argumentExpressions.get(i), strict);
+            }
+
             scope.addInstruction(new Raise("TypeError", memberExpression + " is not callable"));
 
             return Undefined.UNDEFINED;
         }
 
-        final Operand name = (Operand) acceptOrUndefined(context, expr.getMemberExpression(), strict);
+        final Operand self;
+        final Operand name;
+
+        if (memberExpression instanceof DotExpression) {
+            // a.b() calls b with a as its this
+            DotExpression dot = (DotExpression) memberExpression;
+            Variable function = scope.createTemporaryVariable();
+
+            self = (Operand) dot.getLhs().accept(context, this, strict);
+            scope.addInstruction(new PropertyLookup(function, self, dot.getIdentifier()));
+            name = function;
+        } else if (memberExpression instanceof BracketExpression) {
+            // a[b]() likewise
+            BracketExpression bracket = (BracketExpression) memberExpression;
+            Variable function = scope.createTemporaryVariable();
+
+            self = getValueInTemporaryVariable(scope, (Operand) bracket.getLhs().accept(context, this, strict));
+            scope.addInstruction(new ElementLookup(function, self, (Operand) bracket.getRhs().accept(context, this, strict)));
+            name = function;
+        } else {
+            self = Undefined.UNDEFINED;
+            name = (Operand) acceptOrUndefined(context, memberExpression, strict);
+        }
+
+        for (int i = 0; i < argsLength; i++) {
+            args[i] = (Operand) acceptOrUndefined(context, argumentExpressions.get(i), strict);
+        }
 
-        scope.addInstruction(new Call(result, This.THIS, name, args));
+        scope.addInstruction(new Call(result, self, name, args));
 
         return result;
     }
@@ -417,24 +690,9 @@ public class Builder implements CodeVisitor {
         Scope scope = (Scope) context;
         FunctionDescriptor descriptor = expr.getDescriptor();
         Variable result = scope.createTemporaryVariable();
-        String[] parameterNames = descriptor.getFormalParameterNames();
-        FunctionScope functionScope = new FunctionScope(scope, descriptor.getPosition().getFileName(),
-                descriptor.isStrict(), parameterNames, null);
-
-        // 1. receive arguments are first before any mandatory items like nested functions
-        // Recieve all declared parameters
-        int paramsLength = parameterNames.length;
-        for (int i = 0; i < paramsLength; i++) {
-            functionScope.addInstruction(new ReceiveFunctionParameter(functionScope.acquireLocalVariable(parameterNames[i]), i));
-        }
-
-        // 2. named functions must be visible before any code in the block executed so right after parms
-        buildDeclaredFunctions(functionScope, descriptor.getBlock().getFunctionDeclarations());
-
-        // 3. the actual block code.
-        descriptor.getBlock().accept(functionScope, this, strict);
 
-        scope.addInstruction(new DefineFunction(result, functionScope));
+        defineFunction(scope, result, descriptor.getIdentifier(), descriptor.getFormalParameterNames(),
+                descriptor.getBlock(), descriptor.getPosition().getFileName(), descriptor.isStrict() || strict, false);
 
         return result;
     }
@@ -444,10 +702,23 @@ public class Builder implements CodeVisitor {
         Variable result = parentScope.createTemporaryVariable();
 
         for (FunctionDeclaration declaration: functionDeclarations) {
-            String[] parameterNames = declaration.getFormalParameters();
-            FunctionScope functionScope = new FunctionScope(parentScope, declaration.getPosition().getFileName(),
-                    declaration.isStrict(), declaration.getFormalParameters(), declaration.getIdentifier());
+            defineFunction(parentScope, result, declaration.getIdentifier(), declaration.getFormalParameters(),
+                    declaration.getBlock(), declaration.getPosition().getFileName(), declaration.isStrict(), true);
+        }
+    }
+
+    /**
+     * Lower a function into its own scope and define it in parentScope.  A function with
+     * something the Builder cannot lower yet is handed to the regular compiler instead, unless
+     * it reads IR locals of the scopes around it which the regular compiler cannot see.  Then
+     * the enclosing function has to fall back as well.
+     */
+    private void defineFunction(Scope parentScope, Variable result, String name, String[] parameterNames,
+                                BlockStatement body, String fileName, boolean functionStrict, boolean declaration) {
+        FunctionScope functionScope = new FunctionScope(parentScope, fileName, functionStrict, parameterNames,
+                declaration ? name : null);
 
+        try {
             // 1. receive arguments are first before any mandatory items like nested functions
             // Recieve all declared parameters
             int paramsLength = parameterNames.length;
@@ -455,14 +726,53 @@ public class Builder implements CodeVisitor {
                 functionScope.addInstruction(new ReceiveFunctionParameter(functionScope.acquireLocalVariable(parameterNames[i]), i));
             }
 
-            // 2. named functions must be visible before any code in the block executed so right after parms
-            buildDeclaredFunctions(functionScope, declaration.getBlock().getFunctionDeclarations());
+            // 2. var declarations are hoisted and start out undefined (function declarations live in
+            // the variable environment so a var of the same name has to be left there too)
+            for (VariableDeclaration each : body.getVariableDeclarations()) {
+                String identifier = each.getIdentifier();
+                if (isParameter(parameterNames, identifier) || isDeclaredFunction(body, identifier)) continue;
+
+                functionScope.addInstruction(new Copy(functionScope.acquireLocalVariable(identifier), Undefined.UNDEFINED));
+            }
+
+            // 3. named functions must be visible before any code in the block executed so right after parms
+            buildDeclaredFunctions(functionScope, body.getFunctionDeclarations());
 
-            // 3. the actual block code.
-            declaration.getBlock().accept(functionScope, this, declaration.isStrict());
+            // 4. the actual block code.
+            body.accept(functionScope, this, functionStrict);
+        } catch (UnimplementedException e) {
+            if (readsLocalVariables(parentScope, body, functionStrict)) throw e;
 
-            parentScope.addInstruction(new DefineFunction(result, functionScope));
+            parentScope.addInstruction(new DefineCompiledFunction(result, name, parameterNames, body, functionStrict, declaration));
+            return;
         }
+
+        parentScope.addInstruction(new DefineFunction(result, functionScope));
+    }
+
+    private static boolean isParameter(String[] parameterNames, String name) {
+        for (String each : parameterNames) {
+            if (each.equals(name)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isDeclaredFunction(BlockStatement body, String name) {
+        for (FunctionDeclaration each : body.getFunctionDeclarations()) {
+            if (each.getIdentifier().equals(name)) return true;
+        }
+
+        return false;
+    }
+
+    // Does body (maybe) read a local of parentScope or one around it?  eval could read anything.
+    private static boolean readsLocalVariables(Scope parentScope, Statement body, boolean strict) {
+        for (String name : FreeNames.of(body, strict)) {
+            if (name.equals("eval") || parentScope.findVariable(name) != null) return true;
+        }
+
+        return false;
     }
 
     @Override
@@ -486,8 +796,7 @@ public class Builder implements CodeVisitor {
         Label doneLabel  = scope.getNewLabel();
 
         // IF
-        scope.addInstruction(new BEQ((Operand) ifNode.getTest().accept(context, this, strict),
-                BooleanLiteral.FALSE, elseLabel));
+        scope.addInstruction(new BEQ(condition(scope, ifNode.getTest(), strict), BooleanLiteral.FALSE, elseLabel));
 
         // THEN
         ifNode.getThenBlock().accept(context, this, strict);
@@ -507,12 +816,23 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, InOperatorExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        return in((Scope) context, expr, strict);
     }
 
     @Override
     public Object visit(Object context, OfOperatorExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        // Same test as in: only for-of iterates differently
+        return in((Scope) context, expr, strict);
+    }
+
+    private Variable in(Scope scope, AbstractBinaryExpression expr, boolean strict) {
+        Variable result = scope.createTemporaryVariable();
+        Operand lhs = (Operand) expr.getLhs().accept(scope, this, strict);
+        Operand rhs = (Operand) expr.getRhs().accept(scope, this, strict);
+
+        scope.addInstruction(new In(result, lhs, rhs));
+
+        return result;
     }
 
     @Override
@@ -534,12 +854,29 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, LogicalExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Label doneLabel = scope.getNewLabel();
+        Variable result = scope.createTemporaryVariable();
+        Variable test = scope.createTemporaryVariable();
+
+        // a && b is a when a is falsy, a || b is a when a is truthy; b otherwise
+        scope.addInstruction(new Copy(result, (Operand) expr.getLhs().accept(context, this, strict)));
+        scope.addInstruction(new ToBoolean(test, result));
+        scope.addInstruction(new BEQ(test, expr.getOp().equals("&&") ? BooleanLiteral.FALSE : BooleanLiteral.TRUE, doneLabel));
+        scope.addInstruction(new Copy(result, (Operand) expr.getRhs().accept(context, this, strict)));
+        scope.addInstruction(new LabelInstr(doneLabel));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, LogicalNotOperatorExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new Not(result, (Operand) expr.getExpr().accept(context, this, strict)));
+
+        return result;
     }
 
     @Override
@@ -555,7 +892,14 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, BracketExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+        Operand base = (Operand) expr.getLhs().accept(context, this, strict);
+        Operand key = (Operand) expr.getRhs().accept(context, this, strict);
+
+        scope.addInstruction(new ElementLookup(result, base, key));
+
+        return result;
     }
 
     @Override
@@ -563,30 +907,9 @@ public class Builder implements CodeVisitor {
         Scope scope = (Scope) context;
         Operand lhs = (Operand) expr.getLhs().accept(context, this, strict);
         Operand rhs = (Operand) expr.getRhs().accept(context, this, strict);
-        Operand value;
-
-        // FIXME: Review numeric representation of JS to figure out overflow etc..
-        if (lhs instanceof IntegerNumber) {
-            if (rhs instanceof IntegerNumber) {
-                value = new IntegerNumber(((IntegerNumber) lhs).getValue() * ((IntegerNumber) rhs).getValue());
-            } else if (rhs instanceof FloatNumber) {
-                value = new FloatNumber(((FloatNumber) rhs).getValue() * ((IntegerNumber) lhs).getValue());
-            } else {
-                Variable tmp = scope.createTemporaryVariable();
-
-                scope.addInstruction(new Mul(tmp, lhs, rhs));
-
-                value = tmp;
-            }
-        } else {
-            Variable tmp = scope.createTemporaryVariable();
-
-            scope.addInstruction(new Mul(tmp, lhs, rhs));
-
-            value = tmp;
-        }
 
-        return value;
+        // Constant operands are left to the constant-folding pass which knows about overflow and -0
+        return binary(scope, expr.getOp(), lhs, rhs);
     }
 
     @Override
@@ -622,49 +945,117 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, ObjectLiteralExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+        List<PropertyAssignment> assignments = expr.getPropertyAssignments();
+        int size = assignments.size();
+        String[] names = new String[size];
+        ObjectLiteral.Kind[] kinds = new ObjectLiteral.Kind[size];
+        Operand[] values = new Operand[size];
+
+        for (int i = 0; i < size; i++) {
+            PropertyAssignment each = assignments.get(i);
+
+            names[i] = each.getName();
+            kinds[i] = each instanceof PropertyGet ? ObjectLiteral.Kind.GETTER :
+                    each instanceof PropertySet ? ObjectLiteral.Kind.SETTER : ObjectLiteral.Kind.VALUE;
+            values[i] = getValueInTemporaryVariable(scope, (Operand) each.accept(context, this, strict));
+        }
+
+        scope.addInstruction(new ObjectLiteral(result, names, kinds, values));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, PostOpExpression expr, boolean strict) {
         Scope scope = (Scope) context;
+
+        if (isPropertyReference(expr.getExpr())) return updateProperty(scope, expr.getExpr(), expr.getOp(), true, strict);
+
+        Variable old = scope.createTemporaryVariable();
+        Variable variable = assignable(context, expr.getExpr(), strict);
+
+        // The expression is the value from before the update
+        scope.addInstruction(new Copy(old, variable));
+        update(scope, variable, expr.getOp());
+
+        return old;
+    }
+
+    @Override
+    public Object visit(Object context, PreOpExpression expr, boolean strict) {
+        Scope scope = (Scope) context;
+
+        if (isPropertyReference(expr.getExpr())) return updateProperty(scope, expr.getExpr(), expr.getOp(), false, strict);
+
+        Variable variable = assignable(context, expr.getExpr(), strict);
+
+        return update(scope, variable, expr.getOp());
+    }
+
+    private Variable update(Scope scope, Variable variable, String op) {
         Variable tmp = scope.createTemporaryVariable();
-        Variable variable = (Variable) expr.getExpr().accept(context, this, strict);
-        boolean subtract = expr.getOp().equals("-");
 
-        if (subtract) {
+        if (op.equals("--")) {
             scope.addInstruction(new Sub(tmp, variable, new IntegerNumber(1)));
         } else {
             scope.addInstruction(new Add(tmp, variable, new IntegerNumber(1)));
         }
         scope.addInstruction(new Copy(variable, tmp));
 
-        return variable;
+        return tmp;
     }
 
-    @Override
-    public Object visit(Object context, PreOpExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+    // ++a.b, a[b]-- and friends: look the property up once, store it back and answer the new or old value
+    private Variable updateProperty(Scope scope, Expression target, String op, boolean post, boolean strict) {
+        Operand[] reference = propertyReference(scope, target, strict);
+        Variable old = scope.createTemporaryVariable();
+        Variable tmp = scope.createTemporaryVariable();
+
+        scope.addInstruction(new ElementLookup(old, reference[0], reference[1]));
+        if (op.equals("--")) {
+            scope.addInstruction(new Sub(tmp, old, new IntegerNumber(1)));
+        } else {
+            scope.addInstruction(new Add(tmp, old, new IntegerNumber(1)));
+        }
+        scope.addInstruction(new PropertyStore(reference[0], reference[1], tmp));
+
+        return post ? old : tmp;
     }
 
     @Override
     public Object visit(Object context, PropertyGet propertyGet, boolean strict) {
-        return unimplemented(context, propertyGet, strict);
+        return accessor((Scope) context, propertyGet.getBlock(), new String[] {}, strict);
     }
 
     @Override
     public Object visit(Object context, PropertySet propertySet, boolean strict) {
-        return unimplemented(context, propertySet, strict);
+        return accessor((Scope) context, propertySet.getBlock(), new String[] { propertySet.getIdentifier() }, strict);
+    }
+
+    // The function of a get or set in an object literal
+    private Variable accessor(Scope scope, Statement body, String[] parameterNames, boolean strict) {
+        Variable result = scope.createTemporaryVariable();
+
+        defineFunction(scope, result, null, parameterNames, (BlockStatement) body, scope.getFileName(), strict, false);
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, NamedValue namedValue, boolean strict) {
-        return unimplemented(context, namedValue, strict);
+        return namedValue.getExpr().accept(context, this, strict);
     }
 
     @Override
     public Object visit(Object context, RegexpLiteralExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new RegExpLiteral(result, expr.getPattern(), expr.getFlags()));
+
+        return result;
     }
 
     @Override
@@ -704,7 +1095,22 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, StrictEqualityOperatorExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        return equality((Scope) context, expr, true, expr.getOp().equals("!=="), strict);
+    }
+
+    private Variable equality(Scope scope, AbstractBinaryExpression expr, boolean strictEquality, boolean negate, boolean strict) {
+        Variable result = scope.createTemporaryVariable();
+        Operand lhs = (Operand) expr.getLhs().accept(scope, this, strict);
+        Operand rhs = (Operand) expr.getRhs().accept(scope, this, strict);
+
+        scope.addInstruction(strictEquality ? new StrictEqual(result, lhs, rhs) : new Equal(result, lhs, rhs));
+
+        if (!negate) return result;
+
+        Variable negated = scope.createTemporaryVariable();
+        scope.addInstruction(new Not(negated, result));
+
+        return negated;
     }
 
     @Override
@@ -714,12 +1120,58 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, SwitchStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        Scope scope = (Scope) context;
+        List<CaseClause> clauses = statement.getCaseClauses();
+        Label[] entranceLabels = new Label[clauses.size()];
+        final Label doneLabel = scope.getNewLabel();
+        Label defaultLabel = doneLabel;
+        Operand value = getValueInTemporaryVariable(scope, (Operand) statement.getExpr().accept(context, this, strict));
+
+        // TESTS (12.11: each case in order with ===, default only once none matched)
+        for (int i = 0; i < entranceLabels.length; i++) {
+            CaseClause clause = clauses.get(i);
+            entranceLabels[i] = scope.getNewLabel();
+
+            if (clause instanceof DefaultCaseClause) {
+                defaultLabel = entranceLabels[i];
+                continue;
+            }
+
+            Variable test = scope.createTemporaryVariable();
+            scope.addInstruction(new StrictEqual(test, value, (Operand) clause.getExpression().accept(context, this, strict)));
+            scope.addInstruction(new BEQ(test, BooleanLiteral.TRUE, entranceLabels[i]));
+        }
+        scope.addInstruction(new Jump(defaultLabel));
+
+        // BODIES (falling through into each other)
+        scope.pushJumpTarget(statement.getLabels(), doneLabel, null);
+        for (int i = 0; i < entranceLabels.length; i++) {
+            scope.addInstruction(new LabelInstr(entranceLabels[i]));
+            if (clauses.get(i).getBlock() != null) clauses.get(i).getBlock().accept(context, this, strict);
+        }
+        scope.popJumpTarget();
+
+        // END
+        scope.addInstruction(new LabelInstr(doneLabel));
+
+        return Undefined.UNDEFINED;
     }
 
     @Override
     public Object visit(Object context, TernaryExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Label elseLabel = scope.getNewLabel();
+        Label doneLabel = scope.getNewLabel();
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new BEQ(condition(scope, expr.getTest(), strict), BooleanLiteral.FALSE, elseLabel));
+        scope.addInstruction(new Copy(result, (Operand) expr.getThenExpr().accept(context, this, strict)));
+        scope.addInstruction(new Jump(doneLabel));
+        scope.addInstruction(new LabelInstr(elseLabel));
+        scope.addInstruction(new Copy(result, (Operand) expr.getElseExpr().accept(context, this, strict)));
+        scope.addInstruction(new LabelInstr(doneLabel));
+
+        return result;
     }
 
     @Override
@@ -729,34 +1181,87 @@ public class Builder implements CodeVisitor {
 
     @Override
     public Object visit(Object context, ThrowStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        Scope scope = (Scope) context;
+
+        scope.addInstruction(new ThrowException((Operand) statement.getExpr().accept(context, this, strict)));
+
+        return Undefined.UNDEFINED;
     }
 
     @Override
     public Object visit(Object context, TryStatement statement, boolean strict) {
-        return unimplemented(context, statement, strict);
+        Scope scope = (Scope) context;
+        CatchClause clause = statement.getCatchClause();
+
+        // FIXME: finally needs to run on every way out of the region (break, continue, return, throw)
+        if (statement.getFinallyBlock() != null) return unimplemented(context, statement, strict);
+        // The catch variable is an IR local so eval could not see it
+        if (FreeNames.of(clause.getBlock(), strict).contains("eval")) return unimplemented(context, statement, strict);
+
+        final Label rescueLabel = scope.getNewLabel();
+        final Label doneLabel = scope.getNewLabel();
+
+        // TRY (in a basic block of its own so nothing before it is protected)
+        scope.addInstruction(new LabelInstr(scope.getNewLabel()));
+        scope.addInstruction(new ExceptionRegionStartMarker(rescueLabel));
+        statement.getTryBlock().accept(context, this, strict);
+        scope.addInstruction(new ExceptionRegionEndMarker());
+        scope.addInstruction(new Jump(doneLabel));
+
+        // CATCH
+        scope.addInstruction(new LabelInstr(rescueLabel));
+        Variable exception = scope.pushCatchVariable(clause.getIdentifier());
+        scope.addInstruction(new ReceiveException(exception));
+        clause.getBlock().accept(context, this, strict);
+        scope.popCatchVariable();
+
+        // END
+        scope.addInstruction(new LabelInstr(doneLabel));
+
+        return Undefined.UNDEFINED;
     }
 
     @Override
     public Object visit(Object context, TypeOfOpExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new TypeOf(result, (Operand) expr.getExpr().accept(context, this, strict)));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, UnaryMinusExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new Negate(result, (Operand) expr.getExpr().accept(context, this, strict)));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, UnaryPlusExpression expr, boolean strict) {
-        return unimplemented(context, expr, strict);
+        Scope scope = (Scope) context;
+        Variable result = scope.createTemporaryVariable();
+
+        scope.addInstruction(new ToNumber(result, (Operand) expr.getExpr().accept(context, this, strict)));
+
+        return result;
     }
 
     @Override
     public Object visit(Object context, VariableDeclaration expr, boolean strict) {
         Scope scope = (Scope) context;
-        Variable variable = scope.acquireLocalVariable(expr.getIdentifier());
-        Operand value = (Operand) acceptOrUndefined(context, expr.getExpr(), strict);
+
+        // Hoisting already declared it (as undefined) so var x; alone does nothing
+        if (expr.getExpr() == null) return Undefined.UNDEFINED;
+
+        // Function locals were all acquired up front; program vars are properties of the global object
+        LocalVariable local = scope.findVariable(expr.getIdentifier());
+        Variable variable = local != null && local.getDepth() == 0 ? local : new DynamicVariable(expr.getIdentifier());
+        Operand value = (Operand) expr.getExpr().accept(context, this, strict);
 
         scope.addInstruction(new Copy(variable, value));
 
@@ -787,11 +1292,10 @@ public class Builder implements CodeVisitor {
 
         scope.addInstruction(new LabelInstr(startLabel));
         // TEST
-        scope.addInstruction(new BEQ((Operand) statement.getTest().accept(context, this, strict),
-                BooleanLiteral.FALSE, doneLabel));
+        scope.addInstruction(new BEQ(condition(scope, statement.getTest(), strict), BooleanLiteral.FALSE, doneLabel));
 
         // BODY
-        statement.getBlock().accept(context, this, strict);
+        buildLoopBody(scope, statement, statement.getBlock(), doneLabel, startLabel, strict);
         scope.addInstruction(new Jump(startLabel));
 
         // END
@@ -806,7 +1310,56 @@ public class Builder implements CodeVisitor {
     }
 
     private Object unimplemented(Object context, Object expr, boolean strict) {
-        throw new RuntimeException("EXPR: '" + expr + "' is unimplemented.");
+        throw new UnimplementedException("EXPR: '" + expr + "' is unimplemented.");
+    }
+
+    // Property targets go through propertyReference instead so only identifiers can be assigned to.
+    private Variable assignable(Object context, Expression expr, boolean strict) {
+        if (!(expr instanceof IdentifierReferenceExpression)) return (Variable) unimplemented(context, expr, strict);
+
+        return (Variable) expr.accept(context, this, strict);
+    }
+
+    private static boolean isPropertyReference(Expression expr) {
+        return expr instanceof DotExpression || expr instanceof BracketExpression;
+    }
+
+    /**
+     * Base and key of a.b or a[b], each evaluated once into a temporary so a property
+     * can be read and then stored back without anything in between changing them.
+     */
+    private Operand[] propertyReference(Scope scope, Expression expr, boolean strict) {
+        if (expr instanceof DotExpression) {
+            DotExpression dot = (DotExpression) expr;
+            Operand base = getValueInTemporaryVariable(scope, (Operand) dot.getLhs().accept(scope, this, strict));
+
+            return new Operand[] { base, new StringLiteral(dot.getIdentifier()) };
+        }
+
+        BracketExpression bracket = (BracketExpression) expr;
+        Operand base = getValueInTemporaryVariable(scope, (Operand) bracket.getLhs().accept(scope, this, strict));
+        Operand key = getValueInTemporaryVariable(scope, (Operand) bracket.getRhs().accept(scope, this, strict));
+
+        return new Operand[] { base, key };
+    }
+
+    /**
+     * The value of expr converted with ToBoolean so it can be branched on, unless it
+     * always is a boolean already.
+     */
+    private Operand condition(Scope scope, Expression expr, boolean strict) {
+        Operand value = (Operand) expr.accept(scope, this, strict);
+
+        if (expr instanceof RelationalExpression || expr instanceof EqualityOperatorExpression ||
+                expr instanceof StrictEqualityOperatorExpression || expr instanceof LogicalNotOperatorExpression ||
+                expr instanceof InstanceofExpression || expr instanceof BooleanLiteralExpression) {
+            return value;
+        }
+
+        Variable result = scope.createTemporaryVariable();
+        scope.addInstruction(new ToBoolean(result, value));
+
+        return result;
     }
 
     private Object acceptOrUndefined(Object context, Expression expr, boolean strict) {
@@ -0,0 +1,28 @@
+package org.dynjs.ir;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.dynjs.parser.DefaultVisitor;
+import org.dynjs.parser.Statement;
+import org.dynjs.parser.ast.IdentifierReferenceExpression;
+
+/**
+ * Collects every identifier a function body (including nested functions)
+ * refers to.  Declarations inside the body are not subtracted so this is
+ * an over-approximation of what the body reads from the scopes around it.
+ */
+class FreeNames extends DefaultVisitor {
+    private final Set<String> names = new HashSet<>();
+
+    public static Set<String> of(Statement body, boolean strict) {
+        FreeNames collector = new FreeNames();
+        body.accept(null, collector, strict);
+        return collector.names;
+    }
+
+    @Override
+    public Object visit(Object context, IdentifierReferenceExpression expr, boolean strict) {
+        names.add(expr.getIdentifier());
+        return null;
+    }
+}
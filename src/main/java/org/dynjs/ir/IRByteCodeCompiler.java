@@ -9,15 +9,20 @@ import me.qmx.jitescript.internal.org.objectweb.asm.util.CheckClassAdapter;
 import org.dynjs.exception.DynJSException;
 import org.dynjs.ir.instructions.Add;
 import org.dynjs.ir.instructions.BEQ;
+import org.dynjs.ir.instructions.BinaryInstr;
 import org.dynjs.ir.instructions.Call;
 import org.dynjs.ir.instructions.Copy;
 import org.dynjs.ir.instructions.DefineFunction;
+import org.dynjs.ir.instructions.Equal;
 import org.dynjs.ir.instructions.Jump;
 import org.dynjs.ir.instructions.LT;
+import org.dynjs.ir.instructions.Not;
 import org.dynjs.ir.instructions.ReceiveFunctionParameter;
 import org.dynjs.ir.instructions.ResultInstruction;
 import org.dynjs.ir.instructions.Return;
+import org.dynjs.ir.instructions.StrictEqual;
 import org.dynjs.ir.instructions.Sub;
+import org.dynjs.ir.instructions.ToBoolean;
 import org.dynjs.ir.operands.BooleanLiteral;
 import org.dynjs.ir.operands.DynamicVariable;
 import org.dynjs.ir.operands.IntegerNumber;
@@ -30,6 +35,7 @@ import org.dynjs.ir.representations.BasicBlock;
 import org.dynjs.runtime.AbstractFunction;
 import org.dynjs.runtime.DynamicClassLoader;
 import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.GeneratedClassLoader;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.JSFunction;
 import org.dynjs.runtime.LexicalEnvironment;
@@ -78,6 +84,15 @@ public class IRByteCodeCompiler {
             case SUB:
                 emitSub(block, (Sub) instruction);
                 break;
+            case MUL:
+                emitArithmetic(block, (BinaryInstr) instruction, "mul");
+                break;
+            case DIV:
+                emitArithmetic(block, (BinaryInstr) instruction, "div");
+                break;
+            case MOD:
+                emitArithmetic(block, (BinaryInstr) instruction, "mod");
+                break;
             case COPY:
                 emitCopy(block, (Copy) instruction);
                 break;
@@ -99,6 +114,20 @@ public class IRByteCodeCompiler {
             case CALL:
                 emitCall(jiteClass, block, (Call) instruction, jumpMap);
                 break;
+            case TO_BOOLEAN:
+                emitOperand(block, ((ToBoolean) instruction).getValue());
+                block.invokestatic(p(Types.class), "toBoolean", sig(Boolean.class, Object.class));
+                break;
+            case NOT:
+                emitOperand(block, ((Not) instruction).getValue());
+                block.invokestatic(p(IRByteCodeCompiler.class), "not", sig(Boolean.class, Object.class));
+                break;
+            case EQ:
+                emitEquality(block, ((Equal) instruction).getLHS(), ((Equal) instruction).getRHS(), "eq");
+                break;
+            case STRICT_EQ:
+                emitEquality(block, ((StrictEqual) instruction).getLHS(), ((StrictEqual) instruction).getRHS(), "strictEq");
+                break;
             default:
                 throw new DynJSException("LOOOL");
         }
@@ -128,6 +157,10 @@ public class IRByteCodeCompiler {
         // ref function ref
         block.invokestatic(p(Interpreter.class), "getThis", sig(Object.class, Object.class));
         // ref function this
+        emitOperand(block, instruction.getSelf());
+        // ref function this self
+        block.invokestatic(p(IRByteCodeCompiler.class), "thisValue", sig(Object.class, Object.class, Object.class));
+        // ref function this
 
         Operand[] args = instruction.getArgs();
         block.bipush(args.length);
@@ -143,6 +176,21 @@ public class IRByteCodeCompiler {
         block.invokevirtual(p(ExecutionContext.class), "call", sig(Object.class, Object.class, JSFunction.class, Object.class, Object[].class));
     }
 
+    // Same helpers as the interpreter so both agree on -0, NaN and overflow
+    private void emitArithmetic(CodeBlock block, BinaryInstr instruction, String helper) {
+        block.aload(EXECUTION_CONTEXT);
+        emitOperand(block, instruction.getLHS());
+        emitOperand(block, instruction.getRHS());
+        block.invokestatic(p(Interpreter.class), helper, sig(Object.class, ExecutionContext.class, Object.class, Object.class));
+    }
+
+    private void emitEquality(CodeBlock block, Operand lhs, Operand rhs, String helper) {
+        block.aload(EXECUTION_CONTEXT);
+        emitOperand(block, lhs);
+        emitOperand(block, rhs);
+        block.invokestatic(p(IRByteCodeCompiler.class), helper, sig(Boolean.class, ExecutionContext.class, Object.class, Object.class));
+    }
+
     private void emitSub(CodeBlock block, Sub instruction) {
         emitOperand(block, instruction.getLHS());
         emitOperand(block, instruction.getRHS());
@@ -324,7 +372,53 @@ public class IRByteCodeCompiler {
                                 // EC VV offset depth ?
                         .invokevirtual(p(VariableValues.class), "setVar", sig(void.class, int.class, int.class, Object.class));
                 break;
+            case DYNAMIC_VAR:
+                block
+                        .aload(EXECUTION_CONTEXT)
+                                // ? EC
+                        .dup()
+                                // ? EC EC
+                        .ldc(((DynamicVariable) result).getName())
+                                // ? EC EC name
+                        .invokevirtual(p(ExecutionContext.class), "resolve", sig(Reference.class, String.class))
+                                // ? EC ref
+                        .swap()
+                                // ? ref EC
+                        .dup2_x1()
+                                // ref EC ? ref EC
+                        .pop2()
+                                // ref EC ?
+                        .invokevirtual(p(Reference.class), "putValue", sig(void.class, ExecutionContext.class, Object.class));
+                break;
+        }
+    }
+
+    /**
+     * Whether every instruction of the scope can be turned into bytecode.  Functions
+     * which use anything else stay in the interpreter.
+     */
+    public static boolean canCompile(FunctionScope scope) {
+        for (Instruction instruction : scope.getInstructions()) {
+            switch (instruction.getOperation()) {
+                case LABEL: case ADD: case SUB: case MUL: case DIV: case MOD: case COPY: case BEQ: case LT: case JUMP: case RETURN:
+                case RECEIVE_FUNCTION_PARAM: case CALL: case TO_BOOLEAN: case NOT: case EQ: case STRICT_EQ:
+                    break;
+                default:
+                    return false;
+            }
+
+            for (Operand operand : instruction.getOperands()) {
+                if (operand == null) continue;
+
+                switch (operand.getType()) {
+                    case DYNAMIC_VAR: case INTEGER: case TEMP_VAR: case LOCAL_VAR: case BOOLEAN: case UNDEFINED: case LABEL:
+                        break;
+                    default:
+                        return false;
+                }
+            }
         }
+        return true;
     }
 
 
@@ -348,6 +442,22 @@ public class IRByteCodeCompiler {
         return la.compareTo(lb) == -1;
     }
 
+    public static Boolean not(Object value) {
+        return !Types.toBoolean(value);
+    }
+
+    public static Boolean eq(ExecutionContext context, Object lhs, Object rhs) {
+        return Types.compareEquality(context, lhs, rhs);
+    }
+
+    public static Boolean strictEq(ExecutionContext context, Object lhs, Object rhs) {
+        return Types.compareStrictEquality(context, lhs, rhs);
+    }
+
+    public static Object thisValue(Object referenceThis, Object self) {
+        return referenceThis != null ? referenceThis : self;
+    }
+
     public static Object add(Object a, Object b) {
         Long la = a instanceof Long ? (Long) a : new Long(((Integer) a).longValue());
         Long lb = b instanceof Long ? (Long) b : new Long(((Integer) b).longValue());
@@ -413,7 +523,7 @@ public class IRByteCodeCompiler {
             ClassReader reader = new ClassReader(bytes);
             CheckClassAdapter.verify(reader, context.getClassLoader(), true, new PrintWriter(System.out));
         }
-        final DynamicClassLoader loader = new DynamicClassLoader();
+        final DynamicClassLoader loader = new GeneratedClassLoader(context.getClassLoader());
         final Class<?> define = loader.define(jiteClass.getClassName().replace("/", "."), bytes);
         try {
             final Constructor<?> constructor = define.getDeclaredConstructor(GlobalContext.class, LexicalEnvironment.class, boolean.class, String[].class);
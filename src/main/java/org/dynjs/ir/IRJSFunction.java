@@ -18,11 +18,15 @@ public class IRJSFunction extends DynObject implements JSFunction {
     private VariableValues capturedValues;
 
     public JSFunction compile(ExecutionContext context) {
+        if (!IRByteCodeCompiler.canCompile(scope)) {
+            return null;
+        }
         return new IRByteCodeCompiler(scope, getFileName(), isStrict()).compileFunction(context);
     }
 
     private static class IRJSFunctionBox {
         public int callCount = 0;
+        public long firstCall;
         public JSCallable compiledFunction;
         public boolean compilationInProgress;
     }
@@ -131,13 +135,16 @@ public class IRJSFunction extends DynObject implements JSFunction {
             return true;
         }
 
+        if (box.callCount == 0) {
+            box.firstCall = System.nanoTime();
+        }
         if (box.callCount++ >= context.getConfig().getJitThreshold()) {
             box.callCount = -1; // disable, we get one shot
             if (!box.compilationInProgress) {
                 if (context.getConfig().isJitEnabled()) {
                     final JITCompiler compiler = context.getRuntime().getJitCompiler();
                     box.compilationInProgress = true;
-                    compiler.compile(context, this, new JITCompiler.CompilerCallback() {
+                    compiler.compile(context, this, System.nanoTime() - box.firstCall, new JITCompiler.CompilerCallback() {
                         @Override
                         public void done(JSFunction compiledFunction) {
                             box.compiledFunction = compiledFunction;
@@ -156,6 +163,11 @@ public class IRJSFunction extends DynObject implements JSFunction {
         return scope.isStrict();
     }
 
+    @Override
+    public boolean isArgumentsObjectNeeded() {
+        return true;
+    }
+
     // FIXME: Remove or replace once we learn how IR should handle these
     @Override
     public List<FunctionDeclaration> getFunctionDeclarations() {
@@ -27,18 +27,15 @@ public class IRJSProgram implements JSProgram {
     private final BlockManager blockManager;
     private Scope scope;
     private Instruction[] instructions;
+    private final List<VariableDeclaration> variableDeclarations;
 
-    public IRJSProgram(SourceProvider source, BlockManager blockManager, Scope scope) {
+    public IRJSProgram(SourceProvider source, BlockManager blockManager, Scope scope,
+                       List<VariableDeclaration> variableDeclarations) {
         this.source = source;
         this.blockManager = blockManager;
         this.scope = scope;
         this.instructions = scope.prepareForInterpret();
-
-//        System.out.println("PROGRAM:");
-        int size = instructions.length;
-        for (int i = 0; i < size; i++) {
-            System.out.println("" + instructions[i]);
-        }
+        this.variableDeclarations = variableDeclarations;
     }
 
     @Override
@@ -75,9 +72,9 @@ public class IRJSProgram implements JSProgram {
         return FunctionDeclaration.EMPTY_LIST;
     }
 
-    // FIXME: Remove or replace once we learn how IR should handle these
+    // Program vars are properties of the global object, declared before any code runs.
     @Override
     public List<VariableDeclaration> getVariableDeclarations() {
-        return VariableDeclaration.EMPTY_LIST;
+        return variableDeclarations;
     }
 }
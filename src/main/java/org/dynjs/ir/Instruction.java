@@ -86,10 +86,12 @@ public abstract class Instruction {
     }
 
     /**
-     * Can this instruction potentially raise a JS Exception?
+     * Can this instruction potentially raise a JS Exception?  Almost any can: reading an
+     * unresolvable variable, calling valueOf or a getter...  Blocks without one lose their
+     * edge to the catch block protecting them.
      */
     public boolean canRaiseException() {
-        return false;
+        return true;
     }
 
     /**
@@ -2,31 +2,64 @@ package org.dynjs.ir;
 
 import org.dynjs.exception.ThrowException;
 import org.dynjs.ir.instructions.Add;
+import org.dynjs.ir.instructions.ArrayLiteral;
 import org.dynjs.ir.instructions.BEQ;
+import org.dynjs.ir.instructions.Bitwise;
+import org.dynjs.ir.instructions.BitwiseNot;
 import org.dynjs.ir.instructions.Call;
 import org.dynjs.ir.instructions.Constructor;
 import org.dynjs.ir.instructions.Copy;
+import org.dynjs.ir.instructions.DefineCompiledFunction;
 import org.dynjs.ir.instructions.DefineFunction;
+import org.dynjs.ir.instructions.Delete;
+import org.dynjs.ir.instructions.Div;
+import org.dynjs.ir.instructions.ElementLookup;
+import org.dynjs.ir.instructions.EnumerateProperties;
+import org.dynjs.ir.instructions.Equal;
+import org.dynjs.ir.instructions.HasNextProperty;
+import org.dynjs.ir.instructions.In;
 import org.dynjs.ir.instructions.Instanceof;
 import org.dynjs.ir.instructions.Jump;
 import org.dynjs.ir.instructions.LE;
 import org.dynjs.ir.instructions.LT;
+import org.dynjs.ir.instructions.Mod;
+import org.dynjs.ir.instructions.Mul;
+import org.dynjs.ir.instructions.Negate;
+import org.dynjs.ir.instructions.NextProperty;
+import org.dynjs.ir.instructions.Not;
+import org.dynjs.ir.instructions.ObjectLiteral;
+import org.dynjs.ir.instructions.PropertyLookup;
+import org.dynjs.ir.instructions.PropertyStore;
 import org.dynjs.ir.instructions.Raise;
 import org.dynjs.ir.instructions.ReceiveFunctionParameter;
+import org.dynjs.ir.instructions.RegExpLiteral;
 import org.dynjs.ir.instructions.ResultInstruction;
 import org.dynjs.ir.instructions.Return;
+import org.dynjs.ir.instructions.StrictEqual;
 import org.dynjs.ir.instructions.Sub;
+import org.dynjs.ir.instructions.ToBoolean;
+import org.dynjs.ir.instructions.ToNumber;
+import org.dynjs.ir.instructions.TypeOf;
+import org.dynjs.ir.operands.DynamicVariable;
 import org.dynjs.ir.operands.LocalVariable;
 import org.dynjs.ir.operands.OffsetVariable;
 import org.dynjs.ir.operands.Variable;
+import org.dynjs.parser.ast.NumericHelper;
+import org.dynjs.runtime.Arithmetic;
 import org.dynjs.runtime.EnvironmentRecord;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.JSFunction;
 import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.NameEnumerator;
 import org.dynjs.runtime.ObjectEnvironmentRecord;
 import org.dynjs.runtime.PropertyDescriptor;
 import org.dynjs.runtime.Reference;
 import org.dynjs.runtime.Types;
+import org.dynjs.runtime.builtins.types.BuiltinArray;
+import org.dynjs.runtime.builtins.types.BuiltinNumber;
+import org.dynjs.runtime.builtins.types.BuiltinObject;
+
+import java.util.Collections;
 
 /**
  * Created by enebo on 4/11/14.
@@ -39,6 +72,7 @@ public class Interpreter {
         Object[] temps = new Object[scope.getTemporaryVariableSize()];
         int size = instructions.length;
         Object value = Types.UNDEFINED;
+        Object exception = null;
 
         int ipc = 0;
         while (ipc < size) {
@@ -46,139 +80,300 @@ public class Interpreter {
             ipc++;
             //System.out.println("EX: " + instr);
 
-            switch(instr.getOperation()) {
-                case ADD:
-                    value = add(context,
-                            ((Add) instr).getLHS().retrieve(context, temps),
-                            ((Add) instr).getRHS().retrieve(context, temps));
-                    break;
-                case SUB:
-                    value = sub(context,
-                            ((Sub) instr).getLHS().retrieve(context, temps),
-                            ((Sub) instr).getRHS().retrieve(context, temps));
-                    break;
-                case RECEIVE_FUNCTION_PARAM:
-                    value = context.getFunctionParameters()[((ReceiveFunctionParameter) instr).getIndex()];
-                    break;
-                case COPY:
-                    value = ((Copy) instr).getValue().retrieve(context, temps);
-                    break;
-                case JUMP:
-                    ipc = ((Jump) instr).getTarget().getTargetIPC();
-                    break;
-                case CALL: {
-                    Call call = (Call) instr;
-                    Object ref = call.getIdentifier().retrieve(context, temps);
-                    Object function = Types.getValue(context, ref);
-                    Operand[] opers = call.getArgs();
-                    Object[] args = new Object[opers.length];
-
-                    if (!(function instanceof JSFunction)) {
-                        throw new ThrowException(context, context.createTypeError(ref + " is not callable"));
-                    }
+            try {
+                switch(instr.getOperation()) {
+                    case ADD:
+                        value = add(context,
+                                ((Add) instr).getLHS().retrieve(context, temps),
+                                ((Add) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case SUB:
+                        value = sub(context,
+                                ((Sub) instr).getLHS().retrieve(context, temps),
+                                ((Sub) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case MUL:
+                        value = mul(context,
+                                ((Mul) instr).getLHS().retrieve(context, temps),
+                                ((Mul) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case DIV:
+                        value = div(context,
+                                ((Div) instr).getLHS().retrieve(context, temps),
+                                ((Div) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case MOD:
+                        value = mod(context,
+                                ((Mod) instr).getLHS().retrieve(context, temps),
+                                ((Mod) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case RECEIVE_FUNCTION_PARAM:
+                        value = context.getFunctionParameters()[((ReceiveFunctionParameter) instr).getIndex()];
+                        break;
+                    case COPY:
+                        value = ((Copy) instr).getValue().retrieve(context, temps);
+                        break;
+                    case JUMP:
+                        ipc = ((Jump) instr).getTarget().getTargetIPC();
+                        break;
+                    case CALL: {
+                        Call call = (Call) instr;
+                        Object ref = call.getIdentifier().retrieve(context, temps);
+                        Object function = Types.getValue(context, ref);
+                        Operand[] opers = call.getArgs();
+                        Object[] args = new Object[opers.length];
+
+                        if (!(function instanceof JSFunction)) {
+                            throw new ThrowException(context, context.createTypeError(ref + " is not callable"));
+                        }
+
+                        for (int i = 0; i < args.length; i++) {
+                            args[i] = opers[i].retrieve(context, temps);
+                        }
+
+                        Object thisValue = getThis(ref);
+                        if (thisValue == null) thisValue = call.getSelf().retrieve(context, temps);
 
-                    for (int i = 0; i < args.length; i++) {
-                        args[i] = opers[i].retrieve(context, temps);
+                        value = context.call(ref, (JSFunction) function, thisValue, args);
                     }
+                    break;
+                    case CONSTRUCTOR: {
+                        Constructor constructor = (Constructor) instr;
+                        Object ref = constructor.getIdentifier().retrieve(context, temps);
+                        Object function = Types.getValue(context, ref);
+                        Operand[] opers = constructor.getArgs();
+                        Object[] args = new Object[opers.length];
+
+                        if (!(function instanceof JSFunction)) {
+                            throw new ThrowException(context, context.createTypeError(ref + " is not callable"));
+                        }
 
-                    Object thisValue = getThis(ref);
+                        for (int i = 0; i < args.length; i++) {
+                            args[i] = opers[i].retrieve(context, temps);
+                        }
 
-                    value = context.call(ref, (JSFunction) function, thisValue, args);
-                }
-                break;
-                case CONSTRUCTOR: {
-                    Constructor constructor = (Constructor) instr;
-                    Object ref = constructor.getIdentifier().retrieve(context, temps);
-                    Object function = Types.getValue(context, ref);
-                    Operand[] opers = constructor.getArgs();
-                    Object[] args = new Object[opers.length];
-
-                    if (!(function instanceof JSFunction)) {
-                        throw new ThrowException(context, context.createTypeError(ref + " is not callable"));
+                        value = context.construct(ref, (JSFunction) function, args);
+                    }
+                    break;
+                    case LT: {
+                        Object arg1  = ((LT) instr).getArg1().retrieve(context, temps);
+                        Object arg2  = ((LT) instr).getArg2().retrieve(context, temps);
+                        Object r = Types.compareRelational(context, arg1, arg2, true);
+                        value = r == Types.UNDEFINED ? false : r;
+                        break;
+                    }
+                    case LE: {
+                        Object arg1  = ((LE) instr).getArg1().retrieve(context, temps);
+                        Object arg2  = ((LE) instr).getArg2().retrieve(context, temps);
+                        // 11.8.3: a <= b is true unless b < a is true or undefined
+                        Object r = Types.compareRelational(context, arg2, arg1, false);
+                        value = !(r == Boolean.TRUE || r == Types.UNDEFINED);
+                        break;
                     }
+                    case BEQ: {
+                        BEQ beq = (BEQ) instr;
+                        Object arg1 = beq.getArg1().retrieve(context, temps);
+                        Object arg2 = beq.getArg2().retrieve(context, temps);
 
-                    for (int i = 0; i < args.length; i++) {
-                        args[i] = opers[i].retrieve(context, temps);
+                        if (arg1.equals(arg2)) {
+                            ipc = beq.getTarget().getTargetIPC();
+                        }
+                        break;
+                    }
+                    case RETURN:
+                        return ((Return) instr).getValue().retrieve(context, temps);
+                    case DEFINE_FUNCTION: {
+                        // FIXME: configurableBindings is false here but I think a define_function in an eval they should be true
+                        FunctionScope functionScope = ((DefineFunction) instr).getScope();
+                        value = new IRJSFunction(functionScope, context.getVars(),
+                                context.getLexicalEnvironment(), context.getGlobalContext());
+
+                        if (functionScope.getName() != null) {
+                            declareFunction(context, functionScope.getName(), (JSFunction) value, functionScope.isStrict());
+                        }
+                        break;
                     }
+                    case DEFINE_COMPILED_FUNCTION: {
+                        DefineCompiledFunction define = (DefineCompiledFunction) instr;
+                        JSFunction function = context.getCompiler().compileFunction(context, define.getIdentifier(),
+                                define.getFormalParameters(), define.getBody(), define.isStrict());
 
-                    value = context.construct(ref, (JSFunction) function, args);
-                }
-                break;
-                case LT: {
-                    Object arg1  = ((LT) instr).getArg1().retrieve(context, temps);
-                    Object arg2  = ((LT) instr).getArg2().retrieve(context, temps);
-                    Object r = Types.compareRelational(context, arg1, arg2, true);
-                    value = r == Types.UNDEFINED ? false : r;
-                    break;
-                }
-                case LE: {
-                    Object arg1  = ((LE) instr).getArg1().retrieve(context, temps);
-                    Object arg2  = ((LE) instr).getArg2().retrieve(context, temps);
-                    Object r = Types.compareRelational(context, arg1, arg2, true);
-                    value = r == Boolean.TRUE || r == Types.UNDEFINED ? false : r;
-                    break;
-                }
-                case BEQ: {
-                    BEQ beq = (BEQ) instr;
-                    Object arg1 = beq.getArg1().retrieve(context, temps);
-                    Object arg2 = beq.getArg2().retrieve(context, temps);
+                        if (define.isDeclaration()) {
+                            declareFunction(context, define.getIdentifier(), function, define.isStrict());
+                        }
+                        value = function;
+                        break;
+                    }
+                    case PROPERTY_LOOKUP: {
+                        PropertyLookup lookup = (PropertyLookup) instr;
+                        Object base = lookup.getBase().retrieve(context, temps);
 
-                    if (arg1.equals(arg2)) {
-                        ipc = beq.getTarget().getTargetIPC();
+                        value = Types.toObject(context, base).get(context, lookup.getIdentifier());
+                        break;
                     }
-                    break;
-                }
-                case RETURN:
-                    return ((Return) instr).getValue().retrieve(context, temps);
-                case DEFINE_FUNCTION: {
-                    // FIXME: configurableBindings is false here but I think a define_function in an eval they should be true
-                    FunctionScope functionScope = ((DefineFunction) instr).getScope();
-                    value = new IRJSFunction(functionScope, context.getVars(),
-                            context.getLexicalEnvironment(), context.getGlobalContext());
-
-                    if (functionScope.getName() != null) {
-                        EnvironmentRecord env = context.getVariableEnvironment().getRecord();
-                        String identifier = functionScope.getName();
-                        if (!env.hasBinding(context, identifier)) {
-                            env.createMutableBinding(context, identifier, false);
-                        } else if (env.isGlobal()) {
-                            JSObject globalObject = ((ObjectEnvironmentRecord) env).getBindingObject();
-                            PropertyDescriptor existingProp = (PropertyDescriptor) globalObject.getProperty(context, identifier, false);
-                            if (existingProp.isConfigurable()) {
-                                globalObject.defineOwnProperty(context, identifier,
-                                        PropertyDescriptor.newDataPropertyDescriptor(Types.UNDEFINED, true, false, true), true);
-                            } else if (existingProp.isAccessorDescriptor() || (!existingProp.isWritable() && !existingProp.isEnumerable())) {
-                                throw new ThrowException(context, context.createTypeError("unable to bind function '" + identifier + "'"));
+                    case TO_BOOLEAN:
+                        value = Types.toBoolean(((ToBoolean) instr).getValue().retrieve(context, temps));
+                        break;
+                    case NOT:
+                        value = !Types.toBoolean(((Not) instr).getValue().retrieve(context, temps));
+                        break;
+                    case EQ:
+                        value = Types.compareEquality(context,
+                                ((Equal) instr).getLHS().retrieve(context, temps),
+                                ((Equal) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case STRICT_EQ:
+                        value = Types.compareStrictEquality(context,
+                                ((StrictEqual) instr).getLHS().retrieve(context, temps),
+                                ((StrictEqual) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case TYPEOF: {
+                        Operand operand = ((TypeOf) instr).getValue();
+
+                        // 11.4.3 step 2a: typeof of an unresolvable reference is not an error
+                        if (operand instanceof DynamicVariable &&
+                                context.resolve(((DynamicVariable) operand).getName()).isUnresolvableReference()) {
+                            value = "undefined";
+                        } else {
+                            value = Types.typeof(context, operand.retrieve(context, temps));
+                        }
+                        break;
+                    }
+                    case THROW_EXCEPTION:
+                        throw new ThrowException(context,
+                                ((org.dynjs.ir.instructions.ThrowException) instr).getValue().retrieve(context, temps));
+                    case RAISE:
+                        throw new ThrowException(context,
+                                context.createError(((Raise) instr).getType(), ((Raise) instr).getMessage()));
+                    case INSTANCEOF: {
+                        Object lhs  = ((Instanceof) instr).getLHS().retrieve(context, temps);
+                        Object rhs  = ((Instanceof) instr).getRHS().retrieve(context, temps);
+
+                        if (rhs instanceof JSObject) {
+                            if (!(rhs instanceof JSFunction)) {
+                                // FIXME: Might have to pass in original rhs to instr for proper string...
+                                throw new ThrowException(context, context.createTypeError(rhs + " is not a function"));
                             }
+
+                            value = ((JSFunction) rhs).hasInstance(context, lhs);
+                        } else if (rhs instanceof Class) {
+                            Class clazz = (Class) rhs;
+                            value = lhs.getClass().getName().equals(clazz.getName());
+                        } else {
+                            // FIXME: Review against master...
+                            throw new ThrowException(context, context.createTypeError(rhs + " is not a function"));
+                        }
+                        break;
+                    }
+                    case BITWISE:
+                        value = bitwise(context, ((Bitwise) instr).getOp(),
+                                ((Bitwise) instr).getLHS().retrieve(context, temps),
+                                ((Bitwise) instr).getRHS().retrieve(context, temps));
+                        break;
+                    case BITWISE_NOT:
+                        value = ~Types.toInt32(context, ((BitwiseNot) instr).getValue().retrieve(context, temps));
+                        break;
+                    case NEGATE:
+                        value = negate(context, ((Negate) instr).getValue().retrieve(context, temps));
+                        break;
+                    case TO_NUMBER:
+                        value = Types.toNumber(context, ((ToNumber) instr).getValue().retrieve(context, temps));
+                        break;
+                    case IN: {
+                        Object lhs = ((In) instr).getLHS().retrieve(context, temps);
+                        Object rhs = ((In) instr).getRHS().retrieve(context, temps);
+
+                        if (!(rhs instanceof JSObject)) {
+                            throw new ThrowException(context, context.createTypeError(rhs + " is not an object"));
                         }
 
-                        ((JSFunction) value).setDebugContext(identifier);
-                        env.setMutableBinding(context, identifier, value, functionScope.isStrict());
+                        value = ((JSObject) rhs).hasProperty(context, Types.toString(context, lhs));
+                        break;
                     }
-                    break;
-                }
-                case RAISE:
-                    throw new ThrowException(context,
-                            context.createError(((Raise) instr).getType(), ((Raise) instr).getMessage()));
-                case INSTANCEOF: {
-                    Object lhs  = ((Instanceof) instr).getLHS().retrieve(context, temps);
-                    Object rhs  = ((Instanceof) instr).getRHS().retrieve(context, temps);
-
-                    if (rhs instanceof JSObject) {
-                        if (!(rhs instanceof JSFunction)) {
-                            // FIXME: Might have to pass in original rhs to instr for proper string...
-                            throw new ThrowException(context, context.createTypeError(rhs + " is not a function"));
+                    case ELEMENT_LOOKUP: {
+                        ElementLookup lookup = (ElementLookup) instr;
+                        Object base = lookup.getBase().retrieve(context, temps);
+                        Object key = lookup.getKey().retrieve(context, temps);
+
+                        Types.checkObjectCoercible(context, base);
+                        value = context.createElementReference(base, key).getValue(context);
+                        break;
+                    }
+                    case PROPERTY_STORE: {
+                        PropertyStore store = (PropertyStore) instr;
+                        Object base = store.getBase().retrieve(context, temps);
+                        Object key = store.getKey().retrieve(context, temps);
+
+                        Types.checkObjectCoercible(context, base);
+                        context.createElementReference(base, key).putValue(context, store.getValue().retrieve(context, temps));
+                        break;
+                    }
+                    case DELETE: {
+                        Delete delete = (Delete) instr;
+
+                        if (delete.getName() != null) {
+                            Reference ref = context.resolve(delete.getName());
+
+                            value = ref.isUnresolvableReference() ||
+                                    ((EnvironmentRecord) ref.getBase()).deleteBinding(context, ref.getReferencedName());
+                        } else {
+                            Object base = delete.getBase().retrieve(context, temps);
+                            Object key = delete.getKey().retrieve(context, temps);
+
+                            Types.checkObjectCoercible(context, base);
+                            value = Types.toObject(context, base).delete(context, Types.toString(context, key), delete.isStrict());
                         }
+                        break;
+                    }
+                    case ARRAY: {
+                        Operand[] elements = ((ArrayLiteral) instr).getElements();
+                        JSObject array = BuiltinArray.newArray(context);
 
-                        value = ((JSFunction) rhs).hasInstance(context, lhs);
-                    } else if (rhs instanceof Class) {
-                        Class clazz = (Class) rhs;
-                        value = lhs.getClass().getName().equals(clazz.getName());
-                    } else {
-                        // FIXME: Review against master...
-                        throw new ThrowException(context, context.createTypeError(rhs + " is not a function"));
+                        for (int i = 0; i < elements.length; i++) {
+                            if (elements[i] == null) continue;
+
+                            array.defineOwnProperty(context, "" + i,
+                                    PropertyDescriptor.newPropertyDescriptorForObjectInitializer(elements[i].retrieve(context, temps)), false);
+                        }
+                        array.put(context, "length", (long) elements.length, true);
+                        value = array;
+                        break;
+                    }
+                    case OBJECT:
+                        value = object(context, (ObjectLiteral) instr, temps);
+                        break;
+                    case REGEXP:
+                        value = ((RegExpLiteral) instr).getSite().newRegExp(context);
+                        break;
+                    case ENUMERATE_PROPERTIES: {
+                        Object object = ((EnumerateProperties) instr).getValue().retrieve(context, temps);
+
+                        // 12.6.4 step 3: nothing to enumerate
+                        if (object == Types.NULL || object == Types.UNDEFINED) {
+                            value = new NameEnumerator(Collections.<String>emptyList());
+                        } else {
+                            value = Types.toObject(context, object).getAllEnumerablePropertyNames();
+                        }
+                        break;
                     }
+                    case HAS_NEXT_PROPERTY:
+                        value = ((NameEnumerator) ((HasNextProperty) instr).getValue().retrieve(context, temps)).hasNext();
+                        break;
+                    case NEXT_PROPERTY:
+                        value = ((NameEnumerator) ((NextProperty) instr).getValue().retrieve(context, temps)).next();
+                        break;
+                    case RECEIVE_EXCEPTION:
+                        value = exception;
+                        break;
                 }
+            } catch (ThrowException e) {
+                // Continue in the catch block protecting instr, if there is one
+                int rescuePC = scope.getRescuePC(instr.getIPC());
+                if (rescuePC < 0) throw e;
+
+                exception = e.getValue();
+                ipc = rescuePC;
+                continue;
             }
 
             if (instr instanceof ResultInstruction) {
@@ -191,17 +386,35 @@ public class Interpreter {
                     } else {
                         temps[offset] = value;
                     }
-                } else {
-                    // FIXME: Lookup dynamicvariable
+                } else if (variable instanceof DynamicVariable) {
+                    context.resolve(variable.getName()).putValue(context, value);
                 }
             }
         }
 
-        System.out.println("RESULT is " + result);
-
         return result;
     }
 
+    // Bind a function declaration in the variable environment (10.5 step 5)
+    private static void declareFunction(ExecutionContext context, String identifier, JSFunction function, boolean strict) {
+        EnvironmentRecord env = context.getVariableEnvironment().getRecord();
+        if (!env.hasBinding(context, identifier)) {
+            env.createMutableBinding(context, identifier, false);
+        } else if (env.isGlobal()) {
+            JSObject globalObject = ((ObjectEnvironmentRecord) env).getBindingObject();
+            PropertyDescriptor existingProp = (PropertyDescriptor) globalObject.getProperty(context, identifier, false);
+            if (existingProp.isConfigurable()) {
+                globalObject.defineOwnProperty(context, identifier,
+                        PropertyDescriptor.newDataPropertyDescriptor(Types.UNDEFINED, true, false, true), true);
+            } else if (existingProp.isAccessorDescriptor() || (!existingProp.isWritable() && !existingProp.isEnumerable())) {
+                throw new ThrowException(context, context.createTypeError("unable to bind function '" + identifier + "'"));
+            }
+        }
+
+        function.setDebugContext(identifier);
+        env.setMutableBinding(context, identifier, function, strict);
+    }
+
     // FIXME: move to helper class
     public static Object getThis(Object ref) {
         Object thisValue = null;
@@ -219,8 +432,8 @@ public class Interpreter {
 
     // FIXME: This breaks for non-numeric uses if isSubtraction
     private static Object add(ExecutionContext context, Object lhs, Object rhs) {
-        if (lhs instanceof String || rhs instanceof String) {
-            return(Types.toString(context, lhs) + Types.toString(context, rhs));
+        if (Types.isString(lhs) || Types.isString(rhs)) {
+            return(Types.concat(context, lhs, rhs));
         }
 
         Number lhsNum = Types.toNumber(context, lhs);
@@ -239,14 +452,14 @@ public class Interpreter {
                 }
             }
 
-            return(lhsNum.doubleValue() - rhsNum.doubleValue());
+            return(lhsNum.doubleValue() + rhsNum.doubleValue());
         }
 
-        return(lhsNum.longValue() + rhsNum.longValue());
+        return(Arithmetic.add(lhsNum.longValue(), rhsNum.longValue()));
     }
 
     private static Object sub(ExecutionContext context, Object lhs, Object rhs) {
-        if (lhs instanceof String || rhs instanceof String) {
+        if (Types.isString(lhs) || Types.isString(rhs)) {
             return(Double.NaN);
         }
 
@@ -269,6 +482,125 @@ public class Interpreter {
             return(lhsNum.doubleValue() - rhsNum.doubleValue());
         }
 
-        return(lhsNum.longValue() - rhsNum.longValue());
+        return(Arithmetic.subtract(lhsNum.longValue(), rhsNum.longValue()));
+    }
+
+    // 11.5.1 (public for compiled IR as well)
+    public static Object mul(ExecutionContext context, Object lhs, Object rhs) {
+        Number lhsNum = Types.toNumber(context, lhs);
+        Number rhsNum = Types.toNumber(context, rhs);
+
+        if (Double.isNaN(lhsNum.doubleValue()) || Double.isNaN(rhsNum.doubleValue())) {
+            return(Double.NaN);
+        }
+
+        if (lhsNum instanceof Double || rhsNum instanceof Double) {
+            return(lhsNum.doubleValue() * rhsNum.doubleValue());
+        }
+
+        return(Arithmetic.multiply(lhsNum.longValue(), rhsNum.longValue()));
+    }
+
+    // 11.5.2
+    public static Object div(ExecutionContext context, Object lhs, Object rhs) {
+        Number lhsNum = Types.toNumber(context, lhs);
+        Number rhsNum = Types.toNumber(context, rhs);
+
+        if (Double.isNaN(lhsNum.doubleValue()) || Double.isNaN(rhsNum.doubleValue())) {
+            return(Double.NaN);
+        }
+
+        if (NumericHelper.isZero(rhsNum)) {
+            if (NumericHelper.isZero(lhsNum)) {
+                return(Double.NaN);
+            }
+            return(NumericHelper.isSameSign(lhsNum, rhsNum) ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+        }
+
+        if (NumericHelper.isZero(lhsNum)) {
+            return(NumericHelper.isSameSign(lhsNum, rhsNum) ? (Object) 0L : -0.0);
+        }
+
+        double quotient = lhsNum.doubleValue() / rhsNum.doubleValue();
+        if (NumericHelper.isRepresentableByLong(quotient)) {
+            return((long) quotient);
+        }
+
+        return(quotient);
+    }
+
+    // 11.5.3
+    public static Object mod(ExecutionContext context, Object lhs, Object rhs) {
+        Number lhsNum = Types.toNumber(context, lhs);
+        Number rhsNum = Types.toNumber(context, rhs);
+
+        if (Double.isNaN(lhsNum.doubleValue()) || Double.isNaN(rhsNum.doubleValue()) || NumericHelper.isZero(rhsNum)) {
+            return(Double.NaN);
+        }
+
+        return(BuiltinNumber.modulo(lhsNum, rhsNum));
+    }
+
+    // 11.7 and 11.10
+    private static Object bitwise(ExecutionContext context, String op, Object lhs, Object rhs) {
+        Long lhsNum = op.equals(">>>") ? Types.toUint32(context, lhs) : Types.toInt32(context, lhs);
+
+        switch (op) {
+            case "<<":
+                return (int) (lhsNum.longValue() << (Types.toUint32(context, rhs).intValue() & 0x1F));
+            case ">>":
+                return (int) (lhsNum.longValue() >> (Types.toUint32(context, rhs).intValue() & 0x1F));
+            case ">>>":
+                return lhsNum.longValue() >>> (Types.toUint32(context, rhs).intValue() & 0x1F);
+            case "&":
+                return lhsNum.longValue() & Types.toInt32(context, rhs).longValue();
+            case "|":
+                return lhsNum.longValue() | Types.toInt32(context, rhs).longValue();
+            default:
+                return lhsNum.longValue() ^ Types.toInt32(context, rhs).longValue();
+        }
+    }
+
+    // 11.4.7
+    private static Object negate(ExecutionContext context, Object value) {
+        Number number = Types.toNumber(context, value);
+
+        if (number instanceof Double) return Double.isNaN(number.doubleValue()) ? Double.NaN : -number.doubleValue();
+        if (number.longValue() == 0L) return -0.0;
+
+        return -number.longValue();
+    }
+
+    // 11.1.5
+    private static Object object(ExecutionContext context, ObjectLiteral literal, Object[] temps) {
+        JSObject object = BuiltinObject.newObject(context);
+        String[] names = literal.getNames();
+        ObjectLiteral.Kind[] kinds = literal.getKinds();
+        Operand[] values = literal.getValues();
+
+        for (int i = 0; i < names.length; i++) {
+            Object value = values[i].retrieve(context, temps);
+
+            if (names[i].equals("__proto__")) {
+                object.put(context, names[i], value, false);
+                continue;
+            }
+
+            Object original = object.getOwnProperty(context, names[i]);
+            PropertyDescriptor desc;
+            switch (kinds[i]) {
+                case GETTER:
+                    desc = PropertyDescriptor.newPropertyDescriptorForObjectInitializerGet(original, names[i], (JSFunction) value);
+                    break;
+                case SETTER:
+                    desc = PropertyDescriptor.newPropertyDescriptorForObjectInitializerSet(original, names[i], (JSFunction) value);
+                    break;
+                default:
+                    desc = PropertyDescriptor.newPropertyDescriptorForObjectInitializer(names[i], value);
+            }
+            object.defineOwnProperty(context, names[i], desc, false);
+        }
+
+        return object;
     }
 }
@@ -1,24 +1,10 @@
 package org.dynjs.ir;
 
+import org.dynjs.compiler.jit.JITScheduler;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.JSFunction;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
-
 public class JITCompiler {
-    private static final Executor compilationQueue = Executors.newFixedThreadPool(8, new ThreadFactory() {
-        private final AtomicInteger count = new AtomicInteger(1);
-
-        public Thread newThread(Runnable runnable) {
-            Thread thread = new Thread(runnable);
-            thread.setName("IR_JIT_Compiler-" + count.getAndIncrement());
-            thread.setDaemon(true);
-            return thread;
-        }
-    });
 
     public static interface CompilerCallback {
         public void done(JSFunction compiledFunction);
@@ -28,12 +14,15 @@ public class JITCompiler {
 
     }
 
-    public void compile(final ExecutionContext context, final IRJSFunction function, final CompilerCallback callback) {
+    /**
+     * @param warmupNanos How long the function took to reach the JIT threshold.
+     */
+    public void compile(final ExecutionContext context, final IRJSFunction function, long warmupNanos, final CompilerCallback callback) {
         if (context.getConfig().isJitAsync()) {
-            compilationQueue.execute(new Runnable() {
+            // if refused, the function keeps running in the interpreter
+            context.getConfig().getJitScheduler().submit(new JITScheduler.Request(warmupNanos) {
                 @Override
-                public void run() {
-                    // compile
+                protected void compile() {
                     callback.done(compileFunction(context, function));
                 }
             });
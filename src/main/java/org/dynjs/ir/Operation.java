@@ -1,7 +1,9 @@
 package org.dynjs.ir;
 
 public enum Operation {
-    BEQ, COPY, LT, JUMP, LE, MUL, LABEL, RETURN, CALL, PROPERTY_LOOKUP, THROW_EXCEPTION,
+    BEQ, COPY, LT, JUMP, LE, MUL, DIV, MOD, LABEL, RETURN, CALL, PROPERTY_LOOKUP, THROW_EXCEPTION,
     EXCEPTION_REGION_END, EXCEPTION_REGION_START, DEFINE_FUNCTION, ADD, SUB, RECEIVE_FUNCTION_PARAM,
-    CONSTRUCTOR, RAISE, INSTANCEOF,
+    CONSTRUCTOR, RAISE, INSTANCEOF, DEFINE_COMPILED_FUNCTION, TO_BOOLEAN, NOT, EQ, STRICT_EQ, TYPEOF,
+    BITWISE, BITWISE_NOT, NEGATE, TO_NUMBER, IN, ELEMENT_LOOKUP, PROPERTY_STORE, DELETE, ARRAY, OBJECT, REGEXP,
+    ENUMERATE_PROPERTIES, HAS_NEXT_PROPERTY, NEXT_PROPERTY, RECEIVE_EXCEPTION,
 }
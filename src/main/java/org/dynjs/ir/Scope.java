@@ -15,8 +15,10 @@
  */
 package org.dynjs.ir;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.dynjs.ir.instructions.ResultInstruction;
@@ -25,6 +27,7 @@ import org.dynjs.ir.operands.LocalVariable;
 import org.dynjs.ir.operands.TemporaryLocalVariable;
 import org.dynjs.ir.operands.TemporaryVariable;
 import org.dynjs.ir.operands.Variable;
+import org.dynjs.ir.passes.PassManager;
 import org.dynjs.ir.representations.BasicBlock;
 import org.dynjs.ir.representations.CFG;
 import org.dynjs.ir.representations.CFGLinearizer;
@@ -50,10 +53,23 @@ public class Scope {
     private boolean isStrict;
     private String fileName;
 
+    private PassManager passManager = PassManager.createDefault();
+    // Where to report what the passes did, if anywhere (shared with nested scopes)
+    private PrintStream passReport;
+
+    // Enclosing loops and switches (innermost first) which break and continue can leave
+    private LinkedList<JumpTarget> jumpTargets = new LinkedList<>();
+
+    // Variables of the catch blocks being built (innermost first) which shadow all others
+    private LinkedList<LocalVariable> catchVariables = new LinkedList<>();
+
     public Scope(Scope parent, String fileName, boolean isStrict) {
         this.parent = parent;
         this.fileName = fileName;
         this.isStrict = isStrict;
+        if (parent != null) {
+            this.passReport = parent.passReport;
+        }
     }
 
     public Instruction addInstruction(Instruction instruction) {
@@ -74,6 +90,22 @@ public class Scope {
         return instructions;
     }
 
+    public PassManager getPassManager() {
+        return passManager;
+    }
+
+    public void setPassReport(PrintStream passReport) {
+        this.passReport = passReport;
+    }
+
+    private void runPasses(CFG cfg) {
+        runPasses(cfg);
+
+        if (passReport != null) {
+            passManager.report(passReport, fileName);
+        }
+    }
+
     /**
      * Tries to find a variable or returns null if it cannot.  This
      * will walk all scopes to find a captured variable.
@@ -87,7 +119,8 @@ public class Scope {
      * will walk all scopes to find a captured variable.
      */
     public LocalVariable findVariable(String name, int depth) {
-        LocalVariable variable = localVariables.get(name);
+        LocalVariable variable = findCatchVariable(name);
+        if (variable == null) variable = localVariables.get(name);
 
         if (variable != null) {
             // Destined scope need adjusted variable since it need to know how deep to look for it.
@@ -105,6 +138,31 @@ public class Scope {
         return null;
     }
 
+    private LocalVariable findCatchVariable(String name) {
+        for (LocalVariable variable : catchVariables) {
+            if (variable.getName().equals(name)) return variable;
+        }
+
+        return null;
+    }
+
+    /**
+     * Make a new variable for the identifier of a catch clause (12.14).  Until it is
+     * popped it is what the identifier means in this scope and the ones nested in it.
+     */
+    public LocalVariable pushCatchVariable(String name) {
+        LocalVariable variable = new LocalVariable(name, localVariablesIndex, 0);
+
+        localVariablesIndex++;
+        catchVariables.addFirst(variable);
+
+        return variable;
+    }
+
+    public void popCatchVariable() {
+        catchVariables.removeFirst();
+    }
+
     public int getLocalVariableSize() {
         return localVariablesIndex;
     }
@@ -181,6 +239,8 @@ public class Scope {
         final CFG cfg = new CFG(this);
         final DirectedGraph<BasicBlock> graph = cfg.build(getInstructions());
 
+        runPasses(cfg);
+
         // FIXME: Add debug config for this
 //        System.out.println(cfg.toStringInstrs());
 //        System.out.println(graph.toString());
@@ -203,6 +263,8 @@ public class Scope {
         final CFG cfg = new CFG(this);
         cfg.build(getInstructions());
 
+        runPasses(cfg);
+
         List<BasicBlock> linearizedCFG = CFGLinearizer.linearize(cfg);
 
         renameLocalVariables(linearizedCFG);
@@ -243,6 +305,65 @@ public class Scope {
         }
     }
 
+    public void pushJumpTarget(List<String> names, Label breakLabel, Label continueLabel) {
+        jumpTargets.addFirst(new JumpTarget(names, breakLabel, continueLabel, false));
+    }
+
+    /**
+     * A labelled statement other than a loop or switch, which only a break
+     * naming one of its labels can leave (12.12).
+     */
+    public void pushLabelledTarget(List<String> names, Label breakLabel) {
+        jumpTargets.addFirst(new JumpTarget(names, breakLabel, null, true));
+    }
+
+    public void popJumpTarget() {
+        jumpTargets.removeFirst();
+    }
+
+    /**
+     * Label a break leaves to or null if no enclosing loop or switch (or, for
+     * a break naming a label, labelled statement) matches.
+     */
+    public Label getBreakLabel(String name) {
+        JumpTarget target = findJumpTarget(name, false);
+
+        return target == null ? null : target.breakLabel;
+    }
+
+    /**
+     * Label a continue goes to or null if no enclosing loop matches.  A switch
+     * has no continue label so continue goes on to the loop around it.
+     */
+    public Label getContinueLabel(String name) {
+        JumpTarget target = findJumpTarget(name, true);
+
+        return target == null ? null : target.continueLabel;
+    }
+
+    private JumpTarget findJumpTarget(String name, boolean continuing) {
+        for (JumpTarget target : jumpTargets) {
+            if (continuing && target.continueLabel == null) continue;
+            if (name == null ? !target.labelledOnly : target.names.contains(name)) return target;
+        }
+
+        return null;
+    }
+
+    private static class JumpTarget {
+        private final List<String> names;
+        private final Label breakLabel;
+        private final Label continueLabel;
+        private final boolean labelledOnly;
+
+        JumpTarget(List<String> names, Label breakLabel, Label continueLabel, boolean labelledOnly) {
+            this.names = names;
+            this.breakLabel = breakLabel;
+            this.continueLabel = continueLabel;
+            this.labelledOnly = labelledOnly;
+        }
+    }
+
     private static Label[] catLabels(Label[] labels, Label cat) {
         if (labels == null) return new Label[] {cat};
         Label[] newLabels = new Label[labels.length + 1];
@@ -281,6 +402,16 @@ public class Scope {
         return newInstrs.toArray(new Instruction[newInstrs.size()]);
     }
 
+    /**
+     * IPC of the catch block which handles an exception raised by the instruction
+     * at ipc or -1 if it is not protected by one.
+     */
+    public int getRescuePC(int ipc) {
+        Integer rescuePC = rescueMap.get(ipc);
+
+        return rescuePC == null ? -1 : rescuePC;
+    }
+
     public void setupRescueMap(List<BasicBlock> list, CFG cfg) {
         rescueMap = new HashMap<Integer, Integer>();
         for (BasicBlock basicBlock : list) {
@@ -0,0 +1,17 @@
+package org.dynjs.ir;
+
+import org.dynjs.exception.DynJSException;
+
+/**
+ * Thrown by the Builder for a construct it cannot lower to IR yet.  The
+ * enclosing function (or the whole program) is then left to the regular
+ * compiler instead.
+ */
+public class UnimplementedException extends DynJSException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnimplementedException(String message) {
+        super(message);
+    }
+}
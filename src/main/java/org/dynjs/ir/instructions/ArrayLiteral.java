@@ -0,0 +1,70 @@
+package org.dynjs.ir.instructions;
+
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Creates an array from its elements (11.1.4).  A null element is a hole which
+ * only counts towards the length.
+ */
+public class ArrayLiteral extends Instruction implements ResultInstruction {
+    private Variable result;
+    private Operand[] elements;
+
+    public ArrayLiteral(Variable result, Operand[] elements) {
+        super(Operation.ARRAY);
+        this.result = result;
+        this.elements = elements;
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public void simplifyOperands(Map<Operand, Operand> renameMap, boolean force) {
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] != null) elements[i] = elements[i].getSimplifiedOperand(renameMap, force);
+        }
+    }
+
+    public Operand[] getOperands() {
+        int count = 1;
+        for (Operand each : elements) {
+            if (each != null) count++;
+        }
+
+        Operand[] operands = new Operand[count];
+        int i = 0;
+        operands[i++] = result;
+        for (Operand each : elements) {
+            if (each != null) operands[i++] = each;
+        }
+
+        return operands;
+    }
+
+    public Variable getResult() {
+        return result;
+    }
+
+    public Operand[] getElements() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+
+        buf.append(result).append(" = [");
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) buf.append(", ");
+            if (elements[i] != null) buf.append(elements[i]);
+        }
+
+        return buf.append("]").toString();
+    }
+}
@@ -0,0 +1,27 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Shift and binary bitwise operators (11.7, 11.10).  op is one of
+ * <<, >>, >>>, &amp;, | or ^.
+ */
+public class Bitwise extends BinaryInstr {
+    private final String op;
+
+    public Bitwise(Variable result, String op, Operand lhs, Operand rhs) {
+        super(Operation.BITWISE, result, lhs, rhs);
+        this.op = op;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = " + getLHS() + " " + op + " " + getRHS();
+    }
+}
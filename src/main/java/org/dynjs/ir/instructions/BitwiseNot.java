@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Bitwise NOT (11.4.8).
+ */
+public class BitwiseNot extends UnaryInstr {
+    public BitwiseNot(Variable result, Operand value) {
+        super(Operation.BITWISE_NOT, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = ~" + getValue();
+    }
+}
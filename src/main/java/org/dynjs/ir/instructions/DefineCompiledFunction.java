@@ -0,0 +1,74 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.parser.Statement;
+
+/**
+ * Defines a function whose body the Builder could not lower.  It is handed to
+ * the regular (AST) compiler instead, which is only safe as long as the body
+ * does not read any IR local variables of the scopes around it.
+ */
+public class DefineCompiledFunction extends Instruction implements ResultInstruction {
+    private Variable result;
+    private final String identifier;
+    private final String[] formalParameters;
+    private final Statement body;
+    private final boolean strict;
+    private final boolean declaration;
+
+    public DefineCompiledFunction(Variable result, String identifier, String[] formalParameters, Statement body,
+                                  boolean strict, boolean declaration) {
+        super(Operation.DEFINE_COMPILED_FUNCTION);
+
+        this.result = result;
+        this.identifier = identifier;
+        this.formalParameters = formalParameters;
+        this.body = body;
+        this.strict = strict;
+        this.declaration = declaration;
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public Operand[] getOperands() {
+        return new Operand[] { result };
+    }
+
+    public Variable getResult() {
+        return result;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public String[] getFormalParameters() {
+        return formalParameters;
+    }
+
+    public Statement getBody() {
+        return body;
+    }
+
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * Is this a function declaration which binds its name in the variable environment?
+     */
+    public boolean isDeclaration() {
+        return declaration;
+    }
+
+    @Override
+    public String toString() {
+        return "" + result + " = compiled function " + (identifier == null ? "" : identifier) + "()";
+    }
+}
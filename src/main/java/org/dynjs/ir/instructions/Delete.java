@@ -0,0 +1,84 @@
+package org.dynjs.ir.instructions;
+
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * The delete operator (11.4.1) on either a property (base[key]) or a binding found
+ * by name in the environment.  Bindings the Builder keeps in IR locals can never
+ * be deleted so those never get here, nor does strict code which may not delete
+ * bindings at all.
+ */
+public class Delete extends Instruction implements ResultInstruction {
+    private Variable result;
+    private Operand base;
+    private Operand key;
+    private final String name;
+    private final boolean strict;
+
+    public Delete(Variable result, Operand base, Operand key, boolean strict) {
+        super(Operation.DELETE);
+        this.result = result;
+        this.base = base;
+        this.key = key;
+        this.name = null;
+        this.strict = strict;
+    }
+
+    public Delete(Variable result, String name) {
+        super(Operation.DELETE);
+        this.result = result;
+        this.name = name;
+        this.strict = false;
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public void simplifyOperands(Map<Operand, Operand> renameMap, boolean force) {
+        if (name != null) return;
+
+        base = base.getSimplifiedOperand(renameMap, force);
+        key = key.getSimplifiedOperand(renameMap, force);
+    }
+
+    public Operand[] getOperands() {
+        return name != null ? new Operand[] { result } : new Operand[] { result, base, key };
+    }
+
+    public Variable getResult() {
+        return result;
+    }
+
+    public Operand getBase() {
+        return base;
+    }
+
+    public Operand getKey() {
+        return key;
+    }
+
+    /**
+     * Is a property which cannot be deleted a TypeError rather than false?
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * Name of the binding to delete or null when this deletes a property.
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "" + result + " = delete " + (name != null ? name : base + "[" + key + "]");
+    }
+}
@@ -0,0 +1,27 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Reads base[key] where key is only known at runtime (11.2.1).
+ */
+public class ElementLookup extends BinaryInstr {
+    public ElementLookup(Variable result, Operand base, Operand key) {
+        super(Operation.ELEMENT_LOOKUP, result, base, key);
+    }
+
+    public Operand getBase() {
+        return getLHS();
+    }
+
+    public Operand getKey() {
+        return getRHS();
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = " + getBase() + "[" + getKey() + "]";
+    }
+}
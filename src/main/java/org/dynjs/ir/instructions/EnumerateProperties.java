@@ -0,0 +1,20 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Starts a for-in (12.6.4): result holds the names of the enumerable properties
+ * of value, which are none for null and undefined.
+ */
+public class EnumerateProperties extends UnaryInstr {
+    public EnumerateProperties(Variable result, Operand value) {
+        super(Operation.ENUMERATE_PROPERTIES, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = enumerate(" + getValue() + ")";
+    }
+}
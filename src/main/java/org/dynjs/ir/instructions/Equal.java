@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * The equals operator (11.9.1).  != is built as a Not of this.
+ */
+public class Equal extends BinaryInstr {
+    public Equal(Variable result, Operand lhs, Operand rhs) {
+        super(Operation.EQ, result, lhs, rhs);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = " + getLHS() + " == " + getRHS();
+    }
+}
@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Are there names left in an enumeration made by EnumerateProperties?
+ */
+public class HasNextProperty extends UnaryInstr {
+    public HasNextProperty(Variable result, Operand value) {
+        super(Operation.HAS_NEXT_PROPERTY, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = has_next(" + getValue() + ")";
+    }
+}
@@ -31,4 +31,9 @@ public class Jump extends Instruction {
     public String toString() {
         return "jump -> " + target;
     }
+
+    @Override
+    public boolean canRaiseException() {
+        return false;
+    }
 }
@@ -20,4 +20,9 @@ public class LabelInstr extends Instruction {
     public Label getLabel() {
         return label;
     }
+
+    @Override
+    public boolean canRaiseException() {
+        return false;
+    }
 }
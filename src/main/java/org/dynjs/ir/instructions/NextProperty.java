@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Next name of an enumeration made by EnumerateProperties.
+ */
+public class NextProperty extends UnaryInstr {
+    public NextProperty(Variable result, Operand value) {
+        super(Operation.NEXT_PROPERTY, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = next(" + getValue() + ")";
+    }
+}
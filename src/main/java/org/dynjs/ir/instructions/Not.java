@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Logical NOT (11.4.9).
+ */
+public class Not extends UnaryInstr {
+    public Not(Variable result, Operand value) {
+        super(Operation.NOT, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = !" + getValue();
+    }
+}
@@ -0,0 +1,78 @@
+package org.dynjs.ir.instructions;
+
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Creates an object from its property assignments (11.1.5).  Each one either
+ * defines a value or installs a getter or setter function.
+ */
+public class ObjectLiteral extends Instruction implements ResultInstruction {
+    public enum Kind { VALUE, GETTER, SETTER }
+
+    private Variable result;
+    private final String[] names;
+    private final Kind[] kinds;
+    private Operand[] values;
+
+    public ObjectLiteral(Variable result, String[] names, Kind[] kinds, Operand[] values) {
+        super(Operation.OBJECT);
+        this.result = result;
+        this.names = names;
+        this.kinds = kinds;
+        this.values = values;
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public void simplifyOperands(Map<Operand, Operand> renameMap, boolean force) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].getSimplifiedOperand(renameMap, force);
+        }
+    }
+
+    public Operand[] getOperands() {
+        Operand[] operands = new Operand[values.length + 1];
+
+        operands[0] = result;
+        System.arraycopy(values, 0, operands, 1, values.length);
+
+        return operands;
+    }
+
+    public Variable getResult() {
+        return result;
+    }
+
+    public String[] getNames() {
+        return names;
+    }
+
+    public Kind[] getKinds() {
+        return kinds;
+    }
+
+    public Operand[] getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+
+        buf.append(result).append(" = {");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) buf.append(", ");
+            if (kinds[i] != Kind.VALUE) buf.append(kinds[i] == Kind.GETTER ? "get " : "set ");
+            buf.append(names[i]).append(": ").append(values[i]);
+        }
+
+        return buf.append("}").toString();
+    }
+}
@@ -0,0 +1,49 @@
+package org.dynjs.ir.instructions;
+
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+
+/**
+ * Stores value into base[key] (11.13.1 with a property reference on the left).
+ */
+public class PropertyStore extends Instruction {
+    private Operand base;
+    private Operand key;
+    private Operand value;
+
+    public PropertyStore(Operand base, Operand key, Operand value) {
+        super(Operation.PROPERTY_STORE);
+        this.base = base;
+        this.key = key;
+        this.value = value;
+    }
+
+    public void simplifyOperands(Map<Operand, Operand> renameMap, boolean force) {
+        base = base.getSimplifiedOperand(renameMap, force);
+        key = key.getSimplifiedOperand(renameMap, force);
+        value = value.getSimplifiedOperand(renameMap, force);
+    }
+
+    public Operand[] getOperands() {
+        return new Operand[] { base, key, value };
+    }
+
+    public Operand getBase() {
+        return base;
+    }
+
+    public Operand getKey() {
+        return key;
+    }
+
+    public Operand getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "" + base + "[" + key + "] = " + value;
+    }
+}
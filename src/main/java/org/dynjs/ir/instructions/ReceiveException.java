@@ -0,0 +1,42 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * First instruction of a catch block: receives the value which was thrown
+ * in the exception region protected by it (12.14).
+ */
+public class ReceiveException extends Instruction implements ResultInstruction {
+    private Variable result;
+
+    public ReceiveException(Variable result) {
+        super(Operation.RECEIVE_EXCEPTION);
+        this.result = result;
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public Operand[] getOperands() {
+        return new Operand[] { result };
+    }
+
+    @Override
+    public Variable getResult() {
+        return result;
+    }
+
+    @Override
+    public boolean canRaiseException() {
+        return false;
+    }
+
+    public String toString() {
+        return "" + result + " = receive_exception";
+    }
+}
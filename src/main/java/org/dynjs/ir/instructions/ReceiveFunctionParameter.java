@@ -41,4 +41,9 @@ public class ReceiveFunctionParameter extends Instruction implements ResultInstr
     public String toString() {
         return "" + getResult() + " = receive_parameter(" + offset + ")";
     }
+
+    @Override
+    public boolean canRaiseException() {
+        return false;
+    }
 }
@@ -0,0 +1,48 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.runtime.builtins.types.regexp.RegExpLiteralSite;
+
+/**
+ * Creates a new RegExp for a literal each time it is evaluated (7.8.5).  The
+ * pattern is compiled once per literal, like in the other tiers.
+ */
+public class RegExpLiteral extends Instruction implements ResultInstruction {
+    private Variable result;
+    private final RegExpLiteralSite site;
+    private final String pattern;
+    private final String flags;
+
+    public RegExpLiteral(Variable result, String pattern, String flags) {
+        super(Operation.REGEXP);
+        this.result = result;
+        this.pattern = pattern;
+        this.flags = flags;
+        this.site = new RegExpLiteralSite(pattern, flags);
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public Operand[] getOperands() {
+        return new Operand[] { result };
+    }
+
+    public Variable getResult() {
+        return result;
+    }
+
+    public RegExpLiteralSite getSite() {
+        return site;
+    }
+
+    @Override
+    public String toString() {
+        return "" + result + " = /" + pattern + "/" + flags;
+    }
+}
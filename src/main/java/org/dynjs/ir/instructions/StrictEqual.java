@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * The strict equals operator (11.9.4).  !== is built as a Not of this.
+ */
+public class StrictEqual extends BinaryInstr {
+    public StrictEqual(Variable result, Operand lhs, Operand rhs) {
+        super(Operation.STRICT_EQ, result, lhs, rhs);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = " + getLHS() + " === " + getRHS();
+    }
+}
@@ -1,18 +1,45 @@
 package org.dynjs.ir.instructions;
 
+import java.util.Map;
 import org.dynjs.ir.Instruction;
 import org.dynjs.ir.Operand;
 import org.dynjs.ir.Operation;
 
 /**
- * Created by enebo on 3/31/14.
+ * Throw the provided value (12.13).  The catch block of the exception region
+ * around it gets it, otherwise it leaves the scope.
  */
 public class ThrowException extends Instruction {
-    public ThrowException() {
+    private Operand value;
+
+    public ThrowException(Operand value) {
         super(Operation.THROW_EXCEPTION);
+        this.value = value;
+    }
+
+    public void simplifyOperands(Map<Operand, Operand> renameMap, boolean force) {
+        value = value.getSimplifiedOperand(renameMap, force);
     }
 
     public Operand[] getOperands() {
-        return new Operand[] {};
+        return new Operand[] { value };
+    }
+
+    public Operand getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean transfersControl() {
+        return true;
+    }
+
+    @Override
+    public boolean canRaiseException() {
+        return true;
+    }
+
+    public String toString() {
+        return "throw " + value;
     }
 }
@@ -0,0 +1,19 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * ToBoolean (9.2) of a value so branches can compare against true/false.
+ */
+public class ToBoolean extends UnaryInstr {
+    public ToBoolean(Variable result, Operand value) {
+        super(Operation.TO_BOOLEAN, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = toBoolean(" + getValue() + ")";
+    }
+}
@@ -0,0 +1,20 @@
+package org.dynjs.ir.instructions;
+
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * typeof (11.4.3).  An unresolvable identifier has to be checked for before
+ * this since reading it would throw.
+ */
+public class TypeOf extends UnaryInstr {
+    public TypeOf(Variable result, Operand value) {
+        super(Operation.TYPEOF, result, value);
+    }
+
+    @Override
+    public String toString() {
+        return "" + getResult() + " = typeof " + getValue();
+    }
+}
@@ -0,0 +1,42 @@
+package org.dynjs.ir.instructions;
+
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.Operation;
+import org.dynjs.ir.operands.Variable;
+
+/**
+ * Common bits for unary operations which set a result (a = !b).
+ */
+public abstract class UnaryInstr extends Instruction implements ResultInstruction {
+    private Variable result;
+    private Operand value;
+
+    public UnaryInstr(Operation operation, Variable result, Operand value) {
+        super(operation);
+        this.result = result;
+        this.value = value;
+    }
+
+    @Override
+    public void updateResult(Variable newResult) {
+        this.result = newResult;
+    }
+
+    public void simplifyOperands(Map<Operand, Operand> valueMap, boolean force) {
+        value = value.getSimplifiedOperand(valueMap, force);
+    }
+
+    public Operand[] getOperands() {
+        return new Operand[] { result, value };
+    }
+
+    public Variable getResult() {
+        return result;
+    }
+
+    public Operand getValue() {
+        return value;
+    }
+}
@@ -19,6 +19,10 @@ public class BooleanLiteral extends Operand {
         this.truth = truth;
     }
 
+    public boolean getValue() {
+        return truth;
+    }
+
     public void addUsedVariables(List<Variable> l) {
     }
 
@@ -0,0 +1,25 @@
+package org.dynjs.ir.passes;
+
+import org.dynjs.ir.representations.CFG;
+
+/**
+ * Removes blocks which folded branches made unreachable and merges blocks
+ * which are now only joined by a straight line.
+ */
+public class CFGSimplification extends Pass {
+
+    @Override
+    public String getName() {
+        return "cfg-simplification";
+    }
+
+    @Override
+    public boolean run(CFG cfg) {
+        int size = cfg.size();
+
+        cfg.removeUnreachableBlocks();
+        cfg.collapseStraightLineBBs();
+
+        return cfg.size() != size;
+    }
+}
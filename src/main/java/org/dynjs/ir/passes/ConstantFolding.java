@@ -0,0 +1,146 @@
+package org.dynjs.ir.passes;
+
+import java.util.ArrayList;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.instructions.Add;
+import org.dynjs.ir.instructions.BEQ;
+import org.dynjs.ir.instructions.BinaryInstr;
+import org.dynjs.ir.instructions.Copy;
+import org.dynjs.ir.instructions.Jump;
+import org.dynjs.ir.instructions.LT;
+import org.dynjs.ir.instructions.ResultInstruction;
+import org.dynjs.ir.instructions.Sub;
+import org.dynjs.ir.operands.BooleanLiteral;
+import org.dynjs.ir.operands.IntegerNumber;
+import org.dynjs.ir.representations.BasicBlock;
+import org.dynjs.ir.representations.CFG;
+import org.dynjs.ir.representations.CFG.EdgeType;
+import org.dynjs.runtime.Arithmetic;
+
+/**
+ * Evaluates instructions whose operands are all constants at compile time.
+ *
+ * Only integer arithmetic which stays integral is folded since neither the
+ * bytecode compiler nor the interpreter agree with the spec on doubles yet.
+ * A BEQ between two constants becomes a jump (or nothing) and loses the
+ * edge which can no longer be taken.
+ */
+public class ConstantFolding extends Pass {
+
+    @Override
+    public String getName() {
+        return "constant-folding";
+    }
+
+    @Override
+    public boolean run(CFG cfg) {
+        boolean changed = false;
+
+        for (BasicBlock block : new ArrayList<>(cfg.getBasicBlocks())) {
+            for (Instruction instruction : new ArrayList<>(block.getInstructions())) {
+                Operand value = fold(instruction);
+
+                if (value != null) {
+                    block.replaceInstr(instruction, new Copy(((ResultInstruction) instruction).getResult(), value));
+                    changed = true;
+                } else if (instruction instanceof BEQ) {
+                    changed |= foldBranch(cfg, block, (BEQ) instruction);
+                }
+            }
+        }
+
+        return changed;
+    }
+
+    private Operand fold(Instruction instruction) {
+        switch (instruction.getOperation()) {
+            case ADD: {
+                Add add = (Add) instruction;
+                if (!isInteger(add.getLHS()) || !isInteger(add.getRHS())) return null;
+
+                return integral(Arithmetic.add(value(add.getLHS()), value(add.getRHS())));
+            }
+            case SUB: {
+                Sub sub = (Sub) instruction;
+                if (!isInteger(sub.getLHS()) || !isInteger(sub.getRHS())) return null;
+
+                return integral(Arithmetic.subtract(value(sub.getLHS()), value(sub.getRHS())));
+            }
+            case MUL: {
+                BinaryInstr mul = (BinaryInstr) instruction;
+                if (!isInteger(mul.getLHS()) || !isInteger(mul.getRHS())) return null;
+
+                return integral(Arithmetic.multiply(value(mul.getLHS()), value(mul.getRHS())));
+            }
+            case DIV: {
+                BinaryInstr div = (BinaryInstr) instruction;
+                if (!isInteger(div.getLHS()) || !isInteger(div.getRHS())) return null;
+
+                long lhs = value(div.getLHS());
+                long rhs = value(div.getRHS());
+                // Only exact quotients; 0 / -n is -0 and MIN_VALUE / -1 overflows
+                if (rhs == 0 || lhs % rhs != 0 || (lhs == 0 && rhs < 0) || (lhs == Long.MIN_VALUE && rhs == -1)) return null;
+
+                return new IntegerNumber(lhs / rhs);
+            }
+            case MOD: {
+                BinaryInstr mod = (BinaryInstr) instruction;
+                if (!isInteger(mod.getLHS()) || !isInteger(mod.getRHS())) return null;
+
+                long lhs = value(mod.getLHS());
+                long rhs = value(mod.getRHS());
+                // x % 0 is NaN and a zero remainder of a negative x is -0
+                if (rhs == 0 || (lhs < 0 && lhs % rhs == 0)) return null;
+
+                return new IntegerNumber(lhs % rhs);
+            }
+            case LT: {
+                LT lt = (LT) instruction;
+                if (!isInteger(lt.getArg1()) || !isInteger(lt.getArg2())) return null;
+
+                return value(lt.getArg1()) < value(lt.getArg2()) ? BooleanLiteral.TRUE : BooleanLiteral.FALSE;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private boolean foldBranch(CFG cfg, BasicBlock block, BEQ beq) {
+        Operand arg1 = beq.getArg1();
+        Operand arg2 = beq.getArg2();
+        boolean taken;
+
+        if (isInteger(arg1) && isInteger(arg2)) {
+            taken = value(arg1) == value(arg2);
+        } else if (arg1 instanceof BooleanLiteral && arg2 instanceof BooleanLiteral) {
+            taken = ((BooleanLiteral) arg1).getValue() == ((BooleanLiteral) arg2).getValue();
+        } else {
+            return false;
+        }
+
+        if (taken) {
+            BasicBlock fallThrough = cfg.getOutgoingDestinationOfType(block, EdgeType.FALL_THROUGH);
+
+            block.replaceInstr(beq, new Jump(beq.getTarget()));
+            if (fallThrough != null) cfg.removeEdge(block, fallThrough, EdgeType.FALL_THROUGH);
+        } else {
+            block.removeInstr(beq);
+            cfg.removeEdge(block, cfg.getBBForLabel(beq.getTarget()), EdgeType.REGULAR);
+        }
+
+        return true;
+    }
+
+    private static boolean isInteger(Operand operand) {
+        return operand instanceof IntegerNumber;
+    }
+
+    private static long value(Operand operand) {
+        return ((IntegerNumber) operand).getValue();
+    }
+
+    private static Operand integral(Number result) {
+        return result instanceof Long ? new IntegerNumber(result.longValue()) : null;
+    }
+}
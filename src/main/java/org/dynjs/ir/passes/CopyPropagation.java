@@ -0,0 +1,105 @@
+package org.dynjs.ir.passes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.instructions.Copy;
+import org.dynjs.ir.operands.BooleanLiteral;
+import org.dynjs.ir.operands.FloatNumber;
+import org.dynjs.ir.operands.IntegerNumber;
+import org.dynjs.ir.operands.Null;
+import org.dynjs.ir.operands.StringLiteral;
+import org.dynjs.ir.operands.Undefined;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.ir.representations.BasicBlock;
+import org.dynjs.ir.representations.CFG;
+
+/**
+ * Replaces reads of a temporary which is only ever assigned a copy of
+ * something else with that something else.
+ *
+ * A constant is forwarded everywhere.  Another temporary is only forwarded
+ * within the block of the copy since it could be reassigned by a loop
+ * before a read in some later block.
+ */
+public class CopyPropagation extends Pass {
+
+    @Override
+    public String getName() {
+        return "copy-propagation";
+    }
+
+    @Override
+    public boolean run(CFG cfg) {
+        VariableUses uses = new VariableUses(cfg);
+        Map<Operand, Operand> replacements = new HashMap<>();
+
+        for (BasicBlock block : cfg.getBasicBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (!(instruction instanceof Copy)) continue;
+
+                Copy copy = (Copy) instruction;
+                Variable result = copy.getResult();
+                if (!isPlainTemporary(result) || uses.getDefinitionCount(result) != 1 || uses.getUseCount(result) == 0) continue;
+
+                Operand value = copy.getValue();
+                if (isConstant(value) || canForwardWithinBlock(block, copy, value, uses)) {
+                    replacements.put(result, value);
+                }
+            }
+        }
+
+        // Chained copies get resolved over several runs; never substitute two ways at once.
+        for (Operand value : replacements.values().toArray(new Operand[replacements.size()])) {
+            replacements.remove(value);
+        }
+
+        if (replacements.isEmpty()) return false;
+
+        boolean changed = false;
+        for (BasicBlock block : cfg.getBasicBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                List<Operand> before = Arrays.asList(instruction.getOperands());
+                instruction.simplifyOperands(replacements, true);
+                List<Operand> after = Arrays.asList(instruction.getOperands());
+
+                for (int i = 0; i < before.size(); i++) {
+                    if (before.get(i) != after.get(i)) {
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return changed;
+    }
+
+    public static boolean isConstant(Operand operand) {
+        return operand instanceof IntegerNumber || operand instanceof FloatNumber ||
+                operand instanceof BooleanLiteral || operand instanceof StringLiteral ||
+                operand instanceof Null || operand instanceof Undefined;
+    }
+
+    private boolean canForwardWithinBlock(BasicBlock block, Copy copy, Operand value, VariableUses uses) {
+        if (!(value instanceof Variable) || !isPlainTemporary((Variable) value)) return false;
+        if (uses.getDefinitionCount((Variable) value) != 1) return false;
+        if (uses.getSingleUseBlock(copy.getResult()) != block) return false;
+
+        boolean seenCopy = false;
+        for (Instruction instruction : block.getInstructions()) {
+            if (instruction == copy) {
+                seenCopy = true;
+            } else if (seenCopy) {
+                if (getResult(instruction) == value) return false;  // source reassigned below the copy
+            } else if (instruction.getUsedVariables().contains(copy.getResult())) {
+                return false;  // read before the copy happened
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package org.dynjs.ir.passes;
+
+import java.util.ArrayList;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Operand;
+import org.dynjs.ir.instructions.Copy;
+import org.dynjs.ir.operands.DynamicVariable;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.ir.representations.BasicBlock;
+import org.dynjs.ir.representations.CFG;
+
+/**
+ * Removes copies into temporaries which are never read.  Only copies are
+ * removed; anything else may call back into JS (valueOf, getters) and has
+ * to run even when its result is thrown away.
+ */
+public class DeadCodeElimination extends Pass {
+
+    @Override
+    public String getName() {
+        return "dead-code-elimination";
+    }
+
+    @Override
+    public boolean run(CFG cfg) {
+        boolean changed = false;
+
+        // Removing one copy can leave the temporary it read from dead as well
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            VariableUses uses = new VariableUses(cfg);
+
+            for (BasicBlock block : cfg.getBasicBlocks()) {
+                for (Instruction instruction : new ArrayList<>(block.getInstructions())) {
+                    if (isDead(instruction, uses)) {
+                        block.removeInstr(instruction);
+                        removed = true;
+                    }
+                }
+            }
+
+            changed |= removed;
+        }
+
+        return changed;
+    }
+
+    private boolean isDead(Instruction instruction, VariableUses uses) {
+        if (!(instruction instanceof Copy)) return false;
+
+        Copy copy = (Copy) instruction;
+        if (!isPlainTemporary(copy.getResult()) || uses.getUseCount(copy.getResult()) != 0) return false;
+
+        Operand value = copy.getValue();
+
+        // Reading a dynamic variable can throw a ReferenceError
+        return CopyPropagation.isConstant(value) || (value instanceof Variable && !(value instanceof DynamicVariable));
+    }
+}
@@ -0,0 +1,97 @@
+package org.dynjs.ir.passes;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.instructions.BEQ;
+import org.dynjs.ir.instructions.Jump;
+import org.dynjs.ir.operands.Label;
+import org.dynjs.ir.representations.BasicBlock;
+import org.dynjs.ir.representations.CFG;
+import org.dynjs.ir.representations.CFG.EdgeType;
+
+/**
+ * Points jumps and branches which land on a block that does nothing but
+ * jump somewhere else straight at that final destination.  The skipped
+ * blocks are left for {@link CFGSimplification} to remove.
+ */
+public class JumpThreading extends Pass {
+
+    @Override
+    public String getName() {
+        return "jump-threading";
+    }
+
+    @Override
+    public boolean run(CFG cfg) {
+        boolean changed = false;
+
+        for (BasicBlock block : new ArrayList<>(cfg.getBasicBlocks())) {
+            Instruction last = block.getLastInstr();
+            Label label;
+
+            if (last instanceof Jump) {
+                label = ((Jump) last).getTarget();
+            } else if (last instanceof BEQ) {
+                label = ((BEQ) last).getTarget();
+            } else {
+                continue;
+            }
+
+            BasicBlock target = cfg.getBBForLabel(label);
+            if (target == null) continue;
+
+            BasicBlock destination = finalDestination(cfg, target);
+            if (destination == target) continue;
+
+            if (last instanceof Jump) {
+                block.replaceInstr(last, new Jump(destination.getLabel()));
+            } else {
+                BEQ beq = (BEQ) last;
+                block.replaceInstr(last, new BEQ(beq.getArg1(), beq.getArg2(), destination.getLabel()));
+            }
+
+            cfg.removeEdge(block, target, EdgeType.REGULAR);
+            cfg.addEdge(block, destination, EdgeType.REGULAR);
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    private BasicBlock finalDestination(CFG cfg, BasicBlock target) {
+        Set<BasicBlock> seen = new HashSet<>();
+        BasicBlock current = target;
+
+        // An empty loop (while (true) {}) forwards around in a circle
+        while (seen.add(current)) {
+            BasicBlock next = forwardsTo(cfg, current);
+            if (next == null) break;
+
+            current = next;
+        }
+
+        return current;
+    }
+
+    /**
+     * The block this block unconditionally continues to without doing
+     * anything itself or null if it does something.
+     */
+    private BasicBlock forwardsTo(CFG cfg, BasicBlock block) {
+        if (block.isEntryBB() || block.isExitBB() || block.isRescueEntry()) return null;
+
+        boolean onlyJumps = block.instrCount() == 1 && block.getLastInstr() instanceof Jump;
+        if (!block.isEmpty() && !onlyJumps) return null;
+
+        Iterator<BasicBlock> destinations = cfg.getOutgoingDestinationsNotOfType(block, EdgeType.EXCEPTION).iterator();
+        if (!destinations.hasNext()) return null;
+
+        BasicBlock destination = destinations.next();
+        if (destinations.hasNext() || destination.isExitBB()) return null;
+
+        return destination;
+    }
+}
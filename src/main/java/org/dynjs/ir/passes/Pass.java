@@ -0,0 +1,42 @@
+package org.dynjs.ir.passes;
+
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.instructions.ResultInstruction;
+import org.dynjs.ir.operands.TemporaryVariable;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.ir.representations.CFG;
+
+/**
+ * A single transformation over the CFG of a scope.  Passes are run by a
+ * {@link PassManager} after the CFG has been built and before it is
+ * linearized for the interpreter or the bytecode compiler.
+ */
+public abstract class Pass {
+
+    public abstract String getName();
+
+    /**
+     * Transform the CFG in place.
+     *
+     * @return true if anything was changed
+     */
+    public abstract boolean run(CFG cfg);
+
+    /**
+     * The variable an instruction assigns to or null if it assigns to nothing.
+     */
+    public static Variable getResult(Instruction instruction) {
+        if (instruction instanceof ResultInstruction) return ((ResultInstruction) instruction).getResult();
+
+        return null;
+    }
+
+    /**
+     * Plain temporaries are only written by the instructions the Builder
+     * generated for them, unlike renamed locals (TemporaryLocalVariable),
+     * so they are the only variables passes may freely rewrite.
+     */
+    public static boolean isPlainTemporary(Variable variable) {
+        return variable != null && variable.getClass() == TemporaryVariable.class;
+    }
+}
@@ -0,0 +1,157 @@
+package org.dynjs.ir.passes;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.dynjs.ir.representations.BasicBlock;
+import org.dynjs.ir.representations.CFG;
+
+/**
+ * Runs a pipeline of passes over a CFG until none of them finds anything
+ * left to change (see {@link #run(CFG)} for the bound) and keeps track of
+ * what each one cost and removed.
+ * Set dynjs.ir.passes.report to have every scope {@link #report} this to
+ * the runtime's error stream.
+ */
+public class PassManager {
+    private final List<Pass> passes;
+    private final List<Statistics> statistics = new ArrayList<>();
+    private int rounds;
+    private boolean fixedPoint;
+
+    public PassManager(Pass... passes) {
+        this.passes = Arrays.asList(passes);
+
+        for (Pass pass : passes) {
+            statistics.add(new Statistics(pass.getName()));
+        }
+    }
+
+    public static PassManager createDefault() {
+        return new PassManager(new CopyPropagation(), new ConstantFolding(), new DeadCodeElimination(),
+                new JumpThreading(), new CFGSimplification());
+    }
+
+    /**
+     * Runs every pass in turn, round after round, until a whole round
+     * changes nothing.  One pass enables another (folding a branch orphans
+     * a block which lets its predecessor merge...), so several rounds may
+     * be needed.  The passes only ever remove or simplify, so this settles
+     * within a few rounds.  As a guard against a pass which keeps reporting
+     * changes, a run stops after as many rounds as the CFG has instructions
+     * and blocks; {@link #reachedFixedPoint()} tells the two endings apart.
+     */
+    public void run(CFG cfg) {
+        int maxRounds = instructionCount(cfg) + cfg.getBasicBlocks().size() + 1;
+        boolean changed = true;
+
+        rounds = 0;
+        while (changed && rounds < maxRounds) {
+            changed = false;
+            rounds++;
+
+            for (int i = 0; i < passes.size(); i++) {
+                int before = instructionCount(cfg);
+                long start = System.nanoTime();
+                boolean passChanged = passes.get(i).run(cfg);
+
+                statistics.get(i).record(System.nanoTime() - start, instructionCount(cfg) - before, passChanged);
+                changed |= passChanged;
+            }
+        }
+        fixedPoint = !changed;
+    }
+
+    /**
+     * Prints the outcome of the last run and the totals of each pass.
+     */
+    public void report(PrintStream out, String fileName) {
+        out.println("IR passes for " + fileName + ": " + rounds + " rounds" +
+                (fixedPoint ? "" : ", stopped before a fixed point"));
+        for (Statistics each : statistics) {
+            out.println("  " + each);
+        }
+    }
+
+    /**
+     * Rounds taken by the last run.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Whether the last run ended with a round that changed nothing, rather
+     * than at its bound.
+     */
+    public boolean reachedFixedPoint() {
+        return fixedPoint;
+    }
+
+    public List<Statistics> getStatistics() {
+        return Collections.unmodifiableList(statistics);
+    }
+
+    private static int instructionCount(CFG cfg) {
+        int count = 0;
+
+        for (BasicBlock block : cfg.getBasicBlocks()) {
+            count += block.instrCount();
+        }
+
+        return count;
+    }
+
+    /**
+     * Totals for one pass over every CFG this manager has run on.
+     */
+    public static class Statistics {
+        private final String name;
+        private int runs;
+        private int changes;
+        private long nanos;
+        private int instructionDelta;
+
+        Statistics(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, int instructionDelta, boolean changed) {
+            this.runs++;
+            this.nanos += nanos;
+            this.instructionDelta += instructionDelta;
+            if (changed) this.changes++;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        public int getChanges() {
+            return changes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Instructions added (positive) or removed (negative) by this pass.
+         */
+        public int getInstructionDelta() {
+            return instructionDelta;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + runs + " runs, " + changes + " changed, " +
+                    instructionDelta + " instructions, " + (nanos / 1000) + "us";
+        }
+    }
+}
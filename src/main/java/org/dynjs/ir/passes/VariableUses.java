@@ -0,0 +1,82 @@
+package org.dynjs.ir.passes;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.ir.representations.BasicBlock;
+import org.dynjs.ir.representations.CFG;
+
+/**
+ * Where each variable of a CFG is assigned and read.  This is a snapshot and
+ * must be recomputed once the instructions change.
+ */
+class VariableUses {
+    private final Map<Variable, Integer> definitionCounts = new HashMap<>();
+    private final Map<Variable, Instruction> definitions = new HashMap<>();
+    private final Map<Variable, BasicBlock> definitionBlocks = new HashMap<>();
+    private final Map<Variable, Integer> useCounts = new HashMap<>();
+    private final Map<Variable, BasicBlock> useBlocks = new HashMap<>();
+    private final Map<Variable, Boolean> usedInManyBlocks = new HashMap<>();
+
+    VariableUses(CFG cfg) {
+        for (BasicBlock block : cfg.getBasicBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                Variable result = Pass.getResult(instruction);
+                boolean skippedResult = false;
+
+                if (result != null) {
+                    increment(definitionCounts, result);
+                    definitions.put(result, instruction);
+                    definitionBlocks.put(result, block);
+                }
+
+                for (Variable variable : instruction.getUsedVariables()) {
+                    // The result is one of the operands but assigning is not reading
+                    if (variable == result && !skippedResult) {
+                        skippedResult = true;
+                        continue;
+                    }
+
+                    increment(useCounts, variable);
+                    BasicBlock previous = useBlocks.put(variable, block);
+                    if (previous != null && previous != block) usedInManyBlocks.put(variable, Boolean.TRUE);
+                }
+            }
+        }
+    }
+
+    private static void increment(Map<Variable, Integer> counts, Variable variable) {
+        Integer count = counts.get(variable);
+        counts.put(variable, count == null ? 1 : count + 1);
+    }
+
+    public int getDefinitionCount(Variable variable) {
+        Integer count = definitionCounts.get(variable);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * The instruction assigning the variable if it is assigned exactly once.
+     */
+    public Instruction getSingleDefinition(Variable variable) {
+        return getDefinitionCount(variable) == 1 ? definitions.get(variable) : null;
+    }
+
+    public BasicBlock getDefinitionBlock(Variable variable) {
+        return getDefinitionCount(variable) == 1 ? definitionBlocks.get(variable) : null;
+    }
+
+    public int getUseCount(Variable variable) {
+        Integer count = useCounts.get(variable);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * The only block reading the variable or null if it is read in several
+     * blocks (or never).
+     */
+    public BasicBlock getSingleUseBlock(Variable variable) {
+        return usedInManyBlocks.containsKey(variable) ? null : useBlocks.get(variable);
+    }
+}
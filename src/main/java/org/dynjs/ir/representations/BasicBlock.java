@@ -84,6 +84,15 @@ public class BasicBlock implements ExplicitVertexID, Comparable {
         return i == null? false : instructions.remove(i);
     }
 
+    public void replaceInstr(Instruction oldInstr, Instruction newInstr) {
+        int index = instructions.indexOf(oldInstr);
+
+        if (index != -1) {
+            instructions.set(index, newInstr);
+            instructionsArray = null;
+        }
+    }
+
     public boolean isEmpty() {
         return instructions.isEmpty();
     }
@@ -306,6 +306,29 @@ public class CFG {
         }
     }
 
+    /**
+     * Remove all BasicBlocks which can no longer be reached (other than the entry BasicBlock).
+     */
+    public void removeUnreachableBlocks() {
+        deleteOrphanedBlocks(graph);
+    }
+
+    /**
+     * Remove the edge of the given type between source and destination (if present).
+     */
+    public void removeEdge(BasicBlock source, BasicBlock destination, Object type) {
+        Edge<BasicBlock> toRemove = null;
+
+        for (Edge<BasicBlock> e : graph.findVertexFor(source).getOutgoingEdgesOfType(type)) {
+            if (e.getDestination().getData() == destination) {
+                toRemove = e;
+                break;
+            }
+        }
+
+        if (toRemove != null) graph.removeEdge(toRemove);
+    }
+
     private void deleteOrphanedBlocks(DirectedGraph<BasicBlock> graph) {
         // System.out.println("\nGraph:\n" + toStringGraph());
         // System.out.println("\nInstructions:\n" + toStringInstrs());
@@ -27,7 +27,7 @@ public class DynJSScriptEngine extends AbstractScriptEngine implements Compilabl
 
     @Override
     public DynJSCompiledScript compile(String script) throws ScriptException {
-        Compiler compiler = new DynJS().newCompiler();
+        Compiler compiler = this.factory.newCompiler();
         try {
             JSProgram program = compiler.withSource(script).compile();
             return new DynJSCompiledScript(this, program);
@@ -38,7 +38,7 @@ public class DynJSScriptEngine extends AbstractScriptEngine implements Compilabl
 
     @Override
     public DynJSCompiledScript compile(Reader script) throws ScriptException {
-        Compiler compiler = new DynJS().newCompiler();
+        Compiler compiler = this.factory.newCompiler();
         try {
             JSProgram program = compiler.withSource( new ReaderSourceProvider(script) ).compile();
             return new DynJSCompiledScript(this, program);
@@ -1,5 +1,9 @@
 package org.dynjs.jsr223;
 
+import org.dynjs.Config;
+import org.dynjs.compiler.CompilationContext;
+import org.dynjs.compiler.DefaultCompilationContext;
+import org.dynjs.runtime.Compiler;
 import org.dynjs.runtime.DynJS;
 
 import javax.script.Bindings;
@@ -32,15 +36,29 @@ public class DynJSScriptEngineFactory implements ScriptEngineFactory {
     }
 
     private Bindings globalBindings;
+    private final Config config;
+    private final CompilationContext compilationContext;
 
     public DynJSScriptEngineFactory() {
         this.globalBindings = new SimpleBindings();
+        this.config = new Config();
+        this.compilationContext = new DefaultCompilationContext(this.config);
     }
 
     Bindings getGlobalBindings() {
         return this.globalBindings;
     }
 
+    /**
+     * Returns a compiler sharing this factory's compiler and program cache,
+     * so that compiling a script does not bootstrap a runtime.
+     */
+    Compiler newCompiler() {
+        return new Compiler(this.config)
+                .withContext(new DefaultCompilationContext(this.compilationContext))
+                .withProgramCache(this.config.getProgramCache());
+    }
+
     @Override
     public String getEngineName() {
         return ENGINE_NAME;
@@ -98,7 +98,9 @@ public class DefaultVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context, ArrayLiteralExpression expr, boolean strict) {
         for (Expression each : expr.getExprs()) {
-            each.accept(context, this, strict);
+            if (each != null) {
+                each.accept(context, this, strict);
+            }
         }
         return null;
     }
@@ -0,0 +1,248 @@
+package org.dynjs.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dynjs.parser.ast.BlockStatement;
+import org.dynjs.parser.ast.CatchClause;
+import org.dynjs.parser.ast.ForVarDeclInStatement;
+import org.dynjs.parser.ast.ForVarDeclOfStatement;
+import org.dynjs.parser.ast.FunctionCallExpression;
+import org.dynjs.parser.ast.FunctionDeclaration;
+import org.dynjs.parser.ast.FunctionDescriptor;
+import org.dynjs.parser.ast.FunctionExpression;
+import org.dynjs.parser.ast.IdentifierReferenceExpression;
+import org.dynjs.parser.ast.ProgramTree;
+import org.dynjs.parser.ast.PropertyGet;
+import org.dynjs.parser.ast.PropertySet;
+import org.dynjs.parser.ast.VariableDeclaration;
+import org.dynjs.parser.ast.WithStatement;
+
+/**
+ * Resolves identifiers to (depth, slot) pairs ahead of execution.
+ *
+ * Mirrors the declarative environments the runtime creates: one per function
+ * activation (10.5), one holding the name of a named function, and one per
+ * catch clause (12.14). Slots follow the order in which declaration binding
+ * instantiation creates bindings.
+ *
+ * Function bodies which neither mention {@code arguments} nor contain a direct
+ * call to {@code eval} are marked so that no arguments object is created for
+ * them (10.6).
+ *
+ * Resolution never crosses a scope whose bindings can change at runtime: the
+ * program itself, a {@code with} block, or a function containing a direct
+ * call to {@code eval}. Identifiers which would have to are left to regular
+ * identifier resolution.
+ */
+public class ScopeAnalyzer extends DefaultVisitor {
+
+    public static void analyze(ProgramTree program) {
+        ScopeAnalyzer analyzer = new ScopeAnalyzer();
+        Scope programScope = Scope.dynamic(null);
+        for (Statement each : program.getBlockContent()) {
+            each.accept(programScope, analyzer, program.isStrict());
+        }
+        analyzer.resolve();
+    }
+
+    public static void analyze(FunctionDescriptor descriptor) {
+        ScopeAnalyzer analyzer = new ScopeAnalyzer();
+        analyzer.function(Scope.dynamic(null), descriptor.getIdentifier(), descriptor.getFormalParameterNames(), descriptor.getBlock(), descriptor.isStrict());
+        analyzer.resolve();
+    }
+
+    private final List<IdentifierReferenceExpression> identifiers = new ArrayList<>();
+    private final List<Scope> identifierScopes = new ArrayList<>();
+    private final List<VariableDeclaration> declarations = new ArrayList<>();
+    private final List<Scope> declarationScopes = new ArrayList<>();
+
+    private ScopeAnalyzer() {
+    }
+
+    private void resolve() {
+        for (int i = 0; i < this.identifiers.size(); ++i) {
+            IdentifierReferenceExpression identifier = this.identifiers.get(i);
+            int[] resolved = lookup(this.identifierScopes.get(i), identifier.getIdentifier());
+            if (resolved != null) {
+                identifier.resolveSlot(resolved[0], resolved[1]);
+            }
+        }
+        for (int i = 0; i < this.declarations.size(); ++i) {
+            VariableDeclaration declaration = this.declarations.get(i);
+            int[] resolved = lookup(this.declarationScopes.get(i), declaration.getIdentifier());
+            if (resolved != null) {
+                declaration.resolveSlot(resolved[0], resolved[1]);
+            }
+        }
+    }
+
+    private static int[] lookup(Scope scope, String name) {
+        int depth = 0;
+        for (Scope current = scope; current != null; current = current.outer) {
+            int slot = current.names.indexOf(name);
+            if (slot >= 0) {
+                return (current.declarative ? new int[] { depth, slot } : null);
+            }
+            if (current.dynamic) {
+                return null;
+            }
+            ++depth;
+        }
+        return null;
+    }
+
+    private void function(Scope outer, String identifier, String[] formalParameters, Statement body, boolean strict) {
+        Scope scope = outer;
+        if (identifier != null) {
+            scope = Scope.declarative(scope, null);
+            scope.names.add(identifier);
+        }
+        Scope functionScope = Scope.declarative(scope, null);
+
+        body.accept(functionScope, this, strict);
+
+        // only direct eval can reach the arguments object without naming it
+        boolean argumentsObjectNeeded = functionScope.argumentsReferenced || functionScope.dynamic;
+        if (body instanceof BlockStatement) {
+            ((BlockStatement) body).setArgumentsObjectNeeded(argumentsObjectNeeded);
+        }
+
+        // 10.5 binding order; nothing is looked up until the whole tree has been visited
+        List<String> names = functionScope.names;
+        for (String each : formalParameters) {
+            addBinding(names, each);
+        }
+        for (FunctionDeclaration each : body.getFunctionDeclarations()) {
+            addBinding(names, each.getIdentifier());
+        }
+        if (argumentsObjectNeeded) {
+            addBinding(names, "arguments");
+        }
+        for (VariableDeclaration each : body.getVariableDeclarations()) {
+            addBinding(names, each.getIdentifier());
+        }
+    }
+
+    private static void addBinding(List<String> names, String name) {
+        if (!names.contains(name)) {
+            names.add(name);
+        }
+    }
+
+    @Override
+    public Object visit(Object context, IdentifierReferenceExpression expr, boolean strict) {
+        if (expr.getIdentifier().equals("arguments")) {
+            ((Scope) context).variableScope().argumentsReferenced = true;
+        }
+        this.identifiers.add(expr);
+        this.identifierScopes.add((Scope) context);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, VariableDeclaration expr, boolean strict) {
+        this.declarations.add(expr);
+        this.declarationScopes.add((Scope) context);
+        return super.visit(context, expr, strict);
+    }
+
+    @Override
+    public Object visit(Object context, FunctionCallExpression expr, boolean strict) {
+        if (expr.getMemberExpression() instanceof IdentifierReferenceExpression
+                && ((IdentifierReferenceExpression) expr.getMemberExpression()).getIdentifier().equals("eval")) {
+            // direct eval may add bindings to the variable environment
+            ((Scope) context).variableScope().dynamic = true;
+        }
+        return super.visit(context, expr, strict);
+    }
+
+    @Override
+    public Object visit(Object context, FunctionDeclaration statement, boolean strict) {
+        // instantiated against the variable environment, wherever it appears
+        function(((Scope) context).variableScope(), statement.getIdentifier(), statement.getFormalParameters(), statement.getBlock(),
+                statement.isStrict());
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, FunctionExpression expr, boolean strict) {
+        FunctionDescriptor descriptor = expr.getDescriptor();
+        function((Scope) context, descriptor.getIdentifier(), descriptor.getFormalParameterNames(), descriptor.getBlock(),
+                descriptor.isStrict() || strict);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, PropertyGet propertyGet, boolean strict) {
+        function((Scope) context, null, new String[0], propertyGet.getBlock(), strict);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, PropertySet propertySet, boolean strict) {
+        function((Scope) context, null, new String[] { propertySet.getIdentifier() }, propertySet.getBlock(), strict);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, CatchClause clause, boolean strict) {
+        Scope scope = (Scope) context;
+        Scope catchScope = Scope.declarative(scope, scope.variableScope());
+        catchScope.names.add(clause.getIdentifier());
+        clause.getBlock().accept(catchScope, this, strict);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, WithStatement statement, boolean strict) {
+        Scope scope = (Scope) context;
+        statement.getExpr().accept(scope, this, strict);
+        statement.getBlock().accept(Scope.dynamic(scope), this, strict);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, ForVarDeclInStatement statement, boolean strict) {
+        super.visit(context, statement, strict);
+        statement.getBlock().accept(context, this, strict);
+        return null;
+    }
+
+    @Override
+    public Object visit(Object context, ForVarDeclOfStatement statement, boolean strict) {
+        super.visit(context, statement, strict);
+        statement.getBlock().accept(context, this, strict);
+        return null;
+    }
+
+    private static class Scope {
+
+        static Scope declarative(Scope outer, Scope variableScope) {
+            return new Scope(outer, variableScope, true);
+        }
+
+        static Scope dynamic(Scope outer) {
+            Scope scope = new Scope(outer, (outer == null ? null : outer.variableScope()), false);
+            scope.dynamic = true;
+            return scope;
+        }
+
+        final Scope outer;
+        final Scope variableScope;
+        final boolean declarative;
+        final List<String> names = new ArrayList<>();
+        boolean dynamic;
+        boolean argumentsReferenced;
+
+        private Scope(Scope outer, Scope variableScope, boolean declarative) {
+            this.outer = outer;
+            this.variableScope = variableScope;
+            this.declarative = declarative;
+        }
+
+        Scope variableScope() {
+            return (this.variableScope == null ? this : this.variableScope);
+        }
+    }
+}
@@ -23,14 +23,28 @@ import java.util.List;
 import org.dynjs.exception.ThrowException;
 import org.dynjs.parser.js.Position;
 import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.IndexedReference;
 import org.dynjs.runtime.Reference;
 import org.dynjs.runtime.Types;
 import org.dynjs.runtime.linker.DynJSBootstrapper;
+import org.dynjs.runtime.linker.InterpretingCallSites;
 
 public abstract class AbstractExpression implements Expression {
 
+    private InterpretingCallSites callSites;
+
     public abstract Position getPosition();
 
+    /**
+     * Call sites the invokedynamic interpreter links for this node, created on first use.
+     */
+    public InterpretingCallSites getCallSites() {
+        if (this.callSites == null) {
+            this.callSites = new InterpretingCallSites(getPosition());
+        }
+        return this.callSites;
+    }
+
     public String dump(String indent) {
         String data = dumpData();
 
@@ -46,8 +60,27 @@ public abstract class AbstractExpression implements Expression {
         return Collections.emptyList();
     }
 
+    /**
+     * Evaluates {@code expr} and returns its value, reading slot-resolved
+     * identifiers directly instead of going through a Reference.
+     */
+    protected Object getValue(CallSite callSite, ExecutionContext context, Expression expr, boolean debug) {
+        if (expr instanceof IdentifierReferenceExpression && ((IdentifierReferenceExpression) expr).isSlotResolved()) {
+            return ((IdentifierReferenceExpression) expr).getSlotValue(context);
+        }
+        return getValue(callSite, context, expr.interpret(context, debug));
+    }
+
     protected Object getValue(CallSite callSite, ExecutionContext context, Object obj) {
-        if (obj instanceof Reference) {
+        if (obj instanceof IndexedReference) {
+            try {
+                return DynJSBootstrapper.getInvokeHandler().getElement(obj, context, ((IndexedReference) obj).getIndex());
+            } catch (ThrowException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ThrowException(context, e);
+            }
+        } else if (obj instanceof Reference) {
             Reference ref = (Reference) obj;
             String name = ref.getReferencedName();
             try {
@@ -36,16 +36,28 @@ public abstract class AbstractStatement implements Statement {
 
     private final static AtomicInteger counter = new AtomicInteger();
     private int number;
+    private final SourceUnit unit;
     private List<String> labels = new ArrayList<String>();
 
     AbstractStatement() {
         this.number = counter.incrementAndGet();
+        this.unit = SourceUnit.current();
+        if (this.unit != null) {
+            this.unit.register(this);
+        }
     }
 
     public int getStatementNumber() {
         return this.number;
     }
 
+    /**
+     * Returns the unit this statement was parsed as part of, or {@code null}.
+     */
+    public SourceUnit getSourceUnit() {
+        return this.unit;
+    }
+
     public void addLabel(String label) {
         this.labels.add(label);
     }
@@ -174,6 +186,17 @@ public abstract class AbstractStatement implements Statement {
         return null;
     }
 
+    /**
+     * Evaluates {@code expr} and returns its value, reading slot-resolved
+     * identifiers directly instead of going through a Reference.
+     */
+    protected Object getValue(CallSite callSite, ExecutionContext context, Expression expr, boolean debug) {
+        if (expr instanceof IdentifierReferenceExpression && ((IdentifierReferenceExpression) expr).isSlotResolved()) {
+            return ((IdentifierReferenceExpression) expr).getSlotValue(context);
+        }
+        return getValue(callSite, context, expr.interpret(context, debug));
+    }
+
     protected Object getValue(CallSite callSite, ExecutionContext context, Object obj) {
         if (obj instanceof Reference) {
             Reference ref = (Reference) obj;
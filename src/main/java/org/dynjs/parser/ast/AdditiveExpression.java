@@ -2,6 +2,7 @@ package org.dynjs.parser.ast;
 
 import org.dynjs.exception.ThrowException;
 import org.dynjs.parser.CodeVisitor;
+import org.dynjs.runtime.Arithmetic;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.Reference;
 import org.dynjs.runtime.Types;
@@ -23,11 +24,11 @@ public class AdditiveExpression extends AbstractBinaryExpression {
     public Object interpret(ExecutionContext context, boolean debug) {
 
         if ( this.getOp().equals( "+" ) ) {
-            Object lhs = Types.toPrimitive(context, getValue(this.lhsGet, context, getLhs().interpret(context, debug)));
-            Object rhs = Types.toPrimitive(context, getValue(this.rhsGet, context, getRhs().interpret(context, debug)));
+            Object lhs = Types.toPrimitive(context, getValue(this.lhsGet, context, getLhs(), debug));
+            Object rhs = Types.toPrimitive(context, getValue(this.rhsGet, context, getRhs(), debug));
 
-            if (lhs instanceof String || rhs instanceof String) {
-                return(Types.toString(context, lhs) + Types.toString(context, rhs));
+            if (Types.isString(lhs) || Types.isString(rhs)) {
+                return(Types.concat(context, lhs, rhs));
 
             }
 
@@ -53,11 +54,11 @@ public class AdditiveExpression extends AbstractBinaryExpression {
 
             }
 
-            return(lhsNum.longValue() + rhsNum.longValue());
+            return(Arithmetic.add(lhsNum.longValue(), rhsNum.longValue()));
 
         } else {
-            Number lhs = Types.toNumber(context, getValue(this.lhsGet, context, getLhs().interpret(context, debug)));
-            Number rhs = Types.toNumber(context, getValue(this.rhsGet, context, getRhs().interpret(context, debug)));
+            Number lhs = Types.toNumber(context, getValue(this.lhsGet, context, getLhs(), debug));
+            Number rhs = Types.toNumber(context, getValue(this.rhsGet, context, getRhs(), debug));
 
             if (Double.isNaN(lhs.doubleValue()) || Double.isNaN(rhs.doubleValue())) {
                 return(Double.NaN);
@@ -76,7 +77,7 @@ public class AdditiveExpression extends AbstractBinaryExpression {
 
             }
 
-            return(lhs.longValue() - rhs.longValue());
+            return(Arithmetic.subtract(lhs.longValue(), rhs.longValue()));
         }
     }
 
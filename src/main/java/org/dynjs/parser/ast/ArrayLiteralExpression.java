@@ -70,7 +70,7 @@ public class ArrayLiteralExpression extends BaseExpression {
             Expression each = this.exprs.get(i);
             Object value = null;
             if (each != null) {
-                value = getValue(this.exprGets.get(i), context, each.interpret(context, debug));
+                value = getValue(this.exprGets.get(i), context, each, debug);
                 array.defineOwnProperty(context, "" + i, PropertyDescriptor.newPropertyDescriptorForObjectInitializer(value), false);
             }
             ++len;
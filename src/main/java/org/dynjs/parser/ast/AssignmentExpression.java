@@ -22,8 +22,8 @@ import java.util.List;
 import org.dynjs.exception.ThrowException;
 import org.dynjs.parser.CodeVisitor;
 import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.IndexedReference;
 import org.dynjs.runtime.Reference;
-import org.dynjs.runtime.linker.DynJSBootstrapper;
 
 public class AssignmentExpression extends AbstractBinaryExpression {
 
@@ -51,20 +51,30 @@ public class AssignmentExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
+        if (getLhs() instanceof IdentifierReferenceExpression && ((IdentifierReferenceExpression) getLhs()).isSlotResolved()) {
+            Object rhs = getValue(this.rhsGet, context, getRhs(), debug);
+            ((IdentifierReferenceExpression) getLhs()).putSlotValue(context, rhs);
+            return(rhs);
+        }
+
         Object lhs = getLhs().interpret(context, debug);
         if (!(lhs instanceof Reference)) {
             throw new ThrowException((ExecutionContext) context, ((ExecutionContext) context).createReferenceError(lhs + " is not a reference"));
         }
 
         Reference lhsRef = (Reference) lhs;
-        Object rhs = getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        Object rhs = getValue(this.rhsGet, context, getRhs(), debug);
 
         if (lhsRef.isUnresolvableReference() && context.isStrict()) {
             throw new ThrowException((ExecutionContext) context, ((ExecutionContext) context).createReferenceError(lhsRef.getReferencedName() + " is not defined"));
         }
 
         try {
-            DynJSBootstrapper.getInvokeHandler().set(lhsRef, (ExecutionContext) context, lhsRef.getReferencedName(), rhs);
+            if (lhsRef instanceof IndexedReference) {
+                getCallSites().setElement(lhsRef, context, ((IndexedReference) lhsRef).getIndex(), rhs);
+                return(rhs);
+            }
+            getCallSites().set(lhsRef, (ExecutionContext) context, lhsRef.getReferencedName(), rhs);
         } catch (ThrowException e) {
             throw e;
         } catch (Throwable e) {
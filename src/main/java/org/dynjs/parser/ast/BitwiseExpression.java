@@ -21,7 +21,7 @@ public class BitwiseExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object lhs = getValue(this.lhsGet, context, getLhs().interpret(context, debug));
+        Object lhs = getValue(this.lhsGet, context, getLhs(), debug);
 
         Long lhsNum = null;
 
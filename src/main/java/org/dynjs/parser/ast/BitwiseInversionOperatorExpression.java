@@ -37,7 +37,7 @@ public class BitwiseInversionOperatorExpression extends AbstractUnaryOperatorExp
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        return ~Types.toInt32(context, getValue(this.get, context, getExpr().interpret(context, debug)));
+        return ~Types.toInt32(context, getValue(this.get, context, getExpr(), debug));
     }
 
     public String toString() {
@@ -31,6 +31,7 @@ public class BlockStatement extends AbstractStatement {
     private final List<Statement> blockContent;
     private List<FunctionDeclaration> functionDeclarations = null;
     private List<VariableDeclaration> variableDeclarations = null;
+    private boolean argumentsObjectNeeded = true;
 
     public BlockStatement(final List<Statement> blockContent) {
         this.blockContent = blockContent;
@@ -115,6 +116,18 @@ public class BlockStatement extends AbstractStatement {
         return decls;
     }
 
+    /**
+     * Whether, as the body of a function, this block can observe the
+     * arguments object. Unless scope analysis has shown otherwise, it can.
+     */
+    public boolean isArgumentsObjectNeeded() {
+        return this.argumentsObjectNeeded;
+    }
+
+    public void setArgumentsObjectNeeded(boolean argumentsObjectNeeded) {
+        this.argumentsObjectNeeded = argumentsObjectNeeded;
+    }
+
     public Object accept(Object context, CodeVisitor visitor, boolean strict) {
         return visitor.visit(context, this, strict);
     }
@@ -46,12 +46,10 @@ public class BracketExpression extends AbstractBinaryExpression {
     public Object interpret(ExecutionContext context, boolean debug) {
         Object baseRef = getLhs().interpret(context, debug);
         Object baseValue = getValue(this.lhsGet, context, baseRef);
-        Object identifier = getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        Object identifier = getValue(this.rhsGet, context, getRhs(), debug);
 
         Types.checkObjectCoercible(context, baseValue);
 
-        String propertyName = Types.toString(context, identifier);
-
-        return(context.createPropertyReference(baseValue, propertyName));
+        return(context.createElementReference(baseValue, identifier));
     }
 }
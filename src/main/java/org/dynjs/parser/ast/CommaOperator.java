@@ -32,8 +32,8 @@ public class CommaOperator extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        getValue(this.lhsGet, context, getLhs().interpret(context, debug));
-        return getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        getValue(this.lhsGet, context, getLhs(), debug);
+        return getValue(this.rhsGet, context, getRhs(), debug);
     }
 
 }
@@ -73,6 +73,7 @@ public class DoWhileStatement extends AbstractIteratingStatement {
         Object v = null;
 
         while (true) {
+            context.countBackedge();
             Completion completion = invokeCompiledBlockStatement(context, "DoWhile", block);
             if (completion.value != null) {
                 v = completion.value;
@@ -99,7 +100,7 @@ public class DoWhileStatement extends AbstractIteratingStatement {
             }
 
 
-            Boolean testResult = Types.toBoolean(getValue(this.testGet, context, testExpr.interpret(context, debug)));
+            Boolean testResult = Types.toBoolean(getValue(this.testGet, context, testExpr, debug));
             if (!testResult) {
                 break;
             }
@@ -52,7 +52,7 @@ public class ExpressionStatement extends AbstractStatement {
         if (expr instanceof FunctionDeclaration) {
             return(Completion.createNormal());
         } else {
-            return(Completion.createNormal(getValue(this.get, context, expr.interpret(context, debug))));
+            return(Completion.createNormal(getValue(this.get, context, expr, debug)));
         }
     }
 
@@ -22,7 +22,6 @@ import org.dynjs.runtime.*;
 import org.dynjs.runtime.linker.DynJSBootstrapper;
 
 import java.lang.invoke.CallSite;
-import java.util.List;
 
 public class ForExprInStatement extends AbstractForInStatement {
 
@@ -75,9 +74,10 @@ public class ForExprInStatement extends AbstractForInStatement {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
 
             Object lhsRef = getExpr().interpret(context, debug);
 
@@ -86,6 +86,7 @@ public class ForExprInStatement extends AbstractForInStatement {
             }
 
 
+            context.countBackedge();
             Completion completion = (Completion) getBlock().interpret(context, debug);
 
             if (completion.value != null) {
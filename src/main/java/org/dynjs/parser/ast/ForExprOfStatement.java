@@ -22,7 +22,6 @@ import org.dynjs.runtime.*;
 import org.dynjs.runtime.linker.DynJSBootstrapper;
 
 import java.lang.invoke.CallSite;
-import java.util.List;
 
 public class ForExprOfStatement extends AbstractForInStatement {
 
@@ -76,9 +75,10 @@ public class ForExprOfStatement extends AbstractForInStatement {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
             Object lhsRef = getExpr().interpret(context, debug);
 
             if (lhsRef instanceof Reference) {
@@ -87,6 +87,7 @@ public class ForExprOfStatement extends AbstractForInStatement {
             }
 
 
+            context.countBackedge();
             Completion completion = (Completion) getBlock().interpret(context, debug);
             //Completion completion = invokeCompiledBlockStatement(context, "ForOf", statement.getBlock());
 
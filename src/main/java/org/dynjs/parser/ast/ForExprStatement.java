@@ -87,11 +87,12 @@ public class ForExprStatement extends AbstractForStatement {
         while (true) {
             if (test != null) {
 
-                if (!Types.toBoolean(getValue(this.testGet, context, test.interpret(context, debug)))) {
+                if (!Types.toBoolean(getValue(this.testGet, context, test, debug))) {
                     break;
                 }
             }
 
+            context.countBackedge();
             Completion completion = (Completion) body.interpret(context, debug);
             //Completion completion = invokeCompiledBlockStatement(context, "ForExpr", body);
 
@@ -120,7 +121,7 @@ public class ForExprStatement extends AbstractForStatement {
             }
 
             if (incr != null) {
-                getValue(this.incrGet, context, incr.interpret(context, debug));
+                getValue(this.incrGet, context, incr, debug);
             }
         }
 
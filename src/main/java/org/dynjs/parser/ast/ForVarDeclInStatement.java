@@ -77,13 +77,15 @@ public class ForVarDeclInStatement extends AbstractForInStatement {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
             Reference varRef = context.resolve(varName);
 
             varRef.putValue(context, each);
 
+            context.countBackedge();
             Completion completion = (Completion) getBlock().interpret(context, debug);
             //Completion completion = invokeCompiledBlockStatement(context, "ForVarDeclsIn", statement.getBlock());
 
@@ -77,14 +77,16 @@ public class ForVarDeclOfStatement extends AbstractForInStatement {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
             Reference varRef = context.resolve(varName);
             Reference propertyRef = context.createPropertyReference(obj, each);
 
             varRef.putValue(context, propertyRef.getValue(context));
 
+            context.countBackedge();
             Completion completion = (Completion) getBlock().interpret(context, debug);
             //Completion completion = invokeCompiledBlockStatement(context, "ForVarDeclsOf", statement.getBlock());
 
@@ -100,11 +100,12 @@ public class ForVarDeclStatement extends AbstractForStatement {
 
         while (true) {
             if (test != null) {
-                if (!Types.toBoolean(getValue(this.testGet, context, test.interpret(context, debug)))) {
+                if (!Types.toBoolean(getValue(this.testGet, context, test, debug))) {
                     break;
                 }
             }
 
+            context.countBackedge();
             Completion completion = (Completion) body.interpret(context, debug);
             //Completion completion = invokeCompiledBlockStatement(context, "ForVarDecl", body);
 
@@ -133,7 +134,7 @@ public class ForVarDeclStatement extends AbstractForStatement {
             }
 
             if (incr != null) {
-                getValue(this.incrGet, context, incr.interpret(context, debug));
+                getValue(this.incrGet, context, incr, debug);
             }
         }
 
@@ -84,7 +84,7 @@ public class FunctionCallExpression extends AbstractExpression {
         for ( int i = 0 ; i < numArgs ; ++i ) {
             Expression each = this.argExprs.get(i);
             CallSite eachGet = this.argGets.get(i);
-            Object value = getValue(eachGet, context, each.interpret(context, debug));
+            Object value = getValue(eachGet, context, each, debug);
             //System.err.println( "ARG: " + i + " -> " + each + " // " + value );
             args[i] = value;
         }
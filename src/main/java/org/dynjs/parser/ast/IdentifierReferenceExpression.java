@@ -33,6 +33,8 @@ import org.dynjs.runtime.ExecutionContext;
 public class IdentifierReferenceExpression extends BaseExpression {
 
     private final String identifier;
+    private int depth = -1;
+    private int slot = -1;
 
     public IdentifierReferenceExpression(Position position, String identifier) {
         super(position);
@@ -43,6 +45,36 @@ public class IdentifierReferenceExpression extends BaseExpression {
         return this.identifier;
     }
 
+    /**
+     * Records that this identifier always refers to {@code slot} of the
+     * declarative environment {@code depth} levels out from where it is
+     * evaluated.
+     */
+    public void resolveSlot(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    public boolean isSlotResolved() {
+        return this.depth >= 0;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getSlot() {
+        return this.slot;
+    }
+
+    public Object getSlotValue(ExecutionContext context) {
+        return context.getSlotValue(this.depth, this.slot, this.identifier);
+    }
+
+    public void putSlotValue(ExecutionContext context, Object value) {
+        context.putSlotValue(this.depth, this.slot, this.identifier, value);
+    }
+
     public String toString() {
         return this.identifier;
     }
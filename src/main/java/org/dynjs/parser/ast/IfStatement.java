@@ -102,7 +102,7 @@ public class IfStatement extends BaseStatement {
     }
 
     public Completion interpret(ExecutionContext context, boolean debug) {
-        Boolean result = Types.toBoolean(getValue(this.testGet, context, getTest().interpret(context, debug)));
+        Boolean result = Types.toBoolean(getValue(this.testGet, context, getTest(), debug));
 
         if (result) {
             return(invokeCompiledBlockStatement(context, "Then", getThenBlock()));
@@ -35,8 +35,8 @@ public class InOperatorExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object lhs = getValue(this.lhsGet, context, getLhs().interpret( context, debug ) );
-        Object rhs = getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        Object lhs = getValue(this.lhsGet, context, getLhs(), debug);
+        Object rhs = getValue(this.rhsGet, context, getRhs(), debug);
 
         if (!(rhs instanceof JSObject)) {
             throw new ThrowException(context, context.createTypeError(getRhs() + " is not an object"));
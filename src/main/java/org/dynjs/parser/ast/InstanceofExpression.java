@@ -36,8 +36,8 @@ public class InstanceofExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object lhs = getValue(this.lhsGet, context, getLhs().interpret(context, debug));
-        Object rhs = getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        Object lhs = getValue(this.lhsGet, context, getLhs(), debug);
+        Object rhs = getValue(this.rhsGet, context, getRhs(), debug);
 
         if (rhs == Types.UNDEFINED) {
             throw new ThrowException(context, context.createTypeError(getRhs() + " is undefined."));
@@ -17,7 +17,7 @@ public class LogicalExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object lhs = getValue(this.lhsGet, context, getLhs().interpret(context, debug));
+        Object lhs = getValue(this.lhsGet, context, getLhs(), debug);
 
         if ((getOp().equals("||") && Types.toBoolean(lhs)) || (getOp().equals("&&") && !Types.toBoolean(lhs))) {
             return(lhs);
@@ -42,7 +42,7 @@ public class LogicalNotOperatorExpression extends AbstractUnaryOperatorExpressio
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        return(!Types.toBoolean(getValue(this.get, context, getExpr().interpret(context, debug))));
+        return(!Types.toBoolean(getValue(this.get, context, getExpr(), debug)));
 
     }
 
@@ -1,6 +1,7 @@
 package org.dynjs.parser.ast;
 
 import org.dynjs.parser.CodeVisitor;
+import org.dynjs.runtime.Arithmetic;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.Types;
 import org.dynjs.runtime.builtins.types.BuiltinNumber;
@@ -18,8 +19,8 @@ public class MultiplicativeExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Number lval = Types.toNumber(context, getValue(this.lhsGet, context, getLhs().interpret( context, debug) ) );
-        Number rval = Types.toNumber(context, getValue(this.rhsGet, context, getRhs().interpret(context, debug)) );
+        Number lval = Types.toNumber(context, getValue(this.lhsGet, context, getLhs(), debug) );
+        Number rval = Types.toNumber(context, getValue(this.rhsGet, context, getRhs(), debug) );
 
         if (Double.isNaN(lval.doubleValue()) || Double.isNaN(rval.doubleValue())) {
             return(Double.NaN);
@@ -72,7 +73,7 @@ public class MultiplicativeExpression extends AbstractBinaryExpression {
         } else {
             switch (getOp()) {
                 case "*":
-                    return(lval.longValue() * rval.longValue());
+                    return(Arithmetic.multiply(lval.longValue(), rval.longValue()));
 
                 case "/":
                     if (rval.longValue() == 0L) {
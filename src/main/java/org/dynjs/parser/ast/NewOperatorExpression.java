@@ -79,7 +79,7 @@ public class NewOperatorExpression extends AbstractUnaryOperatorExpression {
         for ( int i = 0 ; i < numArgs ; ++i ) {
             Expression eachArg = this.argExprs.get(i);
             CallSite eachGet = this.argGets.get(i);
-            args[i] = getValue(eachGet, context, eachArg.interpret(context, debug));
+            args[i] = getValue(eachGet, context, eachArg, debug);
         }
 
         Object ctor = memberExpr;
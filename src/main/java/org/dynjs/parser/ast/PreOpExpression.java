@@ -17,6 +17,7 @@ package org.dynjs.parser.ast;
 
 import org.dynjs.exception.ThrowException;
 import org.dynjs.parser.CodeVisitor;
+import org.dynjs.runtime.Arithmetic;
 import org.dynjs.runtime.EnvironmentRecord;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.Reference;
@@ -71,10 +72,10 @@ public class PreOpExpression extends AbstractUnaryOperatorExpression {
             } else {
                 switch (getOp()) {
                     case "++":
-                        newValue = oldValue.longValue() + 1;
+                        newValue = Arithmetic.add(oldValue.longValue(), 1L);
                         break;
                     case "--":
-                        newValue = oldValue.longValue() - 1;
+                        newValue = Arithmetic.subtract(oldValue.longValue(), 1L);
                         break;
                 }
             }
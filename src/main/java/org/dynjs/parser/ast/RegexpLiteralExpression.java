@@ -7,7 +7,8 @@ import org.dynjs.parser.CodeVisitor;
 import org.dynjs.parser.js.Position;
 import org.dynjs.parser.js.SyntaxError;
 import org.dynjs.runtime.ExecutionContext;
-import org.dynjs.runtime.builtins.types.BuiltinRegExp;
+import org.dynjs.runtime.builtins.types.regexp.DynRegExp;
+import org.dynjs.runtime.builtins.types.regexp.RegExpLiteralSite;
 
 public class RegexpLiteralExpression extends BaseExpression implements IllegalFunctionMemberExpression {
 
@@ -45,6 +46,7 @@ public class RegexpLiteralExpression extends BaseExpression implements IllegalFu
 
     private String pattern;
     private String flags;
+    private RegExpLiteralSite site;
 
     public RegexpLiteralExpression(Position position, String text) {
         super(position);
@@ -55,6 +57,7 @@ public class RegexpLiteralExpression extends BaseExpression implements IllegalFu
         }
         this.pattern = parser.getPattern();
         this.flags = parser.getFlags();
+        this.site = new RegExpLiteralSite(this.pattern, this.flags);
     }
 
     public String getPattern() {
@@ -79,7 +82,11 @@ public class RegexpLiteralExpression extends BaseExpression implements IllegalFu
     }
 
     public Object interpret(ExecutionContext context, boolean debug) {
-        return(BuiltinRegExp.newRegExp((ExecutionContext) context, getPattern(), getFlags()));
+        return newRegExp(context);
+    }
+
+    public DynRegExp newRegExp(ExecutionContext context) {
+        return this.site.newRegExp(context);
     }
 
 }
@@ -17,8 +17,8 @@ public class RelationalExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object lval = getValue(this.lhsGet, context, getLhs().interpret(context, debug));
-        Object rval = getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        Object lval = getValue(this.lhsGet, context, getLhs(), debug);
+        Object rval = getValue(this.rhsGet, context, getRhs(), debug);
         Object r = null;
 
         switch (getOp()) {
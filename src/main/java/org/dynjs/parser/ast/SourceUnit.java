@@ -0,0 +1,92 @@
+package org.dynjs.parser.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dynjs.parser.Statement;
+
+/**
+ * The statements created while parsing one source. Statement numbers come
+ * from a global counter, so the same source gets different numbers in every
+ * run; positions within the unit do not, as long as nothing else was parsed
+ * on another thread in between.
+ */
+public class SourceUnit {
+
+    private static final ThreadLocal<SourceUnit> CURRENT = new ThreadLocal<>();
+
+    private final String hash;
+    private final List<Statement> statements = new ArrayList<>();
+    private int base;
+    private boolean contiguous = true;
+
+    private SourceUnit(String hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Collects the statements created on this thread until {@link #end()}
+     * into a new unit identified by {@code hash}.
+     */
+    public static SourceUnit begin(String hash) {
+        SourceUnit unit = new SourceUnit(hash);
+        CURRENT.set(unit);
+        return unit;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static SourceUnit current() {
+        return CURRENT.get();
+    }
+
+    void register(Statement statement) {
+        int number = statement.getStatementNumber();
+        if (this.statements.isEmpty()) {
+            this.base = number;
+        } else if (number != this.base + this.statements.size()) {
+            this.contiguous = false;
+        }
+        this.statements.add(statement);
+    }
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Whether statement numbers in this unit can be rebased, i.e. they
+     * were handed out without gaps.
+     */
+    public boolean isRelocatable() {
+        return this.contiguous;
+    }
+
+    public int getBase() {
+        return this.base;
+    }
+
+    public int size() {
+        return this.statements.size();
+    }
+
+    /**
+     * Returns the position of {@code statement} within this unit, or -1.
+     */
+    public int offsetOf(Statement statement) {
+        int offset = statement.getStatementNumber() - this.base;
+        if (offset < 0 || offset >= this.statements.size() || this.statements.get(offset) != statement) {
+            return -1;
+        }
+        return offset;
+    }
+
+    public Statement getStatement(int offset) {
+        if (offset < 0 || offset >= this.statements.size()) {
+            return null;
+        }
+        return this.statements.get(offset);
+    }
+}
@@ -32,8 +32,8 @@ public class StrictEqualityOperatorExpression extends AbstractBinaryExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object lhs = getValue(this.lhsGet, context, getLhs().interpret(context, debug));
-        Object rhs = getValue(this.rhsGet, context, getRhs().interpret(context, debug));
+        Object lhs = getValue(this.lhsGet, context, getLhs(), debug);
+        Object rhs = getValue(this.rhsGet, context, getRhs(), debug);
 
         Object result = null;
         if (getOp().equals("===")) {
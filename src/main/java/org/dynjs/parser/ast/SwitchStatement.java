@@ -72,7 +72,7 @@ public class SwitchStatement extends BaseStatement {
 
     @Override
     public Completion interpret(ExecutionContext context, boolean debug) {
-        Object value = getValue(this.valueGet, context, getExpr().interpret(context, debug));
+        Object value = getValue(this.valueGet, context, getExpr(), debug);
         Object v = null;
 
         int numClauses = getCaseClauses().size();
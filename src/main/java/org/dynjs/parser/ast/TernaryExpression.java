@@ -60,7 +60,7 @@ public class TernaryExpression extends AbstractExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        if (Types.toBoolean(getValue(this.get, context, getTest().interpret(context, debug))) ) {
+        if (Types.toBoolean(getValue(this.get, context, getTest(), debug)) ) {
             return getThenExpr().interpret(context, debug);
         } else {
             return getElseExpr().interpret(context, debug);
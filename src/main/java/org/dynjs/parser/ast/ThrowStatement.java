@@ -46,7 +46,7 @@ public class ThrowStatement extends BaseStatement {
 
     @Override
     public Completion interpret(ExecutionContext context, boolean debug) {
-        Object throwable = getValue(this.get, context, getExpr().interpret(context, debug));
+        Object throwable = getValue(this.get, context, getExpr(), debug);
         throw new ThrowException(context, throwable);
     }
 
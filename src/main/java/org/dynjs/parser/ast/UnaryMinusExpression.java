@@ -27,7 +27,7 @@ public class UnaryMinusExpression extends AbstractUnaryOperatorExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        Object value = getValue(this.get, context, getExpr().interpret(context, debug));
+        Object value = getValue(this.get, context, getExpr(), debug);
         Number oldValue = Types.toNumber(context, value);
         if (oldValue instanceof Double) {
             if (Double.isNaN(oldValue.doubleValue())) {
@@ -27,6 +27,6 @@ public class UnaryPlusExpression extends AbstractUnaryOperatorExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        return Types.toNumber(context, getValue(this.get, context, getExpr().interpret(context, debug)) );
+        return Types.toNumber(context, getValue(this.get, context, getExpr(), debug) );
     }
 }
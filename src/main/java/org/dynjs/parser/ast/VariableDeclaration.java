@@ -19,6 +19,8 @@ public class VariableDeclaration {
     private String identifier;
     private Expression expr;
     private CallSite get;
+    private int depth = -1;
+    private int slot = -1;
 
     public VariableDeclaration(Position position, String identifier, Expression initializerExpr) {
         this.position = position;
@@ -41,6 +43,27 @@ public class VariableDeclaration {
         return this.identifier;
     }
 
+    /**
+     * Records that the initializer always stores into {@code slot} of the
+     * declarative environment {@code depth} levels out.
+     */
+    public void resolveSlot(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    public boolean isSlotResolved() {
+        return this.depth >= 0;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getSlot() {
+        return this.slot;
+    }
+
     public String dump(String indent) {
         StringBuilder buf = new StringBuilder();
 
@@ -59,6 +82,10 @@ public class VariableDeclaration {
     public String interpret(ExecutionContext context, boolean debug) {
         if (this.expr != null) {
             Object value = getValue(this.get, context, this.expr.interpret(context, debug));
+            if (isSlotResolved()) {
+                context.putSlotValue(this.depth, this.slot, this.identifier, value);
+                return (getIdentifier());
+            }
             Reference var = context.resolve(getIdentifier());
             var.putValue(context, value);
         }
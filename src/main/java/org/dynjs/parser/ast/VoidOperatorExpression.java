@@ -43,7 +43,7 @@ public class VoidOperatorExpression extends AbstractUnaryOperatorExpression {
 
     @Override
     public Object interpret(ExecutionContext context, boolean debug) {
-        getValue(this.get, context, getExpr().interpret(context, debug));
+        getValue(this.get, context, getExpr(), debug);
         return(Types.UNDEFINED);
     }
 
@@ -69,10 +69,11 @@ public class WhileStatement extends AbstractIteratingStatement {
         Object v = null;
 
         while (true) {
-            Boolean testResult = Types.toBoolean(getValue(this.testGet, context, testExpr.interpret(context, debug)));
+            Boolean testResult = Types.toBoolean(getValue(this.testGet, context, testExpr, debug));
             if (testResult) {
                 // block.accept(context, this, strict);
                 // Completion completion = (Completion) pop();
+                context.countBackedge();
                 Completion completion = invokeCompiledBlockStatement(context, "While", block);
                 if (completion.value != null) {
                     v = completion.value;
@@ -52,7 +52,7 @@ public class WithStatement extends BaseStatement {
 
     @Override
     public Completion interpret(ExecutionContext context, boolean debug) {
-        JSObject obj = Types.toObject(context, getValue(this.get, context, getExpr().interpret(context, debug)));
+        JSObject obj = Types.toObject(context, getValue(this.get, context, getExpr(), debug));
         BasicBlock block = compiledBlockStatement(context, "With", getBlock());
         return(context.executeWith(obj, block));
     }
@@ -7,6 +7,7 @@ import java.io.Reader;
 import java.io.StringReader;
 
 import org.dynjs.compiler.CompilationContext;
+import org.dynjs.parser.ScopeAnalyzer;
 import org.dynjs.parser.ast.ProgramTree;
 import org.dynjs.runtime.ExecutionContext;
 
@@ -84,7 +85,9 @@ public class JavascriptParser {
         TokenStream tokens = new TokenQueue(lexer);
         Parser parser = new Parser(this.context, this.factory, tokens);
         parser.forceStrict( forceStrict );
-        return parser.program();
+        ProgramTree program = parser.program();
+        ScopeAnalyzer.analyze(program);
+        return program;
     }
 
 }
@@ -18,20 +18,36 @@ public abstract class AbstractFunction extends DynObject implements JSFunction {
         this.strict = strict;
         setClassName("Function");
         // http://es5.github.com/#x15.3.3.2
-        defineOwnProperty(null, "length",
-                PropertyDescriptor.newDataPropertyDescriptor((long) formalParameters.length, false, false, false), false);
+        defineInitialProperty("length", lengthProperty(formalParameters.length));
 
         if (strict) {
-            final Object thrower = globalContext.getThrowTypeError();
-            if (thrower != null) {
-                defineOwnProperty(null, "caller",
-                        PropertyDescriptor.newAccessorPropertyDescriptor(thrower, thrower), false);
-                defineOwnProperty(null, "arguments",
-                        PropertyDescriptor.newAccessorPropertyDescriptor(thrower, thrower), true);
+            final PropertyDescriptor poison = globalContext.getThrowTypeErrorProperty();
+            if (poison != null) {
+                defineInitialProperty("caller", poison);
+                defineInitialProperty("arguments", poison);
             }
         }
 
-        setPrototype(globalContext.getPrototypeFor("Function"));
+        setPrototype(globalContext.getFunctionPrototype());
+    }
+
+    private static final PropertyDescriptor[] LENGTH_PROPERTIES = new PropertyDescriptor[8];
+
+    static {
+        for (int i = 0; i < LENGTH_PROPERTIES.length; ++i) {
+            LENGTH_PROPERTIES[i] = PropertyDescriptor.newDataPropertyDescriptor((long) i, false, false, false);
+        }
+    }
+
+    /**
+     * The read-only 'length' property, shared between all functions, of
+     * every runtime, with that many formal parameters.
+     */
+    private static PropertyDescriptor lengthProperty(int length) {
+        if (length < LENGTH_PROPERTIES.length) {
+            return LENGTH_PROPERTIES[length];
+        }
+        return PropertyDescriptor.newDataPropertyDescriptor((long) length, false, false, false);
     }
 
     public LexicalEnvironment getScope() {
@@ -55,6 +71,11 @@ public abstract class AbstractFunction extends DynObject implements JSFunction {
         return this.formalParameters;
     }
 
+    @Override
+    public boolean isArgumentsObjectNeeded() {
+        return true;
+    }
+
     protected void setFormalParamters(String[] formalParameters) {
         this.formalParameters = formalParameters;
     }
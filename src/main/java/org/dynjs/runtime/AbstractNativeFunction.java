@@ -11,13 +11,13 @@ public abstract class AbstractNativeFunction extends AbstractFunction {
     protected String filename;
 
     public AbstractNativeFunction(GlobalContext globalContext, String... formalParameters) {
-        super(globalContext, LexicalEnvironment.newObjectEnvironment(globalContext.getObject(), false, null), true, formalParameters);
+        super(globalContext, globalContext.getNativeScope(), true, formalParameters);
         setupDebugContext();
         setFileName();
     }
 
     public AbstractNativeFunction(GlobalContext globalContext, boolean strict, String... formalParameters) {
-        super(globalContext, LexicalEnvironment.newObjectEnvironment(globalContext.getObject(), false, null), strict, formalParameters);
+        super(globalContext, globalContext.getNativeScope(), strict, formalParameters);
         setupDebugContext();
         setFileName();
     }
@@ -38,24 +38,56 @@ public abstract class AbstractNativeFunction extends AbstractFunction {
         return Collections.emptyList();
     }
 
+    @Override
+    public boolean isArgumentsObjectNeeded() {
+        return false;
+    }
+
+    /**
+     * Whether this function may be run by {@link ExecutionContext#callNative}
+     * in its caller's context. Functions which look at their own execution
+     * context (its parent, environment or function parameters) must return
+     * {@code false}.
+     */
+    public boolean isDirectCallable() {
+        return true;
+    }
+
     @Override
     public Object call(ExecutionContext context) {
-        Object self = context.getThisBinding();
+        return call(context, context.getThisBinding(), normalizeArguments(context, context.getFunctionParameters()));
+    }
 
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numArgs = (int) argsObj.get(context, "length");
+    /**
+     * Returns {@code parameters} with references dereferenced, missing values
+     * replaced by {@code undefined}, and padded with {@code undefined} up to
+     * the number of formal parameters. Returns {@code parameters} itself if
+     * nothing needs to change.
+     */
+    Object[] normalizeArguments(ExecutionContext context, Object[] parameters) {
+        int numArgs = parameters.length;
         int paramsLen = getFormalParameters().length;
 
-        Object[] args = new Object[numArgs < paramsLen ? paramsLen : numArgs];
+        Object[] args = parameters;
+        if (numArgs < paramsLen) {
+            args = new Object[paramsLen];
+        }
 
         for (int i = 0; i < numArgs; ++i) {
-            Object v = argsObj.get(context, "" + i);
-            if (v instanceof Reference) {
+            Object v = parameters[i];
+            if (v == null) {
+                v = Types.UNDEFINED;
+            } else if (v instanceof Reference) {
                 if (((Reference) v).isUnresolvableReference()) {
                     v = Types.UNDEFINED;
                 } else {
                     v = ((Reference) v).getValue(context);
                 }
+            } else if (args == parameters) {
+                continue;
+            }
+            if (args == parameters) {
+                args = parameters.clone();
             }
             args[i] = v;
         }
@@ -64,11 +96,22 @@ public abstract class AbstractNativeFunction extends AbstractFunction {
             args[i] = Types.UNDEFINED;
         }
 
-        return call(context, self, args);
+        return args;
     }
 
     public abstract Object call(ExecutionContext context, Object self, Object... args);
 
+    /**
+     * Returns the number of arguments actually passed, as {@code args} is
+     * padded with {@code undefined} up to the number of formal parameters.
+     * Functions using this must not be {@link #isDirectCallable() directly
+     * callable}.
+     */
+    protected int getArgumentCount(ExecutionContext context, Object[] args) {
+        Object[] parameters = context.getFunctionParameters();
+        return (parameters == null ? args.length : parameters.length);
+    }
+
     public String getFileName() {
         return this.filename;
     }
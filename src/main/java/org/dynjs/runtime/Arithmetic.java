@@ -0,0 +1,49 @@
+package org.dynjs.runtime;
+
+/**
+ * Integral fast paths for the numeric operators (11.4.4, 11.4.5, 11.5, 11.6),
+ * used by the interpreters and generated code once both operands are known
+ * to be integral.
+ *
+ * Results stay {@link Long} while they are exact; a result that would
+ * overflow, or that JavaScript defines as {@code -0}, is computed on
+ * doubles instead.
+ */
+public final class Arithmetic {
+
+    private Arithmetic() {
+    }
+
+    public static Number add(long lhs, long rhs) {
+        long result = lhs + rhs;
+        if (((lhs ^ result) & (rhs ^ result)) < 0) {
+            return (double) lhs + (double) rhs;
+        }
+        return result;
+    }
+
+    public static Number subtract(long lhs, long rhs) {
+        long result = lhs - rhs;
+        if (((lhs ^ rhs) & (lhs ^ result)) < 0) {
+            return (double) lhs - (double) rhs;
+        }
+        return result;
+    }
+
+    public static Number multiply(long lhs, long rhs) {
+        if (lhs == 0 || rhs == 0) {
+            if (lhs < 0 || rhs < 0) {
+                return -0.0;
+            }
+            return 0L;
+        }
+        long result = lhs * rhs;
+        if ((Math.abs(lhs) | Math.abs(rhs)) >>> 31 != 0) {
+            if (result / rhs != lhs || (lhs == Long.MIN_VALUE && rhs == -1)) {
+                return (double) lhs * (double) rhs;
+            }
+        }
+        return result;
+    }
+
+}
@@ -7,7 +7,7 @@ import org.dynjs.parser.ast.VariableDeclaration;
 
 public class BasicBlockDelegate implements BasicBlock {
 
-    private BasicBlock delegate;
+    private volatile BasicBlock delegate;
 
     public BasicBlockDelegate(BasicBlock initial) {
         this.delegate = initial;
@@ -1,21 +1,42 @@
 package org.dynjs.runtime;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.dynjs.parser.Statement;
 
+/**
+ * The compiled code of one program's blocks, keyed by statement number.
+ *
+ * A program taken from the {@link ProgramCache} may run in several runtimes
+ * at once, so entries may be retrieved and filled in from any thread.
+ */
 public class BlockManager {
 
     public BlockManager() {
 
     }
 
+    /**
+     * Returns the loader for classes generated for these blocks, created
+     * on first use as a child of {@code parentClassLoader}. It lives as long
+     * as the program or functions holding on to this manager or its code.
+     */
+    public synchronized DynamicClassLoader getClassLoader(ClassLoader parentClassLoader) {
+        if (this.classLoader == null) {
+            this.classLoader = new GeneratedClassLoader(parentClassLoader);
+        }
+        return this.classLoader;
+    }
+
     public Entry retrieve(int statementNumber) {
         Entry entry = this.storage.get(statementNumber);
         if (entry == null) {
             entry = new Entry(statementNumber);
-            this.storage.put(statementNumber, entry);
+            Entry existing = this.storage.putIfAbsent(statementNumber, entry);
+            if (existing != null) {
+                entry = existing;
+            }
         }
 
         return entry;
@@ -51,10 +72,11 @@ public class BlockManager {
         }
 
         public int statementNumber;
-        public Statement statement;
+        public volatile Statement statement;
         // private WeakReference<Object> compiled;
-        private BasicBlock compiled;
+        private volatile BasicBlock compiled;
     }
 
-    private Map<Integer, Entry> storage = new HashMap<>();
+    private ConcurrentMap<Integer, Entry> storage = new ConcurrentHashMap<>();
+    private DynamicClassLoader classLoader;
 }
@@ -32,18 +32,25 @@ public class BoundFunction extends AbstractFunction {
         this.boundArgs = boundArgs;
     }
     
+    @Override
+    public boolean isArgumentsObjectNeeded() {
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context) {
 
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numExtraArgs = (int) argsObj.get(context, "length");
+        Object[] parameters = context.getFunctionParameters();
+        int numExtraArgs = parameters.length;
         Object[] args = new Object[ this.boundArgs.length + numExtraArgs ];
 
         System.arraycopy(this.boundArgs, 0, args, 0, this.boundArgs.length);
 
         for ( int i = 0 ; i < numExtraArgs ; ++i ) {
-            Object v = argsObj.get( context, "" + i );
-            if ( v instanceof Reference ) {
+            Object v = parameters[i];
+            if ( v == null ) {
+                v = Types.UNDEFINED;
+            } else if ( v instanceof Reference ) {
                 v = ((Reference) v).getValue(context);
             }
             args[i + this.boundArgs.length ] = v;
@@ -1,37 +1,137 @@
 package org.dynjs.runtime;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 import org.dynjs.compiler.jit.JITBasicBlockCompiler;
+import org.dynjs.compiler.jit.JITScheduler;
+import org.dynjs.compiler.jit.JITScheduler.Tier;
+import org.dynjs.parser.Statement;
+import org.dynjs.runtime.interp.InterpretedBasicBlock;
 
+/**
+ * A basic block which starts out interpreted and is moved up through the JIT
+ * tiers as it gets hot.
+ *
+ * Hotness counts calls plus, while interpreted, loop iterations. The counters
+ * are deliberately not synchronized: a lost update only delays compilation.
+ */
 public class CompilableBasicBlock extends BasicBlockDelegate {
-    
-    private AtomicInteger counter = new AtomicInteger();
-    private String grist;
-    private JITBasicBlockCompiler compiler;
 
-    public CompilableBasicBlock(JITBasicBlockCompiler compiler, String grist, BasicBlock initial) {
+    private final JITBasicBlockCompiler compiler;
+    private final String grist;
+    private final Statement body;
+
+    private volatile Tier tier = Tier.INTERPRETED;
+    private volatile boolean compilationRequested;
+    private volatile boolean compilationFailed;
+    private int hotness;
+    private long warmupStart = System.nanoTime();
+
+    public CompilableBasicBlock(JITBasicBlockCompiler compiler, String grist, InterpretedBasicBlock initial) {
         super(initial);
         this.grist = grist;
         this.compiler = compiler;
+        this.body = initial.getBody();
     }
-    
+
     @Override
     public Completion call(ExecutionContext context) {
-        if ( counter.incrementAndGet() == 5 ) {
-            enqueueCompilationRequest(context);
+        Tier current = this.tier;
+        if (current == this.compiler.getTopTier()) {
+            return super.call(context);
+        }
+        countHotness(context);
+        if (current != Tier.INTERPRETED) {
+            return super.call(context);
+        }
+        CompilableBasicBlock outer = context.enterProfiledBlock(this);
+        try {
+            return super.call(context);
+        } finally {
+            context.exitProfiledBlock(outer);
+        }
+    }
+
+    void countBackedge(ExecutionContext context) {
+        countHotness(context);
+    }
+
+    private void countHotness(ExecutionContext context) {
+        // read once: promote() may run on a JIT thread at any point
+        Tier current = this.tier;
+        if (current == this.compiler.getTopTier()) {
+            // promoted while a loop in the interpreted code is still running
+            return;
+        }
+        if (this.compilationFailed) {
+            return;
+        }
+        Tier next = Tier.values()[current.ordinal() + 1];
+        int hotness = ++this.hotness;
+        if (!this.compilationRequested && hotness >= this.compiler.getThreshold(next)) {
+            this.compilationRequested = true;
+            if (!this.compiler.requestJitCompilation(context, this, next)) {
+                // queue is full; warm up again before asking again
+                cooled();
+            }
         }
-        return super.call(context);
     }
-    
+
     public String getGrist() {
         return this.grist;
     }
-    
-    protected void enqueueCompilationRequest(ExecutionContext context) {
-        this.compiler.requestJitCompilation( context, this );
+
+    public Statement getBody() {
+        return this.body;
+    }
+
+    public Tier getTier() {
+        return this.tier;
+    }
+
+    public int getHotness() {
+        return this.hotness;
+    }
+
+    public long getWarmupNanos() {
+        return System.nanoTime() - this.warmupStart;
+    }
+
+    /**
+     * Installs code compiled for {@code tier} and starts counting towards the next one.
+     */
+    public void promote(Tier tier, BasicBlock compiled) {
+        setDelegate(compiled);
+        this.tier = tier;
+        cooled();
+    }
+
+    /**
+     * Keeps this block at its current tier for good, after compiling it threw.
+     * Asking again would only fail again.
+     */
+    public void compilationFailed() {
+        this.compilationFailed = true;
+        this.compilationRequested = false;
+    }
+
+    public boolean hasCompilationFailed() {
+        return this.compilationFailed;
+    }
+
+    /**
+     * Forgets the hotness collected so far, after a request was refused or dropped.
+     */
+    public void cooled() {
+        this.hotness = 0;
+        this.warmupStart = System.nanoTime();
+        this.compilationRequested = false;
+    }
+
+    /**
+     * @return {@code true} if this block has not run since it had
+     *         {@code hotness}, and the request has waited long enough.
+     */
+    public boolean isColdSince(int hotness, JITScheduler.Request request) {
+        return this.hotness == hotness && request.getWaitingNanos() > JITScheduler.COLD_NANOS;
     }
-    
-    
 
 }
@@ -4,11 +4,14 @@ import org.dynjs.Config;
 import org.dynjs.compiler.CompilationContext;
 import org.dynjs.compiler.DefaultCompilationContext;
 import org.dynjs.compiler.JSCompiler;
+import org.dynjs.compiler.bytecode.CodeCache;
 import org.dynjs.debugger.Debugger;
 import org.dynjs.ir.Builder;
 import org.dynjs.parser.ast.ProgramTree;
+import org.dynjs.parser.ast.SourceUnit;
 import org.dynjs.parser.js.JavascriptParser;
 import org.dynjs.parser.js.ParserException;
+import org.dynjs.runtime.source.ClassLoaderSourceProvider;
 import org.dynjs.runtime.source.FileSourceProvider;
 import org.dynjs.runtime.source.StringSourceProvider;
 
@@ -23,7 +26,9 @@ public class Compiler {
     private CompilationContext compilationContext;
 
     private SourceProvider sourceProvider;
+    private String sourceText;
     private String fileName;
+    private ProgramCache programCache;
 
     private boolean forceStrict;
 
@@ -35,11 +40,21 @@ public class Compiler {
         this.config = config;
     }
 
-    public Compiler withContext(ExecutionContext context) {
+    public Compiler withContext(CompilationContext context) {
         this.compilationContext = context;
         return this;
     }
 
+    /**
+     * Reuses programs compiled from identical source strings or classpath
+     * resources. Sources given as files or other providers are always
+     * compiled.
+     */
+    public Compiler withProgramCache(ProgramCache programCache) {
+        this.programCache = programCache;
+        return this;
+    }
+
     public Compiler forceStrict() {
         return forceStrict(true);
     }
@@ -51,16 +66,23 @@ public class Compiler {
 
     public Compiler withSource(String source) {
         this.sourceProvider = new StringSourceProvider(source);
+        this.sourceText = source;
         return this;
     }
 
     public Compiler withSource(SourceProvider source) {
         this.sourceProvider = source;
+        this.sourceText = null;
+        if (source instanceof ClassLoaderSourceProvider) {
+            // classpath resources such as kernel.js do not change while the JVM runs
+            this.sourceText = ((ClassLoaderSourceProvider) source).getSource();
+        }
         return this;
     }
 
     public Compiler withSource(File source) throws IOException {
         this.sourceProvider = new FileSourceProvider(source);
+        this.sourceText = null;
         return this;
     }
 
@@ -70,7 +92,19 @@ public class Compiler {
     }
 
     public JSProgram compile() throws IOException {
-        JSProgram program = compile(parse());
+        if (this.programCache == null || this.sourceText == null) {
+            return compile(parse());
+        }
+        String source = this.sourceText;
+        boolean strict = this.forceStrict;
+        String name = this.fileName != null ? this.fileName : this.sourceProvider.getName();
+        JSProgram program = this.programCache.get(source, strict, name);
+        if (program == null) {
+            program = compile(parse());
+            this.programCache.put(source, strict, name, program);
+        } else {
+            this.fileName = null;
+        }
         return program;
     }
 
@@ -83,8 +117,22 @@ public class Compiler {
             } else {
                 this.fileName = this.sourceProvider.getName();
             }
-            source = this.sourceProvider.openReader();
-            ProgramTree tree = parser.parse(source, this.fileName, this.forceStrict);
+            CodeCache codeCache = compilationContext().getConfig().getCodeCache();
+            ProgramTree tree;
+            if (codeCache != null) {
+                // number statements so that code generated for them can be found again
+                String text = this.sourceText != null ? this.sourceText : this.sourceProvider.getSource();
+                source = new StringReader(text);
+                SourceUnit.begin(CodeCache.hashSource(text, this.fileName, this.forceStrict));
+                try {
+                    tree = parser.parse(source, this.fileName, this.forceStrict);
+                } finally {
+                    SourceUnit.end();
+                }
+            } else {
+                source = this.sourceProvider.openReader();
+                tree = parser.parse(source, this.fileName, this.forceStrict);
+            }
             tree.setSource( this.sourceProvider );
             this.fileName = null;
             return tree;
@@ -106,16 +154,29 @@ public class Compiler {
     }
 
 
+    /**
+     * Compiles {@code tree} with a block manager of its own rather than the
+     * caller's. Its generated classes can then be unloaded once the program
+     * and its functions are unreachable, and a cached program can be handed
+     * to any runtime.
+     */
     protected JSProgram compile(ProgramTree tree) {
+        return compile(new DefaultCompilationContext(compilationContext()), tree);
+    }
+
+    private JSProgram compile(CompilationContext context, ProgramTree tree) {
         // FIXME: getCompiler will go away so just add special IR check for now.
 
-        final Config.CompileMode compileMode = compilationContext().getConfig().getCompileMode();
+        final Config.CompileMode compileMode = context.getConfig().getCompileMode();
         if (compileMode == Config.CompileMode.IR) {
-            return Builder.compile(compilationContext(), tree);
+            JSProgram program = Builder.compile(context, tree);
+            if (program != null) {
+                return program;
+            }
         }
 
-        JSCompiler compiler = compilationContext().getCompiler();
-        return compiler.compileProgram(compilationContext(), tree, this.forceStrict);
+        JSCompiler compiler = context.getCompiler();
+        return compiler.compileProgram(context, tree, this.forceStrict);
     }
 
 }
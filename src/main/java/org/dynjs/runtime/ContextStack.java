@@ -0,0 +1,91 @@
+package org.dynjs.runtime;
+
+import java.util.Arrays;
+
+import org.dynjs.debugger.Debugger;
+
+/**
+ * The execution contexts currently active on one thread, innermost last.
+ * A stack is only ever touched by its owning thread; function execution
+ * contexts keep a reference to the stack they were pushed onto so calls
+ * made from them can reach it without going through a thread-local.
+ *
+ * @see ThreadContextManager
+ */
+public class ContextStack {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Thread owner;
+    private ExecutionContext[] frames = new ExecutionContext[INITIAL_CAPACITY];
+    private int size;
+
+    ContextStack(Thread owner) {
+        this.owner = owner;
+    }
+
+    public boolean isOwnedByCurrentThread() {
+        return this.owner == Thread.currentThread();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public ExecutionContext top() {
+        if (this.size == 0) {
+            return null;
+        }
+        return this.frames[this.size - 1];
+    }
+
+    public ExecutionContext bottom() {
+        if (this.size == 0) {
+            return null;
+        }
+        return this.frames[0];
+    }
+
+    /**
+     * Copies the active contexts, outermost first. Safe to call from the
+     * owning thread only; a sampler on another thread may see a torn view.
+     */
+    public ExecutionContext[] getFrames() {
+        return Arrays.copyOf(this.frames, this.size);
+    }
+
+    void push(ExecutionContext context) {
+        if (this.size == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.size * 2);
+        }
+        this.frames[this.size++] = context;
+        context.setContextStack(this);
+
+        Debugger d = context.getDebugger();
+        if (d != null) {
+            d.enterContext(context);
+        }
+    }
+
+    void pop() {
+        if (this.size == 0) {
+            throw new IllegalStateException("Cannot pop ExecutionContext from empty stack");
+        }
+        ExecutionContext head = this.frames[--this.size];
+        this.frames[this.size] = null;
+
+        if (this.size > 0 && head.isThrowInProgress()) {
+            this.frames[this.size - 1].addThrowStack(head.getThrowStack());
+        }
+
+        Debugger d = head.getDebugger();
+        if (d != null) {
+            d.exitContext(head);
+        }
+    }
+
+}
@@ -1,18 +1,44 @@
 package org.dynjs.runtime;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import org.dynjs.exception.ThrowException;
 
+/**
+ * Declarative environment record (10.2.1.1).
+ *
+ * Bindings are kept in parallel arrays in creation order, so the slot of a
+ * binding is stable for its lifetime. Deleted bindings leave an empty slot
+ * behind rather than shifting the ones after it. Code which resolved an
+ * identifier to a slot ahead of time reads and writes it through
+ * {@link #getSlotValue(int, String)} and {@link #setSlotValue(int, String, Object)}.
+ */
 public class DeclarativeEnvironmentRecord implements EnvironmentRecord {
 
-    private Map<String, PropertyDescriptor> mutableBindings = new HashMap<String, PropertyDescriptor>();
-    private Map<String, PropertyDescriptor> immutableBindings = new HashMap<String, PropertyDescriptor>();
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private static final byte CONFIGURABLE = 1;
+    private static final byte IMMUTABLE = 2;
+    private static final byte INITIALIZED = 4;
+
+    private String[] names;
+    private Object[] values;
+    private byte[] flags;
+    private int size;
+
+    public DeclarativeEnvironmentRecord() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DeclarativeEnvironmentRecord(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.names = new String[capacity];
+        this.values = new Object[capacity];
+    }
 
     @Override
     public boolean hasBinding(ExecutionContext context, String name) {
-        return this.mutableBindings.containsKey(name) || this.immutableBindings.containsKey(name);
+        return indexOf(name) >= 0;
     }
 
     @Override
@@ -22,10 +48,7 @@ public class DeclarativeEnvironmentRecord implements EnvironmentRecord {
             throw new AssertionError("10.2.1.1.2: Binding already exists for " + name);
         }
 
-        PropertyDescriptor desc = new PropertyDescriptor();
-        desc.setValue(Types.UNDEFINED);
-        desc.setConfigurable(configurable);
-        this.mutableBindings.put(name, desc);
+        add(name, Types.UNDEFINED, (configurable ? CONFIGURABLE : 0));
     }
 
     public void createMutableBinding(final String name, final boolean configurable) {
@@ -35,13 +58,13 @@ public class DeclarativeEnvironmentRecord implements EnvironmentRecord {
     @Override
     public void setMutableBinding(ExecutionContext context, String name, Object value, boolean strict) {
         // 10.2.1.1.3
-        if (!hasBinding(context, name)) {
+        int slot = indexOf(name);
+        if (slot < 0) {
             throw new AssertionError("10.2.1.1.3: No binding exists for " + name);
         }
 
-        if (this.mutableBindings.containsKey(name)) {
-            PropertyDescriptor desc = this.mutableBindings.get(name);
-            desc.setValue(value);
+        if (!isImmutable(slot)) {
+            this.values[slot] = value;
             return;
         }
 
@@ -56,65 +79,48 @@ public class DeclarativeEnvironmentRecord implements EnvironmentRecord {
 
         // FIXME: describe spec deviance
     public void assignMutableBinding(ExecutionContext context, String name, Object value, boolean configurable, boolean strict) {
-        final boolean exists = hasBinding(context, name);
-        if (!exists) {
-            PropertyDescriptor desc = new PropertyDescriptor();
-            desc.setValue(value);
-            desc.setConfigurable(configurable);
-            this.mutableBindings.put(name, desc);
-        } else {
-            PropertyDescriptor desc = this.mutableBindings.get(name);
-            desc.setValue(value);
-            return;
+        int slot = indexOf(name);
+        if (slot < 0) {
+            add(name, value, (configurable ? CONFIGURABLE : 0));
+        } else if (!isImmutable(slot)) {
+            this.values[slot] = value;
         }
     }
 
     @Override
     public Object getBindingValue(ExecutionContext context, String name, boolean strict) {
         // 10.2.1.1.4
-
-        if (!hasBinding(context, name)) {
+        int slot = indexOf(name);
+        if (slot < 0) {
             throw new AssertionError("10.2.1.1.4: No binding exists for " + name);
         }
 
-        PropertyDescriptor desc = this.immutableBindings.get(name);
-        if (desc != null && !desc.hasInitialized()) {
+        if (isImmutable(slot) && !hasFlag(slot, INITIALIZED)) {
             if (strict) {
                 throw new ThrowException(context, context.createTypeError(name + " is not initialized"));
             }
             return Types.UNDEFINED;
         }
 
-        if (desc != null) {
-            return desc.getValue();
-        }
-
-        desc = this.mutableBindings.get(name);
-
-        if (desc == null) {
-            return Types.UNDEFINED;
-        }
-
-        return desc.getValue();
+        return this.values[slot];
     }
 
     @Override
     public boolean deleteBinding(ExecutionContext context, String name) {
         // 10.2.1.1.5
-        PropertyDescriptor desc = this.immutableBindings.get(name);
-        if (desc == null) {
-            desc = this.mutableBindings.get(name);
-        }
-
-        if (desc == null) {
+        int slot = indexOf(name);
+        if (slot < 0) {
             return true;
         }
 
-        if (!desc.isConfigurable()) {
+        if (!hasFlag(slot, CONFIGURABLE)) {
             return false;
         }
 
-        return (this.mutableBindings.remove(name) != null);
+        this.names[slot] = null;
+        this.values[slot] = null;
+        this.flags[slot] = 0;
+        return true;
     }
 
     @Override
@@ -125,20 +131,94 @@ public class DeclarativeEnvironmentRecord implements EnvironmentRecord {
 
     public void createImmutableBinding(final String name) {
         // 10.2.1.1.7
-        PropertyDescriptor desc = new PropertyDescriptor();
-        desc.setValue(Types.UNDEFINED);
-        this.immutableBindings.put(name, desc);
-
+        add(name, Types.UNDEFINED, IMMUTABLE);
     }
 
     public void initializeImmutableBinding(String name, Object value) {
         // 10.2.1.1.8
-        PropertyDescriptor desc = this.immutableBindings.get(name);
-        desc.setValue(value);
-        desc.setInitialized(true);
+        int slot = indexOf(name);
+        this.values[slot] = value;
+        this.flags[slot] |= INITIALIZED;
     }
 
     public boolean isGlobal() {
         return false;
     }
+
+    // ----------------------------------------------------------------------
+
+    /**
+     * Returns the value in {@code slot} if it holds the mutable or initialized
+     * binding for {@code name}, or {@code null} if the caller needs to fall
+     * back to resolving by name.
+     */
+    public Object getSlotValue(int slot, String name) {
+        if (!isSlotFor(slot, name)) {
+            return null;
+        }
+        if (isImmutable(slot) && !hasFlag(slot, INITIALIZED)) {
+            return null;
+        }
+        return this.values[slot];
+    }
+
+    /**
+     * Stores {@code value} in {@code slot} if it holds the mutable binding for
+     * {@code name}.
+     *
+     * @return {@code false} if the caller needs to fall back to resolving by name.
+     */
+    public boolean setSlotValue(int slot, String name, Object value) {
+        if (!isSlotFor(slot, name) || isImmutable(slot)) {
+            return false;
+        }
+        this.values[slot] = value;
+        return true;
+    }
+
+    private boolean isSlotFor(int slot, String name) {
+        if (slot >= this.size) {
+            return false;
+        }
+        String slotName = this.names[slot];
+        return slotName == name || (slotName != null && slotName.equals(name));
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < this.size; ++i) {
+            String each = this.names[i];
+            if (each == name || (each != null && each.equals(name))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void add(String name, Object value, int bindingFlags) {
+        if (this.size == this.names.length) {
+            int capacity = this.size * 2;
+            this.names = Arrays.copyOf(this.names, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+            if (this.flags != null) {
+                this.flags = Arrays.copyOf(this.flags, capacity);
+            }
+        }
+        if (bindingFlags != 0 && this.flags == null) {
+            this.flags = new byte[this.names.length];
+        }
+        this.names[this.size] = name;
+        this.values[this.size] = value;
+        if (this.flags != null) {
+            this.flags[this.size] = (byte) bindingFlags;
+        }
+        ++this.size;
+    }
+
+    private boolean isImmutable(int slot) {
+        return hasFlag(slot, IMMUTABLE);
+    }
+
+    private boolean hasFlag(int slot, byte flag) {
+        return this.flags != null && (this.flags[slot] & flag) != 0;
+    }
 }
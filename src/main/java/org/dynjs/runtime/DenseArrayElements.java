@@ -0,0 +1,190 @@
+package org.dynjs.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Contiguous element storage for {@link DynArray}.
+ *
+ * Elements held here are implicitly writable, enumerable and configurable
+ * data properties. Storage starts out as a {@code long[]}, moves to a
+ * {@code double[]} while only doubles have been stored, and falls back to an
+ * {@code Object[]} as soon as anything else is stored or a hole is punched.
+ * In {@code Object[]} mode a {@code null} slot is a hole.
+ */
+class DenseArrayElements {
+
+    private static final int LONGS = 0;
+    private static final int DOUBLES = 1;
+    private static final int OBJECTS = 2;
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int MIN_GAP = 16;
+
+    private int kind = LONGS;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+    private int size;
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    boolean has(long index) {
+        if (index < 0 || index >= this.size) {
+            return false;
+        }
+        return this.kind != OBJECTS || this.objects[(int) index] != null;
+    }
+
+    /**
+     * Returns the element at {@code index}, or {@code null} for holes and
+     * indexes beyond the dense range.
+     */
+    Object get(long index) {
+        if (index < 0 || index >= this.size) {
+            return null;
+        }
+        int i = (int) index;
+        switch (this.kind) {
+        case LONGS:
+            return this.longs[i];
+        case DOUBLES:
+            return this.doubles[i];
+        default:
+            return this.objects[i];
+        }
+    }
+
+    /**
+     * Whether {@code index} is close enough to the end of the dense range to
+     * be stored here rather than in the sparse property map.
+     */
+    boolean accepts(long index) {
+        return index >= 0 && index <= this.size + Math.max(MIN_GAP, this.size >> 1) && index < Integer.MAX_VALUE - 8;
+    }
+
+    /**
+     * Stores {@code value} at {@code index}, which must satisfy {@link #accepts(long)}.
+     */
+    void set(long index, Object value) {
+        int i = (int) index;
+        if (i > this.size) {
+            // punching holes
+            toObjects();
+        }
+        ensureCapacity(i + 1);
+
+        if (this.kind == LONGS) {
+            if (value instanceof Long) {
+                this.longs[i] = (Long) value;
+            } else if (value instanceof Double && onlyHoles(i)) {
+                toDoubles();
+                this.doubles[i] = (Double) value;
+            } else {
+                toObjects();
+                this.objects[i] = value;
+            }
+        } else if (this.kind == DOUBLES) {
+            if (value instanceof Double) {
+                this.doubles[i] = (Double) value;
+            } else {
+                toObjects();
+                this.objects[i] = value;
+            }
+        } else {
+            this.objects[i] = value;
+        }
+
+        if (i >= this.size) {
+            this.size = i + 1;
+        }
+    }
+
+    /**
+     * Removes the element at {@code index}, leaving a hole unless it was the last one.
+     */
+    void remove(long index) {
+        if (index < 0 || index >= this.size) {
+            return;
+        }
+        int i = (int) index;
+        if (i == this.size - 1) {
+            truncate(i);
+            return;
+        }
+        toObjects();
+        this.objects[i] = null;
+    }
+
+    void truncate(long newSize) {
+        if (newSize >= this.size) {
+            return;
+        }
+        int n = (int) newSize;
+        if (this.kind == OBJECTS) {
+            Arrays.fill(this.objects, n, this.size, null);
+        }
+        this.size = n;
+        while (this.size > 0 && this.kind == OBJECTS && this.objects[this.size - 1] == null) {
+            --this.size;
+        }
+    }
+
+    private boolean onlyHoles(int upTo) {
+        return this.size == 0 && upTo == 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int current = capacity();
+        if (capacity <= current) {
+            return;
+        }
+        int newCapacity = Math.max(MIN_CAPACITY, Math.max(capacity, current + (current >> 1)));
+        switch (this.kind) {
+        case LONGS:
+            this.longs = (this.longs == null ? new long[newCapacity] : Arrays.copyOf(this.longs, newCapacity));
+            break;
+        case DOUBLES:
+            this.doubles = Arrays.copyOf(this.doubles, newCapacity);
+            break;
+        default:
+            this.objects = Arrays.copyOf(this.objects, newCapacity);
+        }
+    }
+
+    private int capacity() {
+        switch (this.kind) {
+        case LONGS:
+            return (this.longs == null ? 0 : this.longs.length);
+        case DOUBLES:
+            return this.doubles.length;
+        default:
+            return this.objects.length;
+        }
+    }
+
+    private void toDoubles() {
+        this.doubles = new double[capacity()];
+        this.longs = null;
+        this.kind = DOUBLES;
+    }
+
+    private void toObjects() {
+        if (this.kind == OBJECTS) {
+            return;
+        }
+        Object[] converted = new Object[Math.max(MIN_CAPACITY, capacity())];
+        for (int i = 0; i < this.size; ++i) {
+            converted[i] = get(i);
+        }
+        this.objects = converted;
+        this.longs = null;
+        this.doubles = null;
+        this.kind = OBJECTS;
+    }
+}
@@ -15,10 +15,19 @@
  */
 package org.dynjs.runtime;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.dynjs.exception.ThrowException;
 
 public class DynArray extends DynObject {
 
+    // Elements which are plain writable/enumerable/configurable data properties
+    // live here; everything else (accessors, frozen elements, far-away indexes)
+    // lives in the inherited property map.
+    private final DenseArrayElements dense = new DenseArrayElements();
+    private boolean sparseIndices;
+
     public DynArray(GlobalContext globalContext) {
         super(globalContext);
         setClassName("Array");
@@ -27,13 +36,111 @@ public class DynArray extends DynObject {
         setPrototype(globalContext.getPrototypeFor("Array"));
     }
 
+    @Override
+    public Object get(ExecutionContext context, String name) {
+        Object value = this.dense.get(arrayIndex(name));
+        if (value != null && !hasExternalIndexedData()) {
+            return value;
+        }
+        return super.get(context, name);
+    }
+
+    @Override
+    public Object getIndexed(ExecutionContext context, long index) {
+        if (!hasExternalIndexedData()) {
+            Object value = this.dense.get(index);
+            if (value != null) {
+                return value;
+            }
+        }
+        return super.getIndexed(context, index);
+    }
+
+    @Override
+    public Object getOwnProperty(ExecutionContext context, String name, boolean dupe) {
+        Object value = this.dense.get(arrayIndex(name));
+        if (value != null) {
+            return PropertyDescriptor.newDataPropertyDescriptor(value, true, true, true);
+        }
+        return super.getOwnProperty(context, name, dupe);
+    }
+
+    @Override
+    public void put(ExecutionContext context, String name, Object value, boolean shouldThrow) {
+        long index = arrayIndex(name);
+        if (value != null && this.dense.has(index) && !hasExternalIndexedData()) {
+            this.dense.set(index, value);
+            return;
+        }
+        super.put(context, name, value, shouldThrow);
+    }
+
+    @Override
+    public void putIndexed(ExecutionContext context, long index, Object value, boolean shouldThrow) {
+        if (value != null && !hasExternalIndexedData()) {
+            if (this.dense.has(index)) {
+                this.dense.set(index, value);
+                return;
+            }
+            if (index == this.dense.size() && appendDenseElement(context, index, value)) {
+                return;
+            }
+        }
+        super.putIndexed(context, index, value, shouldThrow);
+    }
+
+    private boolean appendDenseElement(ExecutionContext context, long index, Object value) {
+        // 8.12.5 would end up defining a plain data property, provided nothing
+        // on this array or its prototypes already claims the index
+        if (!isExtensible() || !this.dense.accepts(index) || getShape().hasIndexKeys()) {
+            return false;
+        }
+        JSObject proto = getPrototype();
+        while (proto != null) {
+            if (!(proto instanceof DynObject) || ((DynObject) proto).hasIndexedProperties()) {
+                return false;
+            }
+            proto = proto.getPrototype();
+        }
+        PropertyDescriptor lenDesc = (PropertyDescriptor) super.getOwnProperty(context, "length", false);
+        long len = (long) lenDesc.getValue();
+        if (index >= len && lenDesc.hasWritable() && !lenDesc.isWritable()) {
+            return false;
+        }
+        this.dense.set(index, value);
+        if (index >= len) {
+            lenDesc.setValue(index + 1);
+        }
+        return true;
+    }
+
+    @Override
+    boolean hasIndexedProperties() {
+        return hasExternalIndexedData() || !this.dense.isEmpty() || getShape().hasIndexKeys();
+    }
+
+    @Override
+    public boolean delete(ExecutionContext context, String name, boolean shouldThrow) {
+        long index = arrayIndex(name);
+        if (this.dense.has(index)) {
+            this.dense.remove(index);
+            return true;
+        }
+        return super.delete(context, name, shouldThrow);
+    }
+
     @Override
     public boolean defineOwnProperty(ExecutionContext context, String name, PropertyDescriptor desc, boolean shouldThrow) {
         // 15.4.5.1
-        PropertyDescriptor oldLenDesc = (PropertyDescriptor) getOwnProperty(context, "length");
-        long oldLen = (long) oldLenDesc.getValue();
+        long index = arrayIndex(name);
+        if (index >= 0) {
+            return defineIndexedProperty(context, index, name, desc, shouldThrow);
+        }
 
         if (name.equals("length")) {
+            PropertyDescriptor oldLenDesc = (PropertyDescriptor) getOwnProperty(context, "length");
+            long oldLen = (long) oldLenDesc.getValue();
+
             if (desc.getValue() == null ) {
                 return super.defineOwnProperty(context, "length", desc, shouldThrow);
             }
@@ -66,9 +173,18 @@ public class DynArray extends DynObject {
                 return false;
             }
 
+            // dense elements are always configurable, but deleting stops at the first
+            // element from the top which is not (step 3.l) so keep those below it
+            if (this.sparseIndices) {
+                this.dense.truncate(Math.max(newLen, highestUndeletableIndex(context, newLen) + 1));
+            } else {
+                this.dense.truncate(newLen);
+                oldLen = newLen;
+            }
+
             while (newLen < oldLen) {
                 oldLen = oldLen - 1;
-                boolean deleteSucceeded = delete(context, "" + oldLen, false);
+                boolean deleteSucceeded = delete(context, NumberToString.toString(oldLen), false);
 
                 if (!deleteSucceeded) {
                     newLenDesc.setValue(oldLen + 1);
@@ -90,32 +206,153 @@ public class DynArray extends DynObject {
             return true;
         } // 'length'
 
-        if (isArrayIndex(context, name)) {
-            Long index = Types.toUint32(context, name);
-            if (index.longValue() >= oldLen && oldLenDesc.hasWritable() && !oldLenDesc.isWritable()) {
-                return reject(context, shouldThrow);
+        return super.defineOwnProperty(context, name, desc, shouldThrow);
+    }
+
+    // Highest index at or above from held in the property map which is not configurable, or -1
+    private long highestUndeletableIndex(ExecutionContext context, long from) {
+        long highest = -1;
+        NameEnumerator names = super.getOwnPropertyNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            long index = arrayIndex(name);
+            if (index >= from && index > highest) {
+                Object desc = super.getOwnProperty(context, name, false);
+                if (desc instanceof PropertyDescriptor && !((PropertyDescriptor) desc).isConfigurable()) {
+                    highest = index;
+                }
             }
+        }
+        return highest;
+    }
+
+    private boolean defineIndexedProperty(ExecutionContext context, long index, String name, PropertyDescriptor desc, boolean shouldThrow) {
+        // 15.4.5.1 (step 4)
+        PropertyDescriptor lenDesc = (PropertyDescriptor) super.getOwnProperty(context, "length", false);
+        long oldLen = (long) lenDesc.getValue();
+        if (index >= oldLen && lenDesc.hasWritable() && !lenDesc.isWritable()) {
+            return reject(context, shouldThrow);
+        }
+
+        if (!defineDenseElement(context, index, name, desc)) {
+            this.sparseIndices = true;
             boolean succeeded = super.defineOwnProperty(context, name, desc, shouldThrow);
             if (!succeeded) {
                 return reject(context, shouldThrow);
             }
+        }
 
-            if (index.longValue() >= oldLen && index.longValue() < 4294967295L) {
-                oldLenDesc.setValue(index.longValue() + 1);
-                super.defineOwnProperty(context, "length", oldLenDesc, false);
+        if (index >= oldLen && index < 4294967295L) {
+            // length is a writable data property here, update it in place
+            lenDesc.setValue(index + 1);
+        }
+        return true;
+    }
+
+    private boolean defineDenseElement(ExecutionContext context, long index, String name, PropertyDescriptor desc) {
+        Object value = desc.getValue();
+        if (this.dense.has(index)) {
+            if (value != null && !desc.isAccessorDescriptor() && !clears(desc)) {
+                this.dense.set(index, value);
+                return true;
             }
-            return true;
+            // move it to the property map and let 8.12.9 sort out the attributes
+            Object current = this.dense.get(index);
+            this.dense.remove(index);
+            this.sparseIndices = true;
+            super.defineOwnProperty(context, name, PropertyDescriptor.newDataPropertyDescriptor(current, true, true, true), false);
+            return false;
         }
 
-        return super.defineOwnProperty(context, name, desc, shouldThrow);
+        if (value == null || desc.isAccessorDescriptor() || !isExtensible() || !this.dense.accepts(index)) {
+            return false;
+        }
+        if (!(desc.hasWritable() && desc.isWritable() && desc.hasEnumerable() && desc.isEnumerable() && desc.hasConfigurable() && desc.isConfigurable())) {
+            return false;
+        }
+        if (this.sparseIndices && super.getOwnProperty(context, name, false) != Types.UNDEFINED) {
+            return false;
+        }
+        this.dense.set(index, value);
+        return true;
+    }
+
+    private static boolean clears(PropertyDescriptor desc) {
+        return (desc.hasWritable() && !desc.isWritable())
+                || (desc.hasEnumerable() && !desc.isEnumerable())
+                || (desc.hasConfigurable() && !desc.isConfigurable());
+    }
+
+    @Override
+    public NameEnumerator getOwnPropertyNames() {
+        return withDenseIndices(super.getOwnPropertyNames());
+    }
+
+    @Override
+    public NameEnumerator getOwnEnumerablePropertyNames() {
+        return withDenseIndices(super.getOwnEnumerablePropertyNames());
+    }
+
+    @Override
+    protected List<String> enumerablePropertyNames() {
+        List<String> names = super.enumerablePropertyNames();
+        if (this.dense.isEmpty()) {
+            return names;
+        }
+        // dense elements change without touching the slots, so this list is not cached
+        return withDenseIndices(names);
+    }
+
+    private NameEnumerator withDenseIndices(NameEnumerator names) {
+        if (this.dense.isEmpty()) {
+            return names;
+        }
+        return new NameEnumerator(withDenseIndices(names.toList()));
     }
-    
+
+    private List<String> withDenseIndices(List<String> names) {
+        List<String> all = new ArrayList<>(this.dense.size() + names.size());
+        for (int i = 0; i < this.dense.size(); ++i) {
+            if (this.dense.has(i)) {
+                all.add(NumberToString.toString(i));
+            }
+        }
+        all.addAll(names);
+        return all;
+    }
+
     public long length() {
         return Types.toInt32(null, this.get(null, "length"));
     }
 
     protected boolean isArrayIndex(ExecutionContext context, String name) {
-        return name.equals(Types.toUint32(context, name).toString());
+        return arrayIndex(name) >= 0;
+    }
+
+    /**
+     * Returns the array index (15.4) denoted by {@code name}, or -1.
+     */
+    static long arrayIndex(String name) {
+        int len = name.length();
+        if (len == 0 || len > 10) {
+            return -1;
+        }
+        char first = name.charAt(0);
+        if (first < '0' || first > '9' || (first == '0' && len > 1)) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < len; ++i) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        if (index >= 4294967295L) {
+            return -1;
+        }
+        return index;
     }
 
 }
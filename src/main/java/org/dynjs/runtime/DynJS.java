@@ -24,6 +24,10 @@ public class DynJS {
 
     private ExecutionContext defaultExecutionContext;
 
+    // Set once any context of this runtime gets a debugger; until then
+    // contexts need not search their parents for one.
+    private volatile boolean debuggerAttached;
+
     public DynJS() {
         this(new Config());
     }
@@ -43,22 +47,19 @@ public class DynJS {
 
 
     private void loadKernel() {
-        // FIXME only works for non-IR atm
-        if (!Config.CompileMode.IR.equals(this.config.getCompileMode())) {
-            try {
-                switch (this.config.getKernelMode()) {
-                    case INTERNAL:
-                        // Load pure-JS kernel
-                        //this.evaluate(getClass().getResourceAsStream("/dynjs/kernel.js"));
-                        this.evaluate(new ClassLoaderSourceProvider(getClass().getClassLoader(), "dynjs/kernel.js"));
-                        break;
-                    case EXTERNAL:
-                        this.evaluate(new FileSourceProvider(new File("src/main/resources/dynjs/kernel.js")));
-                        break;
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
+        try {
+            switch (this.config.getKernelMode()) {
+                case INTERNAL:
+                    // Load pure-JS kernel
+                    //this.evaluate(getClass().getResourceAsStream("/dynjs/kernel.js"));
+                    this.evaluate(new ClassLoaderSourceProvider(getClass().getClassLoader(), "dynjs/kernel.js"));
+                    break;
+                case EXTERNAL:
+                    this.evaluate(new FileSourceProvider(new File("src/main/resources/dynjs/kernel.js")));
+                    break;
             }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
@@ -74,6 +75,14 @@ public class DynJS {
         return this.compiler;
     }
 
+    public boolean isDebuggerAttached() {
+        return this.debuggerAttached;
+    }
+
+    void debuggerAttached() {
+        this.debuggerAttached = true;
+    }
+
     public JITCompiler getJitCompiler() {
         return jitCompiler;
     }
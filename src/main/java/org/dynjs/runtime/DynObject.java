@@ -21,13 +21,39 @@ import org.dynjs.exception.ThrowException;
 
 public class DynObject implements JSObject, Map<String, Object> {
 
+    private static final PropertyDescriptor[] EMPTY_SLOTS = new PropertyDescriptor[0];
+
+    // Classes which do not override the 8.12 property algorithms, and whose
+    // own properties may therefore be read straight out of their slots.
+    private static final ClassValue<Boolean> DEFAULT_PROPERTY_ACCESS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("get", ExecutionContext.class, String.class).getDeclaringClass() == DynObject.class
+                        && type.getMethod("getOwnProperty", ExecutionContext.class, String.class, boolean.class).getDeclaringClass() == DynObject.class
+                        && type.getMethod("getProperty", ExecutionContext.class, String.class, boolean.class).getDeclaringClass() == DynObject.class
+                        && type.getMethod("put", ExecutionContext.class, String.class, Object.class, boolean.class).getDeclaringClass() == DynObject.class
+                        && type.getMethod("defineOwnProperty", ExecutionContext.class, String.class, PropertyDescriptor.class, boolean.class).getDeclaringClass() == DynObject.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     private String className;
     private JSObject prototype = null;
 
-    private final Map<String, PropertyDescriptor> properties = new LinkedHashMap<>();
+    private Shape shape = Shape.ROOT;
+    private PropertyDescriptor[] slots = EMPTY_SLOTS;
     private boolean extensible = true;
     private ExternalIndexedData externalIndexedData;
 
+    // Enumerable names of this object and its prototypes, in for-in order, and
+    // the inherited list they were built on. Never modified once built, so
+    // enumerators share it instead of copying.
+    private List<String> enumerableNames;
+    private List<String> inheritedEnumerableNames;
+
     // Used by globalObject constructor and for ShadowObjectLinker
     public DynObject() {
         setClassName("Object");
@@ -38,7 +64,11 @@ public class DynObject implements JSObject, Map<String, Object> {
     public DynObject(DynObject parent) {
         this.className = parent.className;
         this.prototype = parent.prototype;
-        this.properties.putAll( parent.properties );
+        this.shape = parent.shape.copy();
+        this.slots = new PropertyDescriptor[parent.slots.length];
+        for (int i = 0; i < this.shape.size(); ++i) {
+            this.slots[i] = parent.slots[i].duplicate();
+        }
         this.extensible = parent.extensible;
         this.externalIndexedData = parent.externalIndexedData;
 
@@ -60,6 +90,7 @@ public class DynObject implements JSObject, Map<String, Object> {
 
     public void setPrototype(final JSObject prototype) {
         this.prototype = prototype;
+        this.enumerableNames = null;
     }
 
     @Override
@@ -84,7 +115,7 @@ public class DynObject implements JSObject, Map<String, Object> {
     public Object get(ExecutionContext context, String name) {
         if ( this.externalIndexedData != null ) {
             Long num = Types.toUint32(context, name);
-            if ( name.equals( num.toString() ) ) {
+            if ( name.equals( NumberToString.toString( num ) ) ) {
                 Object value = this.externalIndexedData.get(num);
                 if ( value == null ) {
                     return Types.UNDEFINED;
@@ -113,7 +144,24 @@ public class DynObject implements JSObject, Map<String, Object> {
         }
 
         JSFunction getter = (JSFunction) g;
-        return context.call(getter, this);
+        Object value = context.call(getter, this);
+        if (value instanceof Rope) {
+            // accessors such as the v8-compat Error 'stack' are read from Java too
+            return value.toString();
+        }
+        return value;
+    }
+
+    @Override
+    public Object getIndexed(ExecutionContext context, long index) {
+        if ( this.externalIndexedData != null ) {
+            Object value = this.externalIndexedData.get(index);
+            if ( value == null ) {
+                return Types.UNDEFINED;
+            }
+            return value;
+        }
+        return get(context, NumberToString.toString(index));
     }
 
     @Override
@@ -125,14 +173,16 @@ public class DynObject implements JSObject, Map<String, Object> {
     public Object getOwnProperty(ExecutionContext context, String name, boolean dupe) {
         // 8.12.1 (step 1)
         // Returns PropertyDescriptor or UNDEFINED
-        PropertyDescriptor x = this.properties.get(name);
+        int slot = this.shape.lookup(name);
 
-        // System.err.println("x1: " + name + " > " + x);
+        // System.err.println("x1: " + name + " > " + slot);
 
-        if (x == null) {
+        if (slot < 0) {
             return Types.UNDEFINED;
         }
 
+        PropertyDescriptor x = this.slots[slot];
+
         if (!dupe) {
             return x;
         }
@@ -172,7 +222,7 @@ public class DynObject implements JSObject, Map<String, Object> {
 
         if ( this.externalIndexedData != null ) {
             Long num = Types.toUint32(context, name);
-            if ( name.equals( num.toString() ) ) {
+            if ( name.equals( NumberToString.toString( num ) ) ) {
                 Object externValue = value;
                 if ( value == Types.UNDEFINED || value == Types.NULL ) {
                     externValue = null;
@@ -184,6 +234,15 @@ public class DynObject implements JSObject, Map<String, Object> {
 
         // 8.12.5
         // System.err.println("PUT " + name + " > " + value);
+        if (value != null && hasDefaultPropertyAccess()) {
+            // Writable own data property: [[DefineOwnProperty]] would only replace the value
+            int slot = this.shape.lookup(name);
+            if (slot >= 0 && this.slots[slot].isWritableDataDescriptor()) {
+                this.slots[slot].setValue(value);
+                return;
+            }
+        }
+
         if (!canPut(context, name)) {
             // System.err.println("CANNOT PUT");
             if (shouldThrow) {
@@ -213,6 +272,19 @@ public class DynObject implements JSObject, Map<String, Object> {
         }
     }
 
+    @Override
+    public void putIndexed(ExecutionContext context, long index, Object value, boolean shouldThrow) {
+        if ( this.externalIndexedData != null ) {
+            Object externValue = value;
+            if ( value == Types.UNDEFINED || value == Types.NULL ) {
+                externValue = null;
+            }
+            this.externalIndexedData.put( index, externValue );
+            return;
+        }
+        put(context, NumberToString.toString(index), value, shouldThrow);
+    }
+
     @Override
     public boolean canPut(ExecutionContext context, String name) {
         // 8.12.4
@@ -252,7 +324,7 @@ public class DynObject implements JSObject, Map<String, Object> {
     @Override
     public boolean delete(ExecutionContext context, String name, boolean shouldThrow) {
         // 8.12.7
-        if (!this.properties.containsKey(name)) {
+        if (this.shape.lookup(name) < 0) {
             return true;
         }
         Object d = getOwnProperty(context, name, false);
@@ -263,7 +335,7 @@ public class DynObject implements JSObject, Map<String, Object> {
         PropertyDescriptor desc = (PropertyDescriptor) d;
 
         if (desc.isConfigurable()) {
-            this.properties.remove(name);
+            removeSlot(name);
             return true;
         }
 
@@ -286,7 +358,7 @@ public class DynObject implements JSObject, Map<String, Object> {
             Object toString = get(context, "toString");
             if (toString instanceof JSFunction) {
                 Object result = context.call((JSFunction) toString, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -294,7 +366,7 @@ public class DynObject implements JSObject, Map<String, Object> {
             Object valueOf = get(context, "valueOf");
             if (valueOf instanceof JSFunction) {
                 Object result = context.call((JSFunction) valueOf, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -303,7 +375,7 @@ public class DynObject implements JSObject, Map<String, Object> {
             Object valueOf = get(context, "valueOf");
             if (valueOf instanceof JSFunction) {
                 Object result = context.call((JSFunction) valueOf, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -311,7 +383,7 @@ public class DynObject implements JSObject, Map<String, Object> {
             Object toString = get(context, "toString");
             if (toString instanceof JSFunction) {
                 Object result = context.call((JSFunction) toString, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -331,7 +403,7 @@ public class DynObject implements JSObject, Map<String, Object> {
                 return reject(context, shouldThrow);
             } else {
                 // System.err.println("DEF.initial: " + name + " > " + newDesc);
-                this.properties.put(name, desc.duplicateWithDefaults());
+                putSlot(name, desc.duplicateWithDefaults());
                 return true;
             }
         }
@@ -420,7 +492,7 @@ public class DynObject implements JSObject, Map<String, Object> {
         }
 
         newDesc.copyAll(desc);
-        this.properties.put(name, newDesc);
+        putSlot(name, newDesc);
         return true;
 
         /*
@@ -449,6 +521,82 @@ public class DynObject implements JSObject, Map<String, Object> {
         return "[object Object]";
     }
 
+    // ------------------------------------------------------------------------
+    // Shape and slots
+    // ------------------------------------------------------------------------
+
+    public Shape getShape() {
+        return this.shape;
+    }
+
+    /**
+     * Returns the descriptor stored in {@code slot} of the current shape.
+     * Callers are responsible for guarding on {@link #getShape()}.
+     */
+    public PropertyDescriptor getSlot(int slot) {
+        return this.slots[slot];
+    }
+
+    /**
+     * Whether own properties of this object may be read and written through
+     * its shape without going through overridden 8.12 algorithms.
+     */
+    public boolean hasDefaultPropertyAccess() {
+        return this.externalIndexedData == null && DEFAULT_PROPERTY_ACCESS.get(getClass());
+    }
+
+    /**
+     * Whether this object may hold, or intercept access to, properties named
+     * like array indexes. Conservative: {@code false} only when no such
+     * property can be found on the object itself.
+     */
+    boolean hasIndexedProperties() {
+        return !hasDefaultPropertyAccess() || this.shape.hasIndexKeys();
+    }
+
+    /**
+     * Adds an own property without going through 8.12.9, for objects setting
+     * up their initial properties. {@code desc} must be fully populated. It is
+     * stored as is, so it may only be shared between objects if it is not
+     * writable.
+     */
+    protected void defineInitialProperty(String name, PropertyDescriptor desc) {
+        if (this.shape.lookup(name) >= 0 || !this.extensible) {
+            defineOwnProperty(null, name, desc, false);
+            return;
+        }
+        putSlot(name, desc);
+    }
+
+    private void putSlot(String name, PropertyDescriptor desc) {
+        int slot = this.shape.lookup(name);
+        if (slot < 0) {
+            slot = this.shape.size();
+            this.shape = this.shape.addProperty(name);
+            if (slot == this.slots.length) {
+                this.slots = Arrays.copyOf(this.slots, Math.max(4, slot * 2));
+            }
+        }
+        this.slots[slot] = desc;
+        this.enumerableNames = null;
+    }
+
+    private void removeSlot(String name) {
+        Shape oldShape = this.shape;
+        PropertyDescriptor[] oldSlots = this.slots;
+        Shape newShape = oldShape.removeProperty(name);
+        PropertyDescriptor[] newSlots = new PropertyDescriptor[Math.max(4, newShape.size())];
+        int j = 0;
+        for (int i = 0; i < oldShape.size(); ++i) {
+            if (!oldShape.getKey(i).equals(name)) {
+                newSlots[j++] = oldSlots[i];
+            }
+        }
+        this.shape = newShape;
+        this.slots = newSlots;
+        this.enumerableNames = null;
+    }
+
     protected boolean reject(ExecutionContext context, boolean shouldThrow) {
         if (shouldThrow) {
             throw new ThrowException(context, context.createTypeError("unable to perform operation"));
@@ -459,8 +607,8 @@ public class DynObject implements JSObject, Map<String, Object> {
     @Override
     public NameEnumerator getOwnPropertyNames() {
         ArrayList<String> names = new ArrayList<String>();
-        for (String name : this.properties.keySet()) {
-            names.add(name);
+        for (int i = 0; i < this.shape.size(); ++i) {
+            names.add(this.shape.getKey(i));
         }
         return new NameEnumerator(names);
     }
@@ -468,10 +616,9 @@ public class DynObject implements JSObject, Map<String, Object> {
     @Override
     public NameEnumerator getOwnEnumerablePropertyNames() {
         ArrayList<String> names = new ArrayList<String>();
-        for (String name : this.properties.keySet()) {
-            PropertyDescriptor desc = this.properties.get(name);
-            if (desc.isEnumerable()) {
-                names.add(name);
+        for (int i = 0; i < this.shape.size(); ++i) {
+            if (this.slots[i].isEnumerable()) {
+                names.add(this.shape.getKey(i));
             }
         }
         return new NameEnumerator(names);
@@ -479,19 +626,45 @@ public class DynObject implements JSObject, Map<String, Object> {
 
     @Override
     public NameEnumerator getAllEnumerablePropertyNames() {
-        ArrayList<String> names = new ArrayList<String>();
-        if (this.prototype != null) {
-            names.addAll(this.prototype.getAllEnumerablePropertyNames().toList());
+        return new NameEnumerator(enumerablePropertyNames());
+    }
+
+    /**
+     * Returns the names {@link #getAllEnumerablePropertyNames()} enumerates as
+     * an unmodifiable list. It is rebuilt only when a property of this object
+     * is added, redefined or removed, or when the inherited names change.
+     */
+    protected List<String> enumerablePropertyNames() {
+        List<String> inherited;
+        if (this.prototype instanceof DynObject) {
+            inherited = ((DynObject) this.prototype).enumerablePropertyNames();
+        } else if (this.prototype != null) {
+            inherited = this.prototype.getAllEnumerablePropertyNames().toList();
+        } else {
+            inherited = Collections.emptyList();
         }
-        for (String name : this.properties.keySet()) {
-            PropertyDescriptor desc = this.properties.get(name);
-            if (desc.isEnumerable()) {
+
+        if (this.enumerableNames != null && inherited == this.inheritedEnumerableNames) {
+            return this.enumerableNames;
+        }
+
+        ArrayList<String> names = new ArrayList<String>(inherited.size() + this.shape.size());
+        names.addAll(inherited);
+        Set<String> shadowed = inherited.isEmpty() ? Collections.<String>emptySet() : new HashSet<String>(inherited);
+        for (int i = 0; i < this.shape.size(); ++i) {
+            String name = this.shape.getKey(i);
+            if (shadowed.contains(name)) {
+                if (!this.slots[i].isEnumerable()) {
+                    names.remove(name);
+                }
+            } else if (this.slots[i].isEnumerable()) {
                 names.add(name);
-            } else {
-                names.remove(name);
             }
         }
-        return new NameEnumerator(names);
+
+        this.enumerableNames = Collections.unmodifiableList(names);
+        this.inheritedEnumerableNames = inherited;
+        return this.enumerableNames;
     }
 
     @Override
@@ -525,12 +698,12 @@ public class DynObject implements JSObject, Map<String, Object> {
 
     @Override
     public int size() {
-        return getAllEnumerablePropertyNames().size();
+        return enumerablePropertyNames().size();
     }
 
     @Override
     public boolean isEmpty() {
-        return getAllEnumerablePropertyNames().isEmpty();
+        return enumerablePropertyNames().isEmpty();
     }
 
     @Override
@@ -602,12 +775,12 @@ public class DynObject implements JSObject, Map<String, Object> {
 
         @Override
         public int size() {
-            return getAllEnumerablePropertyNames().size();
+            return enumerablePropertyNames().size();
         }
 
         @Override
         public boolean isEmpty() {
-            return getAllEnumerablePropertyNames().isEmpty();
+            return enumerablePropertyNames().isEmpty();
         }
 
         @Override
@@ -617,17 +790,17 @@ public class DynObject implements JSObject, Map<String, Object> {
 
         @Override
         public Iterator<String> iterator() {
-            return getAllEnumerablePropertyNames().toList().iterator();
+            return enumerablePropertyNames().iterator();
         }
 
         @Override
         public Object[] toArray() {
-            return getAllEnumerablePropertyNames().toList().toArray();
+            return enumerablePropertyNames().toArray();
         }
 
         @Override
         public <T> T[] toArray(T[] a) {
-            return getAllEnumerablePropertyNames().toList().toArray(a);
+            return enumerablePropertyNames().toArray(a);
         }
 
         @Override
@@ -677,7 +850,7 @@ public class DynObject implements JSObject, Map<String, Object> {
         }
         
         public String toString() {
-            return getAllEnumerablePropertyNames().toList().toString();
+            return enumerablePropertyNames().toString();
         }
     }
 }
@@ -14,6 +14,7 @@ import org.dynjs.parser.ast.FunctionDeclaration;
 import org.dynjs.parser.ast.VariableDeclaration;
 import org.dynjs.runtime.BlockManager.Entry;
 import org.dynjs.runtime.builtins.types.error.StackElement;
+import org.dynjs.runtime.wrapper.JavascriptFunction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -78,6 +79,16 @@ public class ExecutionContext implements CompilationContext {
     private BlockManager blockManager;
     private Debugger debugger;
 
+    // Stack this context was last pushed onto; see ThreadContextManager.
+    private ContextStack contextStack;
+
+    // Native function running directly in this context, if any; see callNative().
+    private AbstractNativeFunction nativeFunction;
+    private Object nativeThis;
+
+    // Interpreted block currently collecting hotness in this context, if any.
+    private CompilableBasicBlock profiledBlock;
+
     public ExecutionContext(DynJS runtime, ExecutionContext parent, LexicalEnvironment lexicalEnvironment, LexicalEnvironment variableEnvironment, Object thisBinding, boolean strict) {
         this.runtime = runtime;
         this.parent = parent;
@@ -95,6 +106,26 @@ public class ExecutionContext implements CompilationContext {
         return functionParameters;
     }
 
+    CompilableBasicBlock enterProfiledBlock(CompilableBasicBlock block) {
+        CompilableBasicBlock outer = this.profiledBlock;
+        this.profiledBlock = block;
+        return outer;
+    }
+
+    void exitProfiledBlock(CompilableBasicBlock outer) {
+        this.profiledBlock = outer;
+    }
+
+    /**
+     * Called by interpreted loops on each iteration, so that a block spending
+     * its time in a loop gets hot without being called often.
+     */
+    public void countBackedge() {
+        if (this.profiledBlock != null) {
+            this.profiledBlock.countBackedge(this);
+        }
+    }
+
     public Object getFunctionParameter(int offset) {
         return getFunctionParameters()[offset];
     }
@@ -181,6 +212,48 @@ public class ExecutionContext implements CompilationContext {
         return result;
     }
 
+    /**
+     * Reads an identifier which scope analysis resolved to {@code slot} of the
+     * declarative record {@code depth} environments out, without creating a
+     * Reference. Falls back to regular identifier resolution if the
+     * environment does not hold the expected binding.
+     */
+    public Object getSlotValue(int depth, int slot, String name) {
+        DeclarativeEnvironmentRecord record = slotRecord(depth);
+        if (record != null) {
+            Object value = record.getSlotValue(slot, name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return resolve(name).getValue(this);
+    }
+
+    /**
+     * Writes an identifier which scope analysis resolved to {@code slot} of
+     * the declarative record {@code depth} environments out.
+     *
+     * @return {@code value}, as the result of the assignment.
+     */
+    public Object putSlotValue(int depth, int slot, String name, Object value) {
+        DeclarativeEnvironmentRecord record = slotRecord(depth);
+        if (record == null || !record.setSlotValue(slot, name, value)) {
+            resolve(name).putValue(this, value);
+        }
+        return value;
+    }
+
+    private DeclarativeEnvironmentRecord slotRecord(int depth) {
+        LexicalEnvironment env = this.lexicalEnvironment;
+        for (int i = 0; i < depth && env != null; ++i) {
+            env = env.getOuter();
+        }
+        if (env != null && env.getRecord() instanceof DeclarativeEnvironmentRecord) {
+            return (DeclarativeEnvironmentRecord) env.getRecord();
+        }
+        return null;
+    }
+
     public void setLineNumber(int lineNumber) {
         this.lineNumber = lineNumber;
     }
@@ -201,6 +274,7 @@ public class ExecutionContext implements CompilationContext {
         }
 
         this.debugger = debugger;
+        this.runtime.debuggerAttached();
         JSObject globalObject = getGlobalContext().getObject();
         String debuggerName = getRuntime().getConfig().getExposeDebugAs();
         Object currentDebugger = globalObject.get(this, debuggerName);
@@ -211,6 +285,9 @@ public class ExecutionContext implements CompilationContext {
     }
 
     public Debugger getDebugger() {
+        if (!this.runtime.isDebuggerAttached()) {
+            return null;
+        }
         if (this.debugger != null) {
             return this.debugger;
         }
@@ -231,6 +308,14 @@ public class ExecutionContext implements CompilationContext {
         return null;
     }
 
+    public ContextStack getContextStack() {
+        return this.contextStack;
+    }
+
+    void setContextStack(ContextStack contextStack) {
+        this.contextStack = contextStack;
+    }
+
     public Completion execute(JSProgram program) {
         return execute(program, null);
     }
@@ -285,11 +370,14 @@ public class ExecutionContext implements CompilationContext {
     }
 
     public Object call(boolean isConstructor, Object functionReference, JSFunction function, Object self, Object... args) {
+        if (!isConstructor && function instanceof AbstractNativeFunction && ((AbstractNativeFunction) function).isDirectCallable()) {
+            return callNative(functionReference, (AbstractNativeFunction) function, self, args);
+        }
         // 13.2.1
         ExecutionContext fnContext = null;
         try {
             fnContext = createFunctionExecutionContext(isConstructor, functionReference, function, self, args);
-            ThreadContextManager.pushContext(fnContext);
+            ThreadContextManager.pushContext(this, fnContext);
             try {
                 Object value = function.call(fnContext);
                 if (value == null) {
@@ -312,10 +400,71 @@ public class ExecutionContext implements CompilationContext {
             recordThrow(t, fnContext);
             throw t;
         } finally {
-            ThreadContextManager.popContext();
+            if (fnContext != null && fnContext.contextStack != null) {
+                ThreadContextManager.popContext(fnContext);
+            }
+        }
+    }
+
+    /**
+     * Calls a native function within this context instead of a function
+     * execution context of its own. A frame for the native function is only
+     * built if it throws, to record where the throw came from.
+     *
+     * @see AbstractNativeFunction#isDirectCallable()
+     */
+    public Object callNative(AbstractNativeFunction function, Object self, Object... args) {
+        return callNative(null, function, self, args);
+    }
+
+    public Object callNative(Object functionReference, AbstractNativeFunction function, Object self, Object... args) {
+        Object thisBinding = thisBindingFor(function, self);
+        AbstractNativeFunction outerFunction = this.nativeFunction;
+        Object outerThis = this.nativeThis;
+        this.nativeFunction = function;
+        this.nativeThis = thisBinding;
+        try {
+            Object value = function.call(this, thisBinding, function.normalizeArguments(this, args));
+            if (value == null) {
+                return Types.NULL;
+            }
+            return value;
+        } catch (ThrowException t) {
+            if (this.throwStack == null) {
+                if (t.getCause() != null) {
+                    recordThrow(t.getCause(), createNativeFrame());
+                } else if (t.getValue() instanceof Throwable) {
+                    recordThrow((Throwable) t.getValue(), createNativeFrame());
+                }
+            }
+            throw t;
+        } catch (Throwable t) {
+            if (this.throwStack == null) {
+                recordThrow(t, createNativeFrame());
+            }
+            throw t;
+        } finally {
+            this.nativeFunction = outerFunction;
+            this.nativeThis = outerThis;
         }
     }
 
+    /**
+     * Builds the frame the native function currently running in this context
+     * would have had, for stack traces.
+     */
+    private ExecutionContext createNativeFrame() {
+        JSFunction function = this.nativeFunction;
+        LexicalEnvironment scope = function.getScope();
+        ExecutionContext frame = new ExecutionContext(this.runtime, this, scope, scope, this.nativeThis, function.isStrict());
+        frame.fileName = function.getFileName();
+        frame.source = function.getSource();
+        frame.debugContext = function.getDebugContext();
+        frame.function = function;
+        frame.setFunctionParameters(new Object[0]);
+        return frame;
+    }
+
     public Object construct(Reference reference, Object... args) {
         Object value = reference.getValue(this);
         if (value instanceof JSFunction) {
@@ -434,29 +583,38 @@ public class ExecutionContext implements CompilationContext {
     }
 
 
-    public ExecutionContext createFunctionExecutionContext(boolean isConstructor, Object functionReference, JSFunction function, Object thisArg, Object... arguments) {
+    private Object thisBindingFor(JSFunction function, Object thisArg) {
         // 10.4.3
-        Object thisBinding = null;
         if (function.isStrict()) {
-            thisBinding = thisArg;
-        } else {
-            if (thisArg == null || thisArg == Types.NULL || thisArg == Types.UNDEFINED) {
-                thisBinding = getGlobalContext().getObject();
-            } else if (!(thisArg instanceof JSObject)) {
-                // thisBinding = Types.toObject(this, thisArg);
-                thisBinding = Types.toThisObject(this, thisArg);
-            } else {
-                thisBinding = thisArg;
-            }
+            return thisArg;
+        }
+        if (thisArg == null || thisArg == Types.NULL || thisArg == Types.UNDEFINED) {
+            return getGlobalContext().getObject();
         }
+        if (!(thisArg instanceof JSObject)) {
+            // return Types.toObject(this, thisArg);
+            return Types.toThisObject(this, thisArg);
+        }
+        return thisArg;
+    }
+
+    public ExecutionContext createFunctionExecutionContext(boolean isConstructor, Object functionReference, JSFunction function, Object thisArg, Object... arguments) {
+        Object thisBinding = thisBindingFor(function, thisArg);
 
         LexicalEnvironment scope = function.getScope();
-        LexicalEnvironment localEnv = LexicalEnvironment.newDeclarativeEnvironment(scope);
+        // params, function declarations, arguments and vars
+        int bindings = function.getFormalParameters().length + function.getFunctionDeclarations().size() + (function.isArgumentsObjectNeeded() ? 1 : 0)
+                + function.getVariableDeclarations().size();
+        LexicalEnvironment localEnv = LexicalEnvironment.newDeclarativeEnvironment(scope, bindings);
 
         ExecutionContext context = new ExecutionContext(this.runtime, this, localEnv, localEnv, thisBinding, function.isStrict());
         context.isConstructor = isConstructor;
         context.source = function.getSource();
         context.fileName = function.getFileName();
+        if (function instanceof JavascriptFunction) {
+            // nested blocks live with the program the function came from, not the caller's
+            context.blockManager = ((JavascriptFunction) function).getBlockManager();
+        }
         if (!(function instanceof IRJSFunction && !(function instanceof JITCompiler.CompiledFunction))) {
             context.performDeclarationBindingInstantiation(function, arguments);
         }
@@ -543,7 +701,7 @@ public class ExecutionContext implements CompilationContext {
         performFunctionDeclarationBindings(function, false);
 
         // * 6
-        if (!env.hasBinding(this, "arguments")) {
+        if (function.isArgumentsObjectNeeded() && !env.hasBinding(this, "arguments")) {
             // * 7
             Arguments argsObj = createArgumentsObject(function, arguments);
 
@@ -690,6 +848,16 @@ public class ExecutionContext implements CompilationContext {
         return new Reference(propertyName, base, isStrict());
     }
 
+    public Reference createElementReference(Object base, Object identifier) {
+        if (base instanceof JSObject) {
+            long index = Types.toArrayIndex(identifier);
+            if (index >= 0) {
+                return new IndexedReference(index, (JSObject) base, isStrict());
+            }
+        }
+        return createPropertyReference(base, Types.toString(this, identifier));
+    }
+
     public Entry retrieveBlockEntry(int statementNumber) {
         return getBlockManager().retrieve(statementNumber);
     }
@@ -728,6 +896,9 @@ public class ExecutionContext implements CompilationContext {
     }
 
     public void collectStackElements(List<StackElement> elements) {
+        if (this.nativeFunction != null) {
+            elements.add(createNativeFrame().getStackElement());
+        }
         elements.add(getStackElement());
         if (parent != null) {
             parent.collectStackElements(elements);
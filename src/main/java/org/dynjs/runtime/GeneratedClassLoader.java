@@ -0,0 +1,67 @@
+package org.dynjs.runtime;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loader for one group of generated classes, such as those compiled for a
+ * program. A class is only unloaded together with its loader, so keeping
+ * each group apart from the long-lived {@link DynamicClassLoader} of the
+ * config lets its code be reclaimed once nothing uses it any more.
+ */
+public class GeneratedClassLoader extends DynamicClassLoader {
+
+    private static final AtomicLong liveClassCount = new AtomicLong();
+    private static final ReferenceQueue<GeneratedClassLoader> collected = new ReferenceQueue<>();
+    private static final Set<Tracker> trackers = Collections.newSetFromMap(new ConcurrentHashMap<Tracker, Boolean>());
+
+    private final Tracker tracker;
+
+    public GeneratedClassLoader(ClassLoader parentClassLoader) {
+        super(parentClassLoader);
+        expunge();
+        this.tracker = new Tracker(this);
+        trackers.add(this.tracker);
+    }
+
+    @Override
+    public Class<?> define(String className, byte[] bytecode) {
+        Class<?> cls = super.define(className, bytecode);
+        this.tracker.classCount.incrementAndGet();
+        liveClassCount.incrementAndGet();
+        return cls;
+    }
+
+    /**
+     * Returns the number of generated classes whose loader has not been
+     * garbage collected yet.
+     */
+    public static long getLiveClassCount() {
+        expunge();
+        return liveClassCount.get();
+    }
+
+    private static void expunge() {
+        Reference<? extends GeneratedClassLoader> ref;
+        while ((ref = collected.poll()) != null) {
+            Tracker tracker = (Tracker) ref;
+            trackers.remove(tracker);
+            liveClassCount.addAndGet(-tracker.classCount.get());
+        }
+    }
+
+    private static class Tracker extends WeakReference<GeneratedClassLoader> {
+
+        private final AtomicInteger classCount = new AtomicInteger();
+
+        Tracker(GeneratedClassLoader loader) {
+            super(loader, collected);
+        }
+    }
+}
@@ -5,11 +5,14 @@ import org.dynjs.runtime.builtins.*;
 import org.dynjs.runtime.builtins.Math;
 import org.dynjs.runtime.builtins.types.*;
 import org.dynjs.runtime.builtins.types.error.V8StackGetter;
+import org.dynjs.runtime.builtins.types.regexp.RegExpCache;
 import org.dynjs.runtime.java.JSAdapter;
 import org.dynjs.runtime.java.JavaPackage;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GlobalContext {
 
@@ -27,8 +30,15 @@ public class GlobalContext {
 
     private final DynJS runtime;
     private List<AbstractBuiltinType> builtinTypes = new ArrayList<>();
+    // builtin types (or their LazyValues) by name, whatever scripts later assign to the globals
+    private Map<String, Object> builtinTypesByName = new HashMap<>();
     private JSObject objectPrototype;
+    private JSObject functionPrototype;
+    private JSFunction throwTypeError;
+    private PropertyDescriptor throwTypeErrorProperty;
     private final JSObject object;
+    private final LexicalEnvironment nativeScope;
+    private final RegExpCache regExpCache = new RegExpCache();
 
     public GlobalContext(DynJS runtime) {
         this( runtime, new DynObject() );
@@ -37,40 +47,105 @@ public class GlobalContext {
     public GlobalContext(DynJS runtime, JSObject object) {
         this.object = object;
         this.runtime = runtime;
+        this.nativeScope = LexicalEnvironment.newObjectEnvironment(object, false, null);
 
         initialize();
     }
 
     private void initialize() {
 
-        defineReadOnlyGlobalProperty("__throwTypeError", new ThrowTypeError(this), false);
+        this.throwTypeError = new ThrowTypeError(this);
+        this.throwTypeErrorProperty = PropertyDescriptor.newAccessorPropertyDescriptor(this.throwTypeError, this.throwTypeError);
+        defineReadOnlyGlobalProperty("__throwTypeError", this.throwTypeError, false);
 
         // ----------------------------------------
         // Built-in types
         // ----------------------------------------
 
+        // Object and Function are needed to create anything else; the
+        // other types are only created when first looked up.
+
         registerBuiltinType("Object", new BuiltinObject(this));
 
         this.objectPrototype = getPrototypeFor("Object");
         this.object.setPrototype(this.objectPrototype);
 
         registerBuiltinType("Function", new BuiltinFunction(this));
-        registerBuiltinType("Boolean", new BuiltinBoolean(this));
-        registerBuiltinType("Number", new BuiltinNumber(this));
-        registerBuiltinType("Array", new BuiltinArray(this));
-        registerBuiltinType("String", new BuiltinString(this));
-        registerBuiltinType("RegExp", new BuiltinRegExp(this));
-        registerBuiltinType("Date", new BuiltinDate(this));
-        registerBuiltinType("Error", new BuiltinError(this));
-        registerBuiltinType("ReferenceError", new BuiltinReferenceError(this));
-        registerBuiltinType("RangeError", new BuiltinRangeError(this));
-        registerBuiltinType("SyntaxError", new BuiltinSyntaxError(this));
-        registerBuiltinType("TypeError", new BuiltinTypeError(this));
-        registerBuiltinType("URIError", new BuiltinURIError(this));
-        registerBuiltinType("EvalError", new BuiltinEvalError(this));
+
+        this.functionPrototype = getPrototypeFor("Function");
+
+        registerLazyBuiltinType("Boolean", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinBoolean(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("Number", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinNumber(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("Array", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinArray(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("String", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinString(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("RegExp", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinRegExp(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("Date", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinDate(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("Error", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinError(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("ReferenceError", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinReferenceError(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("RangeError", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinRangeError(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("SyntaxError", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinSyntaxError(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("TypeError", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinTypeError(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("URIError", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinURIError(GlobalContext.this));
+            }
+        });
+        registerLazyBuiltinType("EvalError", new LazyValue() {
+            protected Object compute() {
+                return initializeBuiltinType(new BuiltinEvalError(GlobalContext.this));
+            }
+        });
 
         if (this.runtime.getConfig().isRhinoCompatible()) {
-            registerBuiltinType("JSAdapter", new JSAdapter(this));
+            registerLazyBuiltinType("JSAdapter", new LazyValue() {
+                protected Object compute() {
+                    return initializeBuiltinType(new JSAdapter(GlobalContext.this));
+                }
+            });
         }
 
         if(this.runtime.getConfig().isV8Compatible()) {
@@ -85,45 +160,141 @@ public class GlobalContext {
 
         defineReadOnlyGlobalProperty("undefined", Types.UNDEFINED, false);
 
-        defineGlobalProperty("parseFloat", new ParseFloat(this), true);
-        defineGlobalProperty("parseInt", new ParseInt(this), true);
-        defineGlobalProperty("eval", new Eval(this), true);
-        defineGlobalProperty("isNaN", new IsNaN(this), true);
-        defineGlobalProperty("isFinite", new IsFinite(this), true);
-
-        defineGlobalProperty("encodeURI", new EncodeUri(this), true);
-        defineGlobalProperty("decodeURI", new DecodeUri(this), true);
-        defineGlobalProperty("encodeURIComponent", new EncodeUriComponent(this), true);
-        defineGlobalProperty("decodeURIComponent", new DecodeUriComponent(this), true);
+        defineGlobalProperty("parseFloat", new LazyValue() {
+            protected Object compute() {
+                return new ParseFloat(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("parseInt", new LazyValue() {
+            protected Object compute() {
+                return new ParseInt(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("eval", new LazyValue() {
+            protected Object compute() {
+                return new Eval(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("isNaN", new LazyValue() {
+            protected Object compute() {
+                return new IsNaN(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("isFinite", new LazyValue() {
+            protected Object compute() {
+                return new IsFinite(GlobalContext.this);
+            }
+        }, true);
+
+        defineGlobalProperty("encodeURI", new LazyValue() {
+            protected Object compute() {
+                return new EncodeUri(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("decodeURI", new LazyValue() {
+            protected Object compute() {
+                return new DecodeUri(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("encodeURIComponent", new LazyValue() {
+            protected Object compute() {
+                return new EncodeUriComponent(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("decodeURIComponent", new LazyValue() {
+            protected Object compute() {
+                return new DecodeUriComponent(GlobalContext.this);
+            }
+        }, true);
 
         if (this.runtime.getConfig().isCommonJSCompatible()) {
-            defineGlobalProperty("require", new Require(this), true);
+            defineGlobalProperty("require", new LazyValue() {
+                protected Object compute() {
+                    return new Require(GlobalContext.this);
+                }
+            }, true);
         }
-        defineGlobalProperty("include", new Include(this), true);
-        defineGlobalProperty("load", new Include(this), true); // hackety hack
-        defineGlobalProperty("escape", new Escape(this), true);
-        defineGlobalProperty("unescape", new Unescape(this), true);
-        defineGlobalProperty("print", new Print(this), true);
+        defineGlobalProperty("include", new LazyValue() {
+            protected Object compute() {
+                return new Include(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("load", new LazyValue() {
+            protected Object compute() {
+                return new Include(GlobalContext.this); // hackety hack
+            }
+        }, true);
+        defineGlobalProperty("escape", new LazyValue() {
+            protected Object compute() {
+                return new Escape(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("unescape", new LazyValue() {
+            protected Object compute() {
+                return new Unescape(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("print", new LazyValue() {
+            protected Object compute() {
+                return new Print(GlobalContext.this);
+            }
+        }, true);
         defineReadOnlyGlobalProperty("dynjs", new DynJSBuiltin(this.runtime), false);
 
         // ----------------------------------------
         // Built-in global objects
         // ----------------------------------------
 
-        this.object.put(null, "JSON", new JSON(this), false);
-        defineGlobalProperty("Math", new Math(this), true);
-        defineGlobalProperty("Intl", new Intl(this), true);
+        defineGlobalProperty("JSON", new LazyValue() {
+            protected Object compute() {
+                return new JSON(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("Math", new LazyValue() {
+            protected Object compute() {
+                return new Math(GlobalContext.this);
+            }
+        }, true);
+        defineGlobalProperty("Intl", new LazyValue() {
+            protected Object compute() {
+                return new Intl(GlobalContext.this);
+            }
+        }, true);
 
         // ----------------------------------------
         // Java integration
         // ----------------------------------------
 
-        defineGlobalProperty("Packages", new JavaPackage(this, null), true );
-        defineGlobalProperty("java",     new JavaPackage(this, "java"), true);
-        defineGlobalProperty("javax",    new JavaPackage(this, "javax"), true);
-        defineGlobalProperty("org",      new JavaPackage(this, "org"), true);
-        defineGlobalProperty("com",      new JavaPackage(this, "com"), true);
-        defineGlobalProperty("io",       new JavaPackage(this, "io"), true);
+        defineGlobalProperty("Packages", new LazyValue() {
+            protected Object compute() {
+                return new JavaPackage(GlobalContext.this, null);
+            }
+        }, true);
+        defineGlobalProperty("java", new LazyValue() {
+            protected Object compute() {
+                return new JavaPackage(GlobalContext.this, "java");
+            }
+        }, true);
+        defineGlobalProperty("javax", new LazyValue() {
+            protected Object compute() {
+                return new JavaPackage(GlobalContext.this, "javax");
+            }
+        }, true);
+        defineGlobalProperty("org", new LazyValue() {
+            protected Object compute() {
+                return new JavaPackage(GlobalContext.this, "org");
+            }
+        }, true);
+        defineGlobalProperty("com", new LazyValue() {
+            protected Object compute() {
+                return new JavaPackage(GlobalContext.this, "com");
+            }
+        }, true);
+        defineGlobalProperty("io", new LazyValue() {
+            protected Object compute() {
+                return new JavaPackage(GlobalContext.this, "io");
+            }
+        }, true);
 
         defineGlobalProperty("System",   System.class, true);
     }
@@ -132,6 +303,17 @@ public class GlobalContext {
         this.object.defineOwnProperty(null, name, PropertyDescriptor.newDataPropertyDescriptor(type, true, true, true), false);
         this.object.defineOwnProperty(null, "__Builtin_" + name, PropertyDescriptor.newDataPropertyDescriptor(type, true, true, false), false);
         this.builtinTypes.add(type);
+        this.builtinTypesByName.put(name, type);
+    }
+
+    /**
+     * Registers a type created and initialized by {@code type} the first time
+     * either of its global names is read.
+     */
+    private void registerLazyBuiltinType(String name, final LazyValue type) {
+        this.object.defineOwnProperty(null, name, PropertyDescriptor.newDataPropertyDescriptor(type, true, true, true), false);
+        this.object.defineOwnProperty(null, "__Builtin_" + name, PropertyDescriptor.newDataPropertyDescriptor(type, true, true, false), false);
+        this.builtinTypesByName.put(name, type);
     }
 
     private void defineGlobalProperty(final String name, final Object value) {
@@ -152,11 +334,16 @@ public class GlobalContext {
 
     private void initializeBuiltinTypes() {
         for (AbstractBuiltinType each : this.builtinTypes) {
-            each.setPrototype(getPrototypeFor("Function"));
-            each.initialize(this);
+            initializeBuiltinType(each);
         }
     }
 
+    private AbstractBuiltinType initializeBuiltinType(AbstractBuiltinType type) {
+        type.setPrototype(this.functionPrototype);
+        type.initialize(this);
+        return type;
+    }
+
     // ----------------------------------------------------------------------
     // ----------------------------------------------------------------------
 
@@ -168,12 +355,46 @@ public class GlobalContext {
         return this.objectPrototype;
     }
 
+    /**
+     * The original Function.prototype, or {@code null} while the Function
+     * type itself is being created.
+     */
+    public JSObject getFunctionPrototype() {
+        return this.functionPrototype;
+    }
+
+    /**
+     * Scope of native functions, which only ever see the global object.
+     */
+    public LexicalEnvironment getNativeScope() {
+        return this.nativeScope;
+    }
+
+    public RegExpCache getRegExpCache() {
+        return this.regExpCache;
+    }
+
     public DynJS getRuntime() {
         return this.runtime;
     }
 
+    /**
+     * Returns the prototype of the builtin type {@code type}. Builtins are
+     * found through the references kept when they were registered, so a
+     * script assigning to the global of that name does not change what
+     * builtin objects inherit from.
+     */
     public JSObject getPrototypeFor(String type) {
-        Object typeObj = this.object.get(null, type);
+        Object typeObj = this.builtinTypesByName.get(type);
+        if (typeObj instanceof LazyValue) {
+            // A type asks for its own prototype while creating it (new DynArray() in BuiltinArray)
+            if (((LazyValue) typeObj).isComputing()) {
+                return null;
+            }
+            typeObj = ((LazyValue) typeObj).get();
+        } else if (typeObj == null) {
+            typeObj = this.object.get(null, type);
+        }
         if (typeObj == Types.UNDEFINED) {
             return null;
         }
@@ -185,7 +406,15 @@ public class GlobalContext {
     }
 
     public JSFunction getThrowTypeError() {
-        return (JSFunction) this.object.get( null, "__throwTypeError" );
+        return this.throwTypeError;
+    }
+
+    /**
+     * The non-configurable 'caller' and 'arguments' accessor of strict
+     * functions (13.2 step 19), shared between all of them.
+     */
+    public PropertyDescriptor getThrowTypeErrorProperty() {
+        return this.throwTypeErrorProperty;
     }
 
     public JSFunction getType(String name) {
@@ -0,0 +1,59 @@
+package org.dynjs.runtime;
+
+/**
+ * Property reference to an array-index-named property of an object, created
+ * for member expressions with numeric keys. The index is carried as a
+ * {@code long} and only turned into a property name when somebody asks.
+ */
+public class IndexedReference extends Reference {
+
+    private final long index;
+    private String referencedName;
+
+    public IndexedReference(long index, JSObject base, boolean strict) {
+        super(null, base, strict);
+        this.index = index;
+    }
+
+    public long getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public String getReferencedName() {
+        if (this.referencedName == null) {
+            this.referencedName = NumberToString.toString(this.index);
+        }
+        return this.referencedName;
+    }
+
+    @Override
+    public boolean hasPrimitiveBase() {
+        return false;
+    }
+
+    @Override
+    public boolean isPropertyReference() {
+        return true;
+    }
+
+    @Override
+    public boolean isUnresolvableReference() {
+        return false;
+    }
+
+    @Override
+    public Object getValue(ExecutionContext context) {
+        return ((JSObject) getBase()).getIndexed(context, this.index);
+    }
+
+    @Override
+    public void putValue(ExecutionContext context, Object value) {
+        ((JSObject) getBase()).putIndexed(context, this.index, value, isStrictReference());
+    }
+
+    public String toString() {
+        return "[IndexedReference: index=" + this.index + "; base=" + getBase() + " (" + getBase().getClass().getName() + ")]";
+    }
+
+}
@@ -3,6 +3,8 @@ package org.dynjs.runtime;
 public interface JSFunction extends JSObject, JSCallable, JSCode {
     String[] getFormalParameters();
 
+    boolean isArgumentsObjectNeeded();
+
     LexicalEnvironment getScope();
 
     boolean hasInstance(ExecutionContext context, Object obj);
@@ -12,6 +12,8 @@ public interface JSObject {
 
     Object get(ExecutionContext context, String name);
 
+    Object getIndexed(ExecutionContext context, long index);
+
     Object getOwnProperty(ExecutionContext context, String name);
     Object getOwnProperty(ExecutionContext context, String name, boolean dupe);
 
@@ -22,6 +24,8 @@ public interface JSObject {
 
     void put(ExecutionContext context, String name, Object value, boolean shouldThrow);
 
+    void putIndexed(ExecutionContext context, long index, Object value, boolean shouldThrow);
+
     boolean canPut(ExecutionContext context, String name);
 
     boolean delete(ExecutionContext context, String name, boolean shouldThrow);
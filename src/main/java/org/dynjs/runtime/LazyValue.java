@@ -0,0 +1,59 @@
+package org.dynjs.runtime;
+
+/**
+ * Value of a data property which is only created the first time the property
+ * is read, such as a builtin which a script may never use. Stored as the
+ * value of a {@link PropertyDescriptor}, whose {@link PropertyDescriptor#getValue()}
+ * replaces it with what it computes.
+ *
+ * The computed value is remembered, so descriptors duplicated before the
+ * first read all see the same object. It is computed at most once even when
+ * several threads read it first; they wait for the one computing it.
+ */
+public abstract class LazyValue {
+
+    private volatile Object value;
+    // guarded by this; only ever true for the thread holding the lock
+    private boolean computing;
+
+    protected abstract Object compute();
+
+    /**
+     * Returns the value, computing it if needed.
+     *
+     * @throws IllegalStateException if {@link #compute()} reads the value it
+     *         is computing; check {@link #isComputing()} first where that can happen
+     */
+    public Object get() {
+        Object value = this.value;
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            if (this.value == null) {
+                if (this.computing) {
+                    throw new IllegalStateException("lazy value read while it is being computed");
+                }
+                this.computing = true;
+                try {
+                    this.value = compute();
+                } finally {
+                    this.computing = false;
+                }
+            }
+            return this.value;
+        }
+    }
+
+    public boolean isComputed() {
+        return this.value != null;
+    }
+
+    /**
+     * Whether the calling thread is inside {@link #compute()}.
+     */
+    public synchronized boolean isComputing() {
+        return this.computing;
+    }
+
+}
@@ -6,6 +6,10 @@ public class LexicalEnvironment {
         return new LexicalEnvironment(new DeclarativeEnvironmentRecord(), outer);
     }
 
+    public static LexicalEnvironment newDeclarativeEnvironment(LexicalEnvironment outer, int capacity) {
+        return new LexicalEnvironment(new DeclarativeEnvironmentRecord(capacity), outer);
+    }
+
     public static LexicalEnvironment newObjectEnvironment(JSObject object, boolean provideThis, LexicalEnvironment outer) {
         return new LexicalEnvironment(new ObjectEnvironmentRecord(object, provideThis), outer);
     }
@@ -0,0 +1,259 @@
+package org.dynjs.runtime;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * ToString applied to the Number type (9.8.1), and the related formatting of
+ * Number.prototype.toPrecision (15.7.4.7).
+ *
+ * Integral values, which are by far the most common, are formatted directly;
+ * the strings for small non-negative integers are shared. Other values take
+ * their shortest round-tripping digits from {@link Double#toString(double)}
+ * and are laid out following 9.8.1 in a single pass.
+ */
+public final class NumberToString {
+
+    public static final int SMALL_INT_CACHE_SIZE = 1024;
+
+    private static final String[] SMALL_INTS = new String[SMALL_INT_CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < SMALL_INT_CACHE_SIZE; ++i) {
+            SMALL_INTS[i] = Integer.toString(i).intern();
+        }
+    }
+
+    /** Doubles up to 2^53 in magnitude are formatted as integers when integral. */
+    private static final double MAX_EXACT_INTEGER = 9007199254740992.0;
+
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private NumberToString() {
+    }
+
+    public static String toString(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return toString(value.longValue());
+        }
+        return toString(value.doubleValue());
+    }
+
+    public static String toString(long value) {
+        if (value >= 0 && value < SMALL_INT_CACHE_SIZE) {
+            return SMALL_INTS[(int) value];
+        }
+        if (value < -MAX_EXACT_LONG || value > MAX_EXACT_LONG) {
+            // beyond what a Number holds exactly; format it as one
+            return toString((double) value);
+        }
+        return Long.toString(value);
+    }
+
+    public static String toString(double value) {
+        if (value != value) {
+            return "NaN";
+        }
+        if (value == 0) {
+            // both +0 and -0
+            return "0";
+        }
+        if (value == Double.POSITIVE_INFINITY) {
+            return "Infinity";
+        }
+        if (value == Double.NEGATIVE_INFINITY) {
+            return "-Infinity";
+        }
+        if (value >= -MAX_EXACT_INTEGER && value <= MAX_EXACT_INTEGER && value == (long) value) {
+            return toString((long) value);
+        }
+
+        StringBuilder out = new StringBuilder(25);
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        Digits digits = Digits.shortest(value);
+        format(out, digits.chars, digits.count, digits.exponent);
+        return out.toString();
+    }
+
+    /**
+     * 15.7.4.7 steps 8 to 13, for a finite {@code value}.
+     */
+    public static String toPrecision(double value, int precision) {
+        StringBuilder out = new StringBuilder(precision + 8);
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+
+        char[] digits = new char[precision];
+        int e;
+        if (value == 0) {
+            Arrays.fill(digits, '0');
+            e = 0;
+        } else {
+            BigDecimal rounded = new BigDecimal(value).round(new MathContext(precision, RoundingMode.HALF_UP));
+            String unscaled = rounded.unscaledValue().toString();
+            int len = Math.min(unscaled.length(), precision);
+            unscaled.getChars(0, len, digits, 0);
+            Arrays.fill(digits, len, precision, '0');
+            e = unscaled.length() - rounded.scale() - 1;
+        }
+
+        if (e < -6 || e >= precision) {
+            out.append(digits[0]);
+            if (precision > 1) {
+                out.append('.').append(digits, 1, precision - 1);
+            }
+            out.append('e').append(e < 0 ? '-' : '+').append(Math.abs(e));
+        } else if (e >= 0) {
+            out.append(digits, 0, e + 1);
+            if (e + 1 < precision) {
+                out.append('.').append(digits, e + 1, precision - e - 1);
+            }
+        } else {
+            out.append("0.");
+            for (int i = -1; i > e; --i) {
+                out.append('0');
+            }
+            out.append(digits, 0, precision);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 9.8.1 steps 6 to 10: lays out the {@code k} significant digits of a
+     * positive value whose magnitude is 10^{@code n} times 0.digits.
+     */
+    private static void format(StringBuilder out, char[] digits, int k, int n) {
+        if (k <= n && n <= 21) {
+            out.append(digits, 0, k);
+            for (int i = k; i < n; ++i) {
+                out.append('0');
+            }
+        } else if (0 < n && n <= 21) {
+            out.append(digits, 0, n).append('.').append(digits, n, k - n);
+        } else if (-6 < n && n <= 0) {
+            out.append("0.");
+            for (int i = n; i < 0; ++i) {
+                out.append('0');
+            }
+            out.append(digits, 0, k);
+        } else {
+            out.append(digits[0]);
+            if (k > 1) {
+                out.append('.').append(digits, 1, k - 1);
+            }
+            int e = n - 1;
+            out.append('e').append(e < 0 ? '-' : '+').append(Math.abs(e));
+        }
+    }
+
+    private static final class Digits {
+
+        /** From JDK 19 on, Double.toString gives the shortest, closest digits. */
+        private static final boolean JDK_SHORTEST = Double.toString(2e23).equals("2.0E23");
+
+        final char[] chars = new char[20];
+        int count;
+        int exponent;
+
+        /**
+         * Decomposes {@link Double#toString(double)} of a positive, finite
+         * value, in either its plain or its computerized scientific form.
+         */
+        static Digits shortest(double value) {
+            Digits digits = new Digits();
+            String java = Double.toString(value);
+            int len = java.length();
+            int exp = java.indexOf('E');
+            int mantissaEnd = exp < 0 ? len : exp;
+            int point = mantissaEnd;
+            boolean leading = true;
+            for (int i = 0; i < mantissaEnd; ++i) {
+                char c = java.charAt(i);
+                if (c == '.') {
+                    point = i;
+                    continue;
+                }
+                if (leading && c == '0') {
+                    continue;
+                }
+                if (leading) {
+                    // digits before the first significant one shift the point
+                    digits.exponent = (point == mantissaEnd ? i : i - 1);
+                    leading = false;
+                }
+                digits.chars[digits.count++] = c;
+            }
+            int integerDigits = (point == mantissaEnd ? mantissaEnd : point);
+            digits.exponent = integerDigits - digits.exponent;
+            if (exp >= 0) {
+                digits.exponent += Integer.parseInt(java.substring(exp + 1));
+            }
+            while (digits.count > 1 && digits.chars[digits.count - 1] == '0') {
+                --digits.count;
+            }
+            if (value < Double.MIN_NORMAL || (!JDK_SHORTEST && digits.count >= 16)) {
+                digits.shorten(value);
+            }
+            return digits;
+        }
+
+        /**
+         * Before JDK 19, long results may have a digit more than needed or
+         * not be the closest of their length; subnormals always get at least
+         * two digits. Drop digits for as long as the value still
+         * round-trips, then settle on the closest digits of that length.
+         */
+        private void shorten(double value) {
+            while (this.count > 1 && closest(value, this.count - 1, false)) {
+            }
+            closest(value, this.count, true);
+        }
+
+        /**
+         * Replaces the digits with the closest round-tripping decimal of
+         * {@code count} digits among the current ones truncated, one unit
+         * above and, if {@code below}, one unit below.
+         *
+         * @return {@code false} if none of them round-trips.
+         */
+        private boolean closest(double value, int count, boolean below) {
+            long truncated = Long.parseLong(new String(this.chars, 0, count));
+            int power = this.exponent - count;
+            long best = -1;
+            for (long m = below ? truncated - 1 : truncated; m <= truncated + 1; ++m) {
+                boolean roundTrips = (below && m == truncated) || Double.parseDouble(m + "E" + power) == value;
+                if (roundTrips && (best < 0 || isCloser(value, m, best, power))) {
+                    best = m;
+                }
+            }
+            if (best < 0) {
+                return false;
+            }
+            String digits = Long.toString(best);
+            int len = digits.length();
+            while (len > 1 && digits.charAt(len - 1) == '0') {
+                --len;
+            }
+            digits.getChars(0, len, this.chars, 0);
+            this.count = len;
+            this.exponent = digits.length() + power;
+            return true;
+        }
+
+        private static boolean isCloser(double value, long m, long other, int power) {
+            BigDecimal exact = new BigDecimal(value);
+            BigDecimal distance = exact.subtract(BigDecimal.valueOf(m, -power)).abs();
+            int cmp = distance.compareTo(exact.subtract(BigDecimal.valueOf(other, -power)).abs());
+            // 9.8.1 step 5: of two equally close, the even one
+            return cmp < 0 || (cmp == 0 && (m & 1) == 0);
+        }
+    }
+
+}
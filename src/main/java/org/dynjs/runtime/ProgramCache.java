@@ -0,0 +1,96 @@
+package org.dynjs.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of compiled programs, keyed by source
+ * text, strictness and file name.
+ *
+ * Programs put here are compiled in a compiler-only context with a block
+ * manager of their own, never the one of the runtime that asked for them.
+ * Their block manager, and the class loader it owns, are safe to use from
+ * several threads, so one cache may be shared by every runtime using the
+ * same configuration.
+ */
+public class ProgramCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Map<Key, JSProgram> entries;
+
+    public ProgramCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProgramCache(final int capacity) {
+        this.entries = new LinkedHashMap<Key, JSProgram>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, JSProgram> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public JSProgram get(String source, boolean strict, String fileName) {
+        synchronized (this.entries) {
+            return this.entries.get(new Key(source, strict, fileName));
+        }
+    }
+
+    public void put(String source, boolean strict, String fileName, JSProgram program) {
+        synchronized (this.entries) {
+            this.entries.put(new Key(source, strict, fileName), program);
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    private static class Key {
+
+        private final String source;
+        private final boolean strict;
+        private final String fileName;
+        private final int hash;
+
+        Key(String source, boolean strict, String fileName) {
+            this.source = source;
+            this.strict = strict;
+            this.fileName = fileName;
+            int hash = source.hashCode();
+            hash = 31 * hash + (strict ? 1 : 0);
+            hash = 31 * hash + (fileName == null ? 0 : fileName.hashCode());
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.hash == other.hash
+                    && this.strict == other.strict
+                    && (this.fileName == null ? other.fileName == null : this.fileName.equals(other.fileName))
+                    && this.source.equals(other.source);
+        }
+    }
+
+}
@@ -173,7 +173,15 @@ public class PropertyDescriptor {
     }
 
     public Object getValue() {
-        return this.value;
+        Object value = this.value;
+        if (value instanceof LazyValue) {
+            LazyValue lazy = (LazyValue) value;
+            value = lazy.get();
+            if (lazy.isComputed()) {
+                this.value = value;
+            }
+        }
+        return value;
     }
 
     public void setValue(Object value) {
@@ -282,6 +290,10 @@ public class PropertyDescriptor {
         return this.value != null || hasWritable();
     }
 
+    public boolean isWritableDataDescriptor() {
+        return this.value != null && this.writable == TRUE_FLAG;
+    }
+
     public boolean isGenericDescriptor() {
         // 8.10.3
         return isAccessorDescriptor() == false && isDataDescriptor() == false;
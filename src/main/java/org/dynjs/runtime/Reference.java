@@ -27,7 +27,7 @@ public class Reference {
     }
 
     public boolean hasPrimitiveBase() {
-        return (this.base instanceof String) || (this.base instanceof Number) || (this.base instanceof Boolean);
+        return Types.isString(this.base) || (this.base instanceof Number) || (this.base instanceof Boolean);
     }
 
     public boolean isPropertyReference() {
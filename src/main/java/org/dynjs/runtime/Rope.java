@@ -0,0 +1,135 @@
+package org.dynjs.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A string primitive produced by concatenation (11.6.1), holding its two
+ * halves until its characters are actually needed.
+ *
+ * Building a string with {@code s += ...} in a loop copies {@code s} on every
+ * iteration when each step yields a fresh {@link String}; as a rope, each step
+ * is constant time and the whole string is copied once, when it is first
+ * flattened by {@link #toString()}, {@link #charAt(int)} or
+ * {@link #subSequence(int, int)}. After that the halves are released.
+ *
+ * A rope is a JavaScript string value like any {@link String}: use
+ * {@link Types#isString(Object)} rather than {@code instanceof String} when
+ * testing for one, and {@link Types#toString(ExecutionContext, Object)} rather
+ * than a cast when Java code needs the string itself.
+ */
+public final class Rope implements CharSequence {
+
+    /** Concatenations shorter than this are flattened right away. */
+    public static final int MIN_LENGTH = 64;
+
+    private CharSequence left;
+    private CharSequence right;
+    private final int length;
+    private volatile String flattened;
+
+    public static CharSequence concat(CharSequence left, CharSequence right) {
+        int leftLength = left.length();
+        if (leftLength == 0) {
+            return right;
+        }
+        int rightLength = right.length();
+        if (rightLength == 0) {
+            return left;
+        }
+        int length = leftLength + rightLength;
+        if (length < 0) {
+            throw new OutOfMemoryError("string too long");
+        }
+        if (length < MIN_LENGTH) {
+            return left.toString().concat(right.toString());
+        }
+        return new Rope(left, right, length);
+    }
+
+    private Rope(CharSequence left, CharSequence right, int length) {
+        this.left = left;
+        this.right = right;
+        this.length = length;
+    }
+
+    public boolean isFlattened() {
+        return this.flattened != null;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        String flattened = this.flattened;
+        if (flattened == null) {
+            flattened = flatten();
+        }
+        return flattened;
+    }
+
+    private synchronized String flatten() {
+        if (this.flattened != null) {
+            return this.flattened;
+        }
+        // ropes built by appending in a loop are as deep as the loop ran, so
+        // walk them with an explicit stack rather than by recursion
+        char[] chars = new char[this.length];
+        int pos = 0;
+        Deque<CharSequence> pending = new ArrayDeque<>();
+        pending.push(this.right);
+        pending.push(this.left);
+        while (!pending.isEmpty()) {
+            CharSequence each = pending.pop();
+            if (each instanceof Rope) {
+                Rope rope = (Rope) each;
+                synchronized (rope) {
+                    if (rope.flattened == null) {
+                        pending.push(rope.right);
+                        pending.push(rope.left);
+                        continue;
+                    }
+                }
+                each = rope.flattened;
+            }
+            String str = each.toString();
+            str.getChars(0, str.length(), chars, pos);
+            pos += str.length();
+        }
+        this.flattened = new String(chars);
+        this.left = null;
+        this.right = null;
+        return this.flattened;
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Rope)) {
+            return false;
+        }
+        Rope other = (Rope) obj;
+        return this.length == other.length && toString().equals(other.toString());
+    }
+
+}
@@ -33,7 +33,7 @@ public class Runner {
     }
 
     public Runner(DynJS runtime) {
-        this.compiler = new Compiler(runtime.getConfig());
+        this.compiler = new Compiler(runtime.getConfig()).withProgramCache(runtime.getConfig().getProgramCache());
         this.runtime = runtime;
     }
 
@@ -195,9 +195,9 @@ public class Runner {
             }
             Object v = completion.value;
             if (v instanceof Reference) {
-                return ((Reference) v).getValue(context);
+                v = ((Reference) v).getValue(context);
             }
-            return v;
+            return flatten(v);
         } catch (SyntaxError e) {
             throw new ThrowException(executionContext(), executionContext().createSyntaxError(e.getMessage()));
         } catch (ParserException e) {
@@ -243,7 +243,7 @@ public class Runner {
         }
 
         try {
-            return executionContext().eval(program(), this.directEval);
+            return flatten(executionContext().eval(program(), this.directEval));
         } catch (SyntaxError e) {
             throw new ThrowException(executionContext(), executionContext().createSyntaxError(e.getMessage()));
         } catch (ParserException e) {
@@ -253,5 +253,14 @@ public class Runner {
         }
     }
 
+    /**
+     * Results handed back to Java are plain strings, never ropes.
+     */
+    private static Object flatten(Object value) {
+        if (value instanceof Rope) {
+            return value.toString();
+        }
+        return value;
+    }
 
 }
@@ -0,0 +1,178 @@
+package org.dynjs.runtime;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Property layout shared by objects which acquired the same own properties
+ * in the same order. Maps property names to slot indexes in the owning
+ * object's descriptor array.
+ *
+ * Shared shapes are immutable and form a transition tree rooted at {@link #ROOT}.
+ * Objects with too many properties move to an unshared (dictionary) shape which
+ * is mutated in place and must never be cached by identity.
+ */
+public final class Shape {
+
+    public static final Shape ROOT = new Shape();
+
+    static final int MAX_SHARED_PROPERTIES = 64;
+    private static final int LINEAR_LOOKUP_LIMIT = 8;
+
+    private final boolean shared;
+    private String[] keys;
+    private int size;
+    private boolean indexKeys;
+    private volatile Map<String, Integer> table;
+    private Map<String, WeakReference<Shape>> transitions;
+    private int purgeThreshold = 16;
+
+    private Shape() {
+        this.shared = true;
+        this.keys = new String[0];
+        this.size = 0;
+    }
+
+    private Shape(String[] keys, int size, boolean shared) {
+        this.shared = shared;
+        this.keys = keys;
+        this.size = size;
+        for (int i = 0; i < size; ++i) {
+            this.indexKeys |= DynArray.arrayIndex(keys[i]) >= 0;
+        }
+        if (!shared) {
+            buildTable();
+        }
+    }
+
+    public boolean isShared() {
+        return this.shared;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Whether any property in this layout is named like an array index.
+     */
+    public boolean hasIndexKeys() {
+        return this.indexKeys;
+    }
+
+    public String getKey(int slot) {
+        return this.keys[slot];
+    }
+
+    public int lookup(String name) {
+        if (this.size <= LINEAR_LOOKUP_LIMIT) {
+            for (int i = 0; i < this.size; ++i) {
+                String key = this.keys[i];
+                if (key == name || key.equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        Map<String, Integer> table = this.table;
+        if (table == null) {
+            table = buildTable();
+        }
+        Integer slot = table.get(name);
+        if (slot == null) {
+            return -1;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the shape describing this layout plus {@code name} in the next slot.
+     * Unshared shapes are extended in place.
+     */
+    public Shape addProperty(String name) {
+        if (!this.shared) {
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, Math.max(4, this.size * 2));
+            }
+            this.keys[this.size] = name;
+            this.table.put(name, this.size);
+            this.indexKeys |= DynArray.arrayIndex(name) >= 0;
+            ++this.size;
+            return this;
+        }
+
+        if (this.size >= MAX_SHARED_PROPERTIES) {
+            String[] newKeys = Arrays.copyOf(this.keys, this.size * 2);
+            newKeys[this.size] = name;
+            return new Shape(newKeys, this.size + 1, false);
+        }
+
+        synchronized (this) {
+            if (this.transitions == null) {
+                this.transitions = new HashMap<>();
+            }
+            WeakReference<Shape> ref = this.transitions.get(name);
+            Shape next = (ref == null ? null : ref.get());
+            if (next == null) {
+                String[] newKeys = Arrays.copyOf(this.keys, this.size + 1);
+                newKeys[this.size] = name;
+                next = new Shape(newKeys, this.size + 1, true);
+                if (this.transitions.size() >= this.purgeThreshold) {
+                    purgeTransitions();
+                    this.purgeThreshold = Math.max(16, this.transitions.size() * 2);
+                }
+                this.transitions.put(name, new WeakReference<>(next));
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Returns a shape with {@code name} removed and the remaining properties
+     * compacted, in their original order.
+     */
+    public Shape removeProperty(String name) {
+        Shape shape = ROOT;
+        for (int i = 0; i < this.size; ++i) {
+            if (!this.keys[i].equals(name)) {
+                shape = shape.addProperty(this.keys[i]);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Returns a shape suitable for a copy of an object with this shape.
+     */
+    public Shape copy() {
+        if (this.shared) {
+            return this;
+        }
+        return new Shape(Arrays.copyOf(this.keys, this.keys.length), this.size, false);
+    }
+
+    private Map<String, Integer> buildTable() {
+        Map<String, Integer> table = new HashMap<>();
+        for (int i = 0; i < this.size; ++i) {
+            table.put(this.keys[i], i);
+        }
+        this.table = table;
+        return table;
+    }
+
+    private void purgeTransitions() {
+        Iterator<WeakReference<Shape>> iter = this.transitions.values().iterator();
+        while (iter.hasNext()) {
+            if (iter.next().get() == null) {
+                iter.remove();
+            }
+        }
+    }
+
+    public String toString() {
+        return "[Shape: " + (this.shared ? "shared" : "dictionary") + " " + Arrays.asList(this.keys).subList(0, this.size) + "]";
+    }
+}
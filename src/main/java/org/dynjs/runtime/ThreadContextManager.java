@@ -1,61 +1,59 @@
 package org.dynjs.runtime;
 
-import org.dynjs.debugger.Debugger;
-
-import java.util.ArrayList;
-import java.util.List;
-
 public class ThreadContextManager {
 
-    private static ThreadLocal<List<ExecutionContext>> threadContext = new ThreadLocal<>();
+    private static ThreadLocal<ContextStack> threadContext = new ThreadLocal<ContextStack>() {
+        @Override
+        protected ContextStack initialValue() {
+            return new ContextStack(Thread.currentThread());
+        }
+    };
+
+    public static ContextStack currentStack() {
+        return threadContext.get();
+    }
 
+    /**
+     * The innermost context active on this thread.
+     */
     public static ExecutionContext currentContext() {
-        List<ExecutionContext> currentList = threadContext.get();
-        if (currentList == null || currentList.isEmpty()) {
-            return null;
-        }
+        return threadContext.get().top();
+    }
 
-        return currentList.get(0);
+    /**
+     * The outermost context active on this thread, usually the one a program
+     * was executed in.
+     */
+    public static ExecutionContext rootContext() {
+        return threadContext.get().bottom();
     }
 
     public static void pushContext(ExecutionContext context) {
-        List<ExecutionContext> currentList = threadContext.get();
-        if (currentList == null) {
-            currentList = new ArrayList<>();
-            threadContext.set(currentList);
-        }
-        currentList.add(context);
+        threadContext.get().push(context);
+    }
 
-        Debugger d = context.getDebugger();
-        if (d != null ) {
-            d.enterContext( context );
+    /**
+     * Pushes a context entered from {@code caller}, reusing the stack the
+     * caller lives on when it belongs to this thread.
+     */
+    public static void pushContext(ExecutionContext caller, ExecutionContext context) {
+        ContextStack stack = caller.getContextStack();
+        if (stack == null || !stack.isOwnedByCurrentThread()) {
+            stack = threadContext.get();
         }
-
+        stack.push(context);
     }
 
     public static void popContext() {
-        List<ExecutionContext> currentList = threadContext.get();
-        if (currentList == null) {
-            throw new IllegalStateException("Cannot pop ExecutionContext from empty stack");
-        }
-        ExecutionContext head = currentList.get(currentList.size() - 1);
-        currentList.remove(currentList.size() - 1);
-
-        if (!currentList.isEmpty()) {
-            if (head.isThrowInProgress()) {
-                ExecutionContext nextHead = currentList.get(currentList.size() - 1);
-                nextHead.addThrowStack(head.getThrowStack());
-            }
-        }
-
-        Debugger d = head.getDebugger();
-        if (d != null ) {
-            d.exitContext(head);
-        }
+        threadContext.get().pop();
+    }
 
-        //if ( currentList.isEmpty() ) {
-        //threadContext.remove();
-        //}
+    /**
+     * Pops {@code context}, which must have been pushed by
+     * {@link #pushContext(ExecutionContext, ExecutionContext)} on this thread.
+     */
+    public static void popContext(ExecutionContext context) {
+        context.getContextStack().pop();
     }
 
 }
@@ -40,6 +40,10 @@ public class Types {
 
     public static boolean sameValue(Object left, Object right) {
 
+        if (isString(left) && isString(right)) {
+            return left.toString().equals(right.toString());
+        }
+
         if (left.getClass() != right.getClass()) {
             return false;
         }
@@ -65,8 +69,8 @@ public class Types {
         if (o instanceof JSObject) {
             return (JSObject) o;
         }
-        if (o instanceof String) {
-            return new DynString(context.getGlobalContext(), (String) o);
+        if (isString(o)) {
+            return new DynString(context.getGlobalContext(), o.toString());
         }
         if (o instanceof Number) {
             return new DynNumber(context.getGlobalContext(), (Number) o);
@@ -87,8 +91,8 @@ public class Types {
         if (o instanceof JSObject) {
             return o;
         }
-        if (o instanceof String) {
-            return new DynString(context.getGlobalContext(), (String) o);
+        if (isString(o)) {
+            return new DynString(context.getGlobalContext(), o.toString());
         }
         if (o instanceof Number) {
             return new DynNumber(context.getGlobalContext(), (Number) o);
@@ -284,8 +288,8 @@ public class Types {
             }
             return true;
         }
-        if (o instanceof String) {
-            return (((String) o).length() != 0);
+        if (isString(o)) {
+            return (((CharSequence) o).length() != 0);
         }
 
         if (o instanceof JSObject) {
@@ -372,6 +376,48 @@ public class Types {
         return int32bit;
     }
 
+    /**
+     * Returns the array index (15.4) a numeric property key converts to, or
+     * -1 if {@code o} is not a number whose string form is an array index.
+     */
+    public static long toArrayIndex(Object o) {
+        if (o instanceof Long || o instanceof Integer) {
+            long index = ((Number) o).longValue();
+            if (index >= 0 && index < 4294967295L) {
+                return index;
+            }
+        } else if (o instanceof Double) {
+            double d = (Double) o;
+            if (d >= 0 && d < 4294967295L && d == Math.floor(d)) {
+                return (long) d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return {@code true} if {@code o} is a string primitive, either a
+     *         {@link String} or a {@link Rope}.
+     */
+    public static boolean isString(Object o) {
+        return o instanceof String || o instanceof Rope;
+    }
+
+    /**
+     * 11.6.1 steps 7 and 8: concatenates the primitive values {@code lhs} and
+     * {@code rhs}, at least one of which is a string.
+     */
+    public static Object concat(ExecutionContext context, Object lhs, Object rhs) {
+        return Rope.concat(toCharSequence(context, lhs), toCharSequence(context, rhs));
+    }
+
+    private static CharSequence toCharSequence(ExecutionContext context, Object o) {
+        if (isString(o)) {
+            return (CharSequence) o;
+        }
+        return toString(context, o);
+    }
+
     public static boolean isCallable(Object o) {
         return (o instanceof JSCallable);
     }
@@ -399,7 +445,6 @@ public class Types {
         return o;
     }
 
-    private static Pattern EXP_PATTERN = Pattern.compile("^(.*)e([+-])([0-9]+)$");
     public static String toString(ExecutionContext context, Object o) {
         if (o == Types.UNDEFINED) {
             return "undefined";
@@ -413,62 +458,7 @@ public class Types {
             return (String) toString(context, toPrimitive(context, o, "String"));
         }
         if (o instanceof Number) {
-            if (((Number) o).doubleValue() == -0) {
-                return "0";
-            }
-
-            if (o instanceof Double) {
-                Double dbl = (Double) o;
-                if (dbl.doubleValue() == (long) dbl.doubleValue()) {
-                    o = dbl.longValue();
-                }
-            }
-            String result = Types.rewritePossiblyExponentialValue(o.toString());
-
-            Matcher matcher = EXP_PATTERN.matcher(result);
-            if (matcher.matches()) {
-                int expValue = Integer.parseInt(matcher.group(3));
-                if (matcher.group(2).equals("+")) {
-                    if (expValue <= 20) {
-                        String digits = matcher.group(1).replace(".", "");
-                        StringBuilder newResult = new StringBuilder();
-                        int offset = 0;
-                        if (digits.startsWith("-")) {
-                            newResult.append("-");
-                            offset = 1;
-                        }
-                        for (int i = offset; i <= expValue; ++i) {
-                            if (i >= digits.length()) {
-                                newResult.append("0");
-                            } else {
-                                newResult.append(digits.charAt(i));
-                            }
-                        }
-                        if (newResult.length() < digits.length()) {
-                            newResult.append(".");
-                            newResult.append(digits.substring(newResult.length() - 1));
-                        }
-                        result = newResult.toString();
-                    }
-                } else {
-                    if (expValue <= 6) {
-                        StringBuilder newResult = new StringBuilder().append("0.");
-                        for (int i = 0; i < (expValue - 1); ++i) {
-                            newResult.append(0);
-                        }
-
-                        String digits = matcher.group(1).replace(".", "");
-                        if (digits.startsWith("-")) {
-                            newResult.append(digits.substring(1));
-                            newResult.insert(0, "-");
-                        } else {
-                            newResult.append(digits);
-                        }
-                        result = newResult.toString();
-                    }
-                }
-            }
-            return result;
+            return NumberToString.toString((Number) o);
         }
         return o.toString();
     }
@@ -502,9 +492,9 @@ public class Types {
             px = toPrimitive(context, x, "Number");
         }
 
-        if (px instanceof String && py instanceof String) {
-            String sx = (String) px;
-            String sy = (String) py;
+        if (isString(px) && isString(py)) {
+            String sx = px.toString();
+            String sy = py.toString();
 
             if (sx.compareTo(sy) < 0) {
                 return true;
@@ -551,6 +541,10 @@ public class Types {
     public static boolean compareEquality(ExecutionContext context, Object lhs, Object rhs) {
         // 11.9.3
 
+        if (isString(lhs) && isString(rhs)) {
+            return lhs.toString().equals(rhs.toString());
+        }
+
         if (lhs.getClass().equals(rhs.getClass()) || (lhs instanceof Number && rhs instanceof Number)) {
             if (lhs == Types.UNDEFINED) {
                 return true;
@@ -591,11 +585,11 @@ public class Types {
             return true;
         }
 
-        if (lhs instanceof Number && rhs instanceof String) {
+        if (lhs instanceof Number && isString(rhs)) {
             return compareEquality(context, lhs, toNumber(context, rhs));
         }
 
-        if (lhs instanceof String && rhs instanceof Number) {
+        if (isString(lhs) && rhs instanceof Number) {
             return compareEquality(context, toNumber(context, lhs), rhs);
         }
 
@@ -607,11 +601,11 @@ public class Types {
             return compareEquality(context, lhs, toNumber(context, rhs));
         }
 
-        if ((lhs instanceof String || lhs instanceof Number) && rhs instanceof JSObject) {
+        if ((isString(lhs) || lhs instanceof Number) && rhs instanceof JSObject) {
             return compareEquality(context, lhs, toPrimitive(context, rhs));
         }
 
-        if (lhs instanceof JSObject && (rhs instanceof String || rhs instanceof Number)) {
+        if (lhs instanceof JSObject && (isString(rhs) || rhs instanceof Number)) {
             return compareEquality(context, toPrimitive(context, lhs), rhs);
         }
 
@@ -626,6 +620,10 @@ public class Types {
 //        System.err.println( "lhs: " + System.identityHashCode(lhs));
 //        System.err.println( "rhs: " + System.identityHashCode(rhs));
 
+        if (isString(lhs) && isString(rhs)) {
+            return lhs.toString().equals(rhs.toString());
+        }
+
         if (!lhs.getClass().equals(rhs.getClass())
                 // Allow comparison of Doubles and Longs (because 0 === -0 in Javascript
                 // go figure
@@ -687,7 +685,7 @@ public class Types {
             return "object";
         }
 
-        if (o instanceof String) {
+        if (isString(o)) {
             return "string";
         }
 
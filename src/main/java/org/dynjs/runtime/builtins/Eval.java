@@ -26,6 +26,12 @@ public class Eval extends AbstractNonConstructorFunction {
         super(globalContext, "code");
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // direct eval is recognised through this function's own context
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         boolean direct = false;
@@ -38,7 +44,7 @@ public class Eval extends AbstractNonConstructorFunction {
             }
         }
         Object code = args[0];
-        if (code instanceof String) {
+        if (Types.isString(code)) {
             try {
                 Runner runner = context.getRuntime().newRunner();
                 final ExecutionContext parent = context.getParent();
@@ -46,7 +52,7 @@ public class Eval extends AbstractNonConstructorFunction {
                 Object result = runner.withContext(parent)
                         .forceStrict(parent.isStrict() && direct)
                         .directEval(direct)
-                        .withSource((String) code)
+                        .withSource(code.toString())
                         .evaluate();
                 if (result == null) {
                     return Types.UNDEFINED;
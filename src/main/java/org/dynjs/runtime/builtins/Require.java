@@ -69,7 +69,7 @@ public class Require extends AbstractNativeFunction {
                 if (args[0] == null || args[0] == Types.UNDEFINED || args[0] == Types.NULL) {
                     return loadPaths;
                 }
-                addLoadPath((String) args[0]);
+                addLoadPath(Types.toString(context, args[0]));
                 return loadPaths;
             }
         });
@@ -79,7 +79,7 @@ public class Require extends AbstractNativeFunction {
                 if (args[0] == null || args[0] == Types.UNDEFINED || args[0] == Types.NULL) {
                     return Types.NULL;
                 }
-                removeLoadPath((String) args[0]);
+                removeLoadPath(Types.toString(context, args[0]));
                 return loadPaths;
             }
         });
@@ -89,7 +89,7 @@ public class Require extends AbstractNativeFunction {
                 if (args[0] == null || args[0] == Types.UNDEFINED || args[0] == Types.NULL) {
                     return Types.NULL;
                 }
-                pushLoadPath((String) args[0]);
+                pushLoadPath(Types.toString(context, args[0]));
                 return loadPaths;
             }
         });
@@ -118,13 +118,19 @@ public class Require extends AbstractNativeFunction {
         this.put("paths", loadPaths);
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // module, exports and id are bound in this function's own environment
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... arguments) {
         if (arguments[0] == Types.UNDEFINED) {
             throw new ThrowException(context, context.createError("Error", "no module identifier provided"));
         }
 
-        String moduleName = (String) arguments[0];
+        String moduleName = Types.toString(context, arguments[0]);
         List<ModuleProvider> moduleProviders = this.getModuleProviders();
         // Load module providers in reverse order
         for (int i = moduleProviders.size(); i > 0; i--) {
@@ -66,6 +66,12 @@ public class BuiltinArray extends AbstractBuiltinType {
         defineNonEnumerableProperty(this, "isArray", new IsArray(globalContext));
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // getArgumentCount() reads this function's own parameters
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, final Object... args) {
 
@@ -80,8 +86,7 @@ public class BuiltinArray extends AbstractBuiltinType {
             arraySelf.defineOwnProperty(context, "length",
                     PropertyDescriptor.newDataPropertyDescriptor(args[0], true, false, false), false);
         } else {
-            Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-            int numArgs = (int) argsObj.get(context, "length");
+            int numArgs = getArgumentCount(context, args);
             if (numArgs == 0 ) {
                 arraySelf.defineOwnProperty(context, "length",
                         PropertyDescriptor.newDataPropertyDescriptor(0l, true, false, false), false);
@@ -2,7 +2,6 @@ package org.dynjs.runtime.builtins.types;
 
 import static org.dynjs.runtime.builtins.types.date.AbstractDateFunction.*;
 
-import org.dynjs.runtime.Arguments;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.JSFunction;
@@ -127,6 +126,12 @@ public class BuiltinDate extends AbstractBuiltinType {
         defineNonEnumerableProperty(proto, "setYear", new SetYear(globalContext));
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // getArgumentCount() reads this function's own parameters
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         if (self == Types.UNDEFINED || self == Types.NULL) {
@@ -135,8 +140,7 @@ public class BuiltinDate extends AbstractBuiltinType {
             return context.call(toString, now);
         }
 
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numArgs = (int) argsObj.get(context, "length");
+        int numArgs = getArgumentCount(context, args);
 
         DynDate date = (DynDate) self;
 
@@ -144,8 +148,8 @@ public class BuiltinDate extends AbstractBuiltinType {
             date.setTimeValue(context.getClock().currentTimeMillis());
         } else if (numArgs == 1) {
             Object v = Types.toPrimitive(context, args[0]);
-            if (v instanceof String) {
-                date.setTimeValue(timeClip(context, Parse.parse(context, (String) v)));
+            if (Types.isString(v)) {
+                date.setTimeValue(timeClip(context, Parse.parse(context, v.toString())));
             } else {
                 date.setTimeValue(timeClip(context, Types.toNumber(context, v)));
             }
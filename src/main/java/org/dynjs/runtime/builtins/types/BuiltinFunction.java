@@ -7,8 +7,10 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.dynjs.compiler.IsolatedCompilationContext;
 import org.dynjs.compiler.JSCompiler;
 import org.dynjs.exception.ThrowException;
+import org.dynjs.parser.ScopeAnalyzer;
 import org.dynjs.parser.ast.FunctionDescriptor;
 import org.dynjs.parser.js.ASTFactory;
 import org.dynjs.parser.js.CharStream;
@@ -50,6 +52,12 @@ public class BuiltinFunction extends AbstractBuiltinType {
         //defineNonEnumerableProperty(proto, "__proto__", proto);
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // new functions are created in this function's own environment
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         // 15.3.2.1
@@ -91,7 +99,8 @@ public class BuiltinFunction extends AbstractBuiltinType {
         try {
             FunctionDescriptor descriptor = parseFunction(context, code.toString());
             JSCompiler compiler = context.getCompiler();
-            JSFunction function = compiler.compileFunction(context, descriptor.getIdentifier(), descriptor.getFormalParameterNames(), descriptor.getBlock(),
+            // compiled into a block manager of its own, not the caller's
+            JSFunction function = compiler.compileFunction(new IsolatedCompilationContext(context), descriptor.getIdentifier(), descriptor.getFormalParameterNames(), descriptor.getBlock(),
                     descriptor.isStrict());
             if (function.isStrict()) {
                 if (duplicateFormalParams) {
@@ -129,7 +138,9 @@ public class BuiltinFunction extends AbstractBuiltinType {
         }
         TokenStream tokenStream = new TokenQueue(lexer);
         Parser parser = new Parser(context, new ASTFactory(), tokenStream);
-        return parser.functionDescriptor();
+        FunctionDescriptor descriptor = parser.functionDescriptor();
+        ScopeAnalyzer.analyze(descriptor);
+        return descriptor;
     }
 
     @Override
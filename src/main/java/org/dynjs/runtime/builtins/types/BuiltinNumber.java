@@ -1,6 +1,5 @@
 package org.dynjs.runtime.builtins.types;
 
-import org.dynjs.runtime.Arguments;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.JSObject;
@@ -45,11 +44,16 @@ public class BuiltinNumber extends AbstractBuiltinType {
         defineReadOnlyProperty(globalContext.getObject(), globalContext, "Infinity", Double.POSITIVE_INFINITY);
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // getArgumentCount() reads this function's own parameters
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         Number number = 0L;
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numArgs = (int) argsObj.get(context, "length");
+        int numArgs = getArgumentCount(context, args);
 
         if (numArgs != 0) {
             number = Types.toNumber(context, args[0]);
@@ -69,7 +69,7 @@ public class BuiltinObject extends AbstractBuiltinType {
             if (args[0] instanceof JSObject) {
                 return args[0];
             }
-            if (args[0] instanceof String || args[0] instanceof Boolean || args[0] instanceof Number) {
+            if (Types.isString(args[0]) || args[0] instanceof Boolean || args[0] instanceof Number) {
                 JSObject result = Types.toObject(context, args[0]);
                 return result;
             }
@@ -71,6 +71,12 @@ public class BuiltinRegExp extends AbstractBuiltinType {
     }
 
     public static DynRegExp newRegExp(ExecutionContext context, Object pattern, String flags) {
+        if (Types.isString(pattern)) {
+            // what the constructor does with a string pattern, without the call
+            DynRegExp regexp = new DynRegExp(context.getGlobalContext());
+            regexp.setPatternAndFlags(context, pattern.toString(), flags);
+            return regexp;
+        }
         BuiltinRegExp ctor = (BuiltinRegExp) context.getGlobalContext().getObject().get(context, "__Builtin_RegExp");
         return (DynRegExp) context.construct((Object)null, ctor, pattern, flags);
     }
@@ -1,6 +1,5 @@
 package org.dynjs.runtime.builtins.types;
 
-import org.dynjs.runtime.Arguments;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.JSObject;
@@ -67,10 +66,15 @@ public class BuiltinString extends AbstractBuiltinType {
         defineNonEnumerableProperty(proto, "replace", new Replace(globalContext) ); // http://es5.github.com/#x15.5.4.11
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // getArgumentCount() reads this function's own parameters
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numArgs = (int) argsObj.get(context, "length");
+        int numArgs = getArgumentCount(context, args);
         
         if (self != Types.UNDEFINED && self != Types.NULL ) {
             // Constructor
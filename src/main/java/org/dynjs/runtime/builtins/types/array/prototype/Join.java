@@ -36,7 +36,7 @@ public class Join extends AbstractNonConstructorFunction {
             if (i > 0) {
                 buf.append(separator);
             }
-            Object v = array.get(context, "" + i);
+            Object v = array.getIndexed(context, i);
             if (v == Types.UNDEFINED || v == Types.NULL) {
                 v = "";
             } else {
@@ -1,7 +1,6 @@
 package org.dynjs.runtime.builtins.types.array.prototype;
 
 import org.dynjs.runtime.AbstractNonConstructorFunction;
-import org.dynjs.runtime.Arguments;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.JSObject;
@@ -13,14 +12,19 @@ public class Unshift extends AbstractNonConstructorFunction {
         super(globalContext, "item1");
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // getArgumentCount() reads this function's own parameters
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         // 15.4.4.9
         JSObject o = Types.toObject(context, self);
         long len = Types.toUint32(context, o.get(context, "length"));
         
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numArgs = (int) argsObj.get(context, "length");
+        int numArgs = getArgumentCount(context, args);
 
         for (long k = len; k > 0; --k) {
             if (o.hasProperty(context, "" + (k - 1))) {
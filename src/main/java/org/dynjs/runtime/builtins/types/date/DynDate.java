@@ -40,7 +40,7 @@ public class DynDate extends PrimitiveDynObject {
             Object toString = get(context, "toString");
             if (toString instanceof JSFunction) {
                 Object result = context.call((JSFunction) toString, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -48,7 +48,7 @@ public class DynDate extends PrimitiveDynObject {
             Object valueOf = get(context, "valueOf");
             if (valueOf instanceof JSFunction) {
                 Object result = context.call((JSFunction) valueOf, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -57,7 +57,7 @@ public class DynDate extends PrimitiveDynObject {
             Object valueOf = get(context, "valueOf");
             if (valueOf instanceof JSFunction) {
                 Object result = context.call((JSFunction) valueOf, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
@@ -65,7 +65,7 @@ public class DynDate extends PrimitiveDynObject {
             Object toString = get(context, "toString");
             if (toString instanceof JSFunction) {
                 Object result = context.call((JSFunction) toString, this);
-                if (result instanceof String || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
+                if (Types.isString(result) || result instanceof Number || result instanceof Boolean || result == Types.UNDEFINED || result == Types.NULL) {
                     return result;
                 }
             }
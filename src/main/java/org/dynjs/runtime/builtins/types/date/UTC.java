@@ -1,6 +1,5 @@
 package org.dynjs.runtime.builtins.types.date;
 
-import org.dynjs.runtime.Arguments;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.Types;
@@ -11,6 +10,12 @@ public class UTC extends AbstractDateFunction {
         super(globalContext, "year", "month", "date", "hours", "minutes", "seconds", "ms" );
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // getArgumentCount() reads this function's own parameters
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         Number y = Types.toNumber(context, args[0]);
@@ -21,8 +26,7 @@ public class UTC extends AbstractDateFunction {
         Number s = 0;
         Number milli = 0;
         
-        Arguments argsObj = (Arguments) context.resolve("arguments").getValue(context);
-        int numArgs = (int) argsObj.get(context, "length");
+        int numArgs = getArgumentCount(context, args);
         
         if (numArgs >= 3) {
             dt = Types.toNumber(context, args[2]);
@@ -7,7 +7,16 @@ public class StackElement {
     public StackElement(String debugContext, ExecutionContext context) {
         this.debugContext = debugContext;
         this.context = context;
+        this.fileName = context.getFileName();
+        this.lineNumber = context.getLineNumber();
+        this.columnNumber = context.getColumnNumber();
+    }
 
+    // Elements are captured on every throw but rarely printed, so split the debug context on demand
+    private void splitDebugContext() {
+        if (this.function != null) {
+            return;
+        }
         this.contextString = "<global>";
         int dotLoc = this.debugContext.indexOf(".");
         if (dotLoc > 0) {
@@ -16,19 +25,19 @@ public class StackElement {
         } else {
             this.function = this.debugContext;
         }
-        this.lineNumber = context.getLineNumber();
     }
 
     public StackTraceElement toStackTraceElement() {
-        return new StackTraceElement(contextString, function, context.getFileName(), lineNumber);
+        splitDebugContext();
+        return new StackTraceElement(contextString, function, fileName, lineNumber);
     }
 
     public String toString() {
-        return this.debugContext + " (" + context.getFileName() + ":" + lineNumber + ":" + getColumnNumber() + ")";
+        return this.debugContext + " (" + fileName + ":" + lineNumber + ":" + getColumnNumber() + ")";
     }
 
     public String getFileName() {
-        return context.getFileName();
+        return fileName;
     }
 
     public int getLineNumber() {
@@ -44,6 +53,7 @@ public class StackElement {
     }
 
     public String getFunctionName() {
+        splitDebugContext();
         return function;
     }
 
@@ -75,7 +85,7 @@ public class StackElement {
     }
 
     public int getColumnNumber() {
-        return this.context.getColumnNumber();
+        return columnNumber;
     }
 
     public boolean isNative() {
@@ -117,8 +127,10 @@ public class StackElement {
     }
 
     private final String debugContext;
-    private final String function;
+    private String function;
+    private final String fileName;
     private final int lineNumber;
+    private final int columnNumber;
     private final ExecutionContext context;
     private String contextString;
 }
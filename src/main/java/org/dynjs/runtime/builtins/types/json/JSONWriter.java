@@ -0,0 +1,295 @@
+package org.dynjs.runtime.builtins.types.json;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.dynjs.exception.ThrowException;
+import org.dynjs.runtime.DynArray;
+import org.dynjs.runtime.DynObject;
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.JSFunction;
+import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.NumberToString;
+import org.dynjs.runtime.PrimitiveDynObject;
+import org.dynjs.runtime.PropertyDescriptor;
+import org.dynjs.runtime.Shape;
+import org.dynjs.runtime.Types;
+
+/**
+ * Writes the JSON text of a value (15.12.3) to an {@link Appendable} in a
+ * single pass.
+ *
+ * Str, JO and JA write their output as they go instead of returning strings
+ * for the caller to join, so a value is only ever copied once. Whether a
+ * member is written at all is decided before its key is emitted.
+ */
+public class JSONWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ExecutionContext context;
+    private final Appendable out;
+    private final JSFunction replacer;
+    private final List<String> propertyList;
+    private final String gap;
+
+    private final Set<JSObject> stack = Collections.newSetFromMap(new IdentityHashMap<JSObject, Boolean>());
+    private int depth;
+
+    public JSONWriter(ExecutionContext context, Appendable out, JSFunction replacer, List<String> propertyList, String gap) {
+        this.context = context;
+        this.out = out;
+        this.replacer = replacer;
+        this.propertyList = (propertyList == null || propertyList.isEmpty()) ? null : propertyList;
+        this.gap = gap;
+    }
+
+    /**
+     * Writes {@code value} as the top-level value.
+     *
+     * @return {@code false} if the value has no JSON representation and
+     *         nothing was written.
+     */
+    public boolean write(JSObject wrapper, Object value) throws IOException {
+        value = prepare(wrapper, "", value);
+        if (!isSerializable(value)) {
+            return false;
+        }
+        writeValue(value);
+        return true;
+    }
+
+    /**
+     * Applies toJSON, the replacer function and unwrapping of primitive
+     * wrappers to {@code value}, the value of {@code key} in {@code holder}.
+     */
+    private Object prepare(JSObject holder, String key, Object value) {
+        if (value instanceof JSObject) {
+            Object toJSON = ((JSObject) value).get(this.context, "toJSON");
+            if (toJSON instanceof JSFunction) {
+                value = this.context.call((JSFunction) toJSON, value, key);
+            }
+        }
+
+        if (this.replacer != null) {
+            value = this.context.call(this.replacer, holder, key, value);
+        }
+
+        if (value instanceof PrimitiveDynObject) {
+            String objClass = ((JSObject) value).getClassName();
+            if (objClass.equals("Number")) {
+                value = Types.toNumber(this.context, value);
+            } else if (objClass.equals("String")) {
+                value = Types.toString(this.context, value);
+            } else if (objClass.equals("Boolean")) {
+                value = ((PrimitiveDynObject) value).getPrimitiveValue();
+            }
+        }
+        return value;
+    }
+
+    private static boolean isSerializable(Object value) {
+        if (value instanceof JSObject) {
+            return !(value instanceof JSFunction);
+        }
+        return value == null || value == Types.NULL
+                || value instanceof Boolean || Types.isString(value) || value instanceof Number;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null || value == Types.NULL) {
+            this.out.append("null");
+        } else if (value instanceof Boolean) {
+            this.out.append(((Boolean) value) ? "true" : "false");
+        } else if (Types.isString(value)) {
+            quote(this.out, value.toString());
+        } else if (value instanceof Number) {
+            if (value instanceof Double && (((Double) value).isInfinite() || ((Double) value).isNaN())) {
+                this.out.append("null");
+            } else {
+                this.out.append(NumberToString.toString((Number) value));
+            }
+        } else if (value instanceof DynArray) {
+            writeArray((DynArray) value);
+        } else {
+            writeObject((JSObject) value);
+        }
+    }
+
+    private void enter(JSObject value) {
+        if (!this.stack.add(value)) {
+            throw new ThrowException(this.context, this.context.createTypeError("cyclic structure"));
+        }
+        ++this.depth;
+    }
+
+    private void exit(JSObject value) {
+        --this.depth;
+        this.stack.remove(value);
+    }
+
+    private void newline(int depth) throws IOException {
+        this.out.append('\n');
+        for (int i = 0; i < depth; ++i) {
+            this.out.append(this.gap);
+        }
+    }
+
+    private void writeArray(DynArray value) throws IOException {
+        // 15.12.3 JA
+        enter(value);
+        this.out.append('[');
+        long len = Types.toInteger(this.context, value.get(this.context, "length"));
+        boolean indented = !this.gap.isEmpty();
+        for (long i = 0; i < len; ++i) {
+            if (i > 0) {
+                this.out.append(',');
+            }
+            if (indented) {
+                newline(this.depth);
+            }
+            Object element = value.getIndexed(this.context, i);
+            if (element instanceof JSObject || this.replacer != null) {
+                element = prepare(value, NumberToString.toString(i), element);
+            }
+            if (isSerializable(element)) {
+                writeValue(element);
+            } else {
+                this.out.append("null");
+            }
+        }
+        exit(value);
+        if (indented && len > 0) {
+            newline(this.depth);
+        }
+        this.out.append(']');
+    }
+
+    private void writeObject(JSObject value) throws IOException {
+        // 15.12.3 JO
+        enter(value);
+        this.out.append('{');
+        boolean empty;
+        if (this.propertyList == null && value instanceof DynObject && ((DynObject) value).hasDefaultPropertyAccess()) {
+            empty = writeSlots((DynObject) value);
+        } else {
+            List<String> k = this.propertyList;
+            if (k == null) {
+                k = value.getOwnEnumerablePropertyNames().toList();
+            }
+            empty = true;
+            for (String p : k) {
+                if (writeMember(value, p, value.get(this.context, p), empty)) {
+                    empty = false;
+                }
+            }
+        }
+        exit(value);
+        if (!empty && !this.gap.isEmpty()) {
+            newline(this.depth);
+        }
+        this.out.append('}');
+    }
+
+    /**
+     * Walks the own properties of a plain object through its shape, reading
+     * data properties straight from their slots. The keys are those of the
+     * shape on entry; should serializing a member reshape the object, the
+     * remaining members are looked up by name, and skipped if they are gone
+     * or no longer enumerable.
+     */
+    private boolean writeSlots(DynObject value) throws IOException {
+        Shape shape = value.getShape();
+        boolean empty = true;
+        for (int i = 0; i < shape.size(); ++i) {
+            String p = shape.getKey(i);
+            Object member;
+            if (value.getShape() == shape) {
+                PropertyDescriptor desc = value.getSlot(i);
+                if (!desc.isEnumerable()) {
+                    continue;
+                }
+                member = desc.isDataDescriptor() ? desc.getValue() : value.get(this.context, p);
+                if (member == null) {
+                    member = Types.UNDEFINED;
+                }
+            } else {
+                Object desc = value.getOwnProperty(this.context, p, false);
+                if (!(desc instanceof PropertyDescriptor) || !((PropertyDescriptor) desc).isEnumerable()) {
+                    continue;
+                }
+                member = value.get(this.context, p);
+            }
+            if (writeMember(value, p, member, empty)) {
+                empty = false;
+            }
+        }
+        return empty;
+    }
+
+    private boolean writeMember(JSObject holder, String key, Object member, boolean first) throws IOException {
+        member = prepare(holder, key, member);
+        if (!isSerializable(member)) {
+            return false;
+        }
+        if (!first) {
+            this.out.append(',');
+        }
+        if (!this.gap.isEmpty()) {
+            newline(this.depth);
+        }
+        quote(this.out, key);
+        this.out.append(':');
+        if (!this.gap.isEmpty()) {
+            this.out.append(' ');
+        }
+        writeValue(member);
+        return true;
+    }
+
+    /**
+     * 15.12.3 Quote
+     */
+    public static void quote(Appendable out, String value) throws IOException {
+        out.append('"');
+        int strLen = value.length();
+        int start = 0;
+        for (int i = 0; i < strLen; ++i) {
+            char c = value.charAt(i);
+            if (c >= ' ' && c != '"' && c != '\\') {
+                continue;
+            }
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+            case '"':
+            case '\\':
+                out.append('\\').append(c);
+                break;
+            case '\b':
+                out.append("\\b");
+                break;
+            case '\f':
+                out.append("\\f");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        out.append(value, start, strLen);
+        out.append('"');
+    }
+
+}
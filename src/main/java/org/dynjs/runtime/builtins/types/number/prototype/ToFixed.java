@@ -6,6 +6,7 @@ import org.dynjs.exception.ThrowException;
 import org.dynjs.runtime.AbstractNativeFunction;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
+import org.dynjs.runtime.NumberToString;
 import org.dynjs.runtime.Types;
 
 public class ToFixed extends AbstractNativeFunction {
@@ -31,7 +32,7 @@ public class ToFixed extends AbstractNativeFunction {
             final BigDecimal bigDecimal = new BigDecimal(number.doubleValue());
             return bigDecimal.setScale((int)digits, BigDecimal.ROUND_HALF_UP).toString();
         } else {
-            return Types.rewritePossiblyExponentialValue(String.valueOf(number.doubleValue()));
+            return NumberToString.toString(number.doubleValue());
         }
     }
 }
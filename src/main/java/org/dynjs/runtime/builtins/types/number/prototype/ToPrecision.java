@@ -1,12 +1,10 @@
 package org.dynjs.runtime.builtins.types.number.prototype;
 
-import java.math.BigDecimal;
-import java.math.MathContext;
-
 import org.dynjs.exception.ThrowException;
 import org.dynjs.runtime.AbstractNativeFunction;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
+import org.dynjs.runtime.NumberToString;
 import org.dynjs.runtime.Types;
 
 public class ToPrecision extends AbstractNativeFunction {
@@ -29,6 +27,6 @@ public class ToPrecision extends AbstractNativeFunction {
         if (precision < 1 || precision > 21) {
             throw new ThrowException(context, context.createRangeError("Number.prototype.toPrecision() [precision] must be between 0 and 20"));
         }
-        return new BigDecimal(number.doubleValue(), new MathContext(precision.intValue())).toString();
+        return NumberToString.toPrecision(number.doubleValue(), precision.intValue());
     }
 }
@@ -4,6 +4,7 @@ import org.dynjs.exception.ThrowException;
 import org.dynjs.runtime.AbstractNativeFunction;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
+import org.dynjs.runtime.NumberToString;
 import org.dynjs.runtime.Types;
 import org.dynjs.runtime.builtins.types.number.DynNumber;
 
@@ -24,7 +25,7 @@ public class ToString extends AbstractNativeFunction {
 
         if (self instanceof DynNumber || self instanceof Long || self instanceof Double || self instanceof Integer || self instanceof Float || self instanceof Short || self instanceof Byte ) {
             if (radix == 10) {
-                return Types.toString(context, Types.toNumber(context, self));
+                return NumberToString.toString(Types.toNumber(context, self));
             } else {
                 Number num = Types.toNumber(context, self);
                 if ( num instanceof Long || num instanceof Integer || num instanceof Short || num instanceof Byte ) {
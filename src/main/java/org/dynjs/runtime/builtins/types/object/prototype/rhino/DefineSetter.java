@@ -15,7 +15,11 @@ public class DefineSetter extends AbstractNativeFunction {
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         try {
-            String name = (String) args[0];
+            if (!Types.isString(args[0])) {
+                // E.g. if no name is provided
+                return Types.UNDEFINED;
+            }
+            String name = Types.toString(context, args[0]);
             JSFunction function = (JSFunction) args[1];
             DynObject obj = (DynObject) self;
 
@@ -14,7 +14,11 @@ public class LookupSetter extends AbstractNativeFunction {
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         try {
-            String name = (String) args[0];
+            if (!Types.isString(args[0])) {
+                // E.g. if no name is provided
+                return Types.UNDEFINED;
+            }
+            String name = Types.toString(context, args[0]);
             DynObject object = (DynObject) self;
             if (object.hasProperty(context, name)) {
                 PropertyDescriptor descriptor = (PropertyDescriptor) object.getOwnProperty(context, name);
@@ -0,0 +1,119 @@
+package org.dynjs.runtime.builtins.types.regexp;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import org.dynjs.exception.ThrowException;
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.PropertyDescriptor;
+import org.jcodings.specific.UTF8Encoding;
+import org.joni.Option;
+import org.joni.Regex;
+import org.joni.Syntax;
+import org.joni.WarnCallback;
+import org.joni.exception.JOniException;
+
+/**
+ * A compiled pattern together with the read-only properties (15.10.7) every
+ * RegExp object created from it carries. Immutable, and shared between all
+ * such objects; only {@code lastIndex} is per object.
+ */
+public class CompiledRegExp {
+
+    public static CompiledRegExp compile(ExecutionContext context, String pattern, String flags) {
+        // 15.10.4.1:
+        // If P is the empty String, this specification can be met by letting S be "(?:)".
+        if (pattern.equals("")) {
+            pattern = "(?:)";
+        }
+
+        boolean multiline = flags != null && flags.contains("m");
+        boolean global = flags != null && flags.contains("g");
+        boolean ignoreCase = flags != null && flags.contains("i");
+
+        int flagsInt = 0;
+
+        // joni calls the "m" flag Option.SINGLELINE, confusingly enough
+        // joni's Option.MULTILINE is actually Perl's "s" regex flag which
+        // has no equivalent in javascript
+        if (multiline) {
+            // negate Option.SINGLELINE
+            flagsInt = flagsInt & ~Option.SINGLELINE;
+        } else {
+            flagsInt = flagsInt | Option.SINGLELINE;
+        }
+
+        if (ignoreCase) {
+            flagsInt = flagsInt | Option.IGNORECASE;
+        }
+        try {
+            // We can't use pattern.getBytes("UTF-8") here because any
+            // malformed input will get mapped to the ? character which
+            // screws up the regexp
+            Charset charset = UTF8Encoding.INSTANCE.getCharset();
+            CharsetEncoder encoder = charset.newEncoder();
+            encoder.onMalformedInput(CodingErrorAction.REPLACE);
+            encoder.replaceWith(new byte[] { (byte) 1 });
+            ByteBuffer patternBuffer = encoder.encode(CharBuffer.wrap(pattern));
+            byte[] patternBytes = new byte[patternBuffer.limit()];
+            patternBuffer.get(patternBytes, 0, patternBytes.length);
+            Regex regex = new Regex(patternBytes, 0, patternBytes.length, flagsInt, UTF8Encoding.INSTANCE, Syntax.ECMAScript, warnings(context));
+            return new CompiledRegExp(regex, pattern, global, ignoreCase, multiline);
+        } catch (JOniException e) {
+            throw new ThrowException(context, context.createSyntaxError(e.getMessage()));
+        } catch (CharacterCodingException e) {
+            throw new ThrowException(context, context.createSyntaxError(e.getMessage()));
+        }
+    }
+
+    private static WarnCallback warnings(ExecutionContext context) {
+        final PrintStream err = context.getConfig().getErrorStream();
+        return new WarnCallback() {
+            @Override
+            public void warn(String message) {
+                err.println("WARN: " + message);
+            }
+        };
+    }
+
+    private final Regex regex;
+    private final PropertyDescriptor source;
+    private final PropertyDescriptor global;
+    private final PropertyDescriptor ignoreCase;
+    private final PropertyDescriptor multiline;
+
+    private CompiledRegExp(Regex regex, String source, boolean global, boolean ignoreCase, boolean multiline) {
+        this.regex = regex;
+        // never written to, as none of them is writable
+        this.source = PropertyDescriptor.newDataPropertyDescriptor(source, false, false, false);
+        this.global = PropertyDescriptor.newDataPropertyDescriptor(global, false, false, false);
+        this.ignoreCase = PropertyDescriptor.newDataPropertyDescriptor(ignoreCase, false, false, false);
+        this.multiline = PropertyDescriptor.newDataPropertyDescriptor(multiline, false, false, false);
+    }
+
+    public Regex getRegex() {
+        return this.regex;
+    }
+
+    public PropertyDescriptor getSourceProperty() {
+        return this.source;
+    }
+
+    public PropertyDescriptor getGlobalProperty() {
+        return this.global;
+    }
+
+    public PropertyDescriptor getIgnoreCaseProperty() {
+        return this.ignoreCase;
+    }
+
+    public PropertyDescriptor getMultilineProperty() {
+        return this.multiline;
+    }
+
+}
@@ -1,11 +1,6 @@
 package org.dynjs.runtime.builtins.types.regexp;
 
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CodingErrorAction;
 
 import org.dynjs.exception.ThrowException;
 import org.dynjs.runtime.DynObject;
@@ -14,15 +9,10 @@ import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.PropertyDescriptor;
 import org.jcodings.specific.UTF8Encoding;
 import org.joni.Matcher;
-import org.joni.Option;
-import org.joni.Regex;
-import org.joni.Syntax;
-import org.joni.WarnCallback;
-import org.joni.exception.JOniException;
 
 public class DynRegExp extends DynObject {
 
-    private Regex pattern;
+    private CompiledRegExp compiled;
 
     public DynRegExp(GlobalContext globalContext) {
         super(globalContext);
@@ -38,71 +28,26 @@ public class DynRegExp extends DynObject {
     public void setPatternAndFlags(ExecutionContext context, String pattern, final String flags) {
         checkSyntaxOfFlags(context, flags);
 
-        // 15.10.4.1:
-        // If P is the empty String, this specification can be met by letting S be "(?:)".
-        if (pattern.equals("")) {
-            pattern = "(?:)";
-        }
-
-        defineOwnProperty(null, "source",
-                PropertyDescriptor.newDataPropertyDescriptor(pattern, false, false, false), false);
-
-        if (flags != null) {
-            defineOwnProperty(null, "multiline",
-                    PropertyDescriptor.newDataPropertyDescriptor(flags.contains("m"), false, false, false), false);
-            defineOwnProperty(null, "global",
-                    PropertyDescriptor.newDataPropertyDescriptor(flags.contains("g"), false, false, false), false);
-            defineOwnProperty(null, "ignoreCase",
-                    PropertyDescriptor.newDataPropertyDescriptor(flags.contains("i"), false, false, false), false);
+        if (context == null) {
+            setCompiled(CompiledRegExp.compile(null, pattern, flags));
         } else {
-            defineOwnProperty(null, "multiline",
-                    PropertyDescriptor.newDataPropertyDescriptor(false, false, false, false), false);
-            defineOwnProperty(null, "global",
-                    PropertyDescriptor.newDataPropertyDescriptor(false, false, false, false), false);
-            defineOwnProperty(null, "ignoreCase",
-                    PropertyDescriptor.newDataPropertyDescriptor(false, false, false, false), false);
+            setCompiled(context.getGlobalContext().getRegExpCache().get(context, pattern, flags));
         }
-        defineOwnProperty(null, "lastIndex",
-                PropertyDescriptor.newDataPropertyDescriptor(0L, true, false, false), false);
+    }
 
-        int flagsInt = 0;
+    public CompiledRegExp getCompiled() {
+        return this.compiled;
+    }
 
-        // joni calls the "m" flag Option.SINGLELINE, confusingly enough
-        // joni's Option.MULTILINE is actually Perl's "s" regex flag which
-        // has no equivalent in javascript
-        if (get(context, "multiline") == Boolean.TRUE) {
-            // negate Option.SINGLELINE
-            flagsInt = flagsInt & ~Option.SINGLELINE;
-        } else {
-            flagsInt = flagsInt | Option.SINGLELINE;
-        }
+    public void setCompiled(CompiledRegExp compiled) {
+        this.compiled = compiled;
 
-        if (get(context, "ignoreCase") == Boolean.TRUE) {
-            flagsInt = flagsInt | Option.IGNORECASE;
-        }
-        try {
-            // We can't use pattern.getBytes("UTF-8") here because any
-            // malformed input will get mapped to the ? character which
-            // screws up the regexp
-            Charset charset= UTF8Encoding.INSTANCE.getCharset();
-            CharsetEncoder encoder = charset.newEncoder();
-            encoder.onMalformedInput(CodingErrorAction.REPLACE);
-            encoder.replaceWith(new byte[] { (byte) 1 });
-            ByteBuffer patternBuffer = encoder.encode(CharBuffer.wrap(pattern));
-            byte[] patternBytes = new byte[patternBuffer.limit()];
-            patternBuffer.get(patternBytes, 0, patternBytes.length);
-            this.pattern = new Regex(patternBytes, 0, patternBytes.length, flagsInt, UTF8Encoding.INSTANCE, Syntax.ECMAScript, new WarnCallback() {
-                @Override
-                public void warn(String message) {
-                    System.err.println("WARN: " + message);
-                }
-            });
-
-        } catch (JOniException e) {
-            throw new ThrowException(context, context.createSyntaxError(e.getMessage()));
-        } catch (CharacterCodingException e) {
-            throw new ThrowException(context, context.createSyntaxError(e.getMessage()));
-        }
+        defineInitialProperty("source", compiled.getSourceProperty());
+        defineInitialProperty("multiline", compiled.getMultilineProperty());
+        defineInitialProperty("global", compiled.getGlobalProperty());
+        defineInitialProperty("ignoreCase", compiled.getIgnoreCaseProperty());
+        defineInitialProperty("lastIndex",
+                PropertyDescriptor.newDataPropertyDescriptor(0L, true, false, false));
     }
 
     private void checkSyntaxOfFlags(ExecutionContext context, String flags) {
@@ -164,7 +109,7 @@ public class DynRegExp extends DynObject {
             throw new ThrowException(context, context.createSyntaxError(e.getMessage()));
         }
 
-        Matcher matcher = this.pattern.matcher(strBytes, 0, strBytes.length);
+        Matcher matcher = this.compiled.getRegex().matcher(strBytes, 0, strBytes.length);
         if (matcher.search(adjustedFrom, strBytes.length, 0) >= 0) {
             return DynRegExpMatch.fromRegion(strBytes, UTF8Encoding.INSTANCE, matcher.getEagerRegion());
         }
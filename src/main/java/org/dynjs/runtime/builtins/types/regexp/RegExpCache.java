@@ -0,0 +1,54 @@
+package org.dynjs.runtime.builtins.types.regexp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dynjs.runtime.ExecutionContext;
+
+/**
+ * Bounded, least-recently-used cache of compiled patterns, keyed by pattern
+ * and flags. Patterns which fail to compile are not cached.
+ */
+public class RegExpCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Map<String, CompiledRegExp> entries;
+
+    public RegExpCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RegExpCache(final int capacity) {
+        this.entries = new LinkedHashMap<String, CompiledRegExp>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledRegExp> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public CompiledRegExp get(ExecutionContext context, String pattern, String flags) {
+        String key = (flags == null ? "" : flags) + "/" + pattern;
+        synchronized (this.entries) {
+            CompiledRegExp compiled = this.entries.get(key);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        CompiledRegExp compiled = CompiledRegExp.compile(context, pattern, flags);
+        synchronized (this.entries) {
+            this.entries.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+}
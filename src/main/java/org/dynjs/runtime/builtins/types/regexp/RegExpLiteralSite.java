@@ -0,0 +1,60 @@
+package org.dynjs.runtime.builtins.types.regexp;
+
+import static java.lang.invoke.MethodType.*;
+import static me.qmx.jitescript.util.CodegenUtils.*;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+
+import me.qmx.jitescript.internal.org.objectweb.asm.Handle;
+import me.qmx.jitescript.internal.org.objectweb.asm.Opcodes;
+
+import org.dynjs.runtime.ExecutionContext;
+
+/**
+ * The compiled pattern of one regular expression literal, shared by every
+ * evaluation of that literal. The first evaluation goes through the runtime's
+ * {@link RegExpCache}; later ones only allocate a fresh object.
+ *
+ * Interpreted literals hold a site on their AST node. Compiled code gets one
+ * per literal through an invokedynamic instruction bootstrapped by
+ * {@link #BOOTSTRAP}.
+ */
+public class RegExpLiteralSite {
+
+    public static final Handle BOOTSTRAP = new Handle(Opcodes.H_INVOKESTATIC,
+            p(RegExpLiteralSite.class), "bootstrap",
+            methodType(CallSite.class, Lookup.class, String.class, MethodType.class, String.class, String.class)
+                    .toMethodDescriptorString());
+
+    private final String pattern;
+    private final String flags;
+    private volatile CompiledRegExp compiled;
+
+    public RegExpLiteralSite(String pattern, String flags) {
+        this.pattern = pattern;
+        this.flags = flags;
+    }
+
+    public DynRegExp newRegExp(ExecutionContext context) {
+        DynRegExp regexp = new DynRegExp(context.getGlobalContext());
+        CompiledRegExp compiled = this.compiled;
+        if (compiled == null) {
+            regexp.setPatternAndFlags(context, this.pattern, this.flags);
+            this.compiled = regexp.getCompiled();
+        } else {
+            regexp.setCompiled(compiled);
+        }
+        return regexp;
+    }
+
+    public static CallSite bootstrap(Lookup lookup, String name, MethodType type, String pattern, String flags) throws NoSuchMethodException, IllegalAccessException {
+        MethodHandle newRegExp = MethodHandles.lookup().findVirtual(RegExpLiteralSite.class, "newRegExp", methodType(DynRegExp.class, ExecutionContext.class));
+        return new ConstantCallSite(newRegExp.bindTo(new RegExpLiteralSite(pattern, flags)).asType(type));
+    }
+
+}
@@ -5,6 +5,7 @@ import org.dynjs.runtime.AbstractNativeFunction;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
 import org.dynjs.runtime.PrimitiveDynObject;
+import org.dynjs.runtime.Types;
 import org.dynjs.runtime.builtins.types.string.DynString;
 
 public class ToString extends AbstractNativeFunction {
@@ -16,7 +17,7 @@ public class ToString extends AbstractNativeFunction {
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         // 15.4.4.2
-        if ( self instanceof String ) {
+        if ( Types.isString(self) ) {
             return self;
         }
         
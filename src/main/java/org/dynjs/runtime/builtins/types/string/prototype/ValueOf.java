@@ -4,6 +4,7 @@ import org.dynjs.exception.ThrowException;
 import org.dynjs.runtime.AbstractNativeFunction;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.GlobalContext;
+import org.dynjs.runtime.Types;
 import org.dynjs.runtime.builtins.types.string.DynString;
 
 public class ValueOf extends AbstractNativeFunction {
@@ -15,7 +16,7 @@ public class ValueOf extends AbstractNativeFunction {
     @Override
     public Object call(ExecutionContext context, Object self, Object... args) {
         // 15.4.4.4
-        if (self instanceof String) {
+        if (Types.isString(self)) {
             return self;
         }
         if (self instanceof DynString) {
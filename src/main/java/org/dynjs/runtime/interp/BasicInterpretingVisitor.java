@@ -78,6 +78,7 @@ import org.dynjs.parser.ast.VoidOperatorExpression;
 import org.dynjs.parser.ast.WhileStatement;
 import org.dynjs.parser.ast.WithStatement;
 import org.dynjs.parser.js.Position;
+import org.dynjs.runtime.Arithmetic;
 import org.dynjs.runtime.BasicBlock;
 import org.dynjs.runtime.BlockManager;
 import org.dynjs.runtime.BlockManager.Entry;
@@ -88,13 +89,13 @@ import org.dynjs.runtime.EnvironmentRecord;
 import org.dynjs.runtime.ExecutionContext;
 import org.dynjs.runtime.JSFunction;
 import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.NameEnumerator;
 import org.dynjs.runtime.PropertyDescriptor;
 import org.dynjs.runtime.Reference;
 import org.dynjs.runtime.Types;
 import org.dynjs.runtime.builtins.types.BuiltinArray;
 import org.dynjs.runtime.builtins.types.BuiltinNumber;
 import org.dynjs.runtime.builtins.types.BuiltinObject;
-import org.dynjs.runtime.builtins.types.BuiltinRegExp;
 
 public class BasicInterpretingVisitor implements CodeVisitor {
 
@@ -116,12 +117,12 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     public Object visitPlus(Object context1, AdditiveExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
         Object lhs = Types.toPrimitive(context,
-                getValue(context, expr.getLhs().accept(context, this, strict)));
+                getValue(context, expr.getLhs(), strict));
         Object rhs = Types.toPrimitive(context,
-                getValue(context, expr.getRhs().accept(context, this, strict)));
+                getValue(context, expr.getRhs(), strict));
 
-        if (lhs instanceof String || rhs instanceof String) {
-            return(Types.toString(context, lhs) + Types.toString(context, rhs));
+        if (Types.isString(lhs) || Types.isString(rhs)) {
+            return(Types.concat(context, lhs, rhs));
             
         }
 
@@ -147,15 +148,15 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             
         }
 
-        return(lhsNum.longValue() + rhsNum.longValue());
+        return(Arithmetic.add(lhsNum.longValue(), rhsNum.longValue()));
     }
 
     public Object visitMinus(Object context1, AdditiveExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
         Number lhs = Types.toNumber(context, getValue(context,
-                expr.getLhs().accept(context, this, strict)));
+                expr.getLhs(), strict));
         Number rhs = Types.toNumber(context,
-                getValue(context, expr.getRhs().accept(context, this, strict)));
+                getValue(context, expr.getRhs(), strict));
 
         if (Double.isNaN(lhs.doubleValue()) || Double.isNaN(rhs.doubleValue())) {
             return(Double.NaN);
@@ -174,13 +175,13 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             
         }
 
-        return(lhs.longValue() - rhs.longValue());
+        return(Arithmetic.subtract(lhs.longValue(), rhs.longValue()));
     }
 
     @Override
     public Object visit(Object context1, BitwiseExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
 
         Long lhsNum = null;
 
@@ -230,7 +231,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         for (Expression each : expr.getExprs()) {
             Object value = null;
             if (each != null) {
-                value = getValue(context, each.accept(context, this, strict));
+                value = getValue(context, each, strict);
                 array.defineOwnProperty(context, "" + i, PropertyDescriptor.newPropertyDescriptorForObjectInitializer(value), false);
             }
             ++i;
@@ -249,7 +250,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         }
 
         Reference lhsRef = (Reference) lhs;
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         lhsRef.putValue(context, rhs);
         return(rhs);
@@ -258,7 +259,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, BitwiseInversionOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        return(~Types.toInt32(context, getValue(context, expr.getExpr().accept(context, this, strict))));
+        return(~Types.toInt32(context, getValue(context, expr.getExpr(), strict)));
     }
 
     @Override
@@ -427,7 +428,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             }
 
 
-            Boolean testResult = Types.toBoolean(getValue(context, testExpr.accept(context, this, strict)));
+            Boolean testResult = Types.toBoolean(getValue(context, testExpr, strict));
             if (!testResult) {
                 break;
             }
@@ -444,8 +445,8 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, EqualityOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         if (expr.getOp().equals("==")) {
             return(Types.compareEquality(context, lhs, rhs));
@@ -457,8 +458,8 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, CommaOperator expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        getValue(context, expr.getLhs().accept(context, this, strict));
-        return(getValue(context, expr.getRhs().accept(context, this, strict)));
+        getValue(context, expr.getLhs(), strict);
+        return(getValue(context, expr.getRhs(), strict));
         // leave RHS on the stack
     }
 
@@ -469,7 +470,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         if (expr instanceof FunctionDeclaration) {
             return(Completion.createNormal());
         } else {
-            return(Completion.createNormal(getValue(context, expr.accept(context, this, strict))));
+            return(Completion.createNormal(getValue(context, expr, strict)));
         }
     }
 
@@ -493,9 +494,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
 
             Object lhsRef = statement.getExpr().accept(context, this, strict);
 
@@ -544,9 +546,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
             Object lhsRef = statement.getExpr().accept(context, this, strict);
 
             if (lhsRef instanceof Reference) {
@@ -596,7 +599,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         while (true) {
             if (test != null) {
 
-                if (!Types.toBoolean(getValue(context, test.accept(context, this, strict)))) {
+                if (!Types.toBoolean(getValue(context, test, strict))) {
                     break;
                 }
             }
@@ -629,7 +632,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             }
 
             if (incr != null) {
-                getValue(context, incr.accept(context, this, strict));
+                getValue(context, incr, strict);
             }
         }
 
@@ -652,9 +655,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
             Reference varRef = context.resolve(varName);
 
             varRef.putValue(context, each);
@@ -701,9 +705,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         Object v = null;
 
-        List<String> names = obj.getAllEnumerablePropertyNames().toList();
+        NameEnumerator names = obj.getAllEnumerablePropertyNames();
 
-        for (String each : names) {
+        while (names.hasNext()) {
+            String each = names.next();
             Reference varRef = context.resolve(varName);
             Reference propertyRef = context.createPropertyReference(obj, each);
 
@@ -751,7 +756,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         while (true) {
             if (test != null) {
-                if (!Types.toBoolean(getValue(context, test.accept(context, this, strict)))) {
+                if (!Types.toBoolean(getValue(context, test, strict))) {
                     break;
                 }
             }
@@ -784,7 +789,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             }
 
             if (incr != null) {
-                getValue(context, incr.accept(context, this, strict));
+                getValue(context, incr, strict);
             }
         }
 
@@ -802,7 +807,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         for (Expression each : argExprs) {
 
-            args[i] = getValue(context, each.accept(context, this, strict));
+            args[i] = getValue(context, each, strict);
             ++i;
         }
 
@@ -847,7 +852,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     public Object visit(Object context1, IfStatement statement, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
         Boolean result = Types.toBoolean(getValue(context,
-                statement.getTest().accept(context, this, strict)));
+                statement.getTest(), strict));
 
         if (result) {
             return(invokeCompiledBlockStatement(context, "Then", statement.getThenBlock()));
@@ -861,8 +866,8 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, InOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         if (!(rhs instanceof JSObject)) {
             throw new ThrowException(context, context.createTypeError(expr.getRhs() + " is not an object"));
@@ -874,8 +879,8 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, OfOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         if (!(rhs instanceof JSObject)) {
             throw new ThrowException(context, context.createTypeError(expr.getRhs() + " is not an object"));
@@ -887,8 +892,8 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, InstanceofExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         if (rhs == Types.UNDEFINED) {
             throw new ThrowException(context, context.createTypeError(expr.getRhs() + " is undefined."));
@@ -914,7 +919,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, LogicalExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
 
         if ((expr.getOp().equals("||") && Types.toBoolean(lhs)) || (expr.getOp().equals("&&") && !Types.toBoolean(lhs))) {
             return(lhs);
@@ -926,7 +931,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, LogicalNotOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        return(!Types.toBoolean(getValue(context, expr.getExpr().accept(context, this, strict))));
+        return(!Types.toBoolean(getValue(context, expr.getExpr(), strict)));
     }
 
     @Override
@@ -947,20 +952,18 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         ExecutionContext context = (ExecutionContext) context1;
         Object baseRef = expr.getLhs().accept(context, this, strict);
         Object baseValue = getValue(context, baseRef);
-        Object identifier = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object identifier = getValue(context, expr.getRhs(), strict);
 
         Types.checkObjectCoercible(context, baseValue);
 
-        String propertyName = Types.toString(context, identifier);
-
-        return(context.createPropertyReference(baseValue, propertyName));
+        return(context.createElementReference(baseValue, identifier));
     }
 
     @Override
     public Object visit(Object context1, MultiplicativeExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Number lval = Types.toNumber(context, getValue(context, expr.getLhs().accept(context, this, strict)));
-        Number rval = Types.toNumber(context, getValue(context, expr.getRhs().accept(context, this, strict)));
+        Number lval = Types.toNumber(context, getValue(context, expr.getLhs(), strict));
+        Number rval = Types.toNumber(context, getValue(context, expr.getRhs(), strict));
 
         if (Double.isNaN(lval.doubleValue()) || Double.isNaN(rval.doubleValue())) {
             return(Double.NaN);
@@ -1013,7 +1016,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         } else {
             switch (expr.getOp()) {
             case "*":
-                return(lval.longValue() * rval.longValue());
+                return(Arithmetic.multiply(lval.longValue(), rval.longValue()));
                 
             case "/":
                 if (rval.longValue() == 0L) {
@@ -1067,7 +1070,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         int i = 0;
 
         for (Expression each : expr.getArgumentExpressions()) {
-            args[i] = getValue(context, each.accept(context, this, strict));
+            args[i] = getValue(context, each, strict);
             ++i;
         }
 
@@ -1142,10 +1145,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             } else {
                 switch (expr.getOp()) {
                     case "++":
-                        newValue = oldValue.longValue() + 1;
+                        newValue = Arithmetic.add(oldValue.longValue(), 1L);
                         break;
                     case "--":
-                        newValue = oldValue.longValue() - 1;
+                        newValue = Arithmetic.subtract(oldValue.longValue(), 1L);
                         break;
                 }
             }
@@ -1186,10 +1189,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
             } else {
                 switch (expr.getOp()) {
                     case "++":
-                        newValue = oldValue.longValue() + 1;
+                        newValue = Arithmetic.add(oldValue.longValue(), 1L);
                         break;
                     case "--":
-                        newValue = oldValue.longValue() - 1;
+                        newValue = Arithmetic.subtract(oldValue.longValue(), 1L);
                         break;
                 }
             }
@@ -1228,14 +1231,14 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
     @Override
     public Object visit(Object context, RegexpLiteralExpression expr, boolean strict) {
-        return(BuiltinRegExp.newRegExp((ExecutionContext) context, expr.getPattern(), expr.getFlags()));
+        return(expr.newRegExp((ExecutionContext) context));
     }
 
     @Override
     public Object visit(Object context1, RelationalExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lval = getValue(context, expr.getLhs().accept(context, this, strict));
-        Object rval = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object lval = getValue(context, expr.getLhs(), strict);
+        Object rval = getValue(context, expr.getRhs(), strict);
         Object r = null;
 
         switch (expr.getOp()) {
@@ -1289,8 +1292,8 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, StrictEqualityOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object lhs = getValue(context, expr.getLhs().accept(context, this, strict));
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object lhs = getValue(context, expr.getLhs(), strict);
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         Object result = null;
         if (expr.getOp().equals("===")) {
@@ -1309,7 +1312,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, SwitchStatement statement, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object value = getValue(context, statement.getExpr().accept(context, this, strict));
+        Object value = getValue(context, statement.getExpr(), strict);
         Object v = null;
 
         int numClauses = statement.getCaseClauses().size();
@@ -1358,7 +1361,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, TernaryExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        if (Types.toBoolean(getValue(context, expr.getTest().accept(context, this, strict)))) {
+        if (Types.toBoolean(getValue(context, expr.getTest(), strict))) {
             return expr.getThenExpr().accept(context, this, strict);
         } else {
             return expr.getElseExpr().accept(context, this, strict);
@@ -1373,7 +1376,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, ThrowStatement statement, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object throwable = getValue(context, statement.getExpr().accept(context, this, strict));
+        Object throwable = getValue(context, statement.getExpr(), strict);
         // if ( throwable instanceof Throwable ) {
         // ((Throwable) throwable).printStackTrace();
         // }
@@ -1454,7 +1457,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, UnaryMinusExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        Object value = getValue(context, expr.getExpr().accept(context, this, strict));
+        Object value = getValue(context, expr.getExpr(), strict);
         Number oldValue = Types.toNumber(context, value);
         if (oldValue instanceof Double) {
             if (Double.isNaN(oldValue.doubleValue())) {
@@ -1472,14 +1475,14 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, UnaryPlusExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        return(Types.toNumber(context, getValue(context, expr.getExpr().accept(context, this, strict))));
+        return(Types.toNumber(context, getValue(context, expr.getExpr(), strict)));
     }
 
     @Override
     public Object visit(Object context1, VariableDeclaration expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
         if (expr.getExpr() != null) {
-            Object value = getValue(context, expr.getExpr().accept(context, this, strict));
+            Object value = getValue(context, expr.getExpr(), strict);
             Reference var = context.resolve(expr.getIdentifier());
             var.putValue(context, value);
         }
@@ -1498,7 +1501,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, VoidOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        getValue(context, expr.getExpr().accept(context, this, strict));
+        getValue(context, expr.getExpr(), strict);
         return(Types.UNDEFINED);
     }
 
@@ -1512,7 +1515,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
 
         while (true) {
 
-            Boolean testResult = Types.toBoolean(getValue(context, testExpr.accept(context, this, strict)));
+            Boolean testResult = Types.toBoolean(getValue(context, testExpr, strict));
             if (testResult) {
                 // block.accept(context, this, strict);
                 // Completion completion = (Completion) pop();
@@ -1556,7 +1559,7 @@ public class BasicInterpretingVisitor implements CodeVisitor {
     @Override
     public Object visit(Object context1, WithStatement statement, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
-        JSObject obj = Types.toObject(context, getValue(context, statement.getExpr().accept(context, this, strict)));
+        JSObject obj = Types.toObject(context, getValue(context, statement.getExpr(), strict));
         BasicBlock block = compiledBlockStatement(context, "With", statement.getBlock());
         return(context.executeWith(obj, block));
     }
@@ -1579,6 +1582,10 @@ public class BasicInterpretingVisitor implements CodeVisitor {
         return Types.getValue(context, obj);
     }
 
+    protected Object getValue(ExecutionContext context, Expression expr, boolean strict) {
+        return getValue(context, expr.accept(context, this, strict));
+    }
+
     private boolean isZero(Number n) {
         return n.doubleValue() == 0.0;
     }
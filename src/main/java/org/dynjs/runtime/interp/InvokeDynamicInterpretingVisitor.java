@@ -4,15 +4,24 @@ import java.util.List;
 
 import org.dynjs.codegen.DereferencedReference;
 import org.dynjs.exception.ThrowException;
+import org.dynjs.parser.ast.AbstractExpression;
 import org.dynjs.parser.ast.AssignmentExpression;
 import org.dynjs.parser.ast.Expression;
 import org.dynjs.parser.ast.FunctionCallExpression;
 import org.dynjs.parser.ast.NewOperatorExpression;
 import org.dynjs.runtime.*;
-import org.dynjs.runtime.linker.DynJSBootstrapper;
+import org.dynjs.runtime.linker.InterpretingCallSites;
 
+/**
+ * Interpreter which dereferences, assigns, calls and constructs through
+ * invokedynamic call sites. Each AST node links its own sites, so they stay
+ * as monomorphic as the source location they belong to.
+ */
 public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
 
+    // for values which don't come from an AST node, such as a for-in key
+    private static final InterpretingCallSites SHARED = new InterpretingCallSites(null);
+
     public InvokeDynamicInterpretingVisitor(BlockManager blockManager) {
         super(blockManager);
     }
@@ -27,14 +36,18 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
         }
 
         Reference lhsRef = (Reference) lhs;
-        Object rhs = getValue(context, expr.getRhs().accept(context, this, strict));
+        Object rhs = getValue(context, expr.getRhs(), strict);
 
         if (lhsRef.isUnresolvableReference() && strict) {
             throw new ThrowException(context, context.createReferenceError(lhsRef.getReferencedName() + " is not defined"));
         }
 
         try {
-            DynJSBootstrapper.getInvokeHandler().set(lhsRef, context, lhsRef.getReferencedName(), rhs);
+            if (lhsRef instanceof IndexedReference) {
+                expr.getCallSites().setElement(lhsRef, context, ((IndexedReference) lhsRef).getIndex(), rhs);
+                return(rhs);
+            }
+            expr.getCallSites().set(lhsRef, context, lhsRef.getReferencedName(), rhs);
         } catch (ThrowException e) {
             throw e;
         } catch (Throwable e) {
@@ -52,7 +65,7 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
         ExecutionContext context = (ExecutionContext) context1;
 
         Object ref = expr.getMemberExpression().accept(context, this, strict);
-        Object function = getValue(context, ref);
+        Object function = getValue(context, callSitesFor(expr.getMemberExpression()), ref);
 
         List<Expression> argExprs = expr.getArgumentExpressions();
 
@@ -61,7 +74,7 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
 
         for (Expression each : argExprs) {
 
-            Object value = getValue(context,each.accept(context, this, strict));
+            Object value = getValue(context, each, strict);
             args[i] = value;
             ++i;
         }
@@ -85,7 +98,7 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
         }
 
         try {
-            return(DynJSBootstrapper.getInvokeHandler().call(function, context, thisValue, args));
+            return(expr.getCallSites().call(function, context, thisValue, args));
         } catch (ThrowException e) {
             throw e;
         } catch (NoSuchMethodError e) {
@@ -99,13 +112,13 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
     public Object visit(Object context1, NewOperatorExpression expr, boolean strict) {
         ExecutionContext context = (ExecutionContext) context1;
         Object ref = expr.getExpr().accept(context, this, strict);
-        Object memberExpr = getValue(context, ref);
+        Object memberExpr = getValue(context, callSitesFor(expr.getExpr()), ref);
         Object[] args = new Object[expr.getArgumentExpressions().size()];
 
         int i = 0;
 
         for (Expression each : expr.getArgumentExpressions()) {
-            args[i] = getValue(context, each.accept(context, this, strict));
+            args[i] = getValue(context, each, strict);
             ++i;
         }
 
@@ -116,7 +129,7 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
         }
 
         try {
-            return( DynJSBootstrapper.getInvokeHandler().construct(ctor, context, args) );
+            return( expr.getCallSites().construct(ctor, context, args) );
         } catch (NoSuchMethodError e) {
             throw new ThrowException(context, context.createTypeError("cannot construct with: " + ref));
         } catch (ThrowException e) {
@@ -126,13 +139,37 @@ public class InvokeDynamicInterpretingVisitor extends BasicInterpretingVisitor {
         }
     }
 
+    @Override
+    protected Object getValue(ExecutionContext context, Expression expr, boolean strict) {
+        return getValue(context, callSitesFor(expr), expr.accept(context, this, strict));
+    }
+
     @Override
     protected Object getValue(ExecutionContext context, Object obj) {
-        if (obj instanceof Reference) {
+        return getValue(context, SHARED, obj);
+    }
+
+    private static InterpretingCallSites callSitesFor(Expression expr) {
+        if (expr instanceof AbstractExpression) {
+            return ((AbstractExpression) expr).getCallSites();
+        }
+        return SHARED;
+    }
+
+    private Object getValue(ExecutionContext context, InterpretingCallSites callSites, Object obj) {
+        if (obj instanceof IndexedReference) {
+            try {
+                return callSites.getElement(obj, context, ((IndexedReference) obj).getIndex());
+            } catch (ThrowException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ThrowException(context, e);
+            }
+        } else if (obj instanceof Reference) {
             Reference ref = (Reference) obj;
             String name = ref.getReferencedName();
             try {
-                Object result = DynJSBootstrapper.getInvokeHandler().get(obj, context, name);
+                Object result = callSites.get(obj, context, name);
                 return result;
             } catch (ThrowException e) {
                 throw e;
@@ -22,15 +22,7 @@ public class CallSiteFactory {
     }
 
     public CallSite createGet(Position pos) {
-        try {
-            return linker.bootstrap(
-                    MethodHandles.lookup(),
-                    "dyn:getProperty|getMethod", methodType(Object.class, Object.class, ExecutionContext.class, String.class),
-                    pos.getFileName(), pos.getLine(), pos.getColumn());
-        } catch (Throwable throwable) {
-            throwable.printStackTrace();
-        }
-        return null;
+        return create("dyn:getProperty|getMethod", methodType(Object.class, Object.class, ExecutionContext.class, String.class), pos);
     }
 
     public CallSite createSet() {
@@ -42,24 +34,32 @@ public class CallSiteFactory {
         return null;
     }
 
+    public CallSite createSet(Position pos) {
+        return create("dyn:setProperty", methodType(void.class, Object.class, ExecutionContext.class, String.class, Object.class), pos);
+    }
+
+    public CallSite createGetElement(Position pos) {
+        return create("dyn:getElement", methodType(Object.class, Object.class, ExecutionContext.class, long.class), pos);
+    }
+
+    public CallSite createSetElement(Position pos) {
+        return create("dyn:setElement", methodType(void.class, Object.class, ExecutionContext.class, long.class, Object.class), pos);
+    }
+
     public CallSite createCall(Position pos) {
-        try {
-            return linker.bootstrap(
-                    MethodHandles.lookup(),
-                    "dyn:call", methodType( Object.class, Object.class, ExecutionContext.class, Object.class, Object[].class ),
-                    pos.getFileName(), pos.getLine(), pos.getColumn() );
-        } catch (Throwable throwable) {
-            throwable.printStackTrace();
-        }
-        return null;
+        return create("dyn:call", methodType(Object.class, Object.class, ExecutionContext.class, Object.class, Object[].class), pos);
     }
 
     public CallSite createConstruct(Position pos) {
+        return create("dyn:construct", methodType(Object.class, Object.class, ExecutionContext.class, Object[].class), pos);
+    }
+
+    private CallSite create(String name, MethodType type, Position pos) {
         try {
-            return linker.bootstrap(
-                    MethodHandles.lookup(),
-                    "dyn:construct", methodType( Object.class, Object.class, ExecutionContext.class, Object[].class),
-                    pos.getFileName(), pos.getLine(), pos.getColumn() );
+            if (pos == null) {
+                return linker.bootstrap(name, type.returnType(), type.parameterArray());
+            }
+            return linker.bootstrap(MethodHandles.lookup(), name, type, pos.getFileName(), pos.getLine(), pos.getColumn());
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
@@ -11,6 +11,7 @@ import org.dynjs.runtime.linker.java.instance.JSJavaInstancePropertyLinker;
 import org.dynjs.runtime.linker.java.jsimpl.JSJavaImplementationLinker;
 import org.dynjs.runtime.linker.java.jsimpl.JSJavaImplementationManager;
 import org.dynjs.runtime.linker.java.map.JSMapLikePropertyLinker;
+import org.dynjs.runtime.linker.js.element.JavascriptElementLinker;
 import org.dynjs.runtime.linker.js.environment.JavascriptEnvironmentLinker;
 import org.dynjs.runtime.linker.js.global.GlobalLinker;
 import org.dynjs.runtime.linker.js.object.JavascriptObjectLinker;
@@ -64,7 +65,10 @@ public class DynJSBootstrapper {
             LINKER.addLinker(cacheable(new FunctionDereferencedReferenceLinker(logger)));
 
             LINKER.addLinker(cacheable(new JavascriptUndefinedLinker(logger)));
-            LINKER.addLinker(cacheable(new JavascriptObjectLinker(logger)));
+            // not cacheable: CachingLinker only handles property, call and construct operations
+            LINKER.addLinker(new JavascriptElementLinker(logger));
+            // not cacheable: plain-object property links carry per-site inline caches
+            LINKER.addLinker(new JavascriptObjectLinker(logger));
             LINKER.addLinker(cacheable(new JavascriptPrimitiveLinker(logger)));
 
             LINKER.addLinker(cacheable(new GlobalLinker(logger)));
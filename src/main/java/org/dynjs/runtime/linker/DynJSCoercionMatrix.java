@@ -26,6 +26,9 @@ public class DynJSCoercionMatrix extends CoercionMatrix {
         // Convert JavaScript null and undefined values to Java null
         addCoercion(0, Object.class, Types.Null.class, lookup.findStatic(DynJSCoercionMatrix.class, "jsToJavaNull", methodType(Object.class, Object.class)));
 
+        // Flatten concatenated JavaScript strings
+        addCoercion(0, String.class, Rope.class, lookup.findVirtual(Rope.class, "toString", methodType(String.class)));
+
         // Convert JavaScript objects to Strings
         addCoercion(3, String.class, JSObject.class, lookup.findStatic(DynJSCoercionMatrix.class, "objectToString", methodType(String.class, JSObject.class)));
 
@@ -173,7 +176,7 @@ public class DynJSCoercionMatrix extends CoercionMatrix {
             cached = Binder.from(methodType(target, Object.class))
                     .insert(0, this.manager)
                     .insert(1, target)
-                    .insert(2, ThreadContextManager.currentContext())
+                    .insert(2, ThreadContextManager.rootContext())
                     .insert(3, methodName)
                     .invoke(method);
             this.samCache.put( target, cached );
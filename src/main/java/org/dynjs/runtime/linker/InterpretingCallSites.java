@@ -0,0 +1,103 @@
+package org.dynjs.runtime.linker;
+
+import org.dynjs.parser.js.Position;
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.GlobalContext;
+
+import java.lang.invoke.CallSite;
+import java.lang.ref.WeakReference;
+
+/**
+ * Call sites owned by a single AST node for use by the invokedynamic
+ * interpreter. Unlike the shared sites of {@link InterpretingInvokeDynamicHandler}
+ * each site only sees the receivers of one place in the source, so it can stay
+ * monomorphic. Sites are bootstrapped the first time they are used.
+ *
+ * The program cache hands one AST to several runtimes, so the sites belong
+ * to the runtime (GlobalContext) that used them last, held weakly: when
+ * another one comes along they are dropped and bootstrapped again, and
+ * whatever they linked against cannot keep an earlier runtime alive.
+ */
+public class InterpretingCallSites {
+
+    private static final WeakReference<GlobalContext> NO_OWNER = new WeakReference<>(null);
+
+    private final Position position;
+    private WeakReference<GlobalContext> owner = NO_OWNER;
+
+    private CallSite get;
+    private CallSite set;
+
+    private CallSite getElement;
+    private CallSite setElement;
+
+    private CallSite call;
+    private CallSite construct;
+
+    public InterpretingCallSites(Position position) {
+        this.position = position;
+    }
+
+    private void claim(ExecutionContext context) {
+        GlobalContext globalContext = context.getGlobalContext();
+        if (this.owner.get() != globalContext) {
+            this.get = this.set = this.getElement = this.setElement = this.call = this.construct = null;
+            this.owner = new WeakReference<>(globalContext);
+        }
+    }
+
+    public Object get(Object object, ExecutionContext context, String propertyName) throws Throwable {
+        claim(context);
+        CallSite site = this.get;
+        if (site == null) {
+            site = this.get = DynJSBootstrapper.factory().createGet(this.position);
+        }
+        return site.getTarget().invoke(object, context, propertyName);
+    }
+
+    public void set(Object object, ExecutionContext context, String propertyName, Object value) throws Throwable {
+        claim(context);
+        CallSite site = this.set;
+        if (site == null) {
+            site = this.set = DynJSBootstrapper.factory().createSet(this.position);
+        }
+        site.getTarget().invoke(object, context, propertyName, value);
+    }
+
+    public Object getElement(Object object, ExecutionContext context, long index) throws Throwable {
+        claim(context);
+        CallSite site = this.getElement;
+        if (site == null) {
+            site = this.getElement = DynJSBootstrapper.factory().createGetElement(this.position);
+        }
+        return site.getTarget().invoke(object, context, index);
+    }
+
+    public void setElement(Object object, ExecutionContext context, long index, Object value) throws Throwable {
+        claim(context);
+        CallSite site = this.setElement;
+        if (site == null) {
+            site = this.setElement = DynJSBootstrapper.factory().createSetElement(this.position);
+        }
+        site.getTarget().invoke(object, context, index, value);
+    }
+
+    public Object call(Object method, ExecutionContext context, Object self, Object... args) throws Throwable {
+        claim(context);
+        CallSite site = this.call;
+        if (site == null) {
+            site = this.call = DynJSBootstrapper.factory().createCall(this.position);
+        }
+        return site.getTarget().invoke(method, context, self, args);
+    }
+
+    public Object construct(Object ctor, ExecutionContext context, Object... args) throws Throwable {
+        claim(context);
+        CallSite site = this.construct;
+        if (site == null) {
+            site = this.construct = DynJSBootstrapper.factory().createConstruct(this.position);
+        }
+        return site.getTarget().invoke(ctor, context, args);
+    }
+
+}
@@ -13,6 +13,9 @@ public class InterpretingInvokeDynamicHandler {
     private CallSite get;
     private CallSite set;
 
+    private CallSite getElement;
+    private CallSite setElement;
+
     private CallSite call;
     private CallSite construct;
 
@@ -20,6 +23,8 @@ public class InterpretingInvokeDynamicHandler {
         this.linker = linker;
         this.get = linker.bootstrap("dyn:getProperty|getMethod", Object.class, Object.class, ExecutionContext.class, String.class);
         this.set = linker.bootstrap("dyn:setProperty", void.class, Object.class, ExecutionContext.class, String.class, Object.class);
+        this.getElement = linker.bootstrap("dyn:getElement", Object.class, Object.class, ExecutionContext.class, long.class);
+        this.setElement = linker.bootstrap("dyn:setElement", void.class, Object.class, ExecutionContext.class, long.class, Object.class);
         this.call = linker.bootstrap("dyn:call", Object.class, Object.class, ExecutionContext.class, Object.class, Object[].class);
         this.construct = linker.bootstrap("dyn:construct", Object.class, Object.class, ExecutionContext.class, Object[].class);
     }
@@ -36,6 +41,14 @@ public class InterpretingInvokeDynamicHandler {
         this.set.getTarget().invoke(object, context, propertyName, value);
     }
 
+    public Object getElement(Object object, ExecutionContext context, long index) throws Throwable {
+        return this.getElement.getTarget().invoke(object, context, index);
+    }
+
+    public void setElement(Object object, ExecutionContext context, long index, Object value) throws Throwable {
+        this.setElement.getTarget().invoke(object, context, index, value);
+    }
+
     public Object call(Object method, ExecutionContext context, Object self, Object... args) throws Throwable {
         return this.call.getTarget().invoke(method, context, self, args);
     }
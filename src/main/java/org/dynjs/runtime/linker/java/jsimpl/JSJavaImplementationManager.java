@@ -9,6 +9,7 @@ import org.dynjs.runtime.*;
 import org.dynjs.runtime.linker.java.ObjectMethodGenerator;
 import org.dynjs.runtime.linker.js.shadow.ShadowObjectLinker;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -21,7 +22,9 @@ public class JSJavaImplementationManager {
 
     private static AtomicInteger counter = new AtomicInteger();
 
-    private Map<Class<?>, Class<?>> implementations = new HashMap<>();
+    // weak both ways: a wrapper extends its target class, and is recreated
+    // if it was collected
+    private Map<Class<?>, WeakReference<Class<?>>> implementations = new WeakHashMap<>();
 
     private ObjectMethodGenerator objectMethodGenerator = new ObjectMethodGenerator();
 
@@ -74,11 +77,12 @@ public class JSJavaImplementationManager {
         return null;
     }
 
-    public Class<?> getImplementationWrapper(Class<?> targetClass, DynamicClassLoader classLoader) {
-        Class<?> implClass = this.implementations.get(targetClass);
+    public synchronized Class<?> getImplementationWrapper(Class<?> targetClass, DynamicClassLoader classLoader) {
+        WeakReference<Class<?>> ref = this.implementations.get(targetClass);
+        Class<?> implClass = (ref == null ? null : ref.get());
         if (implClass == null) {
-            implClass = createImplementationWrapper(targetClass, classLoader);
-            this.implementations.put(targetClass, implClass);
+            implClass = createImplementationWrapper(targetClass, new GeneratedClassLoader(classLoader));
+            this.implementations.put(targetClass, new WeakReference<Class<?>>(implClass));
         }
 
         return implClass;
@@ -0,0 +1,50 @@
+package org.dynjs.runtime.linker.js.element;
+
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.IndexedReference;
+import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.linker.js.ReferenceBaseFilter;
+import org.projectodd.rephract.SmartLink;
+import org.projectodd.rephract.builder.LinkBuilder;
+import org.projectodd.rephract.guards.Guard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Element get through an {@link IndexedReference}.
+ */
+public class JSObjectElementGetLink extends SmartLink implements Guard {
+
+    public JSObjectElementGetLink(LinkBuilder builder) throws Exception {
+        super(builder);
+        this.builder = this.builder.guardWith(this);
+    }
+
+    public boolean guard(Object receiver, Object context, long index) {
+        return (receiver instanceof IndexedReference);
+    }
+
+    @Override
+    public MethodHandle guardMethodHandle(MethodType inputType) throws Exception {
+        return lookup()
+                .findVirtual(JSObjectElementGetLink.class, "guard", methodType(boolean.class, Object.class, Object.class, long.class))
+                .bindTo(this);
+    }
+
+    public MethodHandle guard() throws Exception {
+        return this.builder.getGuard();
+    }
+
+    public MethodHandle target() throws Exception {
+        return this.builder
+                .filter(0, ReferenceBaseFilter.INSTANCE)
+                .convert(Object.class, JSObject.class, ExecutionContext.class, long.class)
+                .invoke(lookup().findVirtual(JSObject.class, "getIndexed", methodType(Object.class, ExecutionContext.class, long.class)))
+                .target();
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.dynjs.runtime.linker.js.element;
+
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.IndexedReference;
+import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.linker.js.ReferenceBaseFilter;
+import org.dynjs.runtime.linker.js.ReferenceStrictnessFilter;
+import org.projectodd.rephract.SmartLink;
+import org.projectodd.rephract.builder.LinkBuilder;
+import org.projectodd.rephract.guards.Guard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Element put through an {@link IndexedReference}.
+ */
+public class JSObjectElementSetLink extends SmartLink implements Guard {
+
+    public JSObjectElementSetLink(LinkBuilder builder) throws Exception {
+        super(builder);
+        this.builder = this.builder.guardWith(this);
+    }
+
+    public boolean guard(Object receiver, Object context, long index, Object value) {
+        return (receiver instanceof IndexedReference);
+    }
+
+    @Override
+    public MethodHandle guardMethodHandle(MethodType inputType) throws Exception {
+        return lookup()
+                .findVirtual(JSObjectElementSetLink.class, "guard", methodType(boolean.class, Object.class, Object.class, long.class, Object.class))
+                .bindTo(this);
+    }
+
+    public MethodHandle guard() throws Exception {
+        return this.builder.getGuard();
+    }
+
+    public MethodHandle target() throws Exception {
+        return this.builder
+                .permute(0, 1, 2, 3, 0)
+                .filter(0, ReferenceBaseFilter.INSTANCE)
+                .filter(4, ReferenceStrictnessFilter.INSTANCE)
+                .convert(void.class, JSObject.class, ExecutionContext.class, long.class, Object.class, boolean.class)
+                .invoke(lookup().findVirtual(JSObject.class, "putIndexed", methodType(void.class, ExecutionContext.class, long.class, Object.class, boolean.class)))
+                .target();
+    }
+
+}
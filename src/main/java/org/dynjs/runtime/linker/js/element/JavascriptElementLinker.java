@@ -0,0 +1,36 @@
+package org.dynjs.runtime.linker.js.element;
+
+import org.projectodd.rephract.Invocation;
+import org.projectodd.rephract.Link;
+import org.projectodd.rephract.LinkLogger;
+import org.projectodd.rephract.Linker;
+
+/**
+ * Links integer-indexed element access ({@code dyn:getElement} and
+ * {@code dyn:setElement}) through an {@link org.dynjs.runtime.IndexedReference},
+ * calling {@link org.dynjs.runtime.JSObject#getIndexed} and
+ * {@link org.dynjs.runtime.JSObject#putIndexed} without ever forming a
+ * property name.
+ *
+ * The stock {@link Linker} only dispatches property, call and construct
+ * operations, so element operations are picked up here directly.
+ */
+public class JavascriptElementLinker extends Linker {
+
+    public JavascriptElementLinker(LinkLogger logger) {
+        super(logger);
+    }
+
+    @Override
+    public Link link(Invocation invocation) throws Exception {
+        switch (invocation.type()) {
+            case GET_ELEMENT:
+                return new JSObjectElementGetLink(invocation.builder());
+            case SET_ELEMENT:
+                return new JSObjectElementSetLink(invocation.builder());
+            default:
+                return null;
+        }
+    }
+
+}
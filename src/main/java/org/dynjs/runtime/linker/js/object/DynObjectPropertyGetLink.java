@@ -0,0 +1,56 @@
+package org.dynjs.runtime.linker.js.object;
+
+import org.dynjs.runtime.DynObject;
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.Reference;
+import org.projectodd.rephract.SmartLink;
+import org.projectodd.rephract.builder.LinkBuilder;
+import org.projectodd.rephract.guards.Guard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Property get on a plain {@link DynObject}, served from a per-site
+ * {@link ShapeInlineCache}.
+ */
+public class DynObjectPropertyGetLink extends SmartLink implements Guard {
+
+    private final ShapeInlineCache cache = new ShapeInlineCache();
+
+    public DynObjectPropertyGetLink(LinkBuilder builder) throws Exception {
+        super(builder);
+        this.builder = this.builder.guardWith(this);
+    }
+
+    public boolean guard(Object receiver, Object context, String propertyName) {
+        if (!(receiver instanceof Reference)) {
+            return false;
+        }
+        Object base = ((Reference) receiver).getBase();
+        return (base instanceof DynObject) && ((DynObject) base).hasDefaultPropertyAccess();
+    }
+
+    @Override
+    public MethodHandle guardMethodHandle(MethodType inputType) throws Exception {
+        return lookup()
+                .findVirtual(DynObjectPropertyGetLink.class, "guard", methodType(boolean.class, Object.class, Object.class, String.class))
+                .bindTo(this);
+    }
+
+    public MethodHandle guard() throws Exception {
+        return this.builder.getGuard();
+    }
+
+    public MethodHandle target() throws Exception {
+        return this.builder
+                .convert(Object.class, Object.class, ExecutionContext.class, String.class)
+                .invoke(lookup().findVirtual(ShapeInlineCache.class, "get", methodType(Object.class, Object.class, ExecutionContext.class, String.class))
+                        .bindTo(this.cache))
+                .target();
+    }
+
+}
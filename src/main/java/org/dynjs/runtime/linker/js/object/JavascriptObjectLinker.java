@@ -1,10 +1,20 @@
 package org.dynjs.runtime.linker.js.object;
 
+import org.dynjs.runtime.AbstractNativeFunction;
+import org.dynjs.runtime.DynObject;
+import org.dynjs.runtime.Reference;
 import org.projectodd.rephract.ContextualLinker;
 import org.projectodd.rephract.Invocation;
 import org.projectodd.rephract.Link;
 import org.projectodd.rephract.LinkLogger;
 
+/**
+ * Links property access, calls and construction on {@link org.dynjs.runtime.JSObject}s.
+ *
+ * Property access on plain {@link DynObject}s gets a fresh link, and with it a fresh
+ * {@link ShapeInlineCache}, per call site; this linker must therefore not be wrapped
+ * in a {@link org.dynjs.runtime.linker.CachingLinker}.
+ */
 public class JavascriptObjectLinker extends ContextualLinker {
 
     public JavascriptObjectLinker(LinkLogger logger) {
@@ -13,16 +23,26 @@ public class JavascriptObjectLinker extends ContextualLinker {
 
     @Override
     public Link linkGetProperty(Invocation invocation, String propertyName) throws Exception {
+        if (isPlainObjectReference(invocation.receiver())) {
+            return new DynObjectPropertyGetLink( invocation.builder() );
+        }
         return new JSObjectPropertyGetLink( invocation.builder() );
     }
 
     @Override
     public Link linkSetProperty(Invocation invocation, String propertyName) throws Exception {
+        if (isPlainObjectReference(invocation.receiver())) {
+            return new DynObjectPropertySetLink( invocation.builder() );
+        }
         return new JSObjectPropertySetLink( invocation.builder() );
     }
 
     @Override
     public Link linkCall(Invocation invocation) throws Exception {
+        Object receiver = invocation.receiver();
+        if (receiver instanceof AbstractNativeFunction && ((AbstractNativeFunction) receiver).isDirectCallable()) {
+            return new NativeFunctionCallLink( invocation.builder() );
+        }
         return new JSObjectCallLink( invocation.builder() );
     }
 
@@ -31,4 +51,12 @@ public class JavascriptObjectLinker extends ContextualLinker {
         return new JSObjectConstructLink( invocation.builder() );
     }
 
+    private static boolean isPlainObjectReference(Object receiver) {
+        if (!(receiver instanceof Reference)) {
+            return false;
+        }
+        Object base = ((Reference) receiver).getBase();
+        return (base instanceof DynObject) && ((DynObject) base).hasDefaultPropertyAccess();
+    }
+
 }
@@ -0,0 +1,49 @@
+package org.dynjs.runtime.linker.js.object;
+
+import org.dynjs.runtime.AbstractNativeFunction;
+import org.dynjs.runtime.ExecutionContext;
+import org.projectodd.rephract.SmartLink;
+import org.projectodd.rephract.builder.LinkBuilder;
+import org.projectodd.rephract.guards.Guard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Calls a native function straight through {@link ExecutionContext#callNative},
+ * without creating a function execution context.
+ */
+public class NativeFunctionCallLink extends SmartLink implements Guard {
+
+    public NativeFunctionCallLink(LinkBuilder builder) throws Exception {
+        super(builder);
+        this.builder = this.builder.guardWith(this);
+    }
+
+    public boolean guard(Object receiver, Object context, Object self, Object[] args) {
+        return (receiver instanceof AbstractNativeFunction) && ((AbstractNativeFunction) receiver).isDirectCallable();
+    }
+
+    @Override
+    public MethodHandle guardMethodHandle(MethodType inputType) throws Exception {
+        return lookup()
+                .findVirtual(NativeFunctionCallLink.class, "guard", methodType(boolean.class, Object.class, Object.class, Object.class, Object[].class))
+                .bindTo(this);
+    }
+
+    public MethodHandle guard() throws Exception {
+        return this.builder.getGuard();
+    }
+
+    public MethodHandle target() throws Exception {
+        return this.builder
+                .permute(1, 0, 2, 3)
+                .convert(Object.class, ExecutionContext.class, AbstractNativeFunction.class, Object.class, Object[].class)
+                .invoke(lookup().findVirtual(ExecutionContext.class, "callNative", methodType(Object.class, AbstractNativeFunction.class, Object.class, Object[].class)))
+                .target();
+    }
+
+}
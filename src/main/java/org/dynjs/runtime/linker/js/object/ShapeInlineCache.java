@@ -0,0 +1,199 @@
+package org.dynjs.runtime.linker.js.object;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import org.dynjs.runtime.DynObject;
+import org.dynjs.runtime.ExecutionContext;
+import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.PropertyDescriptor;
+import org.dynjs.runtime.Reference;
+import org.dynjs.runtime.Shape;
+import org.dynjs.runtime.Types;
+
+/**
+ * Per-call-site polymorphic inline cache for property access on plain
+ * {@link DynObject}s. Entries are keyed on receiver shape identity and
+ * property name; prototype hits additionally record the identity and shape
+ * of every object walked on the way to the holder.
+ *
+ * Sites live as long as the AST or class holding them, which the program
+ * cache shares between runtimes, so those prototypes are only held weakly:
+ * a cache must not keep the runtime they belong to alive.
+ *
+ * Once more than {@link #MAX_ENTRIES} shapes have been seen the site is
+ * considered megamorphic and always takes the generic path.
+ */
+public class ShapeInlineCache {
+
+    static final int MAX_ENTRIES = 4;
+    static final int MAX_PROTOTYPE_DEPTH = 4;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final DynObject[] NO_PROTOTYPES = new DynObject[0];
+
+    private volatile Entry[] entries = NO_ENTRIES;
+    private volatile boolean megamorphic;
+
+    public Object get(Object receiver, ExecutionContext context, String name) {
+        DynObject object = (DynObject) ((Reference) receiver).getBase();
+        Shape shape = object.getShape();
+        Entry[] entries = this.entries;
+        boolean seen = false;
+        for (int i = 0; i < entries.length; ++i) {
+            Entry entry = entries[i];
+            if (entry.shape == shape && entry.matches(name)) {
+                DynObject holder = entry.holder(object);
+                if (holder != null) {
+                    PropertyDescriptor desc = holder.getSlot(entry.slot);
+                    if (desc.isDataDescriptor()) {
+                        Object value = desc.getValue();
+                        return (value == null ? Types.UNDEFINED : value);
+                    }
+                    // accessor; leave it to [[Get]]
+                    seen = true;
+                    break;
+                }
+            }
+        }
+        if (!seen && !this.megamorphic) {
+            cacheGet(object, name);
+        }
+        return object.get(context, name);
+    }
+
+    public void put(Object receiver, ExecutionContext context, String name, Object value) {
+        Reference reference = (Reference) receiver;
+        DynObject object = (DynObject) reference.getBase();
+        Shape shape = object.getShape();
+        Entry[] entries = this.entries;
+        for (int i = 0; i < entries.length; ++i) {
+            Entry entry = entries[i];
+            if (entry.shape == shape && entry.depth() == 0 && entry.matches(name)) {
+                PropertyDescriptor desc = object.getSlot(entry.slot);
+                if (value != null && desc.isWritableDataDescriptor()) {
+                    desc.setValue(value);
+                    return;
+                }
+                break;
+            }
+        }
+        object.put(context, name, value, reference.isStrictReference());
+        if (!this.megamorphic) {
+            cachePut(object, name);
+        }
+    }
+
+    private void cacheGet(DynObject object, String name) {
+        Shape shape = object.getShape();
+        if (!object.hasDefaultPropertyAccess() || !shape.isShared()) {
+            return;
+        }
+
+        int slot = shape.lookup(name);
+        if (slot >= 0) {
+            add(new Entry(shape, name, slot, NO_PROTOTYPES, new Shape[0]));
+            return;
+        }
+
+        DynObject[] chain = new DynObject[MAX_PROTOTYPE_DEPTH];
+        Shape[] chainShapes = new Shape[MAX_PROTOTYPE_DEPTH];
+        JSObject current = object.getPrototype();
+        for (int depth = 0; depth < MAX_PROTOTYPE_DEPTH && current != null; ++depth) {
+            if (!(current instanceof DynObject)) {
+                return;
+            }
+            DynObject proto = (DynObject) current;
+            Shape protoShape = proto.getShape();
+            if (!proto.hasDefaultPropertyAccess() || !protoShape.isShared()) {
+                return;
+            }
+            chain[depth] = proto;
+            chainShapes[depth] = protoShape;
+            slot = protoShape.lookup(name);
+            if (slot >= 0) {
+                add(new Entry(shape, name, slot,
+                        Arrays.copyOf(chain, depth + 1),
+                        Arrays.copyOf(chainShapes, depth + 1)));
+                return;
+            }
+            current = proto.getPrototype();
+        }
+    }
+
+    private void cachePut(DynObject object, String name) {
+        Shape shape = object.getShape();
+        if (!object.hasDefaultPropertyAccess() || !shape.isShared()) {
+            return;
+        }
+        int slot = shape.lookup(name);
+        if (slot >= 0 && object.getSlot(slot).isWritableDataDescriptor()) {
+            add(new Entry(shape, name, slot, NO_PROTOTYPES, new Shape[0]));
+        }
+    }
+
+    private synchronized void add(Entry entry) {
+        Entry[] current = this.entries;
+        if (current.length >= MAX_ENTRIES) {
+            this.megamorphic = true;
+            this.entries = NO_ENTRIES;
+            return;
+        }
+        Entry[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = entry;
+        this.entries = updated;
+    }
+
+    public boolean isMegamorphic() {
+        return this.megamorphic;
+    }
+
+    int size() {
+        return this.entries.length;
+    }
+
+    private static final class Entry {
+        final Shape shape;
+        final String name;
+        final int slot;
+        final WeakReference<DynObject>[] chain;
+        final Shape[] chainShapes;
+
+        @SuppressWarnings("unchecked")
+        Entry(Shape shape, String name, int slot, DynObject[] chain, Shape[] chainShapes) {
+            this.shape = shape;
+            this.name = name;
+            this.slot = slot;
+            this.chain = new WeakReference[chain.length];
+            for (int i = 0; i < chain.length; ++i) {
+                this.chain[i] = new WeakReference<>(chain[i]);
+            }
+            this.chainShapes = chainShapes;
+        }
+
+        boolean matches(String name) {
+            return this.name == name || this.name.equals(name);
+        }
+
+        int depth() {
+            return this.chain.length;
+        }
+
+        /**
+         * Returns the object holding the cached slot, or {@code null} if the
+         * prototype chain no longer matches.
+         */
+        DynObject holder(DynObject receiver) {
+            DynObject current = receiver;
+            for (int i = 0; i < this.chain.length; ++i) {
+                DynObject expected = this.chain[i].get();
+                // a collected prototype cannot be the receiver's
+                if (expected == null || current.getPrototype() != expected || expected.getShape() != this.chainShapes[i]) {
+                    return null;
+                }
+                current = expected;
+            }
+            return current;
+        }
+    }
+}
@@ -30,7 +30,7 @@ public class PrimitivePropertyGetLink extends SmartLink implements Guard {
         }
         Object base = ((Reference) receiver).getBase();
 
-        return base instanceof String || base instanceof Number || base instanceof Boolean;
+        return Types.isString(base) || base instanceof Number || base instanceof Boolean;
     }
 
     @Override
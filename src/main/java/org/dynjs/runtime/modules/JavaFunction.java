@@ -41,6 +41,12 @@ public class JavaFunction extends AbstractNativeFunction {
         setFormalParamters(formalParams);
     }
 
+    @Override
+    public boolean isDirectCallable() {
+        // exported Java methods receive this function's own context
+        return false;
+    }
+
     @Override
     public Object call(ExecutionContext context, Object self, Object... arguments) {
         try {
@@ -6,6 +6,7 @@ import java.util.Date;
 import org.dynjs.runtime.DynArray;
 import org.dynjs.runtime.DynObject;
 import org.dynjs.runtime.JSObject;
+import org.dynjs.runtime.Types;
 import org.dynjs.runtime.builtins.types.date.DynDate;
 import org.dynjs.runtime.builtins.types.regexp.DynRegExp;
 
@@ -14,8 +15,8 @@ public class UtilModule {
 
     @Export
     public String format(Object... args) {
-        if (args[0] instanceof String) {
-            String format = (String) args[0];
+        if (Types.isString(args[0])) {
+            String format = args[0].toString();
             return String.format(format, Arrays.copyOfRange(args, 1, args.length));
         }
         else {
@@ -11,6 +11,8 @@ import org.dynjs.runtime.interp.InterpretedBasicBlock;
 public class JavascriptFunction extends AbstractFunction {
 
     private BasicBlock code;
+    private BlockManager blockManager;
+    private boolean argumentsObjectNeeded = true;
 
     public JavascriptFunction(final GlobalContext globalContext, final String identifier, final BasicBlock code, final LexicalEnvironment scope, final boolean strict, final String... formalParameters) {
         super(globalContext, scope, strict, formalParameters);
@@ -45,6 +47,27 @@ public class JavascriptFunction extends AbstractFunction {
         return Types.UNDEFINED;
     }
 
+    @Override
+    public boolean isArgumentsObjectNeeded() {
+        return this.argumentsObjectNeeded;
+    }
+
+    public void setArgumentsObjectNeeded(boolean argumentsObjectNeeded) {
+        this.argumentsObjectNeeded = argumentsObjectNeeded;
+    }
+
+    /**
+     * The block manager of the program this function was compiled in, which
+     * holds the code of its nested blocks.
+     */
+    public BlockManager getBlockManager() {
+        return this.blockManager;
+    }
+
+    public void setBlockManager(BlockManager blockManager) {
+        this.blockManager = blockManager;
+    }
+
     @Override
     public List<FunctionDeclaration> getFunctionDeclarations() {
         return this.code.getFunctionDeclarations();
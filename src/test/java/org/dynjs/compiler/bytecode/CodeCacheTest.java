@@ -0,0 +1,80 @@
+package org.dynjs.compiler.bytecode;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.dynjs.Config;
+import org.dynjs.runtime.AbstractDynJSTestSupport;
+import org.dynjs.runtime.DynJS;
+import org.junit.After;
+import org.junit.Test;
+
+public class CodeCacheTest extends AbstractDynJSTestSupport {
+
+    private static final String SCRIPT = "var total = 0;\n"
+            + "function add(n) { if (n > 2) { total += n; } else { total -= n; } return total; }\n"
+            + "for (var i = 0; i < 5; ++i) { add(i); }\n"
+            + "total";
+
+    private File directory;
+
+    @After
+    public void deleteDirectory() {
+        if (this.directory != null) {
+            File[] files = this.directory.listFiles();
+            if (files != null) {
+                for (File each : files) {
+                    each.delete();
+                }
+            }
+            this.directory.delete();
+        }
+    }
+
+    @Test
+    public void testLaterRuntimesLoadStoredClasses() throws IOException {
+        this.directory = newDirectory();
+
+        DynJS first = newRuntime(64);
+        assertThat(first.evaluate(SCRIPT)).isEqualTo(6L);
+        assertThat(first.getConfig().getCodeCache().getHitCount()).isEqualTo(0L);
+        String[] stored = this.directory.list();
+        assertThat(stored).isNotEmpty();
+
+        DynJS second = newRuntime(64);
+        assertThat(second.evaluate(SCRIPT)).isEqualTo(6L);
+        assertThat(second.getConfig().getCodeCache().getHitCount()).isGreaterThan(0L);
+        assertThat(this.directory.list()).hasSize(stored.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsDirectoryThatCannotBeCreated() throws IOException {
+        this.directory = File.createTempFile("dynjs-code-cache", "");
+        new CodeCache(new File(this.directory, "entries"), 1024);
+    }
+
+    @Test
+    public void testEvictsPastMaximumSize() throws IOException {
+        this.directory = newDirectory();
+
+        assertThat(newRuntime(0).evaluate(SCRIPT)).isEqualTo(6L);
+        assertThat(this.directory.list()).isEmpty();
+    }
+
+    private DynJS newRuntime(int size) {
+        Config config = createConfig();
+        config.setCompileMode(Config.CompileMode.FORCE);
+        config.setCodeCacheDirectory(this.directory.getPath());
+        config.setCodeCacheSize(size);
+        return new DynJS(config);
+    }
+
+    private static File newDirectory() throws IOException {
+        File directory = File.createTempFile("dynjs-code-cache", "");
+        directory.delete();
+        directory.mkdirs();
+        return directory;
+    }
+}
@@ -0,0 +1,131 @@
+package org.dynjs.compiler.jit;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class JITSchedulerTest {
+
+    @Test
+    public void testHottestRequestsRunFirstAndQueueIsBounded() throws Exception {
+        JITScheduler scheduler = new JITScheduler(1, 2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Long> order = Collections.synchronizedList(new ArrayList<Long>());
+        final CountDownLatch done = new CountDownLatch(2);
+
+        assertThat(scheduler.submit(new JITScheduler.Request(0) {
+            protected void compile() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        })).isTrue();
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThat(scheduler.submit(new RecordingRequest(300, order, done))).isTrue();
+        assertThat(scheduler.submit(new RecordingRequest(100, order, done))).isTrue();
+        assertThat(scheduler.submit(new RecordingRequest(200, order, done))).isFalse();
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(100L, 300L);
+    }
+
+    @Test
+    public void testColdRequestsAreDropped() throws Exception {
+        JITScheduler scheduler = new JITScheduler(1, 4);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final boolean[] compiled = new boolean[1];
+
+        scheduler.submit(new JITScheduler.Request(0) {
+            protected boolean isCold() {
+                return true;
+            }
+
+            protected void dropped() {
+                finished.countDown();
+            }
+
+            protected void compile() {
+                compiled[0] = true;
+                finished.countDown();
+            }
+        });
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(compiled[0]).isFalse();
+    }
+
+    @Test
+    public void testConcurrentSubmittersCannotOvershootTheBound() throws Exception {
+        final JITScheduler scheduler = new JITScheduler(1, 3);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(new JITScheduler.Request(0) {
+            protected void compile() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final CountDownLatch go = new CountDownLatch(1);
+        final AtomicInteger accepted = new AtomicInteger();
+        Thread[] submitters = new Thread[16];
+        for (int i = 0; i < submitters.length; i++) {
+            submitters[i] = new Thread() {
+                public void run() {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (scheduler.submit(new RecordingRequest(0, Collections.synchronizedList(new ArrayList<Long>()), new CountDownLatch(1)))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            };
+            submitters[i].start();
+        }
+        go.countDown();
+        for (Thread each : submitters) {
+            each.join();
+        }
+
+        assertThat(accepted.get()).isEqualTo(3);
+        assertThat(scheduler.getPendingCount()).isEqualTo(3);
+        release.countDown();
+    }
+
+    private static class RecordingRequest extends JITScheduler.Request {
+
+        private final List<Long> order;
+        private final CountDownLatch done;
+
+        RecordingRequest(long warmupNanos, List<Long> order, CountDownLatch done) {
+            super(warmupNanos);
+            this.order = order;
+            this.done = done;
+        }
+
+        protected void compile() {
+            this.order.add(getWarmupNanos());
+            this.done.countDown();
+        }
+    }
+}
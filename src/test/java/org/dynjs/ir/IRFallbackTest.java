@@ -0,0 +1,88 @@
+package org.dynjs.ir;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.dynjs.Config;
+import org.dynjs.runtime.AbstractDynJSTestSupport;
+import org.junit.Test;
+
+public class IRFallbackTest extends AbstractDynJSTestSupport {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.IR);
+        return config;
+    }
+
+    @Test
+    public void testLowersLoopsAndLogicalOperators() {
+        assertThat(eval("var t = 0; for (var i = 0; i < 10; i++) { if (i == 5) continue; if (i > 7 && t) break; t = t + i; } t")).isEqualTo(23L);
+        assertThat(eval("var u; typeof u === 'undefined' || !u ? 'none' : 'some'")).isEqualTo("none");
+    }
+
+    @Test
+    public void testFunctionFallsBackToCompiler() {
+        assertThat(eval("(function(o) { with (o) { return a; } })") instanceof IRJSFunction).isFalse();
+        assertThat(eval("function f(o) { with (o) { return a; } } f({ a: 1 })")).isEqualTo(1L);
+        assertThat(eval("var o = (function() { try { return 1; } finally { } })(); o")).isEqualTo(1L);
+    }
+
+    @Test
+    public void testLowersOperatorsAndLiterals() {
+        assertThat(eval("(function(a) { return [a | 1, a & 4, a ^ 1, a << 2, a >> 1, -a >>> 28, ~a, -a, +'3']; })")).isInstanceOf(IRJSFunction.class);
+        assertThat(eval("(function(a) { return [a | 1, a & 4, a ^ 1, a << 2, a >> 1, -a >>> 28, ~a, -a, +'3']; })(6).join()")).isEqualTo("7,4,7,24,3,15,-7,-6,3");
+        assertThat(eval("(function() { var a = [1,,3]; return a.length + ':' + (1 in a) + ':' + ('length' in a); })()")).isEqualTo("3:false:true");
+        assertThat(eval("(function() { var o = { a: 1, get b() { return this.a + 1; }, set c(v) { this.a = v; } }; o.c = 5; return o.b; })()")).isEqualTo(6L);
+        assertThat(eval("(function() { return /b+/g.test('abbc'); })()")).isEqualTo(true);
+        assertThat(eval("(function() { return 1 / -0; })()")).isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    public void testLowersMultiplicativeOperators() {
+        assertThat(eval("(function(a, b) { return [a * b, a / b, a % b, -a % b, b / 0, 0 / -b]; })")).isInstanceOf(IRJSFunction.class);
+        assertThat(eval("(function(a, b) { return [a * b, a / b, a % b, -a % b, b / 0, 0 / -b, 1 / (-a % a)]; })(7, 2).join()"))
+                .isEqualTo("14,3.5,1,-1,Infinity,0,-Infinity");
+        assertThat(eval("(function() { return [6 * 7, 7 / 2, 6 / 3, -7 % 2, 1 / (0 / -1)]; })().join()")).isEqualTo("42,3.5,2,-1,-Infinity");
+    }
+
+    @Test
+    public void testLowersCompoundAssignmentToProperties() {
+        assertThat(eval("(function(o) { o.a += 1; o['a'] *= 3; o.a %= 4; o.b -= 1; o.s += 'x'; o.a <<= 2; return o; })")).isInstanceOf(IRJSFunction.class);
+        assertThat(eval("(function(o) { o.a += 1; o['a'] *= 3; o.a %= 4; o.b -= 1; o.s += 'x'; o.a <<= 2; return [o.a, o.b, o.s]; })({ a: 1, b: 1, s: 'w' }).join()"))
+                .isEqualTo("8,0,wx");
+    }
+
+    @Test
+    public void testLowersPropertyReferences() {
+        assertThat(eval("(function(o, k) { o[k] = 1; o.b = o[k] + 1; o[k]++; ++o.b; var r = delete o.a; return [o.a, o.b, o[k], r, delete o.x]; })({}, 'k').join()"))
+                .isEqualTo(",3,2,true,true");
+        assertThat(eval("(function(o) { return o['f'](); })({ v: 4, f: function() { return this.v; } })")).isEqualTo(4L);
+        assertThat(eval("(function() { var x = 1; return delete x; })()")).isEqualTo(false);
+    }
+
+    @Test
+    public void testLowersStatements() {
+        assertThat(eval("(function(x) { switch (x) { case 1: return 'one'; case 2: case 3: x = 'few'; break; default: x = 'many'; } return x; })")).isInstanceOf(IRJSFunction.class);
+        assertThat(eval("function f(x) { switch (x) { case 1: return 'one'; case 2: case 3: x = 'few'; break; default: x = 'many'; } return x; } f(1) + f(3) + f(9)")).isEqualTo("onefewmany");
+        assertThat(eval("(function(o) { var s = ''; for (var k in o) { s += k; } for (k of o) { s += k; } return s; })({ a: 1, b: 2 })")).isEqualTo("ab12");
+        assertThat(eval("(function() { for (;;) { switch (1) { case 1: break; } return 'left'; } })()")).isEqualTo("left");
+        assertThat(eval("(function() { var e = 'outer'; try { null.x; } catch (e) { e = e instanceof TypeError; } return e; })()")).isEqualTo("outer");
+        assertThat(eval("(function() { try { throw 'bang'; } catch (e) { return e; } })()")).isEqualTo("bang");
+    }
+
+    @Test
+    public void testLowersLabelledStatements() {
+        assertThat(eval("(function(x) { found: { if (x) break found; return 'no'; } return 'yes'; })")).isInstanceOf(IRJSFunction.class);
+        assertThat(eval("(function(x) { found: { if (x) break found; return 'no'; } return 'yes'; })(true)")).isEqualTo("yes");
+        assertThat(eval("(function(x) { found: { if (x) break found; return 'no'; } return 'yes'; })(false)")).isEqualTo("no");
+        // an unlabelled break inside a labelled block still leaves the loop
+        assertThat(eval("(function() { var i = 0; while (true) { inner: { i++; if (i > 3) break; } } return i; })()")).isEqualTo(4L);
+        assertThat(eval("(function() { var n = 0; outer: for (var i = 0; i < 3; i++) { for (var j = 0; j < 3; j++) { if (j == 1) continue outer; if (i == 2) break outer; n++; } } return n; })()")).isEqualTo(2L);
+    }
+
+    @Test
+    public void testThrowReachesCatchInFallbackCode() {
+        assertThat(eval("function boom() { throw 'bang'; } try { boom(); } catch (e) { e }")).isEqualTo("bang");
+    }
+}
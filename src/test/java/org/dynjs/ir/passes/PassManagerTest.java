@@ -0,0 +1,119 @@
+package org.dynjs.ir.passes;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dynjs.ir.Instruction;
+import org.dynjs.ir.Scope;
+import org.dynjs.ir.instructions.Add;
+import org.dynjs.ir.instructions.BEQ;
+import org.dynjs.ir.instructions.Copy;
+import org.dynjs.ir.instructions.LabelInstr;
+import org.dynjs.ir.instructions.Return;
+import org.dynjs.ir.operands.BooleanLiteral;
+import org.dynjs.ir.operands.IntegerNumber;
+import org.dynjs.ir.operands.Label;
+import org.dynjs.ir.operands.Variable;
+import org.dynjs.ir.representations.BasicBlock;
+import org.junit.Test;
+
+public class PassManagerTest {
+
+    @Test
+    public void testFoldsAndPropagatesConstants() {
+        Scope scope = new Scope(null, "<test>", false);
+        Variable a = scope.createTemporaryVariable();
+        Variable b = scope.createTemporaryVariable();
+        scope.addInstruction(new Copy(a, new IntegerNumber(1)));
+        scope.addInstruction(new Add(b, a, new IntegerNumber(2)));
+        scope.addInstruction(new Return(b));
+
+        List<Instruction> instructions = instructions(scope.prepareForCompilation());
+
+        assertThat(instructions).hasSize(1);
+        Return ret = (Return) instructions.get(0);
+        assertThat(((IntegerNumber) ret.getValue()).getValue()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testRemovesBranchThatIsNeverTaken() {
+        Scope scope = new Scope(null, "<test>", false);
+        Variable test = scope.createTemporaryVariable();
+        Label otherwise = scope.getNewLabel();
+        scope.addInstruction(new Copy(test, BooleanLiteral.TRUE));
+        scope.addInstruction(new BEQ(test, BooleanLiteral.FALSE, otherwise));
+        scope.addInstruction(new Return(new IntegerNumber(1)));
+        scope.addInstruction(new LabelInstr(otherwise));
+        scope.addInstruction(new Return(new IntegerNumber(2)));
+
+        for (Instruction instruction : instructions(scope.prepareForCompilation())) {
+            assertThat(instruction instanceof BEQ).isFalse();
+            if (instruction instanceof Return) {
+                assertThat(((IntegerNumber) ((Return) instruction).getValue()).getValue()).isEqualTo(1L);
+            }
+        }
+    }
+
+    @Test
+    public void testRunsUntilNothingChanges() {
+        Scope scope = new Scope(null, "<test>", false);
+        Variable previous = scope.createTemporaryVariable();
+        scope.addInstruction(new Copy(previous, new IntegerNumber(0)));
+        for (int i = 0; i < 8; i++) {
+            Label next = scope.getNewLabel();
+            Variable sum = scope.createTemporaryVariable();
+            scope.addInstruction(new Add(sum, previous, new IntegerNumber(1)));
+            scope.addInstruction(new BEQ(BooleanLiteral.TRUE, BooleanLiteral.TRUE, next));
+            scope.addInstruction(new LabelInstr(next));
+            previous = sum;
+        }
+        scope.addInstruction(new Return(previous));
+
+        List<Instruction> instructions = instructions(scope.prepareForCompilation());
+
+        assertThat(scope.getPassManager().reachedFixedPoint()).isTrue();
+        Return ret = (Return) instructions.get(instructions.size() - 1);
+        assertThat(((IntegerNumber) ret.getValue()).getValue()).isEqualTo(8L);
+    }
+
+    @Test
+    public void testRecordsStatisticsPerPass() {
+        Scope scope = new Scope(null, "<test>", false);
+        Variable a = scope.createTemporaryVariable();
+        scope.addInstruction(new Copy(a, new IntegerNumber(1)));
+        scope.addInstruction(new Return(a));
+
+        scope.prepareForCompilation();
+
+        int delta = 0;
+        for (PassManager.Statistics each : scope.getPassManager().getStatistics()) {
+            assertThat(each.getRuns()).isGreaterThan(0);
+            delta += each.getInstructionDelta();
+        }
+        assertThat(delta).isEqualTo(-1);
+    }
+
+    @Test
+    public void testReportsToTheGivenStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Scope scope = new Scope(null, "<test>", false);
+        scope.setPassReport(new PrintStream(out, true));
+        scope.addInstruction(new Return(new IntegerNumber(1)));
+
+        scope.prepareForCompilation();
+
+        assertThat(out.toString()).startsWith("IR passes for <test>: ");
+    }
+
+    private static List<Instruction> instructions(List<BasicBlock> blocks) {
+        List<Instruction> instructions = new ArrayList<>();
+        for (BasicBlock block : blocks) {
+            instructions.addAll(block.getInstructions());
+        }
+        return instructions;
+    }
+}
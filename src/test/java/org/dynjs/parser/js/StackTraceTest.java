@@ -60,6 +60,21 @@ public class StackTraceTest extends AbstractDynJSTestSupport {
         }
     }
 
+    @Test
+    public void testStackTraceKeepsThrowSiteWhenReadLater() {
+        try {
+            getRuntime().newRunner().withSource("function oops() {\n  throw 'oops';\n}\noops();").withFileName("oops.js").execute();
+            fail("should have thrown");
+        } catch (ThrowException e) {
+            getRuntime().newRunner().withSource("var later = 1;\n\n\n\nlater++;").withFileName("later.js").execute();
+            StackTraceElement[] stack = e.getStackTrace();
+            assertThat(stack[0].getLineNumber()).isEqualTo(2);
+            assertThat(stack[0].getFileName()).isEqualTo("oops.js");
+            assertThat(stack[1].getLineNumber()).isEqualTo(4);
+            assertThat(stack[1].getFileName()).isEqualTo("oops.js");
+        }
+    }
+
     @Test
     public void testStackWrapping() {
         try {
@@ -63,4 +63,25 @@ public class AdditiveExpressionTest extends AbstractDynJSTestSupport {
     public void testAddIntegerAndString() {
         assertThat( eval( "42 + 'foo'") ).isEqualTo("42foo" );
     }
+
+    @Test
+    public void testConcatenationInLoop() {
+        eval("var s = ''; for (var i = 0; i < 1000; ++i) { s += 'ab' + i; }");
+        Object s = getContext().getGlobalContext().getObject().get(getContext(), "s");
+        assertThat(s).isInstanceOf(Rope.class);
+        assertThat(eval("typeof s")).isEqualTo("string");
+        assertThat(eval("s.charAt(4) + s.substring(6, 9)")).isEqualTo("bab2");
+        assertThat(eval("s === ['ab0', 'ab1', s.slice(6)].join('')")).isEqualTo(true);
+        assertThat(eval("s")).isInstanceOf(String.class);
+    }
+
+    @Test
+    public void testShortConcatenationIsFlat() {
+        assertThat(Rope.concat("foo", "bar")).isEqualTo("foobar");
+        assertThat(Rope.concat("", "bar")).isSameAs("bar");
+        CharSequence rope = Rope.concat(new String(new char[Rope.MIN_LENGTH]), "bar");
+        assertThat(rope).isInstanceOf(Rope.class);
+        assertThat(rope.length()).isEqualTo(Rope.MIN_LENGTH + 3);
+        assertThat(rope.toString()).endsWith("bar");
+    }
 }
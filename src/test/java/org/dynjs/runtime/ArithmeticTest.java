@@ -0,0 +1,44 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class ArithmeticTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testIntegralOverflowBecomesDouble() {
+        assertThat(eval("var x = 9223372036854775807; x + 1")).isEqualTo(9.223372036854776E18);
+        assertThat(eval("var y = -9223372036854775807; y - 2")).isEqualTo(-9.223372036854776E18);
+        assertThat(eval("var z = 9007199254740993; z * 1000000")).isEqualTo(9.007199254740992E21);
+    }
+
+    @Test
+    public void testMultiplicationProducesNegativeZero() {
+        assertThat(eval("var m = -3; 1 / (m * 0)")).isEqualTo(Double.NEGATIVE_INFINITY);
+        assertThat(eval("var n = 0; 1 / (n * -5)")).isEqualTo(Double.NEGATIVE_INFINITY);
+        assertThat(eval("var p = 3; 1 / (p * 0)")).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testAdditionWithConstants() {
+        assertThat(eval("var i = 5; i + 1")).isEqualTo(6L);
+        assertThat(eval("var s = 'x'; s + 1 + ':' + (1 + s)")).isEqualTo("x1:1x");
+        assertThat(eval("var d = 1.5; d + 1")).isEqualTo(2.5);
+        assertThat(eval("var o = { valueOf: function() { return 41; } }; o + 1")).isEqualTo(42L);
+        assertThat(eval("2 * 3 + 4 - 1.5")).isEqualTo(8.5);
+    }
+
+    @Test
+    public void testRelationalWithConstants() {
+        assertThat(eval("var i = 5; (i < 10) + ',' + (3 < i) + ',' + (i <= 5) + ',' + (6 > i)")).isEqualTo("true,true,true,true");
+        assertThat(eval("var n = NaN; (n < 1) + ',' + (1 <= n)")).isEqualTo("false,false");
+        assertThat(eval("var s = '7'; (s < 10) + ',' + (10 < s)")).isEqualTo("true,false");
+    }
+
+    @Test
+    public void testPrefixIncrementReturnsNewValue() {
+        assertThat(eval("var o = { get x() { return 1; }, set x(v) {} }; ++o.x")).isEqualTo(2L);
+        assertThat(eval("var big = 9223372036854775807; ++big")).isEqualTo(9.223372036854776E18);
+    }
+}
@@ -0,0 +1,30 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.dynjs.Config;
+import org.junit.Test;
+
+public class BlockStatementBytecodeCompilerTest extends AbstractDynJSTestSupport {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.FORCE);
+        return config;
+    }
+
+    @Test
+    public void testCompletionValueOfSimpleStatements() {
+        assertThat(eval("1; var x = 2;")).isEqualTo(1L);
+        assertThat(eval("var a = 1; a + 1; ;")).isEqualTo(2L);
+        assertThat(eval("3; function f() {}")).isEqualTo(3L);
+    }
+
+    @Test
+    public void testCompletionValueAcrossAbruptStatements() {
+        assertThat(eval("for (var i = 0; i < 10; ++i) { if (i == 3) break; i; }")).isEqualTo(2L);
+        assertThat(eval("var t = 0; for (var j = 0; j < 5; ++j) { t += j; } t")).isEqualTo(10L);
+        assertThat(eval("(function() { var y = 1; y++; return y; })()")).isEqualTo(2L);
+    }
+}
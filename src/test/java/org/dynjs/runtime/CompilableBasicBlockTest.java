@@ -0,0 +1,28 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.dynjs.Config;
+import org.junit.Test;
+
+public class CompilableBasicBlockTest extends AbstractDynJSTestSupport {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.JIT);
+        config.setInvokeDynamicEnabled(true);
+        config.setJitThreshold(1);
+        config.setJitOptimizeThreshold(2);
+        return config;
+    }
+
+    @Test
+    public void testLoopKeepsRunningAfterPromotionToTopTier() {
+        // the interpreted loop keeps counting back-edges after its block
+        // has been promoted past it
+        eval("function spin(n) { var t = 0; for (var i = 0; i < n; ++i) { t += i; } return t; }");
+        assertThat(eval("spin(200000)")).isEqualTo(19999900000L);
+        assertThat(eval("spin(10)")).isEqualTo(45L);
+    }
+}
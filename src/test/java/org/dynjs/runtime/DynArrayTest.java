@@ -0,0 +1,99 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class DynArrayTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testBuildLargeArray() {
+        Object result = eval("var a = [];",
+                "for (var i = 0; i < 100000; ++i) { a[i] = i * 2; }",
+                "a.length + ':' + a[99999]");
+        assertThat(result).isEqualTo("100000:199998");
+    }
+
+    @Test
+    public void testMixedElementKinds() {
+        Object result = eval("var a = [1, 2, 3];",
+                "a[1] = 2.5;",
+                "a[2] = 'three';",
+                "a.push({});",
+                "typeof a[0] + ',' + a[1] + ',' + a[2] + ',' + typeof a[3] + ',' + a.length");
+        assertThat(result).isEqualTo("number,2.5,three,object,4");
+    }
+
+    @Test
+    public void testHolesAndDelete() {
+        Object result = eval("var a = [1, 2, 3, 4];",
+                "delete a[1];",
+                "a[6] = 7;",
+                "var r = [];",
+                "for (var k in a) { r.push(k); }",
+                "r.join(',') + ':' + a.length + ':' + (1 in a) + ':' + a[5]");
+        assertThat(result).isEqualTo("0,2,3,6:7:false:undefined");
+    }
+
+    @Test
+    public void testLengthTruncation() {
+        Object result = eval("var a = [1, 2, 3, 4, 5];",
+                "a.length = 2;",
+                "a[4] = 9;",
+                "a.length + ':' + a[2] + ':' + a[4]");
+        assertThat(result).isEqualTo("5:undefined:9");
+    }
+
+    @Test
+    public void testAccessorElement() {
+        Object result = eval("var a = [1, 2, 3];",
+                "Object.defineProperty(a, '1', { get: function() { return 'got'; } });",
+                "a[1] + ':' + a.length");
+        assertThat(result).isEqualTo("got:3");
+    }
+
+    @Test
+    public void testFrozenArray() {
+        Object result = eval("var a = [1, 2, 3];",
+                "Object.freeze(a);",
+                "a[0] = 100;",
+                "a[3] = 4;",
+                "a[0] + ':' + a.length + ':' + Object.isFrozen(a)");
+        assertThat(result).isEqualTo("1:3:true");
+    }
+
+    @Test
+    public void testNonWritableElementStaysReadOnly() {
+        Object result = eval("var a = [1, 2, 3];",
+                "Object.defineProperty(a, '0', { writable: false });",
+                "a[0] = 100;",
+                "a[0] + ':' + Object.getOwnPropertyDescriptor(a, '0').writable + ':' + Object.getOwnPropertyDescriptor(a, '1').writable");
+        assertThat(result).isEqualTo("1:false:true");
+    }
+
+    @Test
+    public void testShrinkingStopsAtUndeletableElement() {
+        Object result = eval("var a = [1, 2, 3];",
+                "Object.defineProperty(a, 5, { value: 9, configurable: false });",
+                "a.length = 1;",
+                "a.length + ':' + a[0] + ':' + a[1] + ':' + a[2] + ':' + a[5]");
+        assertThat(result).isEqualTo("6:1:2:3:9");
+    }
+
+    @Test
+    public void testFarIndexIsSparse() {
+        Object result = eval("var a = [1];",
+                "a[1000000] = 2;",
+                "a.length + ':' + a[1000000] + ':' + Object.keys(a).join(',')");
+        assertThat(result).isEqualTo("1000001:2:0,1000000");
+    }
+
+    @Test
+    public void testNonCanonicalIndexNamesAreProperties() {
+        Object result = eval("var a = [];",
+                "a['01'] = 'x';",
+                "a['4294967295'] = 'y';",
+                "a.length + ':' + a['01'] + ':' + a[1]");
+        assertThat(result).isEqualTo("0:x:undefined");
+    }
+}
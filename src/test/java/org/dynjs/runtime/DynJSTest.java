@@ -17,6 +17,7 @@ package org.dynjs.runtime;
 
 import static org.fest.assertions.Assertions.*;
 
+import org.dynjs.debugger.Debugger;
 import org.dynjs.exception.DynJSException;
 import org.dynjs.exception.ThrowException;
 import org.junit.Ignore;
@@ -24,6 +25,18 @@ import org.junit.Test;
 
 public class DynJSTest extends AbstractDynJSTestSupport {
 
+    @Test
+    public void testDebuggerLookupStartsOnAttach() {
+        assertThat(eval("function depth(n) { return n == 0 ? 0 : depth(n - 1) + 1; }; depth(50)")).isEqualTo(50L);
+        assertThat(getRuntime().isDebuggerAttached()).isFalse();
+        assertThat(getContext().isDebug()).isFalse();
+
+        Debugger debugger = new Debugger();
+        getRuntime().newRunner().withContext(getContext()).withDebugger(debugger).withSource("var debugged = true;").execute();
+        assertThat(getRuntime().isDebuggerAttached()).isTrue();
+        assertThat(getContext().getDebugger()).isSameAs(debugger);
+    }
+
     @Test
     public void testOperatorPrecedence() {
         assertThat( eval( "3-1+1" ) ).isEqualTo(3L);
@@ -477,4 +490,12 @@ public class DynJSTest extends AbstractDynJSTestSupport {
         assertThat(eval("desc.enumerable")).isEqualTo(true);
     }
     
+    @Test
+    public void testContextStackUnwindsPastInitialCapacity() {
+        assertThat(eval("function depth(n) { return n == 0 ? 0 : 1 + depth(n - 1); } depth(200)")).isEqualTo(200L);
+        assertThat(eval("function boom(n) { if (n == 0) throw 'deep'; boom(n - 1); } try { boom(100); } catch (e) { e }")).isEqualTo("deep");
+        assertThat(ThreadContextManager.currentStack().isEmpty()).isTrue();
+        assertThat(ThreadContextManager.currentContext()).isNull();
+    }
+
 }
@@ -1,5 +1,7 @@
 package org.dynjs.runtime;
 
+import static org.fest.assertions.Assertions.*;
+
 import org.junit.Test;
 
 public class ForVarDeclInStatementTest extends AbstractDynJSTestSupport {
@@ -12,4 +14,36 @@ public class ForVarDeclInStatementTest extends AbstractDynJSTestSupport {
                 "}");
     }
 
+    @Test
+    public void testEnumerationFollowsPropertyChanges() {
+        eval("var proto = { a: 1 };",
+                "var x = Object.create(proto);",
+                "x.b = 2;",
+                "function keys(o) { var r = []; for (var k in o) { r.push(k); } return r.join(','); }",
+                "var before = keys(x);",
+                "x.c = 3;",
+                "delete x.b;",
+                "proto.d = 4;",
+                "Object.defineProperty(x, 'a', { value: 5, enumerable: false });",
+                "var after = keys(x);");
+        assertThat(eval("before")).isEqualTo("a,b");
+        assertThat(eval("after")).isEqualTo("d,c");
+    }
+
+    @Test
+    public void testEnumerationIsNotAffectedByChangesInTheLoop() {
+        assertThat(eval("var x = { a: 1, b: 2 };",
+                "var seen = '';",
+                "for (var k in x) { seen += k; x['z' + k] = 0; }",
+                "seen")).isEqualTo("ab");
+    }
+
+    @Test
+    public void testMapSizeTracksEnumerableNames() {
+        DynObject object = (DynObject) eval("var o = { a: 1, b: 2 }; o");
+        assertThat(object.size()).isEqualTo(2);
+        eval("o.c = 3; delete o.a;");
+        assertThat(object.size()).isEqualTo(2);
+        assertThat(object.keySet()).containsOnly("b", "c");
+    }
 }
@@ -33,4 +33,18 @@ public class FunctionCallExpressionTest extends AbstractDynJSTestSupport {
         assertThat( result ).isEqualTo( Types.UNDEFINED );
                 
     }
+
+    @Test
+    public void testNativeFunctionThisBinding() {
+        Object result = eval("var toString = Object.prototype.toString;",
+                "[toString.call(null), toString.call(undefined), toString.call('a'), toString()].join()");
+        assertThat(result).isEqualTo("[object Null],[object Undefined],[object String],[object Undefined]");
+    }
+
+    @Test
+    public void testNativeFunctionMissingArguments() {
+        Object result = eval("var max = Math.max;",
+                "[String('a'.charAt()), max(), max(1), [].concat().length].join()");
+        assertThat(result).isEqualTo("a,-Infinity,1,0");
+    }
 }
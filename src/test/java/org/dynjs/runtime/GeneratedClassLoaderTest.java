@@ -0,0 +1,59 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.io.IOException;
+
+import org.dynjs.Config;
+import org.junit.Test;
+
+public class GeneratedClassLoaderTest extends AbstractDynJSTestSupport {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.FORCE);
+        // the program cache would keep evaluated programs reachable
+        config.setProgramCacheSize(0);
+        return config;
+    }
+
+    @Test
+    public void testProgramsGetTheirOwnLoader() throws IOException {
+        JSProgram first = new Compiler(getConfig()).withSource("var a = 1;").compile();
+        JSProgram second = new Compiler(getConfig()).withSource("var b = 2;").compile();
+
+        ClassLoader parent = getConfig().getClassLoader();
+        DynamicClassLoader firstLoader = first.getBlockManager().getClassLoader(parent);
+        DynamicClassLoader secondLoader = second.getBlockManager().getClassLoader(parent);
+        assertThat(firstLoader).isNotSameAs(secondLoader);
+        assertThat(firstLoader).isNotSameAs(parent);
+    }
+
+    @Test
+    public void testCountsGeneratedClasses() {
+        long before = GeneratedClassLoader.getLiveClassCount();
+        eval("var f = function(x) { return x * 2; }; f(21);");
+        assertThat(GeneratedClassLoader.getLiveClassCount()).isGreaterThan(before);
+    }
+
+    @Test
+    public void testEvaluatedCodeIsUnloaded() throws InterruptedException {
+        long before = GeneratedClassLoader.getLiveClassCount();
+        for (int i = 0; i < 20; ++i) {
+            assertThat(eval("(function(x) { return x + " + i + "; })(1);")).isEqualTo(1L + i);
+            assertThat(eval("eval('(function(y) { return y * " + i + "; })(2)');")).isEqualTo(2L * i);
+            assertThat(eval("new Function('z', 'return z - " + i + ";')(3);")).isEqualTo(3L - i);
+        }
+        long peak = GeneratedClassLoader.getLiveClassCount();
+        assertThat(peak).isGreaterThan(before);
+
+        long live = peak;
+        for (int i = 0; i < 20 && live >= peak; ++i) {
+            System.gc();
+            Thread.sleep(50);
+            live = GeneratedClassLoader.getLiveClassCount();
+        }
+        assertThat(live).isLessThan(peak);
+    }
+}
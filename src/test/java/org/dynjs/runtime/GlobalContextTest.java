@@ -0,0 +1,50 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class GlobalContextTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testLazyBuiltinsAreCreatedOnce() {
+        check("var result = (Array === __Builtin_Array) && (Array === Array)");
+        check("var result = Array.prototype.constructor === Array");
+        check("var result = [].push === Array.prototype.push");
+    }
+
+    @Test
+    public void testLazyBuiltinsReachedWithoutGlobalLookup() {
+        check("var result = 'foo'.charAt(1) === 'o'");
+        check("var result = Object.getPrototypeOf([]) === Array.prototype");
+        check("var result = /a/ instanceof RegExp");
+    }
+
+    @Test
+    public void testErrorTypesChainToError() {
+        check("var result = Object.getPrototypeOf(TypeError.prototype) === __Builtin_Error.prototype");
+        check("var result; try { null.foo } catch (e) { result = e instanceof TypeError }");
+    }
+
+    @Test
+    public void testReassignedGlobalsDoNotChangeBuiltinPrototypes() {
+        eval("var getProto = Object.getPrototypeOf, builtinObjectProto = Object.prototype;",
+                "Object = function() {}; Error = function() {}; Array = function() {};");
+        check("var result = getProto(__Builtin_RangeError.prototype) === __Builtin_Error.prototype");
+        check("var result = getProto(__Builtin_Array.prototype) === builtinObjectProto");
+        check("var result = getProto([]) === __Builtin_Array.prototype");
+    }
+
+    @Test
+    public void testLazyGlobalsCanBeReplacedBeforeFirstUse() {
+        eval("Math = 42");
+        assertThat(eval("Math")).isEqualTo(42L);
+        check("var result = typeof JSON.stringify === 'function'");
+    }
+
+    @Test
+    public void testNativeFunctionsShareReadOnlyProperties() {
+        check("var result = [].push.length === 1 && Array.prototype.slice.length === 2");
+        check("var result = (function(a, b, c) {}).length === 3");
+    }
+}
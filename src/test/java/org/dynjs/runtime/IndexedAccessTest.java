@@ -0,0 +1,80 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class IndexedAccessTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testNumericKeysYieldIndexedReferences() {
+        DynArray array = new DynArray(getContext().getGlobalContext());
+
+        Reference ref = getContext().createElementReference(array, 3L);
+        assertThat(ref).isInstanceOf(IndexedReference.class);
+        assertThat(ref.getReferencedName()).isEqualTo("3");
+
+        ref = getContext().createElementReference(array, 2.0);
+        assertThat(((IndexedReference) ref).getIndex()).isEqualTo(2L);
+
+        assertThat(getContext().createElementReference(array, -1L) instanceof IndexedReference).isFalse();
+        assertThat(getContext().createElementReference(array, 1.5) instanceof IndexedReference).isFalse();
+        assertThat(getContext().createElementReference("abc", 1L) instanceof IndexedReference).isFalse();
+    }
+
+    @Test
+    public void testNumericLoopOverArray() {
+        Object result = eval("var a = [];",
+                "for (var i = 0; i < 1000; ++i) { a[i] = i; }",
+                "var sum = 0;",
+                "for (var j = 0; j < a.length; ++j) { sum += a[j]; a[j] = 0; }",
+                "sum + ':' + a[999] + ':' + a.length");
+        assertThat(result).isEqualTo("499500:0:1000");
+    }
+
+    @Test
+    public void testNonIndexNumericKeys() {
+        Object result = eval("var o = {};",
+                "o[-1] = 'neg';",
+                "o[1.5] = 'frac';",
+                "o[2.0] = 'two';",
+                "o['-1'] + ',' + o['1.5'] + ',' + o['2'] + ',' + o[4294967295]");
+        assertThat(result).isEqualTo("neg,frac,two,undefined");
+    }
+
+    @Test
+    public void testIndexedPrimitiveBase() {
+        assertThat(eval("'abc'[1]")).isEqualTo("b");
+    }
+
+    @Test
+    public void testAppendSeesPrototypeSetter() {
+        Object result = eval("var seen = null;",
+                "Object.defineProperty(Array.prototype, '2', { set: function(v) { seen = v; }, configurable: true });",
+                "var a = [1, 2];",
+                "a[2] = 'x';",
+                "delete Array.prototype[2];",
+                "seen + ':' + a.length + ':' + a.hasOwnProperty(2)");
+        assertThat(result).isEqualTo("x:2:false");
+    }
+
+    @Test
+    public void testAppendRespectsNonExtensibleAndReadOnlyLength() {
+        Object result = eval("var a = [1];",
+                "Object.preventExtensions(a);",
+                "a[1] = 2;",
+                "var b = [1];",
+                "Object.defineProperty(b, 'length', { writable: false });",
+                "b[1] = 2;",
+                "a.length + ':' + a[1] + ':' + b.length + ':' + b[1]");
+        assertThat(result).isEqualTo("1:undefined:1:undefined");
+    }
+
+    @Test
+    public void testIndexedAccessThroughArgumentsAndStrings() {
+        Object result = eval("function f() { return arguments[1] + arguments.length; }",
+                "var s = new String('xyz');",
+                "f('a', 'b') + s[2]");
+        assertThat(result).isEqualTo("b2z");
+    }
+}
@@ -0,0 +1,75 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LazyValueTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void testReentrantReadThrows() {
+        new LazyValue() {
+            protected Object compute() {
+                return get();
+            }
+        }.get();
+    }
+
+    @Test
+    public void testComputingIsOnlyTrueInsideCompute() {
+        final boolean[] inside = new boolean[1];
+        LazyValue lazy = new LazyValue() {
+            protected Object compute() {
+                inside[0] = isComputing();
+                return "value";
+            }
+        };
+
+        assertThat(lazy.isComputing()).isFalse();
+        assertThat(lazy.get()).isEqualTo("value");
+        assertThat(inside[0]).isTrue();
+        assertThat(lazy.isComputing()).isFalse();
+        assertThat(lazy.isComputed()).isTrue();
+    }
+
+    @Test
+    public void testComputedOnceAcrossThreads() throws InterruptedException {
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final LazyValue lazy = new LazyValue() {
+            protected Object compute() {
+                computations.incrementAndGet();
+                return new Object();
+            }
+        };
+        final Object[] seen = new Object[8];
+        Thread[] threads = new Thread[seen.length];
+
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    seen[index] = lazy.get();
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread each : threads) {
+            each.join();
+        }
+
+        assertThat(computations.get()).isEqualTo(1);
+        for (Object each : seen) {
+            assertThat(each).isSameAs(seen[0]);
+        }
+    }
+}
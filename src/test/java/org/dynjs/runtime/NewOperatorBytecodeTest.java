@@ -0,0 +1,31 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.dynjs.Config;
+import org.junit.Test;
+
+public class NewOperatorBytecodeTest extends AbstractDynJSTestSupport {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.FORCE);
+        config.setInvokeDynamicEnabled(false);
+        return config;
+    }
+
+    @Test
+    public void testNewPassesArguments() {
+        eval("function Pair(a, b) { this.sum = a + b; this.count = arguments.length; }");
+        assertThat(eval("new Pair(1, 2).sum")).isEqualTo(3L);
+        assertThat(eval("new Pair(1, 2, 3).count")).isEqualTo(3L);
+    }
+
+    @Test
+    public void testNewWithoutArguments() {
+        eval("function Thing() { this.made = true; }");
+        assertThat(eval("new Thing().made")).isEqualTo(true);
+        assertThat(eval("new Thing instanceof Thing")).isEqualTo(true);
+    }
+}
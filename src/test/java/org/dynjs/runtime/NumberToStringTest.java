@@ -0,0 +1,62 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class NumberToStringTest {
+
+    @Test
+    public void testSpecialValues() {
+        assertThat(NumberToString.toString(Double.NaN)).isEqualTo("NaN");
+        assertThat(NumberToString.toString(0.0)).isEqualTo("0");
+        assertThat(NumberToString.toString(-0.0)).isEqualTo("0");
+        assertThat(NumberToString.toString(Double.POSITIVE_INFINITY)).isEqualTo("Infinity");
+        assertThat(NumberToString.toString(Double.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+    }
+
+    @Test
+    public void testIntegers() {
+        assertThat(NumberToString.toString(42L)).isEqualTo("42");
+        assertThat(NumberToString.toString(-42L)).isEqualTo("-42");
+        assertThat(NumberToString.toString(42.0)).isEqualTo("42");
+        assertThat(NumberToString.toString(4294967295.0)).isEqualTo("4294967295");
+        assertThat(NumberToString.toString(1e20)).isEqualTo("100000000000000000000");
+        assertThat(NumberToString.toString(1e21)).isEqualTo("1e+21");
+        assertThat(NumberToString.toString(123e20)).isEqualTo("1.23e+22");
+    }
+
+    @Test
+    public void testSmallIntegersAreShared() {
+        assertThat(NumberToString.toString(7L)).isSameAs(NumberToString.toString(7.0));
+        assertThat(NumberToString.toString(1023L)).isSameAs(NumberToString.toString(Integer.valueOf(1023)));
+    }
+
+    @Test
+    public void testFractions() {
+        assertThat(NumberToString.toString(0.1)).isEqualTo("0.1");
+        assertThat(NumberToString.toString(-1.5)).isEqualTo("-1.5");
+        assertThat(NumberToString.toString(0.1 + 0.2)).isEqualTo("0.30000000000000004");
+        assertThat(NumberToString.toString(123.456)).isEqualTo("123.456");
+        assertThat(NumberToString.toString(0.000001)).isEqualTo("0.000001");
+        assertThat(NumberToString.toString(0.0000001)).isEqualTo("1e-7");
+        assertThat(NumberToString.toString(1.5e-10)).isEqualTo("1.5e-10");
+        assertThat(NumberToString.toString(123456789012345680000.5)).isEqualTo("123456789012345680000");
+    }
+
+    @Test
+    public void testExtremes() {
+        assertThat(NumberToString.toString(Double.MAX_VALUE)).isEqualTo("1.7976931348623157e+308");
+        assertThat(NumberToString.toString(Double.MIN_VALUE)).isEqualTo("5e-324");
+        assertThat(NumberToString.toString(2e23)).isEqualTo("2e+23");
+    }
+
+    @Test
+    public void testToPrecision() {
+        assertThat(NumberToString.toPrecision(123.456, 4)).isEqualTo("123.5");
+        assertThat(NumberToString.toPrecision(0.000123, 2)).isEqualTo("0.00012");
+        assertThat(NumberToString.toPrecision(123456, 2)).isEqualTo("1.2e+5");
+        assertThat(NumberToString.toPrecision(0, 3)).isEqualTo("0.00");
+        assertThat(NumberToString.toPrecision(-1.5, 1)).isEqualTo("-2");
+    }
+}
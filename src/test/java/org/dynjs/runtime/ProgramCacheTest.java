@@ -0,0 +1,109 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+
+import org.dynjs.runtime.source.ClassLoaderSourceProvider;
+import org.junit.Test;
+
+public class ProgramCacheTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testRepeatedSourceIsCompiledOnce() throws Exception {
+        String source = "var counter = (typeof counter == 'undefined') ? 1 : counter + 1; counter";
+        JSProgram first = getRuntime().newCompiler().withProgramCache(getConfig().getProgramCache()).withSource(source).compile();
+        JSProgram second = getRuntime().newCompiler().withProgramCache(getConfig().getProgramCache()).withSource(source).compile();
+        assertThat(second).isSameAs(first);
+
+        assertThat(eval(source)).isEqualTo(1L);
+        assertThat(eval(source)).isEqualTo(2L);
+    }
+
+    @Test
+    public void testStrictnessIsPartOfTheKey() throws Exception {
+        String source = "(function() { return this; })() === undefined";
+        JSProgram sloppy = getRuntime().newCompiler().withProgramCache(getConfig().getProgramCache()).withSource(source).compile();
+        JSProgram strict = getRuntime().newCompiler().withProgramCache(getConfig().getProgramCache()).withSource(source).forceStrict().compile();
+        assertThat(strict).isNotSameAs(sloppy);
+    }
+
+    @Test
+    public void testCachedEvalCodeSeesItsCallersScope() {
+        eval("function f(x) { return eval('x * 2'); }");
+        assertThat(eval("f(2)")).isEqualTo(4L);
+        assertThat(eval("f(5)")).isEqualTo(10L);
+    }
+
+    @Test
+    public void testCachedProgramsDoNotUseTheRuntimesBlockManager() throws Exception {
+        JSProgram program = getRuntime().newCompiler().withProgramCache(getConfig().getProgramCache())
+                .withContext(getContext()).withSource("var y = 1;").compile();
+        assertThat(program.getBlockManager()).isNotSameAs(getContext().getBlockManager());
+    }
+
+    @Test
+    public void testCachedProgramRunsInSeveralRuntimes() {
+        String source = "function sum(n) { var t = 0; for (var i = 0; i < n; ++i) { t += i; } return t; }";
+        DynJS other = new DynJS(getConfig());
+        eval(source);
+        other.evaluate(source);
+        assertThat(getConfig().getProgramCache().size()).isGreaterThan(0);
+        assertThat(eval("sum(10)")).isEqualTo(45L);
+        assertThat(other.evaluate("sum(4)")).isEqualTo(6L);
+    }
+
+    @Test
+    public void testCachedProgramKeepsRuntimesApart() throws Exception {
+        String source = "function Point(x) { this.x = x; }" +
+                " Point.prototype.scale = function() { return this.x * 2; };" +
+                " function total() { var t = 0; for (var i = 0; i < 10; ++i) { t += new Point(i).scale(); } return t; }" +
+                " total()";
+        DynJS other = new DynJS(getConfig());
+        JSProgram program = getRuntime().newCompiler().withProgramCache(getConfig().getProgramCache()).withSource(source).compile();
+
+        assertThat(eval(source)).isEqualTo(90L);
+        assertThat(other.evaluate(source)).isEqualTo(90L);
+        assertThat(other.newCompiler().withProgramCache(getConfig().getProgramCache()).withSource(source).compile()).isSameAs(program);
+
+        // sites warmed up by one runtime must not answer with the other's prototypes
+        eval("Point.prototype.scale = function() { return this.x * 3; }");
+        assertThat(eval("total()")).isEqualTo(135L);
+        assertThat(other.evaluate("total()")).isEqualTo(90L);
+        assertThat(eval("total()")).isEqualTo(135L);
+    }
+
+    @Test
+    public void testKernelIsCompiledOnce() throws Exception {
+        String kernel = new ClassLoaderSourceProvider(getClass().getClassLoader(), "dynjs/kernel.js").getSource();
+        JSProgram program = getConfig().getProgramCache().get(kernel, false, "dynjs/kernel.js");
+        assertThat(program).isNotNull();
+        new DynJS(getConfig());
+        assertThat(getConfig().getProgramCache().get(kernel, false, "dynjs/kernel.js")).isSameAs(program);
+    }
+
+    @Test
+    public void testSyntaxErrorsAreNotCached() {
+        ProgramCache cache = new ProgramCache();
+        Compiler compiler = getRuntime().newCompiler().withProgramCache(cache).withSource("var = 1");
+        try {
+            compiler.compile();
+            fail("should have thrown");
+        } catch (Exception e) {
+            assertThat(cache.size()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedProgramIsEvicted() {
+        ProgramCache cache = new ProgramCache(2);
+        JSProgram program = new NullProgram(null);
+        cache.put("a", false, null, program);
+        cache.put("b", false, null, program);
+        cache.get("a", false, null);
+        cache.put("c", false, null, program);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a", false, null)).isSameAs(program);
+        assertThat(cache.get("b", false, null)).isNull();
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.dynjs.runtime;
+
+import org.dynjs.Config;
+
+public class RegexpLiteralBytecodeTest extends RegexpLiteralTest {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.FORCE);
+        return config;
+    }
+}
@@ -74,6 +74,37 @@ public class RegexpLiteralTest extends AbstractDynJSTestSupport {
         eval( "new RegExp('^[$A-Za-z_\\x7f-\\uffff][$\\w\\x7f-\\uffff]*$')");
     }
     
+    @Test
+    public void testLiteralInLoopYieldsDistinctObjects() {
+        eval("var rs = [];",
+                "for (var i = 0; i < 3; ++i) { var r = /o/g; r.exec('foo'); rs.push(r); }",
+                "rs[1].exec('foo');");
+        assertThat(eval("rs[0] !== rs[1] && rs[1] !== rs[2]")).isEqualTo(true);
+        assertThat(eval("rs[0].lastIndex")).isEqualTo(2L);
+        assertThat(eval("rs[1].lastIndex")).isEqualTo(3L);
+        assertThat(eval("rs[2].lastIndex")).isEqualTo(2L);
+    }
+
+    @Test
+    public void testCompiledPatternIsShared() {
+        DynRegExp first = (DynRegExp) eval("new RegExp('ab+c', 'i')");
+        DynRegExp second = (DynRegExp) eval("new RegExp('ab+c', 'i')");
+        DynRegExp third = (DynRegExp) eval("new RegExp('ab+c', 'g')");
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getCompiled()).isSameAs(second.getCompiled());
+        assertThat(first.getCompiled()).isNotSameAs(third.getCompiled());
+    }
+
+    @Test
+    public void testLiteralKeepsPatternWhenRuntimeCacheEvictsIt() {
+        eval("function f() { return /q+z/; }", "var first = f();");
+        DynRegExp first = (DynRegExp) eval("first");
+        eval("for (var i = 0; i < 300; ++i) { new RegExp('p' + i); }");
+        DynRegExp second = (DynRegExp) eval("f()");
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getCompiled()).isSameAs(first.getCompiled());
+    }
+
     @Ignore
     @Test
     public void testEmptyCharacterClassRange() {
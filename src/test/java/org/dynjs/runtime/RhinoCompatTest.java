@@ -67,4 +67,15 @@ public class RhinoCompatTest extends AbstractDynJSTestSupport {
         assertThat(eval("x.__lookupSetter__")).isInstanceOf(JSFunction.class);
     }
 
+    @Test
+    public void testConcatenatedNames() {
+        // 64+ characters concatenate to a Rope rather than a String
+        eval("var x = {}; var name = 'foo' + new Array(70).join('o');");
+        eval("x.__defineGetter__(name, function() { return 'bar'; });");
+        eval("x.__defineSetter__(name + 'set', function(val) { bar = val; });");
+        assertThat(eval("x[name]")).isEqualTo("bar");
+        assertThat(eval("x.__lookupGetter__(name)")).isInstanceOf(JSFunction.class);
+        assertThat(eval("x.__lookupSetter__(name + 'set')")).isInstanceOf(JSFunction.class);
+    }
+
 }
@@ -0,0 +1,57 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class ScopeAnalysisTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testLocalsAndClosures() {
+        eval("function f(a, b) {",
+                "  var x = a + b, y;",
+                "  y = x * 2;",
+                "  function g() { return x + y; }",
+                "  return [x, y, g()].join(',');",
+                "}");
+        assertThat(eval("f(1, 2)")).isEqualTo("3,6,9");
+    }
+
+    @Test
+    public void testNamedFunctionExpressionAndCatch() {
+        eval("function f() {",
+                "  var h = function k(n) { return n <= 0 ? 0 : n + k(n - 1); };",
+                "  var x;",
+                "  try { throw 3; } catch (e) { x = e; e = 5; x = x + e; }",
+                "  return h(4) + x;",
+                "}");
+        assertThat(eval("f()")).isEqualTo(18L);
+    }
+
+    @Test
+    public void testWithAndEvalFallBackToNames() {
+        eval("function w(a, b) { var s = 0; with ({ a: 10 }) { s = a + b; } return s; }",
+                "function e(a) { var x = a; eval('var x = 9'); return x; }");
+        assertThat(eval("w(1, 2)")).isEqualTo(12L);
+        assertThat(eval("e(1)")).isEqualTo(9L);
+    }
+
+    @Test
+    public void testArgumentsStayMapped() {
+        eval("function m(a) { a = 10; return arguments[0] + a; }",
+                "function s(a) { 'use strict'; a = 10; return arguments[0] + a; }");
+        assertThat(eval("m(1)")).isEqualTo(20L);
+        assertThat(eval("s(1)")).isEqualTo(11L);
+    }
+
+    @Test
+    public void testArgumentsObjectOnlyWhereObservable() {
+        eval("function plain(a, b) { var x = a; return x + b; }",
+                "function viaEval(a) { return eval('arguments[2]'); }",
+                "function inner(a) { function g() { return arguments.length; } return g(1) + ':' + typeof arguments; }");
+        assertThat(eval("plain(1, 2)")).isEqualTo(3L);
+        assertThat(eval("viaEval(1, 2, 3)")).isEqualTo(3L);
+        assertThat(eval("inner(1, 2, 3)")).isEqualTo("1:object");
+        assertThat(eval("'abc'.concat('d', 'e') + String() + Number() + new Array(1, 2).length")).isEqualTo("abcde02");
+    }
+}
@@ -0,0 +1,92 @@
+package org.dynjs.runtime;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.junit.Test;
+
+public class ShapeTest extends AbstractDynJSTestSupport {
+
+    @Test
+    public void testObjectsWithSameLayoutShareShape() {
+        DynObject a = (DynObject) eval("var a = { x: 1, y: 2 }; a");
+        DynObject b = (DynObject) eval("var b = { x: 3, y: 4 }; b");
+        DynObject c = (DynObject) eval("var c = { y: 1, x: 2 }; c");
+
+        assertThat(a.getShape()).isSameAs(b.getShape());
+        assertThat(a.getShape()).isNotSameAs(c.getShape());
+    }
+
+    @Test
+    public void testDeletePreservesOrder() {
+        Object result = eval("var o = { a: 1, b: 2, c: 3 };",
+                "delete o.b;",
+                "o.d = 4;",
+                "var keys = [];",
+                "for (var k in o) { keys.push(k); }",
+                "keys.join(',')");
+        assertThat(result).isEqualTo("a,c,d");
+    }
+
+    @Test
+    public void testManyPropertiesUseDictionaryShape() {
+        DynObject o = (DynObject) eval("var o = {};",
+                "for (var i = 0; i < 100; ++i) { o['p' + i] = i; }",
+                "delete o.p50;",
+                "o");
+        assertThat(o.getShape().isShared()).isFalse();
+        assertThat(eval("o.p99")).isEqualTo(99L);
+        assertThat(eval("o.p50")).isEqualTo(Types.UNDEFINED);
+        assertThat(eval("o.p51")).isEqualTo(51L);
+    }
+
+    @Test
+    public void testPolymorphicPropertySite() {
+        Object result = eval("function getX(o) { return o.x; }",
+                "var objs = [ {x:1}, {a:0, x:2}, {b:0, x:3}, {c:0, x:4}, {d:0, x:5}, {e:0, x:6} ];",
+                "var sum = 0;",
+                "for (var n = 0; n < 3; ++n) {",
+                "  for (var i = 0; i < objs.length; ++i) { sum += getX(objs[i]); }",
+                "}",
+                "sum");
+        assertThat(result).isEqualTo(63L);
+    }
+
+    @Test
+    public void testCachedPrototypeHitSeesShadowingAndPrototypeChanges() {
+        Object result = eval("function Foo() {}",
+                "Foo.prototype.v = 'proto';",
+                "function read(o) { return o.v; }",
+                "var f = new Foo();",
+                "var r = [];",
+                "r.push(read(f));",
+                "Foo.prototype.v = 'changed';",
+                "r.push(read(f));",
+                "f.v = 'own';",
+                "r.push(read(f));",
+                "var g = new Foo();",
+                "r.push(read(g));",
+                "r.join(',')");
+        assertThat(result).isEqualTo("proto,changed,own,changed");
+    }
+
+    @Test
+    public void testCachedPutRespectsReadOnly() {
+        Object result = eval("function write(o, v) { o.x = v; return o.x; }",
+                "var a = { x: 1 };",
+                "write(a, 2);",
+                "var b = { x: 1 };",
+                "Object.defineProperty(b, 'x', { writable: false });",
+                "write(b, 3)");
+        assertThat(result).isEqualTo(1L);
+    }
+
+    @Test
+    public void testAccessorPropertyThroughCachedSite() {
+        Object result = eval("function read(o) { return o.x; }",
+                "var a = { x: 1 };",
+                "read(a);",
+                "Object.defineProperty(a, 'x', { get: function() { return 42; } });",
+                "read(a)");
+        assertThat(result).isEqualTo(42L);
+    }
+}
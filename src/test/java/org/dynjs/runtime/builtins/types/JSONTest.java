@@ -2,10 +2,13 @@ package org.dynjs.runtime.builtins.types;
 
 import static org.fest.assertions.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+
 import org.dynjs.runtime.AbstractDynJSTestSupport;
 import org.dynjs.runtime.DynArray;
 import org.dynjs.runtime.JSObject;
 import org.dynjs.runtime.Types;
+import org.dynjs.runtime.builtins.types.json.Stringify;
 import org.junit.Test;
 
 public class JSONTest extends AbstractDynJSTestSupport {
@@ -126,4 +129,28 @@ public class JSONTest extends AbstractDynJSTestSupport {
         assertThat(result).isEqualTo("\"1980-03-11T00:00:00.000Z\"");
     }
 
+    @Test
+    public void testStringifyRepeatedButAcyclicObject() {
+        String result = (String) eval("var o = {v: 1}; JSON.stringify([o, {w: o}])");
+        assertThat(result).isEqualTo("[{\"v\":1},{\"w\":{\"v\":1}}]");
+    }
+
+    @Test
+    public void testStringifyCyclicObject() {
+        Object result = eval("var o = {}; o.self = o; try { JSON.stringify(o); } catch (e) { e instanceof TypeError }");
+        assertThat(result).isEqualTo(true);
+    }
+
+    @Test
+    public void testStringifyToOutputStream() throws Exception {
+        Object value = eval("({a: [1, 'f\u00f6\u00f6\\n'], b: undefined})");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(Stringify.stringify(getContext(), value, Types.UNDEFINED, Types.UNDEFINED, out)).isTrue();
+        assertThat(out.toString("UTF-8")).isEqualTo("{\"a\":[1,\"f\u00f6\u00f6\\n\"]}");
+
+        out.reset();
+        assertThat(Stringify.stringify(getContext(), Types.UNDEFINED, Types.UNDEFINED, Types.UNDEFINED, out)).isFalse();
+        assertThat(out.size()).isEqualTo(0);
+    }
+
 }
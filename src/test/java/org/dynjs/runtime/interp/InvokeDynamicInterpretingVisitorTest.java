@@ -0,0 +1,35 @@
+package org.dynjs.runtime.interp;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.dynjs.Config;
+import org.dynjs.runtime.AbstractDynJSTestSupport;
+import org.junit.Test;
+
+public class InvokeDynamicInterpretingVisitorTest extends AbstractDynJSTestSupport {
+
+    @Override
+    protected Config createConfig() {
+        Config config = super.createConfig();
+        config.setCompileMode(Config.CompileMode.OFF);
+        config.setInvokeDynamicEnabled(true);
+        return config;
+    }
+
+    @Test
+    public void testSitesSeeDifferentReceivers() {
+        eval("var shapes = [ { x: 1 }, { y: 2, x: 3 }, 'str', [ 4, 5 ] ];",
+                "var total = 0;",
+                "for (var i = 0; i < shapes.length; ++i) { var s = shapes[i]; if (s.x) { total += s.x; } total += s.length || 0; }");
+        assertThat(eval("total")).isEqualTo(9L);
+    }
+
+    @Test
+    public void testAssignmentsCallsAndConstructs() {
+        eval("function Point(x) { this.x = x; }",
+                "Point.prototype.twice = function() { return this.x * 2; };",
+                "var a = [];",
+                "for (var i = 0; i < 3; ++i) { a[i] = new Point(i).twice(); }");
+        assertThat(eval("a.join(',')")).isEqualTo("0,2,4");
+    }
+}
@@ -0,0 +1,38 @@
+package org.dynjs.runtime.linker.js.object;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.lang.ref.WeakReference;
+
+import org.dynjs.runtime.DynObject;
+import org.dynjs.runtime.Reference;
+import org.junit.Test;
+
+public class ShapeInlineCacheTest {
+
+    @Test
+    public void testPrototypeHitsDoNotKeepThePrototypeAlive() throws Exception {
+        ShapeInlineCache cache = new ShapeInlineCache();
+        WeakReference<DynObject> prototype = readThroughPrototype(cache);
+        assertThat(cache.size()).isEqualTo(1);
+
+        for (int i = 0; i < 20 && prototype.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(prototype.get()).isNull();
+    }
+
+    private static WeakReference<DynObject> readThroughPrototype(ShapeInlineCache cache) {
+        DynObject prototype = new DynObject();
+        prototype.put(null, "x", 42L, false);
+        DynObject object = new DynObject();
+        object.setPrototype(prototype);
+
+        assertThat(cache.get(new Reference("x", object, false), null, "x")).isEqualTo(42L);
+        // served from the entry this time
+        assertThat(cache.get(new Reference("x", object, false), null, "x")).isEqualTo(42L);
+
+        return new WeakReference<>(prototype);
+    }
+}
@@ -32,6 +32,16 @@ public class FilesystemModuleProviderRequireTest extends AbstractDynJSTestSuppor
         eval("require.addLoadPath('" + testLoadPath + "')");
     }
 
+    @Test
+    public void testLoadPathsMayBeConcatenated() {
+        // 64+ characters concatenate to a Rope rather than a String
+        String testLoadPath = System.getProperty("user.dir") + "/src/test/resources/org/dynjs/runtime/builtins/";
+        eval("require.removeLoadPath('" + testLoadPath + "');");
+        eval("var path = '" + System.getProperty("user.dir") + "' + '/./././././././src/test/resources/org/dynjs/runtime/builtins/';");
+        eval("require.pushLoadPath(path); require.removeLoadPath(path); require.addLoadPath(path);");
+        assertThat(eval("require('my_module').message;")).isEqualTo("Hello world");
+    }
+
     @Test(expected = ThrowException.class)
     public void testThrowsWithoutAnArgument() {
         eval("require();");